@@ -36,6 +36,13 @@ public interface AuditService
 {
     long addAudit( Audit audit );
 
+    /**
+     * Adds the given audits in a single transaction.
+     *
+     * @param audits the audits to add.
+     */
+    void addAudits( List<Audit> audits );
+
     int countAudits( AuditQuery query );
 
     List<Audit> getAudits( AuditQuery query );
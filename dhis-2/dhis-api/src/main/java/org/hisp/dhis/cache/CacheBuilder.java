@@ -28,6 +28,7 @@
 package org.hisp.dhis.cache;
 
 import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
 
 /**
  * A Builder class that helps in building Cache instances. Sensible defaults are
@@ -50,6 +51,21 @@ public interface CacheBuilder<V>
      */
     CacheBuilder<V> withMaximumSize( long maximumSize );
 
+    /**
+     * Set the maximum total weight of the entries of the cache instance to be
+     * built, where the weight of an entry is computed by the given weigher.
+     * Takes precedence over the maximum size to bound local caches, in which
+     * case the maximum size only decides whether caching takes place at all.
+     * Ignored by cache implementations which do not support weighing.
+     *
+     * @param maximumWeight The maximum total weight
+     * @param weigher The function computing the weight of a value
+     * @return The builder instance
+     * @throws IllegalArgumentException if specified maximumWeight is a negative
+     *         value or the weigher is null.
+     */
+    CacheBuilder<V> withMaximumWeight( long maximumWeight, ToIntFunction<V> weigher );
+
     /**
      * Sets the minimum total size for the internal data structures.
      *
@@ -132,6 +148,20 @@ public interface CacheBuilder<V>
      */
     long getMaximumSize();
 
+    /**
+     * Getter for maximumWeight
+     *
+     * @return the maximumWeight value set in the builder, 0 if not set
+     */
+    long getMaximumWeight();
+
+    /**
+     * Getter for weigher
+     *
+     * @return the weigher set in the builder, null if not set
+     */
+    ToIntFunction<V> getWeigher();
+
     /**
      * Getter for initialCapacity
      *
@@ -28,6 +28,7 @@
 package org.hisp.dhis.cache;
 
 import java.time.Duration;
+import java.util.function.ToIntFunction;
 
 import org.hisp.dhis.common.event.ApplicationCacheClearedEvent;
 
@@ -139,4 +140,10 @@ public interface CacheProvider
     <V> Cache<V> createDataIntegrityDetailsCache();
 
     <V> Cache<V> createSubExpressionCache();
+
+    <V> Cache<V> createExpressionParseTreeCache();
+
+    <V> Cache<V> createAnalyticsSqlResultCache( ToIntFunction<V> weigher );
+
+    <V> Cache<V> createFieldFilterWriterCache();
 }
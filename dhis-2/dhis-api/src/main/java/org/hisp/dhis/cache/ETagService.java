@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.cache;
+
+/**
+ * Keeps counters which are incremented whenever stored objects or analytics
+ * tables change, so that ETags of API responses can be derived from them
+ * without producing the response first.
+ */
+public interface ETagService
+{
+    /**
+     * Indicates whether ETags may be derived from the counters. This is not the
+     * case when other instances may change objects without this instance
+     * noticing, as in a cluster.
+     *
+     * @return true if ETags may be derived from the counters.
+     */
+    boolean isEnabled();
+
+    /**
+     * @return the counter of committed changes of any stored object.
+     */
+    long getEntityVersion();
+
+    /**
+     * @return the counter of analytics table swaps.
+     */
+    long getAnalyticsVersion();
+
+    /**
+     * Increments the counter of committed changes of stored objects. Called
+     * after a transaction changing objects is committed.
+     */
+    void incrementEntityVersion();
+
+    /**
+     * Increments the counter of analytics table swaps. Called after analytics
+     * tables are swapped.
+     */
+    void incrementAnalyticsVersion();
+}
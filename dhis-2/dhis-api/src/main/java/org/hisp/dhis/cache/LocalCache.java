@@ -33,6 +33,7 @@ import static org.springframework.util.Assert.hasText;
 
 import java.util.Optional;
 import java.util.function.Function;
+import java.util.function.ToIntFunction;
 import java.util.stream.Stream;
 
 import org.cache2k.Cache2kBuilder;
@@ -79,7 +80,14 @@ public class LocalCache<V> implements Cache<V>
         {
             builder.eternal( true );
         }
-        if ( cacheBuilder.getMaximumSize() > 0 )
+        if ( cacheBuilder.getMaximumWeight() > 0 && cacheBuilder.getWeigher() != null )
+        {
+            ToIntFunction<V> weigher = cacheBuilder.getWeigher();
+            ((Cache2kBuilder<String, V>) builder)
+                .weigher( ( key, value ) -> weigher.applyAsInt( value ) )
+                .maximumWeight( cacheBuilder.getMaximumWeight() );
+        }
+        else if ( cacheBuilder.getMaximumSize() > 0 )
         {
             builder.entryCapacity( cacheBuilder.getMaximumSize() );
         }
@@ -28,6 +28,7 @@
 package org.hisp.dhis.cache;
 
 import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -44,6 +45,10 @@ public class SimpleCacheBuilder<V> implements CacheBuilder<V>
 {
     private long maximumSize;
 
+    private long maximumWeight;
+
+    private ToIntFunction<V> weigher;
+
     private int initialCapacity;
 
     private String region;
@@ -81,6 +86,21 @@ public class SimpleCacheBuilder<V> implements CacheBuilder<V>
         return this;
     }
 
+    public CacheBuilder<V> withMaximumWeight( long maximumWeight, ToIntFunction<V> weigher )
+    {
+        if ( maximumWeight < 0 )
+        {
+            throw new IllegalArgumentException( "MaximumWeight cannot be negative" );
+        }
+        if ( weigher == null )
+        {
+            throw new IllegalArgumentException( "Weigher cannot be null" );
+        }
+        this.maximumWeight = maximumWeight;
+        this.weigher = weigher;
+        return this;
+    }
+
     public CacheBuilder<V> withInitialCapacity( int initialCapacity )
     {
         if ( initialCapacity < 0 )
@@ -164,6 +184,16 @@ public class SimpleCacheBuilder<V> implements CacheBuilder<V>
         return maximumSize;
     }
 
+    public long getMaximumWeight()
+    {
+        return maximumWeight;
+    }
+
+    public ToIntFunction<V> getWeigher()
+    {
+        return weigher;
+    }
+
     public int getInitialCapacity()
     {
         return initialCapacity;
@@ -31,8 +31,6 @@ import java.io.Serializable;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.temporal.WeekFields;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.hisp.dhis.calendar.impl.Iso8601Calendar;
 import org.hisp.dhis.period.BiWeeklyPeriodType;
@@ -76,28 +74,19 @@ public class DateUnitPeriodTypeParser implements PeriodTypeParser, Serializable
     public DateInterval parse( Calendar calendar, String period )
     {
         return DateUnitType.find( period )
-            .map( dateUnitTypeWithPattern -> parseInternal( calendar, period, dateUnitTypeWithPattern ) )
+            .map( dateUnitTypeWithValues -> parseInternal( calendar, dateUnitTypeWithValues ) )
             .orElse( null );
     }
 
-    private DateInterval parseInternal( Calendar calendar, String period,
-        DateUnitType.DateUnitTypeWithPattern dateUnitTypeWithPattern )
+    private DateInterval parseInternal( Calendar calendar, DateUnitType.DateUnitTypeWithValues dateUnitTypeWithValues )
     {
-        Pattern pattern = dateUnitTypeWithPattern.getPattern();
-        DateUnitType dateUnitType = dateUnitTypeWithPattern.getDateUnitType();
-        Matcher matcher = pattern.matcher( period );
-        boolean match = matcher.find();
-
-        if ( !match )
-        {
-            return null;
-        }
+        DateUnitType dateUnitType = dateUnitTypeWithValues.getDateUnitType();
 
         if ( DateUnitType.DAILY == dateUnitType )
         {
-            int year = Integer.parseInt( matcher.group( 1 ) );
-            int month = Integer.parseInt( matcher.group( 2 ) );
-            int day = Integer.parseInt( matcher.group( 3 ) );
+            int year = dateUnitTypeWithValues.getYear();
+            int month = dateUnitTypeWithValues.getValue();
+            int day = dateUnitTypeWithValues.getDay();
 
             DateTimeUnit dateTimeUnit = new DateTimeUnit( year, month, day, calendar.isIso8601() );
             dateTimeUnit.setDayOfWeek( calendar.weekday( dateTimeUnit ) );
@@ -110,8 +99,8 @@ public class DateUnitPeriodTypeParser implements PeriodTypeParser, Serializable
         {
             DateTimeUnit start;
             DateTimeUnit end;
-            int year = Integer.parseInt( matcher.group( 1 ) );
-            int week = Integer.parseInt( matcher.group( 2 ) );
+            int year = dateUnitTypeWithValues.getYear();
+            int week = dateUnitTypeWithValues.getValue();
 
             WeeklyAbstractPeriodType periodType = (WeeklyAbstractPeriodType) PeriodType
                 .getByNameIgnoreCase( dateUnitType.getName() );
@@ -131,8 +120,8 @@ public class DateUnitPeriodTypeParser implements PeriodTypeParser, Serializable
         }
         else if ( DateUnitType.BI_WEEKLY == dateUnitType )
         {
-            int year = Integer.parseInt( matcher.group( 1 ) );
-            int week = Integer.parseInt( matcher.group( 2 ) ) * 2 - 1;
+            int year = dateUnitTypeWithValues.getYear();
+            int week = dateUnitTypeWithValues.getValue() * 2 - 1;
 
             BiWeeklyPeriodType periodType = (BiWeeklyPeriodType) PeriodType
                 .getByNameIgnoreCase( dateUnitType.getName() );
@@ -151,8 +140,8 @@ public class DateUnitPeriodTypeParser implements PeriodTypeParser, Serializable
         }
         else if ( DateUnitType.MONTHLY == dateUnitType )
         {
-            int year = Integer.parseInt( matcher.group( 1 ) );
-            int month = Integer.parseInt( matcher.group( 2 ) );
+            int year = dateUnitTypeWithValues.getYear();
+            int month = dateUnitTypeWithValues.getValue();
 
             DateTimeUnit start = new DateTimeUnit( year, month, 1, calendar.isIso8601() );
             DateTimeUnit end = new DateTimeUnit( year, month, calendar.daysInMonth( start.getYear(), start.getMonth() ),
@@ -165,8 +154,8 @@ public class DateUnitPeriodTypeParser implements PeriodTypeParser, Serializable
         }
         else if ( DateUnitType.BI_MONTHLY == dateUnitType )
         {
-            int year = Integer.parseInt( matcher.group( 1 ) );
-            int month = Integer.parseInt( matcher.group( 2 ) );
+            int year = dateUnitTypeWithValues.getYear();
+            int month = dateUnitTypeWithValues.getValue();
 
             if ( month < 1 || month > 6 )
             {
@@ -185,8 +174,8 @@ public class DateUnitPeriodTypeParser implements PeriodTypeParser, Serializable
         }
         else if ( DateUnitType.QUARTERLY == dateUnitType )
         {
-            int year = Integer.parseInt( matcher.group( 1 ) );
-            int quarter = Integer.parseInt( matcher.group( 2 ) );
+            int year = dateUnitTypeWithValues.getYear();
+            int quarter = dateUnitTypeWithValues.getValue();
 
             // valid quarters are from 1 - 4
             if ( quarter < 1 || quarter > 4 )
@@ -206,8 +195,8 @@ public class DateUnitPeriodTypeParser implements PeriodTypeParser, Serializable
         }
         else if ( DateUnitType.SIX_MONTHLY == dateUnitType )
         {
-            int year = Integer.parseInt( matcher.group( 1 ) );
-            int semester = Integer.parseInt( matcher.group( 2 ) );
+            int year = dateUnitTypeWithValues.getYear();
+            int semester = dateUnitTypeWithValues.getValue();
 
             // valid six-monthly are from 1 - 2
             if ( semester < 1 || semester > 2 )
@@ -227,8 +216,8 @@ public class DateUnitPeriodTypeParser implements PeriodTypeParser, Serializable
         }
         else if ( DateUnitType.SIX_MONTHLY_APRIL == dateUnitType )
         {
-            int year = Integer.parseInt( matcher.group( 1 ) );
-            int semester = Integer.parseInt( matcher.group( 2 ) );
+            int year = dateUnitTypeWithValues.getYear();
+            int semester = dateUnitTypeWithValues.getValue();
 
             // valid six-monthly are from 1 - 2
             if ( semester < 1 || semester > 2 )
@@ -248,8 +237,8 @@ public class DateUnitPeriodTypeParser implements PeriodTypeParser, Serializable
         }
         else if ( DateUnitType.SIX_MONTHLY_NOVEMBER == dateUnitType )
         {
-            int year = Integer.parseInt( matcher.group( 1 ) );
-            int semester = Integer.parseInt( matcher.group( 2 ) );
+            int year = dateUnitTypeWithValues.getYear();
+            int semester = dateUnitTypeWithValues.getValue();
 
             // valid six-monthly are from 1 - 2
             if ( semester < 1 || semester > 2 )
@@ -271,7 +260,7 @@ public class DateUnitPeriodTypeParser implements PeriodTypeParser, Serializable
         }
         else if ( DateUnitType.YEARLY == dateUnitType )
         {
-            int year = Integer.parseInt( matcher.group( 1 ) );
+            int year = dateUnitTypeWithValues.getYear();
 
             DateTimeUnit start = new DateTimeUnit( year, 1, 1, calendar.isIso8601() );
             DateTimeUnit end = new DateTimeUnit( year, calendar.monthsInYear(),
@@ -284,7 +273,7 @@ public class DateUnitPeriodTypeParser implements PeriodTypeParser, Serializable
         }
         else if ( DateUnitType.FINANCIAL_APRIL == dateUnitType )
         {
-            int year = Integer.parseInt( matcher.group( 1 ) );
+            int year = dateUnitTypeWithValues.getYear();
 
             DateTimeUnit start = new DateTimeUnit( year, 4, 1, calendar.isIso8601() );
             DateTimeUnit end = new DateTimeUnit( start );
@@ -298,7 +287,7 @@ public class DateUnitPeriodTypeParser implements PeriodTypeParser, Serializable
         }
         else if ( DateUnitType.FINANCIAL_JULY == dateUnitType )
         {
-            int year = Integer.parseInt( matcher.group( 1 ) );
+            int year = dateUnitTypeWithValues.getYear();
 
             DateTimeUnit start = new DateTimeUnit( year, 7, 1, calendar.isIso8601() );
             DateTimeUnit end = new DateTimeUnit( start );
@@ -312,7 +301,7 @@ public class DateUnitPeriodTypeParser implements PeriodTypeParser, Serializable
         }
         else if ( DateUnitType.FINANCIAL_OCTOBER == dateUnitType )
         {
-            int year = Integer.parseInt( matcher.group( 1 ) );
+            int year = dateUnitTypeWithValues.getYear();
 
             DateTimeUnit start = new DateTimeUnit( year, 10, 1, calendar.isIso8601() );
             DateTimeUnit end = new DateTimeUnit( start );
@@ -326,7 +315,7 @@ public class DateUnitPeriodTypeParser implements PeriodTypeParser, Serializable
         }
         else if ( DateUnitType.FINANCIAL_NOVEMBER == dateUnitType )
         {
-            int year = Integer.parseInt( matcher.group( 1 ) );
+            int year = dateUnitTypeWithValues.getYear();
 
             DateTimeUnit start = new DateTimeUnit( year - 1, 11, 1, calendar.isIso8601() );
             DateTimeUnit end = new DateTimeUnit( start );
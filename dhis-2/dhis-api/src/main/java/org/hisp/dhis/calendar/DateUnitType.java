@@ -27,11 +27,7 @@
  */
 package org.hisp.dhis.calendar;
 
-import java.util.Collection;
-import java.util.List;
 import java.util.Optional;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -39,47 +35,77 @@ import lombok.Getter;
 import org.hisp.dhis.period.PeriodTypeEnum;
 
 /**
+ * Date unit types with the ISO formats of their periods. The formats are
+ * recognized in a single pass by {@link #find(String)}:
+ *
+ * <pre>
+ * DAILY                yyyyMMdd, yyyy-MM-dd
+ * WEEKLY               yyyyWn
+ * WEEKLY_WEDNESDAY     yyyyWedWn
+ * WEEKLY_THURSDAY      yyyyThuWn
+ * WEEKLY_SATURDAY      yyyySatWn
+ * WEEKLY_SUNDAY        yyyySunWn
+ * BI_WEEKLY            yyyyBiWn
+ * MONTHLY              yyyyMM, yyyy-MM
+ * BI_MONTHLY           yyyyMMB
+ * QUARTERLY            yyyyQn
+ * SIX_MONTHLY          yyyySn
+ * SIX_MONTHLY_APRIL    yyyyAprilSn
+ * SIX_MONTHLY_NOVEMBER yyyyNovSn
+ * YEARLY               yyyy
+ * FINANCIAL_APRIL      yyyyApril
+ * FINANCIAL_JULY       yyyyJuly
+ * FINANCIAL_OCTOBER    yyyyOct
+ * FINANCIAL_NOVEMBER   yyyyNov
+ * </pre>
+ *
+ * where weeks have one or two digits, and quarters and semesters one digit.
+ *
  * @author Morten Olav Hansen <mortenoh@gmail.com>
  */
 public enum DateUnitType
 {
-    DAILY( PeriodTypeEnum.DAILY, List.of( "\\b(\\d{4})(\\d{2})(\\d{2})\\b", "\\b(\\d{4})-(\\d{2})-(\\d{2})\\b" ) ),
-    WEEKLY( PeriodTypeEnum.WEEKLY, "\\b(\\d{4})W(\\d[\\d]?)\\b" ),
-    WEEKLY_WEDNESDAY( PeriodTypeEnum.WEEKLY_WEDNESDAY, "\\b(\\d{4})WedW(\\d[\\d]?)\\b" ),
-    WEEKLY_THURSDAY( PeriodTypeEnum.WEEKLY_THURSDAY, "\\b(\\d{4})ThuW(\\d[\\d]?)\\b" ),
-    WEEKLY_SATURDAY( PeriodTypeEnum.WEEKLY_SATURDAY, "\\b(\\d{4})SatW(\\d[\\d]?)\\b" ),
-    WEEKLY_SUNDAY( PeriodTypeEnum.WEEKLY_SUNDAY, "\\b(\\d{4})SunW(\\d[\\d]?)\\b" ),
-    BI_WEEKLY( PeriodTypeEnum.BI_WEEKLY, "\\b(\\d{4})BiW(\\d[\\d]?)\\b" ),
-    MONTHLY( PeriodTypeEnum.MONTHLY, "\\b(\\d{4})[-]?(\\d{2})\\b" ),
-    BI_MONTHLY( PeriodTypeEnum.BI_MONTHLY, "\\b(\\d{4})(\\d{2})B\\b" ),
-    QUARTERLY( PeriodTypeEnum.QUARTERLY, "\\b(\\d{4})Q(\\d)\\b" ),
-    SIX_MONTHLY( PeriodTypeEnum.SIX_MONTHLY, "\\b(\\d{4})S(\\d)\\b" ),
-    SIX_MONTHLY_APRIL( PeriodTypeEnum.SIX_MONTHLY_APRIL, "\\b(\\d{4})AprilS(\\d)\\b" ),
-    SIX_MONTHLY_NOVEMBER( PeriodTypeEnum.SIX_MONTHLY_NOV, "\\b(\\d{4})NovS(\\d)\\b" ),
-    YEARLY( PeriodTypeEnum.YEARLY, "\\b(\\d{4})\\b" ),
-    FINANCIAL_APRIL( PeriodTypeEnum.FINANCIAL_APRIL, "\\b(\\d{4})April\\b" ),
-    FINANCIAL_JULY( PeriodTypeEnum.FINANCIAL_JULY, "\\b(\\d{4})July\\b" ),
-    FINANCIAL_OCTOBER( PeriodTypeEnum.FINANCIAL_OCT, "\\b(\\d{4})Oct\\b" ),
-    FINANCIAL_NOVEMBER( PeriodTypeEnum.FINANCIAL_NOV, "\\b(\\d{4})Nov\\b" );
+    DAILY( PeriodTypeEnum.DAILY, null ),
+    WEEKLY( PeriodTypeEnum.WEEKLY, "W" ),
+    WEEKLY_WEDNESDAY( PeriodTypeEnum.WEEKLY_WEDNESDAY, "WedW" ),
+    WEEKLY_THURSDAY( PeriodTypeEnum.WEEKLY_THURSDAY, "ThuW" ),
+    WEEKLY_SATURDAY( PeriodTypeEnum.WEEKLY_SATURDAY, "SatW" ),
+    WEEKLY_SUNDAY( PeriodTypeEnum.WEEKLY_SUNDAY, "SunW" ),
+    BI_WEEKLY( PeriodTypeEnum.BI_WEEKLY, "BiW" ),
+    MONTHLY( PeriodTypeEnum.MONTHLY, null ),
+    BI_MONTHLY( PeriodTypeEnum.BI_MONTHLY, null ),
+    QUARTERLY( PeriodTypeEnum.QUARTERLY, "Q" ),
+    SIX_MONTHLY( PeriodTypeEnum.SIX_MONTHLY, "S" ),
+    SIX_MONTHLY_APRIL( PeriodTypeEnum.SIX_MONTHLY_APRIL, "AprilS" ),
+    SIX_MONTHLY_NOVEMBER( PeriodTypeEnum.SIX_MONTHLY_NOV, "NovS" ),
+    YEARLY( PeriodTypeEnum.YEARLY, null ),
+    FINANCIAL_APRIL( PeriodTypeEnum.FINANCIAL_APRIL, "April" ),
+    FINANCIAL_JULY( PeriodTypeEnum.FINANCIAL_JULY, "July" ),
+    FINANCIAL_OCTOBER( PeriodTypeEnum.FINANCIAL_OCT, "Oct" ),
+    FINANCIAL_NOVEMBER( PeriodTypeEnum.FINANCIAL_NOV, "Nov" );
 
-    @Getter
-    private final PeriodTypeEnum periodType;
+    private static final DateUnitType[] WEEKLY_TYPES = { WEEKLY, WEEKLY_WEDNESDAY, WEEKLY_THURSDAY,
+        WEEKLY_SATURDAY, WEEKLY_SUNDAY, BI_WEEKLY };
+
+    private static final DateUnitType[] SINGLE_DIGIT_TYPES = { QUARTERLY, SIX_MONTHLY, SIX_MONTHLY_APRIL,
+        SIX_MONTHLY_NOVEMBER };
+
+    private static final DateUnitType[] FINANCIAL_TYPES = { FINANCIAL_APRIL, FINANCIAL_JULY, FINANCIAL_OCTOBER,
+        FINANCIAL_NOVEMBER };
 
     @Getter
-    private final Collection<Pattern> patterns;
+    private final PeriodTypeEnum periodType;
 
-    DateUnitType( PeriodTypeEnum periodType, String patterns )
-    {
-        this.periodType = periodType;
-        this.patterns = List.of( Pattern.compile( patterns ) );
-    }
+    /**
+     * The text following the year in the ISO format, or null for the formats
+     * made of digits only.
+     */
+    private final String infix;
 
-    DateUnitType( PeriodTypeEnum periodType, Collection<String> patterns )
+    DateUnitType( PeriodTypeEnum periodType, String infix )
     {
         this.periodType = periodType;
-        this.patterns = patterns.stream()
-            .map( Pattern::compile )
-            .collect( Collectors.toList() );
+        this.infix = infix;
     }
 
     public String getName()
@@ -87,27 +113,175 @@ public enum DateUnitType
         return periodType.getName();
     }
 
-    public static Optional<DateUnitTypeWithPattern> find( String isoString )
+    /**
+     * Finds the date unit type of the given ISO period and extracts the
+     * numbers it is made of. Only the format is checked, not whether the
+     * numbers are in range.
+     *
+     * @param isoString the ISO period.
+     * @return the date unit type with the numbers of the ISO period, or empty
+     *         if the ISO period is not in any of the formats.
+     */
+    public static Optional<DateUnitTypeWithValues> find( String isoString )
     {
-        for ( DateUnitType type : DateUnitType.values() )
+        int length = isoString.length();
+
+        if ( length < 4 || !isDigits( isoString, 0, 4 ) )
+        {
+            return Optional.empty();
+        }
+
+        int year = toInt( isoString, 0, 4 );
+
+        if ( length == 4 )
+        {
+            return Optional.of( DateUnitTypeWithValues.of( YEARLY, year, 0, 0 ) );
+        }
+
+        char next = isoString.charAt( 4 );
+
+        if ( next == '-' )
+        {
+            return findDashed( isoString, year );
+        }
+
+        if ( isDigit( next ) )
+        {
+            return findUndashed( isoString, year );
+        }
+
+        for ( DateUnitType type : WEEKLY_TYPES )
+        {
+            int digits = length - 4 - type.infix.length();
+
+            if ( (digits == 1 || digits == 2) && isoString.startsWith( type.infix, 4 )
+                && isDigits( isoString, length - digits, length ) )
+            {
+                return Optional.of( DateUnitTypeWithValues.of( type, year,
+                    toInt( isoString, length - digits, length ), 0 ) );
+            }
+        }
+
+        for ( DateUnitType type : SINGLE_DIGIT_TYPES )
+        {
+            if ( length == 5 + type.infix.length() && isoString.startsWith( type.infix, 4 )
+                && isDigit( isoString.charAt( length - 1 ) ) )
+            {
+                return Optional.of( DateUnitTypeWithValues.of( type, year,
+                    isoString.charAt( length - 1 ) - '0', 0 ) );
+            }
+        }
+
+        for ( DateUnitType type : FINANCIAL_TYPES )
         {
-            for ( Pattern pattern : type.getPatterns() )
+            if ( length == 4 + type.infix.length() && isoString.startsWith( type.infix, 4 ) )
             {
-                if ( pattern.matcher( isoString ).matches() )
-                {
-                    return Optional.of( DateUnitTypeWithPattern.of( type, pattern ) );
-                }
+                return Optional.of( DateUnitTypeWithValues.of( type, year, 0, 0 ) );
             }
         }
+
         return Optional.empty();
     }
 
+    /**
+     * Finds the formats yyyy-MM and yyyy-MM-dd.
+     */
+    private static Optional<DateUnitTypeWithValues> findDashed( String isoString, int year )
+    {
+        int length = isoString.length();
+
+        if ( length == 7 && isDigits( isoString, 5, 7 ) )
+        {
+            return Optional.of( DateUnitTypeWithValues.of( MONTHLY, year, toInt( isoString, 5, 7 ), 0 ) );
+        }
+
+        if ( length == 10 && isDigits( isoString, 5, 7 ) && isoString.charAt( 7 ) == '-'
+            && isDigits( isoString, 8, 10 ) )
+        {
+            return Optional.of( DateUnitTypeWithValues.of( DAILY, year, toInt( isoString, 5, 7 ),
+                toInt( isoString, 8, 10 ) ) );
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * Finds the formats yyyyMM, yyyyMMB and yyyyMMdd.
+     */
+    private static Optional<DateUnitTypeWithValues> findUndashed( String isoString, int year )
+    {
+        int length = isoString.length();
+
+        if ( length < 6 || !isDigit( isoString.charAt( 5 ) ) )
+        {
+            return Optional.empty();
+        }
+
+        int month = toInt( isoString, 4, 6 );
+
+        if ( length == 6 )
+        {
+            return Optional.of( DateUnitTypeWithValues.of( MONTHLY, year, month, 0 ) );
+        }
+
+        if ( length == 7 && isoString.charAt( 6 ) == 'B' )
+        {
+            return Optional.of( DateUnitTypeWithValues.of( BI_MONTHLY, year, month, 0 ) );
+        }
+
+        if ( length == 8 && isDigits( isoString, 6, 8 ) )
+        {
+            return Optional.of( DateUnitTypeWithValues.of( DAILY, year, month, toInt( isoString, 6, 8 ) ) );
+        }
+
+        return Optional.empty();
+    }
+
+    private static boolean isDigit( char c )
+    {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isDigits( String string, int from, int to )
+    {
+        for ( int i = from; i < to; i++ )
+        {
+            if ( !isDigit( string.charAt( i ) ) )
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static int toInt( String string, int from, int to )
+    {
+        int value = 0;
+
+        for ( int i = from; i < to; i++ )
+        {
+            value = value * 10 + (string.charAt( i ) - '0');
+        }
+
+        return value;
+    }
+
+    /**
+     * A date unit type with the numbers of an ISO period following the year,
+     * which are the month and day for daily periods, the week, month, quarter
+     * or semester for the other periods, and zero when absent.
+     */
     @Getter
     @AllArgsConstructor( staticName = "of" )
-    public static class DateUnitTypeWithPattern
+    public static class DateUnitTypeWithValues
     {
         private final DateUnitType dateUnitType;
 
-        private final Pattern pattern;
+        private final int year;
+
+        private final int value;
+
+        private final int day;
     }
 }
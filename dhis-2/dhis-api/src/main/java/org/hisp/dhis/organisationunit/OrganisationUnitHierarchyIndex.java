@@ -0,0 +1,316 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.organisationunit;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.util.Assert;
+
+/**
+ * Immutable index of the organisation unit hierarchy which answers ancestor,
+ * descendant, level and subtree size questions in constant time, without
+ * loading organisation units or walking their parents.
+ * <p>
+ * Organisation units are held in primitive arrays by position. Each unit is
+ * numbered in pre-order of a depth first traversal of the hierarchy, so that
+ * the descendants of a unit occupy the interval starting at its own number and
+ * spanning its subtree size. Units which cannot be reached from a root, i.e.
+ * which are part of a parent cycle, are not contained in the index.
+ */
+public final class OrganisationUnitHierarchyIndex
+{
+    private static final int NONE = -1;
+
+    /**
+     * Mapping of organisation unit identifier to position.
+     */
+    private final Map<Long, Integer> positions;
+
+    private final long[] ids;
+
+    /**
+     * Position of the parent by position, -1 for roots.
+     */
+    private final int[] parents;
+
+    /**
+     * Pre-order number by position.
+     */
+    private final int[] preOrder;
+
+    /**
+     * Number of units in the subtree, including the unit itself, by position.
+     */
+    private final int[] subtreeSizes;
+
+    /**
+     * Hierarchy level by position, starting at 1 for roots.
+     */
+    private final int[] levels;
+
+    private OrganisationUnitHierarchyIndex( Map<Long, Integer> positions, long[] ids, int[] parents,
+        int[] preOrder, int[] subtreeSizes, int[] levels )
+    {
+        this.positions = positions;
+        this.ids = ids;
+        this.parents = parents;
+        this.preOrder = preOrder;
+        this.subtreeSizes = subtreeSizes;
+        this.levels = levels;
+    }
+
+    /**
+     * Creates an index of the hierarchy given by the identifiers of
+     * organisation units and the identifiers of their parents at the same
+     * position. A parent identifier of 0 or of a unit which is not part of the
+     * given identifiers makes the unit a root.
+     *
+     * @param ids the organisation unit identifiers.
+     * @param parentIds the parent identifiers.
+     * @return an {@link OrganisationUnitHierarchyIndex}.
+     */
+    public static OrganisationUnitHierarchyIndex of( long[] ids, long[] parentIds )
+    {
+        Assert.isTrue( ids.length == parentIds.length, "Identifiers and parent identifiers must have same length" );
+
+        int size = ids.length;
+
+        Map<Long, Integer> positions = new HashMap<>( Math.max( (int) (size / 0.75f) + 1, 16 ) );
+
+        for ( int i = 0; i < size; i++ )
+        {
+            positions.put( ids[i], i );
+        }
+
+        int[] parents = new int[size];
+        int[] childCounts = new int[size + 1];
+
+        for ( int i = 0; i < size; i++ )
+        {
+            Integer parent = parentIds[i] != 0 ? positions.get( parentIds[i] ) : null;
+
+            parents[i] = parent != null && parent != i ? parent : NONE;
+
+            if ( parents[i] != NONE )
+            {
+                childCounts[parents[i] + 1]++;
+            }
+        }
+
+        // Children of the unit at position i are held at childStarts[i] until
+        // childStarts[i + 1] in children
+
+        int[] childStarts = childCounts;
+
+        for ( int i = 0; i < size; i++ )
+        {
+            childStarts[i + 1] += childStarts[i];
+        }
+
+        int[] children = new int[childStarts[size]];
+        int[] fill = Arrays.copyOf( childStarts, size );
+
+        for ( int i = 0; i < size; i++ )
+        {
+            if ( parents[i] != NONE )
+            {
+                children[fill[parents[i]]++] = i;
+            }
+        }
+
+        int[] preOrder = new int[size];
+        int[] levels = new int[size];
+        int[] order = new int[size];
+        int[] stack = new int[size];
+
+        Arrays.fill( preOrder, NONE );
+
+        int counter = 0;
+
+        for ( int root = 0; root < size; root++ )
+        {
+            if ( parents[root] != NONE )
+            {
+                continue;
+            }
+
+            int top = 0;
+            stack[top++] = root;
+            levels[root] = 1;
+
+            while ( top > 0 )
+            {
+                int unit = stack[--top];
+
+                preOrder[unit] = counter;
+                order[counter++] = unit;
+
+                // Push children in reverse to number them in insertion order
+
+                for ( int c = childStarts[unit + 1] - 1; c >= childStarts[unit]; c-- )
+                {
+                    int child = children[c];
+                    levels[child] = levels[unit] + 1;
+                    stack[top++] = child;
+                }
+            }
+        }
+
+        // Accumulate subtree sizes bottom up in reverse pre-order
+
+        int[] subtreeSizes = new int[size];
+
+        for ( int i = counter - 1; i >= 0; i-- )
+        {
+            int unit = order[i];
+
+            subtreeSizes[unit]++;
+
+            if ( parents[unit] != NONE )
+            {
+                subtreeSizes[parents[unit]] += subtreeSizes[unit];
+            }
+        }
+
+        for ( int i = 0; i < size; i++ )
+        {
+            if ( preOrder[i] == NONE )
+            {
+                positions.remove( ids[i] );
+            }
+        }
+
+        return new OrganisationUnitHierarchyIndex( positions, ids.clone(), parents, preOrder, subtreeSizes,
+            levels );
+    }
+
+    /**
+     * Indicates whether the organisation unit with the given identifier is
+     * contained in this index.
+     *
+     * @param id the organisation unit identifier.
+     * @return true if contained in this index.
+     */
+    public boolean contains( long id )
+    {
+        return positions.containsKey( id );
+    }
+
+    /**
+     * Indicates whether the organisation unit with the given identifier is
+     * equal to or a descendant of the organisation unit with the given ancestor
+     * identifier.
+     *
+     * @param id the organisation unit identifier.
+     * @param ancestorId the identifier of the potential ancestor.
+     * @return true if the unit is equal to or a descendant of the ancestor,
+     *         false otherwise or if either is not contained in this index.
+     */
+    public boolean isDescendant( long id, long ancestorId )
+    {
+        Integer unit = positions.get( id );
+        Integer ancestor = positions.get( ancestorId );
+
+        if ( unit == null || ancestor == null )
+        {
+            return false;
+        }
+
+        int pre = preOrder[unit];
+        int ancestorPre = preOrder[ancestor];
+
+        return pre >= ancestorPre && pre < ancestorPre + subtreeSizes[ancestor];
+    }
+
+    /**
+     * Indicates whether the organisation unit with the given identifier is
+     * equal to or an ancestor of the organisation unit with the given
+     * descendant identifier.
+     *
+     * @param id the organisation unit identifier.
+     * @param descendantId the identifier of the potential descendant.
+     * @return true if the unit is equal to or an ancestor of the descendant.
+     */
+    public boolean isAncestor( long id, long descendantId )
+    {
+        return isDescendant( descendantId, id );
+    }
+
+    /**
+     * Returns the identifier of the parent of the organisation unit with the
+     * given identifier.
+     *
+     * @param id the organisation unit identifier.
+     * @return the parent identifier, or 0 if the unit is a root or not
+     *         contained in this index.
+     */
+    public long getParentId( long id )
+    {
+        Integer unit = positions.get( id );
+
+        return unit != null && parents[unit] != NONE ? ids[parents[unit]] : 0;
+    }
+
+    /**
+     * Returns the hierarchy level of the organisation unit with the given
+     * identifier, where roots are at level 1.
+     *
+     * @param id the organisation unit identifier.
+     * @return the level, or 0 if not contained in this index.
+     */
+    public int getLevel( long id )
+    {
+        Integer unit = positions.get( id );
+
+        return unit != null ? levels[unit] : 0;
+    }
+
+    /**
+     * Returns the number of organisation units in the subtree of the
+     * organisation unit with the given identifier, including the unit itself.
+     *
+     * @param id the organisation unit identifier.
+     * @return the subtree size, or 0 if not contained in this index.
+     */
+    public int getSubtreeSize( long id )
+    {
+        Integer unit = positions.get( id );
+
+        return unit != null ? subtreeSizes[unit] : 0;
+    }
+
+    /**
+     * Returns the number of organisation units contained in this index.
+     */
+    public int size()
+    {
+        return positions.size();
+    }
+}
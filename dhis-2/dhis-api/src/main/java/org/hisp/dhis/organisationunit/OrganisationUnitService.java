@@ -544,6 +544,20 @@ public interface OrganisationUnitService extends OrganisationUnitDataIntegrityPr
      */
     void forceUpdatePaths();
 
+    /**
+     * Returns the index of the organisation unit hierarchy. The index is loaded
+     * on first use and reloaded after the hierarchy was changed.
+     *
+     * @return an {@link OrganisationUnitHierarchyIndex}.
+     */
+    OrganisationUnitHierarchyIndex getHierarchyIndex();
+
+    /**
+     * Invalidates the index of the organisation unit hierarchy, to be called
+     * when organisation units are created, moved or deleted.
+     */
+    void invalidateHierarchyIndex();
+
     /**
      * Check if the count of the organisation units in the capture scope of
      * current user is above a threshold
@@ -120,6 +120,14 @@ public interface OrganisationUnitStore
 
     void forceUpdatePaths();
 
+    /**
+     * Returns an index of the current organisation unit hierarchy, built from
+     * the parent relationships of all organisation units.
+     *
+     * @return an {@link OrganisationUnitHierarchyIndex}.
+     */
+    OrganisationUnitHierarchyIndex getHierarchyIndex();
+
     /**
      * Returns the number of organsiation unit levels in the database based on
      * the organisation unit hierarchy.
@@ -81,6 +81,17 @@ public abstract class PeriodType
         .withMaximumSize( 30000 )
         .build();
 
+    /**
+     * Cache for period lookup by ISO period. The periods are copied when
+     * handed out, as periods are mutable and may become persistent.
+     */
+    private static final Cache<Period> ISO_PERIOD_CACHE = new SimpleCacheBuilder<Period>()
+        .forRegion( "isoPeriodCache" )
+        .expireAfterAccess( 12, TimeUnit.HOURS )
+        .withInitialCapacity( 10000 )
+        .withMaximumSize( 30000 )
+        .build();
+
     private String getCacheKey( Date date )
     {
         return getCalendar().name() + getName() + date.getTime();
@@ -100,6 +111,7 @@ public abstract class PeriodType
     public static void invalidatePeriodCache()
     {
         PERIOD_CACHE.invalidateAll();
+        ISO_PERIOD_CACHE.invalidateAll();
     }
 
     private static CalendarService calendarService;
@@ -500,7 +512,7 @@ public abstract class PeriodType
     public static PeriodType getPeriodTypeFromIsoString( String isoPeriod )
     {
         return DateUnitType.find( isoPeriod )
-            .map( DateUnitType.DateUnitTypeWithPattern::getDateUnitType )
+            .map( DateUnitType.DateUnitTypeWithValues::getDateUnitType )
             .map( DateUnitType::getName )
             .map( PERIOD_TYPE_MAP::get )
             .orElse( null );
@@ -515,18 +527,39 @@ public abstract class PeriodType
      */
     public static Period getPeriodFromIsoString( String isoPeriod )
     {
-        if ( isoPeriod != null )
+        if ( isoPeriod == null )
         {
-            PeriodType periodType = getPeriodTypeFromIsoString( isoPeriod );
+            return null;
+        }
 
-            try
-            {
-                return periodType != null ? periodType.createPeriod( isoPeriod ) : null;
-            }
-            catch ( Exception ex )
-            {
-                // Do nothing and return null
-            }
+        Period period = ISO_PERIOD_CACHE.get( getCalendar().name() + isoPeriod, key -> parsePeriod( isoPeriod ) );
+
+        return period != null ? copyOf( period ) : null;
+    }
+
+    /**
+     * Returns a copy of the given cached period, including its dates, as dates
+     * are mutable.
+     */
+    private static Period copyOf( Period period )
+    {
+        Period copy = new Period( period );
+        copy.setStartDate( new Date( period.getStartDate().getTime() ) );
+        copy.setEndDate( new Date( period.getEndDate().getTime() ) );
+        return copy;
+    }
+
+    private static Period parsePeriod( String isoPeriod )
+    {
+        PeriodType periodType = getPeriodTypeFromIsoString( isoPeriod );
+
+        try
+        {
+            return periodType != null ? periodType.createPeriod( isoPeriod ) : null;
+        }
+        catch ( Exception ex )
+        {
+            // Do nothing and return null
         }
 
         return null;
@@ -37,6 +37,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import org.apache.commons.collections4.MapUtils;
@@ -113,6 +115,12 @@ public class Preheat
      */
     private Map<Class<? extends IdentifiableObject>, Map<String, Attribute>> attributesByTargetObjectType = new HashMap<>();
 
+    /**
+     * Time in milliseconds spent loading each class, mapped by phase and class
+     * name. Classes may be loaded concurrently.
+     */
+    private final Map<String, Long> timings = new ConcurrentHashMap<>();
+
     public Preheat()
     {
         for ( PreheatIdentifier identifier : PreheatIdentifier.values() )
@@ -136,6 +144,16 @@ public class Preheat
         this.user = user;
     }
 
+    public void addTiming( String name, long millis )
+    {
+        timings.merge( name, millis, Long::sum );
+    }
+
+    public Map<String, Long> getTimings()
+    {
+        return new TreeMap<>( timings );
+    }
+
     public <T extends IdentifiableObject> T get( PreheatIdentifier identifier,
         Class<? extends IdentifiableObject> klass, IdentifiableObject object )
     {
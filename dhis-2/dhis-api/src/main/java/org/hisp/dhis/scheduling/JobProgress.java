@@ -30,20 +30,24 @@ package org.hisp.dhis.scheduling;
 import static java.lang.String.format;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.Deque;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentLinkedDeque;
-import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.ToLongFunction;
 import java.util.stream.Stream;
 
 import lombok.AllArgsConstructor;
@@ -478,43 +482,82 @@ public interface JobProgress
      */
     default <T> void runStageInParallel( int parallelism, Collection<T> items, Function<T, String> description,
         Consumer<T> work )
+    {
+        runStageInParallel( parallelism, items, description, null, work );
+    }
+
+    /**
+     * Runs the work items of a stage with the given parallelism like
+     * {@link #runStageInParallel(int, Collection, Function, Consumer)}, but
+     * starts the items with the highest estimated cost first.
+     * <p>
+     * Each worker takes the next item once it is done with its previous one,
+     * so that items are not assigned to workers up front. Starting with the
+     * most costly items avoids that a single costly item started last
+     * determines the duration of the stage.
+     * <p>
+     * The workers run on threads shared by all stages. The duration of each
+     * item is recorded with the item.
+     *
+     * @param parallelism number of items that at maximum should be processed in
+     *        parallel
+     * @param items work item inputs to be processed in parallel
+     * @param description function to extract a description for a work item, may
+     *        return {@code null}
+     * @param cost function to estimate the relative cost of a work item, or
+     *        {@code null} to process the items in the given order
+     * @param work function to execute the work of a single work item input
+     * @param <T> type of work item input
+     */
+    default <T> void runStageInParallel( int parallelism, Collection<T> items, Function<T, String> description,
+        ToLongFunction<T> cost, Consumer<T> work )
     {
         if ( parallelism <= 1 )
         {
             runStage( items, description, work );
             return;
         }
+        List<T> queue = new ArrayList<>( items );
+        if ( cost != null )
+        {
+            queue.sort( Comparator.comparingLong( cost ).reversed() );
+        }
+        AtomicInteger next = new AtomicInteger();
         AtomicInteger success = new AtomicInteger();
         AtomicInteger failed = new AtomicInteger();
 
-        Callable<Boolean> task = () -> items.parallelStream().map( item -> {
-            if ( isSkipCurrentStage() )
+        Runnable worker = () -> {
+            for ( int i = next.getAndIncrement(); i < queue.size(); i = next.getAndIncrement() )
             {
-                return false;
-            }
-            startingWorkItem( description.apply( item ) );
-            try
-            {
-                work.accept( item );
-                completedWorkItem( null );
-                success.incrementAndGet();
-                return true;
-            }
-            catch ( Exception ex )
-            {
-                failedWorkItem( ex );
-                failed.incrementAndGet();
-                return false;
+                if ( isSkipCurrentStage() )
+                {
+                    continue;
+                }
+                T item = queue.get( i );
+                startingWorkItem( description.apply( item ) );
+                try
+                {
+                    work.accept( item );
+                    completedWorkItem( null );
+                    success.incrementAndGet();
+                }
+                catch ( Exception ex )
+                {
+                    failedWorkItem( ex );
+                    failed.incrementAndGet();
+                }
             }
-        } ).reduce( Boolean::logicalAnd ).orElse( false );
+        };
 
-        ForkJoinPool pool = new ForkJoinPool( parallelism );
+        CompletableFuture<?>[] workers = new CompletableFuture<?>[Math.min( parallelism, queue.size() )];
+        for ( int i = 0; i < workers.length; i++ )
+        {
+            workers[i] = CompletableFuture.runAsync( worker, JobProgressWorkers.POOL );
+        }
         try
         {
-            // this might not be obvious but running a parallel stream
-            // as task in a FJP makes the stream use the pool
-            boolean allSuccessful = pool.submit( task ).get();
-            if ( allSuccessful )
+            CompletableFuture.allOf( workers ).get();
+            if ( !queue.isEmpty() && success.get() == queue.size() )
             {
                 completedStage( null );
             }
@@ -534,10 +577,6 @@ public interface JobProgress
         {
             failedStage( ex );
         }
-        finally
-        {
-            pool.shutdown();
-        }
     }
 
     /*
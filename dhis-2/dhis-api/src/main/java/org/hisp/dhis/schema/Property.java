@@ -28,11 +28,15 @@
 package org.hisp.dhis.schema;
 
 import java.lang.annotation.Annotation;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 
 import org.hisp.dhis.common.DxfNamespaces;
 import org.hisp.dhis.common.EmbeddedObject;
@@ -85,6 +89,16 @@ public class Property implements Ordered, Klass
      */
     private Method setterMethod;
 
+    /**
+     * Generated accessor calling the getter method, null if not generated.
+     */
+    private Function<Object, Object> getter;
+
+    /**
+     * Generated accessor calling the setter method, null if not generated.
+     */
+    private BiConsumer<Object, Object> setter;
+
     /**
      * Name for this property, if this class is a collection, it is the name of
      * the items -inside- the collection and not the collection wrapper itself.
@@ -379,6 +393,7 @@ public class Property implements Ordered, Klass
     public void setGetterMethod( Method getterMethod )
     {
         this.getterMethod = getterMethod;
+        this.getter = null;
     }
 
     public Method getSetterMethod()
@@ -389,6 +404,87 @@ public class Property implements Ordered, Klass
     public void setSetterMethod( Method setterMethod )
     {
         this.setterMethod = setterMethod;
+        this.setter = null;
+    }
+
+    /**
+     * Sets the accessors generated for the getter and setter method of this
+     * property, either can be null.
+     *
+     * @param getter the function calling the getter method.
+     * @param setter the function calling the setter method.
+     */
+    public void setAccessors( Function<Object, Object> getter, BiConsumer<Object, Object> setter )
+    {
+        this.getter = getter;
+        this.setter = setter;
+    }
+
+    /**
+     * Reads the value of this property from the given object using the
+     * generated accessor, falling back to invoking the getter method.
+     *
+     * @param target the object to read from.
+     * @return the value, or null if the target is null or the getter method is
+     *         missing, protected or private.
+     */
+    @SuppressWarnings( "unchecked" )
+    public <T> T getValue( Object target )
+    {
+        if ( target == null )
+        {
+            return null;
+        }
+
+        if ( getter != null )
+        {
+            return (T) getter.apply( target );
+        }
+
+        return (T) invoke( target, getterMethod );
+    }
+
+    /**
+     * Writes the value of this property to the given object using the generated
+     * accessor, falling back to invoking the setter method. Does nothing if the
+     * target is null or the setter method is missing, protected or private.
+     *
+     * @param target the object to write to.
+     * @param value the value to set.
+     */
+    public void setValue( Object target, Object value )
+    {
+        if ( target == null )
+        {
+            return;
+        }
+
+        if ( setter != null )
+        {
+            setter.accept( target, value );
+        }
+        else
+        {
+            invoke( target, setterMethod, value );
+        }
+    }
+
+    private static Object invoke( Object target, Method method, Object... args )
+    {
+        if ( method == null || Modifier.isProtected( method.getModifiers() )
+            || Modifier.isPrivate( method.getModifiers() ) )
+        {
+            return null;
+        }
+
+        try
+        {
+            return method.invoke( target, args );
+        }
+        catch ( InvocationTargetException | IllegalAccessException ex )
+        {
+            throw new RuntimeException( ex );
+        }
     }
 
     @JsonProperty
@@ -28,7 +28,9 @@
 package org.hisp.dhis.calendar;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 
+import org.hisp.dhis.calendar.DateUnitType.DateUnitTypeWithValues;
 import org.hisp.dhis.period.PeriodTypeEnum;
 import org.junit.jupiter.api.Test;
 
@@ -41,4 +43,51 @@ class DateUnitTypeTest
         assertEquals( PeriodTypeEnum.QUARTERLY.getName(), DateUnitType.QUARTERLY.getName() );
         assertEquals( PeriodTypeEnum.YEARLY.getName(), DateUnitType.YEARLY.getName() );
     }
+
+    @Test
+    void testFind()
+    {
+        assertFind( DateUnitType.DAILY, 2022, 3, 14, "20220314" );
+        assertFind( DateUnitType.DAILY, 2022, 3, 14, "2022-03-14" );
+        assertFind( DateUnitType.WEEKLY, 2022, 7, 0, "2022W7" );
+        assertFind( DateUnitType.WEEKLY, 2022, 52, 0, "2022W52" );
+        assertFind( DateUnitType.WEEKLY_WEDNESDAY, 2022, 12, 0, "2022WedW12" );
+        assertFind( DateUnitType.WEEKLY_THURSDAY, 2022, 1, 0, "2022ThuW1" );
+        assertFind( DateUnitType.WEEKLY_SATURDAY, 2022, 33, 0, "2022SatW33" );
+        assertFind( DateUnitType.WEEKLY_SUNDAY, 2022, 5, 0, "2022SunW5" );
+        assertFind( DateUnitType.BI_WEEKLY, 2022, 26, 0, "2022BiW26" );
+        assertFind( DateUnitType.MONTHLY, 2022, 11, 0, "202211" );
+        assertFind( DateUnitType.MONTHLY, 2022, 11, 0, "2022-11" );
+        assertFind( DateUnitType.BI_MONTHLY, 2022, 3, 0, "202203B" );
+        assertFind( DateUnitType.QUARTERLY, 2022, 4, 0, "2022Q4" );
+        assertFind( DateUnitType.SIX_MONTHLY, 2022, 2, 0, "2022S2" );
+        assertFind( DateUnitType.SIX_MONTHLY_APRIL, 2022, 1, 0, "2022AprilS1" );
+        assertFind( DateUnitType.SIX_MONTHLY_NOVEMBER, 2022, 2, 0, "2022NovS2" );
+        assertFind( DateUnitType.YEARLY, 2022, 0, 0, "2022" );
+        assertFind( DateUnitType.FINANCIAL_APRIL, 2022, 0, 0, "2022April" );
+        assertFind( DateUnitType.FINANCIAL_JULY, 2022, 0, 0, "2022July" );
+        assertFind( DateUnitType.FINANCIAL_OCTOBER, 2022, 0, 0, "2022Oct" );
+        assertFind( DateUnitType.FINANCIAL_NOVEMBER, 2022, 0, 0, "2022Nov" );
+    }
+
+    @Test
+    void testFindInvalid()
+    {
+        for ( String isoString : new String[] { "", "202", "20221", "2022011", "202201011", "2022-1", "2022-01-1",
+            "2022/01", "2022W", "2022W123", "2022Q", "2022Q12", "2022S", "2022NovS", "2022Dec", "2022AprilS12",
+            "2022BiWW1", "22022", "A2022", "2022q1", "2022 ", " 2022", "202201A" } )
+        {
+            assertFalse( DateUnitType.find( isoString ).isPresent(), isoString );
+        }
+    }
+
+    private static void assertFind( DateUnitType type, int year, int value, int day, String isoString )
+    {
+        DateUnitTypeWithValues found = DateUnitType.find( isoString ).orElseThrow();
+
+        assertEquals( type, found.getDateUnitType() );
+        assertEquals( year, found.getYear() );
+        assertEquals( value, found.getValue() );
+        assertEquals( day, found.getDay() );
+    }
 }
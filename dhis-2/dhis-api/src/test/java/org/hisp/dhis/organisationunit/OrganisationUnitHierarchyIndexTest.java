@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.organisationunit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class OrganisationUnitHierarchyIndexTest
+{
+    /**
+     * <pre>
+     *        1       7
+     *      /   \
+     *     2     3
+     *    / \     \
+     *   4   5     6
+     * </pre>
+     */
+    private final OrganisationUnitHierarchyIndex index = OrganisationUnitHierarchyIndex.of(
+        new long[] { 5, 3, 1, 6, 2, 4, 7 },
+        new long[] { 2, 1, 0, 3, 1, 2, 0 } );
+
+    @Test
+    void testIsDescendant()
+    {
+        assertTrue( index.isDescendant( 4, 1 ) );
+        assertTrue( index.isDescendant( 5, 2 ) );
+        assertTrue( index.isDescendant( 6, 3 ) );
+        assertTrue( index.isDescendant( 2, 2 ) );
+        assertFalse( index.isDescendant( 6, 2 ) );
+        assertFalse( index.isDescendant( 1, 2 ) );
+        assertFalse( index.isDescendant( 4, 7 ) );
+        assertFalse( index.isDescendant( 4, 8 ) );
+        assertTrue( index.isAncestor( 1, 6 ) );
+        assertFalse( index.isAncestor( 4, 2 ) );
+    }
+
+    @Test
+    void testLevelAndSubtreeSize()
+    {
+        assertEquals( 1, index.getLevel( 1 ) );
+        assertEquals( 2, index.getLevel( 3 ) );
+        assertEquals( 3, index.getLevel( 5 ) );
+        assertEquals( 1, index.getLevel( 7 ) );
+        assertEquals( 0, index.getLevel( 8 ) );
+        assertEquals( 6, index.getSubtreeSize( 1 ) );
+        assertEquals( 3, index.getSubtreeSize( 2 ) );
+        assertEquals( 1, index.getSubtreeSize( 4 ) );
+        assertEquals( 2, index.getParentId( 4 ) );
+        assertEquals( 0, index.getParentId( 1 ) );
+        assertEquals( 7, index.size() );
+    }
+
+    @Test
+    void testCycleIsNotContained()
+    {
+        OrganisationUnitHierarchyIndex cyclic = OrganisationUnitHierarchyIndex.of(
+            new long[] { 1, 2, 3, 4 },
+            new long[] { 0, 1, 4, 3 } );
+
+        assertEquals( 2, cyclic.size() );
+        assertTrue( cyclic.isDescendant( 2, 1 ) );
+        assertFalse( cyclic.contains( 3 ) );
+        assertFalse( cyclic.isDescendant( 3, 4 ) );
+    }
+
+    @Test
+    void testDeepHierarchy()
+    {
+        int size = 100_000;
+        long[] ids = new long[size];
+        long[] parentIds = new long[size];
+
+        for ( int i = 0; i < size; i++ )
+        {
+            ids[i] = i + 1;
+            parentIds[i] = i;
+        }
+
+        OrganisationUnitHierarchyIndex deep = OrganisationUnitHierarchyIndex.of( ids, parentIds );
+
+        assertTrue( deep.isDescendant( size, 1 ) );
+        assertEquals( size, deep.getLevel( size ) );
+        assertEquals( size, deep.getSubtreeSize( 1 ) );
+    }
+}
@@ -29,6 +29,7 @@ package org.hisp.dhis.period;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
 
 import java.util.List;
@@ -93,6 +94,37 @@ class PeriodTypeTest
         assertEquals( PeriodType.getPeriodTypeFromIsoString( "2011Oct" ).getIso8601Duration(), "P1Y" );
     }
 
+    @Test
+    void testGetPeriodFromIsoStringRepeatedly()
+    {
+        Period first = PeriodType.getPeriodFromIsoString( "2018Q3" );
+        first.setId( 42 );
+
+        Period second = PeriodType.getPeriodFromIsoString( "2018Q3" );
+
+        assertNotSame( first, second );
+        assertEquals( first, second );
+        assertEquals( 0, second.getId() );
+        assertEquals( "2018Q3", second.getIsoDate() );
+        assertNull( PeriodType.getPeriodFromIsoString( "2018Q5" ) );
+        assertNull( PeriodType.getPeriodFromIsoString( "2018Q5" ) );
+    }
+
+    @Test
+    void testGetPeriodFromIsoStringCopiesDates()
+    {
+        Period first = PeriodType.getPeriodFromIsoString( "2018Q3" );
+        long startTime = first.getStartDate().getTime();
+        long endTime = first.getEndDate().getTime();
+        first.getStartDate().setTime( 0 );
+        first.getEndDate().setTime( 0 );
+
+        Period second = PeriodType.getPeriodFromIsoString( "2018Q3" );
+
+        assertEquals( startTime, second.getStartDate().getTime() );
+        assertEquals( endTime, second.getEndDate().getTime() );
+    }
+
     @Test
     void testGetPeriodTypePeriods()
     {
@@ -49,6 +49,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
@@ -211,6 +212,34 @@ class JobProgressTest
         runStageInParallel_Success( max( 2, Runtime.getRuntime().availableProcessors() / 2 ) );
     }
 
+    @Test
+    void testRunStageInParallel_CostliestFirst()
+    {
+        CountDownLatch bothStarted = new CountDownLatch( 2 );
+        List<Integer> worked = new CopyOnWriteArrayList<>();
+        Consumer<Integer> work = value -> {
+            worked.add( value );
+            bothStarted.countDown();
+            try
+            {
+                // the first two items wait for each other, so no worker
+                // can take a third item before both have started
+                bothStarted.await( 5, TimeUnit.SECONDS );
+            }
+            catch ( InterruptedException ex )
+            {
+                Thread.currentThread().interrupt();
+            }
+        };
+        JobProgress progress = newMockJobProgress();
+        List<Integer> items = asList( 3, 40, 1, 7, 50, 2 );
+        progress.runStageInParallel( 2, items, String::valueOf, Integer::longValue, work );
+        assertEquals( new HashSet<>( items ), new HashSet<>( worked ) );
+        assertEquals( new HashSet<>( asList( 50, 40 ) ), new HashSet<>( worked.subList( 0, 2 ) ) );
+        verify( progress, times( items.size() ) ).completedWorkItem( null );
+        verify( progress ).completedStage( null );
+    }
+
     private static void runStageInParallel_Success( int parallelism )
     {
         AtomicInteger enterCount = new AtomicInteger();
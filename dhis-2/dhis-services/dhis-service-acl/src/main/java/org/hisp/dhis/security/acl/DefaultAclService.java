@@ -32,7 +32,7 @@ import static org.springframework.util.CollectionUtils.containsAny;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
 
 import lombok.RequiredArgsConstructor;
 
@@ -742,7 +742,9 @@ public class DefaultAclService implements AclService
 
     /**
      * If the given user allowed to access the given object using the
-     * permissions given.
+     * permissions given. The user and user group accesses of the sharing are
+     * keyed by the UID of the user and user group, so they are looked up
+     * rather than compared with every group of the user.
      *
      * @param user User to check against
      * @param object Object to check against
@@ -757,14 +759,19 @@ public class DefaultAclService implements AclService
             return true;
         }
 
-        if ( sharing.getUserGroups() != null && !CollectionUtils.isEmpty( user.getGroups() ) )
+        Map<String, UserGroupAccess> userGroupAccesses = sharing.getUserGroups();
+
+        if ( userGroupAccesses != null && !userGroupAccesses.isEmpty()
+            && !CollectionUtils.isEmpty( user.getGroups() ) )
         {
-            for ( UserGroupAccess userGroupAccess : sharing.getUserGroups().values() )
+            for ( UserGroup group : user.getGroups() )
             {
                 // Check if user is allowed to read this object through group
                 // access
-                if ( AccessStringHelper.isEnabled( userGroupAccess.getAccess(), permission )
-                    && hasUserGroupAccess( user.getGroups(), userGroupAccess.getId() ) )
+                UserGroupAccess userGroupAccess = userGroupAccesses.get( group.getUid() );
+
+                if ( userGroupAccess != null
+                    && AccessStringHelper.isEnabled( userGroupAccess.getAccess(), permission ) )
                 {
                     return true;
                 }
@@ -773,17 +780,12 @@ public class DefaultAclService implements AclService
 
         if ( sharing.getUsers() != null )
         {
-            for ( UserAccess userAccess : sharing.getUsers().values() )
-            {
-                // Check if user is allowed to read to this object through user
-                // access
+            // Check if user is allowed to read to this object through user
+            // access
 
-                if ( AccessStringHelper.isEnabled( userAccess.getAccess(), permission )
-                    && user.getUid().equals( userAccess.getId() ) )
-                {
-                    return true;
-                }
-            }
+            UserAccess userAccess = sharing.getUsers().get( user.getUid() );
+
+            return userAccess != null && AccessStringHelper.isEnabled( userAccess.getAccess(), permission );
         }
 
         return false;
@@ -798,17 +800,15 @@ public class DefaultAclService implements AclService
             return true;
         }
 
-        List<Long> accessibleOptions = new ArrayList<>();
-
         for ( CategoryOption option : optionCombo.getCategoryOptions() )
         {
-            if ( checkSharingPermission( user, option, permission ) )
+            if ( !checkSharingPermission( user, option, permission ) )
             {
-                accessibleOptions.add( option.getId() );
+                return false;
             }
         }
 
-        return accessibleOptions.size() == optionCombo.getCategoryOptions().size();
+        return true;
     }
 
     private boolean readWriteCommonCheck( User user, Class<?> objType )
@@ -832,17 +832,4 @@ public class DefaultAclService implements AclService
         return checkSharingAccess( user, object, objType ) &&
             (checkUser( user, object ) || checkSharingPermission( user, object, Permission.WRITE ));
     }
-
-    private boolean hasUserGroupAccess( Set<UserGroup> userGroups, String userGroupUid )
-    {
-        for ( UserGroup group : userGroups )
-        {
-            if ( group.getUid().equals( userGroupUid ) )
-            {
-                return true;
-            }
-        }
-
-        return false;
-    }
 }
@@ -29,6 +29,7 @@ package org.hisp.dhis.analytics;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -64,6 +65,15 @@ public interface AnalyticsTableManager
      */
     Set<String> getExistingDatabaseTables();
 
+    /**
+     * Returns the estimated number of rows of existing analytics database
+     * tables, as of when the tables were last analyzed. The estimates are used
+     * as the relative cost of processing the table partitions of the same name.
+     *
+     * @return a mapping of table name to estimated number of rows.
+     */
+    Map<String, Long> getExistingDatabaseTableRowCounts();
+
     /**
      * Checks if the database content is in valid state for analytics table
      * generation.
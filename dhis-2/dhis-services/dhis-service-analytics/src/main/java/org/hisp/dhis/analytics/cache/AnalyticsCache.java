@@ -34,7 +34,6 @@ import java.util.function.Function;
 
 import lombok.extern.slf4j.Slf4j;
 
-import org.apache.commons.lang3.SerializationUtils;
 import org.hisp.dhis.analytics.DataQueryParams;
 import org.hisp.dhis.cache.Cache;
 import org.hisp.dhis.cache.CacheProvider;
@@ -44,6 +43,11 @@ import org.springframework.stereotype.Component;
 /**
  * This is a wrapper class responsible for keeping and isolating all cache
  * definitions related to the analytics.
+ * <p>
+ * Grids are held as immutable {@link GridSnapshot} instances. A snapshot is
+ * taken once when a grid is cached, and each consumer receives its own grid
+ * materialized from the shared snapshot, so that consumers can modify the
+ * returned grid without affecting the cached state.
  */
 @Slf4j
 @Component
@@ -51,7 +55,7 @@ public class AnalyticsCache
 {
     private final AnalyticsCacheSettings analyticsCacheSettings;
 
-    private Cache<Grid> queryCache;
+    private final Cache<GridSnapshot> queryCache;
 
     /**
      * Default constructor. Note that a default expiration time is set, as as
@@ -68,7 +72,7 @@ public class AnalyticsCache
 
     public Optional<Grid> get( String key )
     {
-        return getGridClone( queryCache.get( key ) );
+        return queryCache.get( key ).map( GridSnapshot::toGrid );
     }
 
     /**
@@ -77,7 +81,7 @@ public class AnalyticsCache
      * will be fetched by the function provided. In this case, the fetched Grid
      * will be cached, so the next consumers can hit the cache only.
      * <p>
-     * f The TTL of the cached object will be set accordingly to the cache
+     * The TTL of the cached object will be set accordingly to the cache
      * settings available at
      * {@link org.hisp.dhis.analytics.cache.AnalyticsCacheSettings}.
      *
@@ -92,15 +96,15 @@ public class AnalyticsCache
 
         if ( cachedGrid.isPresent() )
         {
-            return getGridClone( cachedGrid.get() );
+            return cachedGrid.get();
         }
         else
         {
             Grid grid = function.apply( params );
 
-            put( params, grid );
+            GridSnapshot snapshot = put( params, grid );
 
-            return getGridClone( grid );
+            return snapshot.toGrid();
         }
     }
 
@@ -113,19 +117,20 @@ public class AnalyticsCache
      *
      * @param params the DataQueryParams.
      * @param grid the associated Grid.
+     * @return the cached {@link GridSnapshot}.
      */
-    public void put( DataQueryParams params, Grid grid )
+    public GridSnapshot put( DataQueryParams params, Grid grid )
     {
         if ( analyticsCacheSettings.isProgressiveCachingEnabled() )
         {
             // Uses the progressive TTL
-            put( params.getKey(), grid,
+            return put( params.getKey(), grid,
                 analyticsCacheSettings.progressiveExpirationTimeOrDefault( params.getLatestEndDate() ) );
         }
         else
         {
             // Respects the fixed (predefined) caching TTL
-            put( params.getKey(), grid, analyticsCacheSettings.fixedExpirationTimeOrDefault() );
+            return put( params.getKey(), grid, analyticsCacheSettings.fixedExpirationTimeOrDefault() );
         }
     }
 
@@ -136,10 +141,15 @@ public class AnalyticsCache
      * @param key the cache key associate with the Grid.
      * @param grid the Grid object to be cached.
      * @param ttlInSeconds the time to live (expiration time) in seconds.
+     * @return the cached {@link GridSnapshot}.
      */
-    public void put( String key, Grid grid, long ttlInSeconds )
+    public GridSnapshot put( String key, Grid grid, long ttlInSeconds )
     {
-        queryCache.put( key, getGridClone( grid ), ttlInSeconds );
+        GridSnapshot snapshot = GridSnapshot.of( grid );
+
+        queryCache.put( key, snapshot, ttlInSeconds );
+
+        return snapshot;
     }
 
     /**
@@ -156,19 +166,4 @@ public class AnalyticsCache
     {
         return analyticsCacheSettings.isCachingEnabled();
     }
-
-    private Grid getGridClone( Grid grid )
-    {
-        if ( grid != null )
-        {
-            return SerializationUtils.clone( grid );
-        }
-
-        return null;
-    }
-
-    private Optional<Grid> getGridClone( Optional<Grid> grid )
-    {
-        return grid.map( SerializationUtils::clone );
-    }
 }
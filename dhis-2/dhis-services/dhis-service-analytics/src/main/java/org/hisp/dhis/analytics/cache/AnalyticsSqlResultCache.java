@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.analytics.cache;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.hisp.dhis.analytics.DataQueryParams;
+import org.hisp.dhis.analytics.QueryKey;
+import org.hisp.dhis.cache.Cache;
+import org.hisp.dhis.cache.CacheProvider;
+import org.hisp.dhis.setting.SettingKey;
+import org.hisp.dhis.setting.SystemSettingManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caches the aggregated values read by individual analytics SQL statements.
+ * <p>
+ * Different analytics requests often produce identical SQL statements, for
+ * instance when a dashboard item and a pivot table share the same data and
+ * periods but differ in layout. As opposed to {@link AnalyticsCache}, which
+ * holds complete responses per request, this cache is keyed by the exact SQL
+ * statement, the shape of the result and the time of the last analytics
+ * table update, so that such requests share the database round trip.
+ * <p>
+ * All entries are invalidated when analytics tables are swapped. Mappings are
+ * copied on both put and get, as consumers modify the returned mapping. The
+ * cache is bounded by the total number of cached values.
+ */
+@Slf4j
+@Component
+public class AnalyticsSqlResultCache
+{
+    private final AnalyticsCacheSettings analyticsCacheSettings;
+
+    private final SystemSettingManager systemSettingManager;
+
+    private final Cache<Map<String, Object>> resultCache;
+
+    public AnalyticsSqlResultCache( CacheProvider cacheProvider, AnalyticsCacheSettings analyticsCacheSettings,
+        SystemSettingManager systemSettingManager )
+    {
+        checkNotNull( cacheProvider );
+        checkNotNull( analyticsCacheSettings );
+        checkNotNull( systemSettingManager );
+
+        this.analyticsCacheSettings = analyticsCacheSettings;
+        this.systemSettingManager = systemSettingManager;
+        this.resultCache = cacheProvider.createAnalyticsSqlResultCache( Map::size );
+    }
+
+    /**
+     * Returns a key for the given SQL statement and result shape. The key
+     * includes the time of the last analytics table update, so that entries
+     * created before an update are never returned after it.
+     *
+     * @param sql the SQL statement.
+     * @param shape the shape of the result, i.e. the columns and value type.
+     * @return a cache key.
+     */
+    public String getKey( String sql, String shape )
+    {
+        return new QueryKey()
+            .add( "sql", sql )
+            .add( "shape", shape )
+            .add( "tablesUpdated", getTime( SettingKey.LAST_SUCCESSFUL_ANALYTICS_TABLES_UPDATE ) )
+            .add( "partitionUpdated", getTime( SettingKey.LAST_SUCCESSFUL_LATEST_ANALYTICS_PARTITION_UPDATE ) )
+            .build();
+    }
+
+    /**
+     * Returns a copy of the key value mapping cached for the given key.
+     *
+     * @param key the cache key.
+     * @return an {@link Optional} of the cached mapping.
+     */
+    public Optional<Map<String, Object>> get( String key )
+    {
+        return resultCache.get( key ).map( HashMap::new );
+    }
+
+    /**
+     * Caches a copy of the given key value mapping for the given key. The TTL
+     * of the cached mapping is set accordingly to the cache settings available
+     * at {@link AnalyticsCacheSettings}.
+     *
+     * @param key the cache key.
+     * @param params the {@link DataQueryParams} the mapping was read for.
+     * @param map the key value mapping.
+     */
+    public void put( String key, DataQueryParams params, Map<String, Object> map )
+    {
+        long ttlInSeconds = analyticsCacheSettings.isProgressiveCachingEnabled()
+            ? analyticsCacheSettings.progressiveExpirationTimeOrDefault( params.getLatestEndDate() )
+            : analyticsCacheSettings.fixedExpirationTimeOrDefault();
+
+        resultCache.put( key, new HashMap<>( map ), ttlInSeconds );
+    }
+
+    /**
+     * Clears the current cache by removing all existing entries.
+     */
+    public void invalidateAll()
+    {
+        resultCache.invalidateAll();
+
+        log.info( "Analytics SQL result cache cleared" );
+    }
+
+    public boolean isEnabled()
+    {
+        return analyticsCacheSettings.isCachingEnabled();
+    }
+
+    // -------------------------------------------------------------------------
+    // Supportive methods
+    // -------------------------------------------------------------------------
+
+    private Long getTime( SettingKey key )
+    {
+        Date date = systemSettingManager.getDateSetting( key );
+
+        return date != null ? date.getTime() : null;
+    }
+}
@@ -0,0 +1,373 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.analytics.cache;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.hisp.dhis.common.ExecutionPlan;
+import org.hisp.dhis.common.Grid;
+import org.hisp.dhis.common.GridHeader;
+import org.hisp.dhis.common.Reference;
+import org.hisp.dhis.system.grid.ListGrid;
+
+/**
+ * Immutable snapshot of a {@link Grid} as held by the {@link AnalyticsCache}. A
+ * snapshot is taken once when a grid is put into the cache and can then be
+ * shared by any number of readers, as none of its state is ever modified.
+ * Readers obtain their own mutable grid through {@link #toGrid()}, which only
+ * copies row and collection structures and shares the (immutable) cell values,
+ * instead of cloning the full object graph through Java serialization.
+ * <p>
+ * When the snapshot has to leave the heap, for instance when stored in a Redis
+ * backed cache, it is written in a compact binary form where cell values are
+ * type tagged and repeated strings, such as dimension item identifiers, are
+ * written once and referenced by index afterwards.
+ */
+public final class GridSnapshot
+    implements Externalizable
+{
+    private static final long serialVersionUID = 1L;
+
+    private static final int MAX_INLINE_STRING_LENGTH = 16_000;
+
+    private static final byte TAG_NULL = 0;
+
+    private static final byte TAG_STRING = 1;
+
+    private static final byte TAG_STRING_REF = 2;
+
+    private static final byte TAG_DOUBLE = 3;
+
+    private static final byte TAG_LONG = 4;
+
+    private static final byte TAG_INTEGER = 5;
+
+    private static final byte TAG_TRUE = 6;
+
+    private static final byte TAG_FALSE = 7;
+
+    private static final byte TAG_OBJECT = 8;
+
+    private String title;
+
+    private String subtitle;
+
+    private String table;
+
+    private List<GridHeader> headers;
+
+    private Map<String, Object> metaData;
+
+    private Map<String, Object> internalMetaData;
+
+    private Object[][] rows;
+
+    private List<Reference> refs;
+
+    private List<ExecutionPlan> executionPlans;
+
+    private boolean lastDataRow;
+
+    /**
+     * Constructor required by {@link Externalizable}. Use {@link #of(Grid)} to
+     * create snapshots.
+     */
+    public GridSnapshot()
+    {
+    }
+
+    /**
+     * Takes an immutable snapshot of the given grid. Later modifications of the
+     * given grid are not reflected in the snapshot.
+     *
+     * @param grid the {@link Grid}.
+     * @return a {@link GridSnapshot}.
+     */
+    public static GridSnapshot of( Grid grid )
+    {
+        GridSnapshot snapshot = new GridSnapshot();
+        snapshot.title = grid.getTitle();
+        snapshot.subtitle = grid.getSubtitle();
+        snapshot.table = grid.getTable();
+        snapshot.headers = List.copyOf( grid.getHeaders() );
+        snapshot.metaData = copyMap( grid.getMetaData() );
+        snapshot.internalMetaData = copyMap( grid.getInternalMetaData() );
+        snapshot.rows = grid.getRows().stream()
+            .map( List::toArray )
+            .toArray( Object[][]::new );
+        snapshot.refs = grid.getRefs() != null ? new ArrayList<>( grid.getRefs() ) : null;
+        snapshot.executionPlans = grid.getPerformanceMetrics() != null
+            && grid.getPerformanceMetrics().getExecutionPlans() != null
+                ? new ArrayList<>( grid.getPerformanceMetrics().getExecutionPlans() )
+                : null;
+        snapshot.lastDataRow = grid.hasLastDataRow();
+        return snapshot;
+    }
+
+    /**
+     * Creates a new, mutable {@link Grid} holding the state of this snapshot.
+     * Modifications of the returned grid do not affect the snapshot.
+     *
+     * @return a {@link Grid}.
+     */
+    public Grid toGrid()
+    {
+        Grid grid = new ListGrid( copyMap( metaData ), copyMap( internalMetaData ) );
+        grid.setTitle( title );
+        grid.setSubtitle( subtitle );
+        grid.setTable( table );
+        grid.addHeaders( 0, headers );
+
+        for ( Object[] row : rows )
+        {
+            grid.addRow();
+            grid.addValues( row );
+        }
+
+        if ( refs != null )
+        {
+            refs.forEach( grid::addReference );
+        }
+
+        if ( executionPlans != null )
+        {
+            grid.addPerformanceMetrics( new ArrayList<>( executionPlans ) );
+        }
+
+        grid.setLastDataRow( lastDataRow );
+        return grid;
+    }
+
+    public int getHeight()
+    {
+        return rows.length;
+    }
+
+    // -------------------------------------------------------------------------
+    // Externalizable implementation
+    // -------------------------------------------------------------------------
+
+    @Override
+    public void writeExternal( ObjectOutput out )
+        throws IOException
+    {
+        out.writeObject( title );
+        out.writeObject( subtitle );
+        out.writeObject( table );
+        out.writeObject( new ArrayList<>( headers ) );
+        out.writeObject( metaData );
+        out.writeObject( internalMetaData );
+        out.writeObject( refs );
+        out.writeObject( executionPlans );
+        out.writeBoolean( lastDataRow );
+
+        Map<String, Integer> strings = new HashMap<>();
+
+        out.writeInt( rows.length );
+
+        for ( Object[] row : rows )
+        {
+            out.writeInt( row.length );
+
+            for ( Object value : row )
+            {
+                writeValue( out, value, strings );
+            }
+        }
+    }
+
+    @Override
+    @SuppressWarnings( "unchecked" )
+    public void readExternal( ObjectInput in )
+        throws IOException,
+        ClassNotFoundException
+    {
+        title = (String) in.readObject();
+        subtitle = (String) in.readObject();
+        table = (String) in.readObject();
+        headers = List.copyOf( (List<GridHeader>) in.readObject() );
+        metaData = (Map<String, Object>) in.readObject();
+        internalMetaData = (Map<String, Object>) in.readObject();
+        refs = (List<Reference>) in.readObject();
+        executionPlans = (List<ExecutionPlan>) in.readObject();
+        lastDataRow = in.readBoolean();
+
+        List<String> strings = new ArrayList<>();
+
+        rows = new Object[in.readInt()][];
+
+        for ( int i = 0; i < rows.length; i++ )
+        {
+            Object[] row = new Object[in.readInt()];
+
+            for ( int j = 0; j < row.length; j++ )
+            {
+                row[j] = readValue( in, strings );
+            }
+
+            rows[i] = row;
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Supportive methods
+    // -------------------------------------------------------------------------
+
+    private static void writeValue( ObjectOutput out, Object value, Map<String, Integer> strings )
+        throws IOException
+    {
+        if ( value == null )
+        {
+            out.writeByte( TAG_NULL );
+        }
+        else if ( value instanceof String && ((String) value).length() <= MAX_INLINE_STRING_LENGTH )
+        {
+            Integer index = strings.get( value );
+
+            if ( index != null )
+            {
+                out.writeByte( TAG_STRING_REF );
+                out.writeInt( index );
+            }
+            else
+            {
+                strings.put( (String) value, strings.size() );
+                out.writeByte( TAG_STRING );
+                out.writeUTF( (String) value );
+            }
+        }
+        else if ( value instanceof Double )
+        {
+            out.writeByte( TAG_DOUBLE );
+            out.writeDouble( (Double) value );
+        }
+        else if ( value instanceof Long )
+        {
+            out.writeByte( TAG_LONG );
+            out.writeLong( (Long) value );
+        }
+        else if ( value instanceof Integer )
+        {
+            out.writeByte( TAG_INTEGER );
+            out.writeInt( (Integer) value );
+        }
+        else if ( value instanceof Boolean )
+        {
+            out.writeByte( (Boolean) value ? TAG_TRUE : TAG_FALSE );
+        }
+        else
+        {
+            out.writeByte( TAG_OBJECT );
+            out.writeObject( value );
+        }
+    }
+
+    private static Object readValue( ObjectInput in, List<String> strings )
+        throws IOException,
+        ClassNotFoundException
+    {
+        byte tag = in.readByte();
+
+        switch ( tag )
+        {
+        case TAG_NULL:
+            return null;
+        case TAG_STRING:
+            String value = in.readUTF();
+            strings.add( value );
+            return value;
+        case TAG_STRING_REF:
+            return strings.get( in.readInt() );
+        case TAG_DOUBLE:
+            return in.readDouble();
+        case TAG_LONG:
+            return in.readLong();
+        case TAG_INTEGER:
+            return in.readInt();
+        case TAG_TRUE:
+            return Boolean.TRUE;
+        case TAG_FALSE:
+            return Boolean.FALSE;
+        case TAG_OBJECT:
+            return in.readObject();
+        default:
+            throw new IOException( "Unknown grid value tag: " + tag );
+        }
+    }
+
+    /**
+     * Copies the given map, including nested maps and collections, so that the
+     * container structures of the copy can be modified independently. Leaf
+     * values are shared.
+     */
+    @SuppressWarnings( "unchecked" )
+    private static Map<String, Object> copyMap( Map<String, Object> map )
+    {
+        return map != null ? (Map<String, Object>) copyContainer( map ) : new HashMap<>();
+    }
+
+    private static Object copyContainer( Object value )
+    {
+        if ( value instanceof Map )
+        {
+            Map<Object, Object> copy = new LinkedHashMap<>();
+            ((Map<?, ?>) value).forEach( ( k, v ) -> copy.put( k, copyContainer( v ) ) );
+            return copy;
+        }
+        else if ( value instanceof Set )
+        {
+            Set<Object> copy = new LinkedHashSet<>();
+            ((Set<?>) value).forEach( v -> copy.add( copyContainer( v ) ) );
+            return copy;
+        }
+        else if ( value instanceof Collection )
+        {
+            List<Object> copy = new ArrayList<>();
+            ((Collection<?>) value).forEach( v -> copy.add( copyContainer( v ) ) );
+            return copy;
+        }
+        else if ( value instanceof Object[] )
+        {
+            return Arrays.copyOf( (Object[]) value, ((Object[]) value).length );
+        }
+
+        return value;
+    }
+}
@@ -55,10 +55,12 @@ import static org.hisp.dhis.commons.util.TextUtils.getQuotedCommaDelimitedString
 import static org.hisp.dhis.commons.util.TextUtils.removeLastOr;
 import static org.hisp.dhis.util.DateUtils.getMediumDateString;
 
+import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -76,6 +78,7 @@ import org.hisp.dhis.analytics.DataType;
 import org.hisp.dhis.analytics.MeasureFilter;
 import org.hisp.dhis.analytics.QueryPlanner;
 import org.hisp.dhis.analytics.analyze.ExecutionPlanStore;
+import org.hisp.dhis.analytics.cache.AnalyticsSqlResultCache;
 import org.hisp.dhis.analytics.table.PartitionUtils;
 import org.hisp.dhis.analytics.util.AnalyticsUtils;
 import org.hisp.dhis.common.DimensionType;
@@ -161,6 +164,8 @@ public class JdbcAnalyticsManager
 
     private final ExecutionPlanStore executionPlanStore;
 
+    private final AnalyticsSqlResultCache sqlResultCache;
+
     // -------------------------------------------------------------------------
     // AnalyticsManager implementation
     // -------------------------------------------------------------------------
@@ -235,6 +240,14 @@ public class JdbcAnalyticsManager
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Each key is split once and each distinct data period is resolved once.
+     * Keys are processed in chronological order of their data period, so that
+     * values for aggregation periods spanning multiple calendar years are
+     * weighted in the right order.
+     */
     @Override
     public void replaceDataPeriodsWithAggregationPeriods( Map<String, Object> dataValueMap,
         DataQueryParams params, ListMap<DimensionalItemObject, DimensionalItemObject> dataPeriodAggregationPeriodMap )
@@ -248,49 +261,75 @@ public class JdbcAnalyticsManager
                 return; // Period is filter, nothing to replace
             }
 
-            Set<String> keys = new HashSet<>( dataValueMap.keySet() );
+            ListMap<String, Map.Entry<String[], Object>> periodKeyMap = new ListMap<>();
 
-            for ( String key : keys )
+            for ( Map.Entry<String, Object> entry : dataValueMap.entrySet() )
             {
-                String[] keyArray = key.split( DIMENSION_SEP );
+                String[] keyArray = entry.getKey().split( DIMENSION_SEP );
 
                 String periodKey = keyArray[periodIndex];
 
-                Assert.notNull( periodKey, String.format( "Period key cannot be null, key: '%s'", key ) );
+                Assert.notNull( periodKey, String.format( "Period key cannot be null, key: '%s'", entry.getKey() ) );
 
-                List<DimensionalItemObject> periods = dataPeriodAggregationPeriodMap
-                    .get( PeriodType.getPeriodFromIsoString( periodKey ) );
+                periodKeyMap.putValue( periodKey, new SimpleEntry<>( keyArray, entry.getValue() ) );
+            }
 
-                Assert.notNull( periods, String.format( "Period list cannot be null, key: '%s', map: '%s'", key,
-                    dataPeriodAggregationPeriodMap.toString() ) );
+            Map<String, Period> dataPeriods = new HashMap<>();
 
-                Object value = dataValueMap.get( key );
+            for ( String periodKey : periodKeyMap.keySet() )
+            {
+                Period dataPeriod = PeriodType.getPeriodFromIsoString( periodKey );
 
-                for ( DimensionalItemObject period : periods )
-                {
-                    String[] keyCopy = keyArray.clone();
+                Assert.notNull( dataPeriod, String.format( "Period cannot be parsed, period: '%s'", periodKey ) );
+
+                dataPeriods.put( periodKey, dataPeriod );
+            }
 
-                    keyCopy[periodIndex] = ((Period) period).getIsoDate();
+            List<String> periodKeys = new ArrayList<>( periodKeyMap.keySet() );
 
-                    String replacementKey = TextUtils.toString( keyCopy, DIMENSION_SEP );
+            periodKeys.sort( Comparator.comparing( periodKey -> dataPeriods.get( periodKey ).getStartDate() ) );
 
-                    if ( dataValueMap.containsKey( replacementKey )
-                        && ((Period) period).getPeriodType().spansMultipleCalendarYears() )
-                    {
-                        Object weightedAverage = AnalyticsUtils.calculateYearlyWeightedAverage(
-                            (Double) dataValueMap.get( replacementKey ), (Double) value,
-                            AnalyticsUtils.getBaseMonth( ((Period) period).getPeriodType() ) );
+            Map<String, Object> replacedMap = new HashMap<>();
 
-                        dataValueMap.put( TextUtils.toString( keyCopy, DIMENSION_SEP ), weightedAverage );
-                    }
-                    else
+            for ( String periodKey : periodKeys )
+            {
+                List<DimensionalItemObject> periods = dataPeriodAggregationPeriodMap
+                    .get( dataPeriods.get( periodKey ) );
+
+                Assert.notNull( periods, String.format( "Period list cannot be null, period: '%s', map: '%s'",
+                    periodKey, dataPeriodAggregationPeriodMap ) );
+
+                for ( Map.Entry<String[], Object> entry : periodKeyMap.get( periodKey ) )
+                {
+                    String[] keyArray = entry.getKey();
+
+                    Object value = entry.getValue();
+
+                    for ( DimensionalItemObject period : periods )
                     {
-                        dataValueMap.put( TextUtils.toString( keyCopy, DIMENSION_SEP ), value );
+                        keyArray[periodIndex] = ((Period) period).getIsoDate();
+
+                        String replacementKey = TextUtils.toString( keyArray, DIMENSION_SEP );
+
+                        if ( replacedMap.containsKey( replacementKey )
+                            && ((Period) period).getPeriodType().spansMultipleCalendarYears() )
+                        {
+                            Object weightedAverage = AnalyticsUtils.calculateYearlyWeightedAverage(
+                                (Double) replacedMap.get( replacementKey ), (Double) value,
+                                AnalyticsUtils.getBaseMonth( ((Period) period).getPeriodType() ) );
+
+                            replacedMap.put( replacementKey, weightedAverage );
+                        }
+                        else
+                        {
+                            replacedMap.put( replacementKey, value );
+                        }
                     }
                 }
-
-                dataValueMap.remove( key );
             }
+
+            dataValueMap.clear();
+            dataValueMap.putAll( replacedMap );
         }
     }
 
@@ -825,7 +864,9 @@ public class JdbcAnalyticsManager
 
     /**
      * Retrieves data from the database based on the given query and SQL and
-     * puts into a value key and value mapping.
+     * puts into a value key and value mapping. Mappings are served from and put
+     * into the {@link AnalyticsSqlResultCache} when analytics caching is
+     * enabled.
      *
      * @param params the {@link DataQueryParams}.
      * @param sql the SQL query.
@@ -834,6 +875,27 @@ public class JdbcAnalyticsManager
      */
     private Map<String, Object> getKeyValueMap( DataQueryParams params, String sql, int maxLimit )
     {
+        String cacheKey = null;
+
+        if ( sqlResultCache.isEnabled() )
+        {
+            cacheKey = sqlResultCache.getKey( sql, getResultShape( params ) );
+
+            Map<String, Object> cachedMap = sqlResultCache.get( cacheKey ).orElse( null );
+
+            if ( cachedMap != null )
+            {
+                if ( maxLimit > 0 && cachedMap.size() > maxLimit )
+                {
+                    throwIllegalQueryEx( ErrorCode.E7128, maxLimit );
+                }
+
+                log.debug( String.format( "Analytics SQL served from cache: %s", sql ) );
+
+                return cachedMap;
+            }
+        }
+
         Map<String, Object> map = new HashMap<>();
 
         log.debug( String.format( "Analytics SQL: %s", sql ) );
@@ -878,9 +940,34 @@ public class JdbcAnalyticsManager
             }
         }
 
+        if ( cacheKey != null )
+        {
+            sqlResultCache.put( cacheKey, params, map );
+        }
+
         return map;
     }
 
+    /**
+     * Returns the shape of the key value mapping read for the given query,
+     * i.e. the dimension columns with their query modifiers and the value
+     * type, which is part of the cache key of the SQL statement.
+     *
+     * @param params the {@link DataQueryParams}.
+     */
+    private String getResultShape( DataQueryParams params )
+    {
+        StringBuilder shape = new StringBuilder();
+
+        for ( DimensionalObject dim : params.getDimensions() )
+        {
+            shape.append( dim.getDimensionName() ).append( dim.isFixed() ? ":fixed" : "" )
+                .append( params.getQueryModsId( dim ) ).append( DIMENSION_SEP );
+        }
+
+        return shape.append( params.isDataType( TEXT ) ? TEXT : DataType.NUMERIC ).toString();
+    }
+
     /**
      * Generates a comma-delimited string with the dimension names of the given
      * dimensions where each dimension name is quoted. Dimensions which are
@@ -37,7 +37,9 @@ import static org.hisp.dhis.util.DateUtils.getLongDateString;
 
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -79,6 +81,7 @@ import org.hisp.dhis.util.DateUtils;
 import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.BadSqlGrammarException;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.rowset.SqlRowSet;
 import org.springframework.util.Assert;
 
 import com.google.common.base.Preconditions;
@@ -146,6 +149,31 @@ public abstract class AbstractJdbcTableManager
         return partitionManager.getAnalyticsPartitions( getAnalyticsTableType() );
     }
 
+    @Override
+    public Map<String, Long> getExistingDatabaseTableRowCounts()
+    {
+        String sql = "select relname, greatest(reltuples, 0)::bigint as rowcount from pg_class " +
+            "where relkind = 'r' and relname like '" + getTableName() + "%'";
+
+        Map<String, Long> rowCounts = new HashMap<>();
+
+        try
+        {
+            SqlRowSet rowSet = jdbcTemplate.queryForRowSet( sql );
+
+            while ( rowSet.next() )
+            {
+                rowCounts.put( rowSet.getString( "relname" ), rowSet.getLong( "rowcount" ) );
+            }
+        }
+        catch ( DataAccessException ex )
+        {
+            log.warn( "Failed to estimate analytics table row counts: " + ex.getMessage() );
+        }
+
+        return rowCounts;
+    }
+
     /**
      * Override in order to perform work before tables are being generated.
      */
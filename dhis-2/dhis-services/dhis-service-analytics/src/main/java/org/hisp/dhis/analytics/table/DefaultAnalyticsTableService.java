@@ -35,7 +35,9 @@ import static org.hisp.dhis.util.DateUtils.getLongDateString;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.ToLongFunction;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -47,6 +49,8 @@ import org.hisp.dhis.analytics.AnalyticsTablePartition;
 import org.hisp.dhis.analytics.AnalyticsTableService;
 import org.hisp.dhis.analytics.AnalyticsTableType;
 import org.hisp.dhis.analytics.AnalyticsTableUpdateParams;
+import org.hisp.dhis.analytics.cache.AnalyticsSqlResultCache;
+import org.hisp.dhis.cache.ETagService;
 import org.hisp.dhis.common.IdentifiableObjectUtils;
 import org.hisp.dhis.commons.util.SystemUtils;
 import org.hisp.dhis.dataelement.DataElementService;
@@ -75,6 +79,10 @@ public class DefaultAnalyticsTableService
 
     private final SystemSettingManager systemSettingManager;
 
+    private final AnalyticsSqlResultCache sqlResultCache;
+
+    private final ETagService eTagService;
+
     @Override
     public AnalyticsTableType getAnalyticsTableType()
     {
@@ -121,53 +129,56 @@ public class DefaultAnalyticsTableService
             tableType.getTableName(), getLongDateString( params.getFromDate() ), params ) );
         progress.startingStage( "Performing pre-create table work" );
         progress.runStage( () -> tableManager.preCreateTables( params ) );
-        clock.logTime( "Performed pre-create table work " + tableType );
+        clock.logStageTime( "Performed pre-create table work " + tableType );
 
         progress.startingStage( "Dropping temp tables (if any) " + tableType, tables.size() );
         dropTempTables( tables, progress );
-        clock.logTime( "Dropped temp tables" );
+        clock.logStageTime( "Dropped temp tables" );
 
         progress.startingStage( "Creating analytics tables " + tableType, tables.size() );
         createTables( tables, progress );
-        clock.logTime( "Created analytics tables" );
+        clock.logStageTime( "Created analytics tables" );
 
         List<AnalyticsTablePartition> partitions = PartitionUtils.getTablePartitions( tables );
 
+        ToLongFunction<AnalyticsTablePartition> cost = getPartitionCost();
+
         progress.startingStage( "Populating analytics tables " + tableType, partitions.size() );
-        populateTables( params, partitions, progress );
-        clock.logTime( "Populated analytics tables" );
+        populateTables( params, partitions, cost, progress );
+        clock.logStageTime( "Populated analytics tables" );
 
         progress.startingStage( "Invoking analytics table hooks " + tableType );
         tableUpdates += progress.runStage( 0, tableManager::invokeAnalyticsTableSqlHooks );
-        clock.logTime( "Invoked analytics table hooks" );
+        clock.logStageTime( "Invoked analytics table hooks" );
 
-        tableUpdates += applyAggregationLevels( tableType, partitions, progress );
-        clock.logTime( "Applied aggregation levels" );
+        tableUpdates += applyAggregationLevels( tableType, partitions, cost, progress );
+        clock.logStageTime( "Applied aggregation levels" );
 
         if ( tableUpdates > 0 )
         {
             progress.startingStage( "Vacuuming tables " + tableType, partitions.size() );
-            vacuumTables( partitions, progress );
-            clock.logTime( "Tables vacuumed" );
+            vacuumTables( partitions, cost, progress );
+            clock.logStageTime( "Tables vacuumed" );
         }
 
         List<AnalyticsIndex> indexes = getIndexes( partitions );
         progress.startingStage( "Creating indexes " + tableType, indexes.size(), SKIP_ITEM_OUTLIER );
         createIndexes( indexes, progress );
-        clock.logTime( "Created indexes" );
+        clock.logStageTime( "Created indexes" );
 
         progress.startingStage( "Analyzing analytics tables " + tableType, partitions.size() );
-        analyzeTables( partitions, progress );
-        clock.logTime( "Analyzed tables" );
+        analyzeTables( partitions, cost, progress );
+        clock.logStageTime( "Analyzed tables" );
 
         if ( params.isLatestUpdate() )
         {
             progress.startingStage( "Removing updated and deleted data " + tableType, SKIP_STAGE );
             progress.runStage( () -> tableManager.removeUpdatedData( tables ) );
-            clock.logTime( "Removed updated and deleted data" );
+            clock.logStageTime( "Removed updated and deleted data" );
         }
 
         swapTables( params, tables, progress );
+        clock.logStageTime( "Swapped tables" );
 
         clock.logTime( "Table update done: " + tableType.getTableName() );
     }
@@ -201,8 +212,8 @@ public class DefaultAnalyticsTableService
      */
     private void dropTempTables( List<AnalyticsTable> tables, JobProgress progress )
     {
-
-        progress.runStage( tables, AnalyticsTable::getTableName, tableManager::dropTempTable );
+        progress.runStageInParallel( getProcessNo(), tables, AnalyticsTable::getTableName,
+            tableManager::dropTempTable );
     }
 
     /**
@@ -210,19 +221,32 @@ public class DefaultAnalyticsTableService
      */
     private void createTables( List<AnalyticsTable> tables, JobProgress progress )
     {
-        progress.runStage( tables, AnalyticsTable::getTableName, tableManager::createTable );
+        progress.runStageInParallel( getProcessNo(), tables, AnalyticsTable::getTableName,
+            tableManager::createTable );
+    }
+
+    /**
+     * Returns the estimated cost of processing a table partition, which is the
+     * number of rows of the partition of the same name as of the previous
+     * table update. Partitions which did not exist are estimated as cheapest.
+     */
+    private ToLongFunction<AnalyticsTablePartition> getPartitionCost()
+    {
+        Map<String, Long> rowCounts = tableManager.getExistingDatabaseTableRowCounts();
+
+        return partition -> rowCounts.getOrDefault( partition.getTableName(), 0L );
     }
 
     /**
      * Populates the given analytics tables.
      */
     private void populateTables( AnalyticsTableUpdateParams params, List<AnalyticsTablePartition> partitions,
-        JobProgress progress )
+        ToLongFunction<AnalyticsTablePartition> cost, JobProgress progress )
     {
         int parallelism = Math.min( getProcessNo(), partitions.size() );
         log.info( "Populate table task number: " + parallelism );
 
-        progress.runStageInParallel( parallelism, partitions, AnalyticsTablePartition::getTableName,
+        progress.runStageInParallel( parallelism, partitions, AnalyticsTablePartition::getTableName, cost,
             partition -> tableManager.populateTablePartition( params, partition ) );
     }
 
@@ -232,7 +256,7 @@ public class DefaultAnalyticsTableService
      * @return the number of aggregation levels applied for data elements.
      */
     private int applyAggregationLevels( AnalyticsTableType tableType, List<AnalyticsTablePartition> partitions,
-        JobProgress progress )
+        ToLongFunction<AnalyticsTablePartition> cost, JobProgress progress )
     {
         int maxLevels = organisationUnitService.getNumberOfOrganisationalLevels();
 
@@ -248,7 +272,7 @@ public class DefaultAnalyticsTableService
             if ( !dataElements.isEmpty() )
             {
                 progress.startingStage( "Applying aggregation level " + level + " " + tableType, partitions.size() );
-                progress.runStageInParallel( getProcessNo(), partitions, AnalyticsTablePartition::getTableName,
+                progress.runStageInParallel( getProcessNo(), partitions, AnalyticsTablePartition::getTableName, cost,
                     partition -> tableManager.applyAggregationLevels( partition, dataElements, level ) );
 
                 aggLevels += dataElements.size();
@@ -261,9 +285,10 @@ public class DefaultAnalyticsTableService
     /**
      * Vacuums the given analytics tables.
      */
-    private void vacuumTables( List<AnalyticsTablePartition> partitions, JobProgress progress )
+    private void vacuumTables( List<AnalyticsTablePartition> partitions, ToLongFunction<AnalyticsTablePartition> cost,
+        JobProgress progress )
     {
-        progress.runStageInParallel( getProcessNo(), partitions, AnalyticsTablePartition::getTableName,
+        progress.runStageInParallel( getProcessNo(), partitions, AnalyticsTablePartition::getTableName, cost,
             tableManager::vacuumTables );
     }
 
@@ -282,14 +307,18 @@ public class DefaultAnalyticsTableService
     /**
      * Analyzes the given analytics tables.
      */
-    private void analyzeTables( List<AnalyticsTablePartition> partitions, JobProgress progress )
+    private void analyzeTables( List<AnalyticsTablePartition> partitions, ToLongFunction<AnalyticsTablePartition> cost,
+        JobProgress progress )
     {
-        progress.runStage( partitions, AnalyticsTablePartition::getTableName,
+        progress.runStageInParallel( getProcessNo(), partitions, AnalyticsTablePartition::getTableName, cost,
             table -> tableManager.analyzeTable( table.getTempTableName() ) );
     }
 
     /**
-     * Swaps the given analytics tables.
+     * Swaps the given analytics tables. Tables are swapped in parallel, while
+     * the partitions of each table are swapped together with the table by a
+     * single task, as the master table and its partitions must be swapped as a
+     * group.
      *
      * @param params the {@link AnalyticsTableUpdateParams}.
      * @param tables the list of {@link AnalyticsTable}.
@@ -299,7 +328,11 @@ public class DefaultAnalyticsTableService
         resourceTableService.dropAllSqlViews( progress );
 
         progress.startingStage( "Swapping analytics tables " + getAnalyticsTableType(), tables.size() );
-        progress.runStage( tables, AnalyticsTable::getTableName, table -> tableManager.swapTable( params, table ) );
+        progress.runStageInParallel( getProcessNo(), tables, AnalyticsTable::getTableName,
+            table -> tableManager.swapTable( params, table ) );
+
+        sqlResultCache.invalidateAll();
+        eTagService.incrementAnalyticsVersion();
 
         resourceTableService.createAllSqlViews( progress );
     }
@@ -69,13 +69,13 @@ class AnalyticsCacheTest
         // arrange
         AnalyticsCacheSettings settings = new AnalyticsCacheSettings( systemSettingManager );
 
-        CacheBuilder<Grid> cacheBuilder = new SimpleCacheBuilder<>();
+        CacheBuilder<GridSnapshot> cacheBuilder = new SimpleCacheBuilder<>();
 
         cacheBuilder.expireAfterWrite( 1L, TimeUnit.MINUTES );
 
-        Cache<Grid> cache = new LocalCache<>( cacheBuilder );
+        Cache<GridSnapshot> cache = new LocalCache<>( cacheBuilder );
 
-        Mockito.<Cache<Grid>> when( cacheProvider.createAnalyticsCache() )
+        Mockito.<Cache<GridSnapshot>> when( cacheProvider.createAnalyticsCache() )
             .thenReturn( cache );
 
         AnalyticsCache analyticsCache = new AnalyticsCache( cacheProvider, settings );
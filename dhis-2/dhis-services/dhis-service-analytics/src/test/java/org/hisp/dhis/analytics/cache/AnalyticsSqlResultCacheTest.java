@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.analytics.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.hisp.dhis.analytics.DataQueryParams;
+import org.hisp.dhis.cache.Cache;
+import org.hisp.dhis.cache.CacheBuilder;
+import org.hisp.dhis.cache.DefaultCacheProvider;
+import org.hisp.dhis.cache.LocalCache;
+import org.hisp.dhis.cache.SimpleCacheBuilder;
+import org.hisp.dhis.dataelement.DataElement;
+import org.hisp.dhis.setting.SettingKey;
+import org.hisp.dhis.setting.SystemSettingManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith( MockitoExtension.class )
+class AnalyticsSqlResultCacheTest
+{
+    @Mock
+    private SystemSettingManager systemSettingManager;
+
+    @Mock
+    private DefaultCacheProvider cacheProvider;
+
+    private AnalyticsSqlResultCache sqlResultCache;
+
+    private DataQueryParams params;
+
+    @BeforeEach
+    void setUp()
+    {
+        CacheBuilder<Map<String, Object>> cacheBuilder = new SimpleCacheBuilder<>();
+
+        cacheBuilder.expireAfterWrite( 1L, TimeUnit.MINUTES ).withMaximumWeight( 100L, Map::size );
+
+        Cache<Map<String, Object>> cache = new LocalCache<>( cacheBuilder );
+
+        Mockito.<Cache<Map<String, Object>>> when( cacheProvider.createAnalyticsSqlResultCache( any() ) )
+            .thenReturn( cache );
+
+        sqlResultCache = new AnalyticsSqlResultCache( cacheProvider,
+            new AnalyticsCacheSettings( systemSettingManager ), systemSettingManager );
+
+        params = DataQueryParams.newBuilder()
+            .withDataElements( List.of( new DataElement( "dataElementA" ) ) )
+            .build();
+    }
+
+    @Test
+    void testGetKeyDistinguishesWhitespaceInLiterals()
+    {
+        assertNotEquals(
+            sqlResultCache.getKey( "select sum(value) from analytics where ou = 'a  b'", "[dx, pe]" ),
+            sqlResultCache.getKey( "select sum(value) from analytics where ou = 'a b'", "[dx, pe]" ) );
+    }
+
+    @Test
+    void testGetKeyIncludesShapeAndTableUpdate()
+    {
+        String key = sqlResultCache.getKey( "select sum(value) from analytics", "[dx, pe]" );
+
+        assertNotEquals( key, sqlResultCache.getKey( "select sum(value) from analytics", "[dx, ou]" ) );
+
+        when( systemSettingManager.getDateSetting( SettingKey.LAST_SUCCESSFUL_ANALYTICS_TABLES_UPDATE ) )
+            .thenReturn( new Date() );
+
+        assertNotEquals( key, sqlResultCache.getKey( "select sum(value) from analytics", "[dx, pe]" ) );
+    }
+
+    @Test
+    void testGetReturnsCopy()
+    {
+        Map<String, Object> map = getMap();
+
+        sqlResultCache.put( "key", params, map );
+
+        map.put( "deC-202201", 3d );
+
+        Optional<Map<String, Object>> cached = sqlResultCache.get( "key" );
+
+        assertTrue( cached.isPresent() );
+        assertEquals( 2, cached.get().size() );
+
+        cached.get().put( "deD-202201", 4d );
+
+        assertEquals( 2, sqlResultCache.get( "key" ).get().size() );
+    }
+
+    @Test
+    void testInvalidateAll()
+    {
+        sqlResultCache.put( "key", params, getMap() );
+
+        assertTrue( sqlResultCache.get( "key" ).isPresent() );
+
+        sqlResultCache.invalidateAll();
+
+        assertFalse( sqlResultCache.get( "key" ).isPresent() );
+    }
+
+    private Map<String, Object> getMap()
+    {
+        Map<String, Object> map = new HashMap<>();
+        map.put( "deA-202201", 1d );
+        map.put( "deB-202201", 2d );
+        return map;
+    }
+}
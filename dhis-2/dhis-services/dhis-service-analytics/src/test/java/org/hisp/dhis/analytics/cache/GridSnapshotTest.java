@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.analytics.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.SerializationUtils;
+import org.hisp.dhis.common.ExecutionPlan;
+import org.hisp.dhis.common.Grid;
+import org.hisp.dhis.common.GridHeader;
+import org.hisp.dhis.common.ValueType;
+import org.hisp.dhis.system.grid.ListGrid;
+import org.junit.jupiter.api.Test;
+
+class GridSnapshotTest
+{
+    @Test
+    void testToGridReturnsIndependentGrids()
+    {
+        GridSnapshot snapshot = GridSnapshot.of( createGrid() );
+
+        Grid gridA = snapshot.toGrid();
+        Grid gridB = snapshot.toGrid();
+
+        assertNotSame( gridA, gridB );
+
+        gridA.addRow().addValue( "ouC" ).addValue( "202203" ).addValue( 3d );
+        gridA.getRow( 0 ).set( 2, 99d );
+        gridA.addHeader( new GridHeader( "extra" ) );
+        gridA.addMetaData( "pager", "1" );
+        ((Map<String, Object>) gridA.getMetaData().get( "items" )).put( "ouC", "C" );
+
+        assertEquals( 2, gridB.getHeight() );
+        assertEquals( 3, gridB.getHeaders().size() );
+        assertEquals( 1d, gridB.getValue( 0, 2 ) );
+        assertFalse( gridB.getMetaData().containsKey( "pager" ) );
+        assertEquals( 2, ((Map<?, ?>) gridB.getMetaData().get( "items" )).size() );
+        assertEquals( 2, snapshot.toGrid().getHeight() );
+    }
+
+    @Test
+    void testSnapshotIsNotAffectedBySourceGrid()
+    {
+        Grid grid = createGrid();
+
+        GridSnapshot snapshot = GridSnapshot.of( grid );
+
+        grid.addRow().addValue( "ouC" ).addValue( "202203" ).addValue( 3d );
+        grid.getRow( 0 ).set( 0, "ouX" );
+
+        Grid copy = snapshot.toGrid();
+
+        assertEquals( 2, copy.getHeight() );
+        assertEquals( "ouA", copy.getValue( 0, 0 ) );
+    }
+
+    @Test
+    void testToGridSharesCellValues()
+    {
+        Grid grid = createGrid();
+
+        Grid copy = GridSnapshot.of( grid ).toGrid();
+
+        assertSame( grid.getValue( 0, 0 ), copy.getValue( 0, 0 ) );
+        assertEquals( "Title", copy.getTitle() );
+        assertEquals( 0, copy.getIndexOfHeader( "ou" ) );
+        assertEquals( 2, copy.getIndexOfHeader( "value" ) );
+        assertTrue( copy.hasLastDataRow() );
+    }
+
+    @Test
+    void testToGridReturnsIndependentExecutionPlans()
+    {
+        Grid grid = createGrid();
+        grid.addPerformanceMetrics( List.of( createExecutionPlan( 5d ) ) );
+
+        GridSnapshot snapshot = GridSnapshot.of( grid );
+
+        snapshot.toGrid().getPerformanceMetrics().getExecutionPlans().add( createExecutionPlan( 7d ) );
+
+        assertEquals( 1, snapshot.toGrid().getPerformanceMetrics().getExecutionPlans().size() );
+    }
+
+    @Test
+    void testSerializationRoundTrip()
+    {
+        Grid grid = createGrid();
+        grid.addRow().addValue( null ).addValue( 12L ).addValue( true );
+        grid.addRow().addValue( "ouA" ).addValue( 7 ).addValue( List.of( "x" ) );
+
+        GridSnapshot snapshot = SerializationUtils.roundtrip( GridSnapshot.of( grid ) );
+
+        Grid copy = snapshot.toGrid();
+
+        assertEquals( grid.getHeaders(), copy.getHeaders() );
+        assertEquals( grid.getRows(), copy.getRows() );
+        assertEquals( grid.getMetaData(), copy.getMetaData() );
+        assertEquals( "Title", copy.getTitle() );
+        assertNull( copy.getSubtitle() );
+        assertTrue( copy.hasLastDataRow() );
+        assertSame( copy.getValue( 0, 0 ), copy.getValue( 3, 0 ) );
+    }
+
+    private ExecutionPlan createExecutionPlan( double timeInMillis )
+    {
+        ExecutionPlan plan = new ExecutionPlan();
+        plan.setTimeInMillis( timeInMillis );
+        return plan;
+    }
+
+    private Grid createGrid()
+    {
+        Map<String, Object> items = new HashMap<>();
+        items.put( "ouA", "A" );
+        items.put( "ouB", "B" );
+
+        Grid grid = new ListGrid();
+        grid.setTitle( "Title" );
+        grid.addHeader( new GridHeader( "ou", ValueType.TEXT ) )
+            .addHeader( new GridHeader( "pe", ValueType.TEXT ) )
+            .addHeader( new GridHeader( "value", ValueType.NUMBER ) )
+            .addRow()
+            .addValue( "ouA" )
+            .addValue( "202201" )
+            .addValue( 1d )
+            .addRow()
+            .addValue( "ouB" )
+            .addValue( "202202" )
+            .addValue( 2d );
+        grid.addMetaData( "items", items );
+        grid.setLastDataRow( true );
+        return grid;
+    }
+}
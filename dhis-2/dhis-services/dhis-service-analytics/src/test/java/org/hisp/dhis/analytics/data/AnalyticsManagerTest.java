@@ -39,6 +39,7 @@ import static org.hisp.dhis.analytics.DataType.NUMERIC;
 import static org.hisp.dhis.analytics.DataType.TEXT;
 import static org.hisp.dhis.common.DimensionalObjectUtils.getList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 
@@ -54,6 +55,7 @@ import org.hisp.dhis.analytics.DataQueryParams;
 import org.hisp.dhis.analytics.DataType;
 import org.hisp.dhis.analytics.QueryPlanner;
 import org.hisp.dhis.analytics.analyze.ExecutionPlanStore;
+import org.hisp.dhis.analytics.cache.AnalyticsSqlResultCache;
 import org.hisp.dhis.common.DimensionalItemObject;
 import org.hisp.dhis.common.ListMap;
 import org.hisp.dhis.period.Period;
@@ -83,6 +85,9 @@ class AnalyticsManagerTest extends DhisConvenienceTest
     @Mock
     private ExecutionPlanStore executionPlanStore;
 
+    @Mock
+    private AnalyticsSqlResultCache sqlResultCache;
+
     private JdbcAnalyticsManager analyticsManager;
 
     private static Stream<Arguments> data()
@@ -95,7 +100,7 @@ class AnalyticsManagerTest extends DhisConvenienceTest
     @BeforeEach
     void before()
     {
-        analyticsManager = new JdbcAnalyticsManager( queryPlanner, jdbcTemplate, executionPlanStore );
+        analyticsManager = new JdbcAnalyticsManager( queryPlanner, jdbcTemplate, executionPlanStore, sqlResultCache );
     }
 
     @ParameterizedTest
@@ -222,4 +227,31 @@ class AnalyticsManagerTest extends DhisConvenienceTest
         assertTrue( dataValueMap.keySet().contains( BASE_UID + "B-2012Q3-" + BASE_UID + "A" ) );
         assertTrue( dataValueMap.keySet().contains( BASE_UID + "B-2012Q4-" + BASE_UID + "A" ) );
     }
+
+    @Test
+    void testReplaceDataPeriodsWithAggregationPeriodsInvalidPeriod()
+    {
+        Period y2012 = createPeriod( "2012" );
+
+        DataQueryParams params = DataQueryParams.newBuilder()
+            .withDataElements( getList( createDataElement( 'A' ) ) )
+            .withPeriods( getList( y2012 ) )
+            .withOrganisationUnits( getList( createOrganisationUnit( 'A' ) ) )
+            .withDataPeriodType( new YearlyPeriodType() )
+            .withAggregationType( new AnalyticsAggregationType(
+                AggregationType.SUM, AggregationType.AVERAGE, DataType.NUMERIC, true ) )
+            .build();
+
+        Map<String, Object> dataValueMap = new HashMap<>();
+        dataValueMap.put( BASE_UID + "A-notAPeriod-" + BASE_UID + "A", 1d );
+
+        ListMap<DimensionalItemObject, DimensionalItemObject> dataPeriodAggregationPeriodMap = new ListMap<>();
+        dataPeriodAggregationPeriodMap.putValue( y2012, createPeriod( "2012Q1" ) );
+
+        IllegalArgumentException ex = assertThrows( IllegalArgumentException.class,
+            () -> analyticsManager.replaceDataPeriodsWithAggregationPeriods(
+                dataValueMap, params, dataPeriodAggregationPeriodMap ) );
+
+        assertEquals( "Period cannot be parsed, period: 'notAPeriod'", ex.getMessage() );
+    }
 }
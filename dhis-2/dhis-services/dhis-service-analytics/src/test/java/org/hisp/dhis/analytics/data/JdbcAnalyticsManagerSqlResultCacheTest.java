@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.analytics.data;
+
+import static org.hisp.dhis.DhisConvenienceTest.createDataElement;
+import static org.hisp.dhis.DhisConvenienceTest.createOrganisationUnit;
+import static org.hisp.dhis.common.DimensionalObject.DATA_X_DIM_ID;
+import static org.hisp.dhis.common.DimensionalObject.ORGUNIT_DIM_ID;
+import static org.hisp.dhis.common.DimensionalObject.PERIOD_DIM_ID;
+import static org.hisp.dhis.common.DimensionalObjectUtils.getList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.hisp.dhis.analytics.AggregationType;
+import org.hisp.dhis.analytics.AnalyticsAggregationType;
+import org.hisp.dhis.analytics.AnalyticsTableType;
+import org.hisp.dhis.analytics.DataQueryParams;
+import org.hisp.dhis.analytics.DataType;
+import org.hisp.dhis.analytics.QueryPlanner;
+import org.hisp.dhis.analytics.analyze.ExecutionPlanStore;
+import org.hisp.dhis.analytics.cache.AnalyticsCacheSettings;
+import org.hisp.dhis.analytics.cache.AnalyticsSqlResultCache;
+import org.hisp.dhis.cache.Cache;
+import org.hisp.dhis.cache.CacheBuilder;
+import org.hisp.dhis.cache.CacheProvider;
+import org.hisp.dhis.cache.LocalCache;
+import org.hisp.dhis.cache.SimpleCacheBuilder;
+import org.hisp.dhis.common.BaseDimensionalObject;
+import org.hisp.dhis.common.DimensionType;
+import org.hisp.dhis.common.IllegalQueryException;
+import org.hisp.dhis.common.ValueType;
+import org.hisp.dhis.dataelement.DataElement;
+import org.hisp.dhis.organisationunit.OrganisationUnit;
+import org.hisp.dhis.period.Period;
+import org.hisp.dhis.period.PeriodType;
+import org.hisp.dhis.setting.SystemSettingManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.rowset.SqlRowSet;
+
+/**
+ * Tests the interaction of {@link JdbcAnalyticsManager} with an enabled
+ * {@link AnalyticsSqlResultCache}.
+ */
+@ExtendWith( MockitoExtension.class )
+class JdbcAnalyticsManagerSqlResultCacheTest
+{
+    @Mock
+    private QueryPlanner queryPlanner;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private SqlRowSet rowSet;
+
+    @Mock
+    private ExecutionPlanStore executionPlanStore;
+
+    @Mock
+    private CacheProvider cacheProvider;
+
+    @Mock
+    private AnalyticsCacheSettings analyticsCacheSettings;
+
+    @Mock
+    private SystemSettingManager systemSettingManager;
+
+    private JdbcAnalyticsManager subject;
+
+    @BeforeEach
+    void setUp()
+    {
+        CacheBuilder<Map<String, Object>> cacheBuilder = new SimpleCacheBuilder<>();
+
+        cacheBuilder.expireAfterWrite( 1L, TimeUnit.MINUTES ).withMaximumWeight( 100L, Map::size );
+
+        Cache<Map<String, Object>> cache = new LocalCache<>( cacheBuilder );
+
+        Mockito.<Cache<Map<String, Object>>> when( cacheProvider.createAnalyticsSqlResultCache( any() ) )
+            .thenReturn( cache );
+
+        when( analyticsCacheSettings.isCachingEnabled() ).thenReturn( true );
+        lenient().when( analyticsCacheSettings.fixedExpirationTimeOrDefault() ).thenReturn( 60L );
+
+        AnalyticsSqlResultCache sqlResultCache = new AnalyticsSqlResultCache( cacheProvider,
+            analyticsCacheSettings, systemSettingManager );
+
+        subject = new JdbcAnalyticsManager( queryPlanner, jdbcTemplate, executionPlanStore, sqlResultCache );
+    }
+
+    @Test
+    void testCacheMissReadsAndCachesValues()
+        throws Exception
+    {
+        mockRowSet();
+
+        Map<String, Object> first = subject.getAggregatedDataValues( createParams(), AnalyticsTableType.DATA_VALUE, 0 )
+            .get();
+
+        assertEquals( 2, first.size() );
+        assertEquals( 1d, first.get( "deA-201501" ) );
+        assertEquals( 2d, first.get( "deB-201501" ) );
+
+        Map<String, Object> second = subject
+            .getAggregatedDataValues( createParams(), AnalyticsTableType.DATA_VALUE, 0 ).get();
+
+        assertEquals( first, second );
+        verify( jdbcTemplate, times( 1 ) ).queryForRowSet( anyString() );
+    }
+
+    @Test
+    void testCacheHitReturnsCopy()
+        throws Exception
+    {
+        mockRowSet();
+
+        subject.getAggregatedDataValues( createParams(), AnalyticsTableType.DATA_VALUE, 0 ).get()
+            .put( "deC-201501", 3d );
+
+        Map<String, Object> cached = subject
+            .getAggregatedDataValues( createParams(), AnalyticsTableType.DATA_VALUE, 0 ).get();
+
+        assertEquals( 2, cached.size() );
+        verify( jdbcTemplate, times( 1 ) ).queryForRowSet( anyString() );
+    }
+
+    @Test
+    void testCacheHitExceedingMaxLimit()
+        throws Exception
+    {
+        mockRowSet();
+
+        subject.getAggregatedDataValues( createParams(), AnalyticsTableType.DATA_VALUE, 2 ).get();
+
+        assertThrows( IllegalQueryException.class,
+            () -> subject.getAggregatedDataValues( createParams(), AnalyticsTableType.DATA_VALUE, 1 ) );
+
+        verify( jdbcTemplate, times( 1 ) ).queryForRowSet( anyString() );
+    }
+
+    @Test
+    void testCacheMissExceedingMaxLimitIsNotCached()
+    {
+        when( jdbcTemplate.queryForRowSet( anyString() ) ).thenReturn( rowSet );
+        when( rowSet.next() ).thenReturn( true );
+        when( rowSet.getString( "dx" ) ).thenReturn( "deA" );
+        when( rowSet.getString( "pe" ) ).thenReturn( "201501" );
+        when( rowSet.getDouble( DataQueryParams.VALUE_ID ) ).thenReturn( 1d );
+
+        assertThrows( IllegalQueryException.class,
+            () -> subject.getAggregatedDataValues( createParams(), AnalyticsTableType.DATA_VALUE, 1 ) );
+        assertThrows( IllegalQueryException.class,
+            () -> subject.getAggregatedDataValues( createParams(), AnalyticsTableType.DATA_VALUE, 1 ) );
+
+        verify( jdbcTemplate, times( 2 ) ).queryForRowSet( anyString() );
+    }
+
+    // -------------------------------------------------------------------------
+    // Supportive methods
+    // -------------------------------------------------------------------------
+
+    /**
+     * Simulates the two rows deA-201501 with value 1 and deB-201501 with value
+     * 2.
+     */
+    private void mockRowSet()
+    {
+        when( jdbcTemplate.queryForRowSet( anyString() ) ).thenReturn( rowSet );
+        when( rowSet.next() ).thenReturn( true, true, false );
+        when( rowSet.getString( "dx" ) ).thenReturn( "deA", "deB" );
+        when( rowSet.getString( "pe" ) ).thenReturn( "201501", "201501" );
+        when( rowSet.getDouble( DataQueryParams.VALUE_ID ) ).thenReturn( 1d, 2d );
+    }
+
+    private DataQueryParams createParams()
+    {
+        DataElement deA = createDataElement( 'A', ValueType.INTEGER, AggregationType.SUM );
+        OrganisationUnit ouA = createOrganisationUnit( 'A' );
+        Period peA = PeriodType.getPeriodFromIsoString( "201501" );
+
+        return DataQueryParams.newBuilder()
+            .withDataType( DataType.NUMERIC )
+            .withTableName( "analytics" )
+            .withAggregationType( AnalyticsAggregationType.fromAggregationType( AggregationType.SUM ) )
+            .addDimension( new BaseDimensionalObject( DATA_X_DIM_ID, DimensionType.DATA_X, getList( deA ) ) )
+            .addFilter( new BaseDimensionalObject( ORGUNIT_DIM_ID, DimensionType.ORGANISATION_UNIT, getList( ouA ) ) )
+            .addDimension( new BaseDimensionalObject( PERIOD_DIM_ID, DimensionType.PERIOD, getList( peA ) ) ).build();
+    }
+}
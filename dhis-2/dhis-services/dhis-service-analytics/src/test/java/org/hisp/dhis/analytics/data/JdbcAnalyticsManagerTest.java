@@ -44,6 +44,7 @@ import org.hisp.dhis.analytics.DataQueryParams;
 import org.hisp.dhis.analytics.DataType;
 import org.hisp.dhis.analytics.QueryPlanner;
 import org.hisp.dhis.analytics.analyze.ExecutionPlanStore;
+import org.hisp.dhis.analytics.cache.AnalyticsSqlResultCache;
 import org.hisp.dhis.analytics.partition.PartitionManager;
 import org.hisp.dhis.common.BaseDimensionalObject;
 import org.hisp.dhis.common.DimensionType;
@@ -92,6 +93,9 @@ class JdbcAnalyticsManagerTest
     @Mock
     private ExecutionPlanStore executionPlanStore;
 
+    @Mock
+    private AnalyticsSqlResultCache sqlResultCache;
+
     @BeforeEach
     public void setUp()
     {
@@ -101,7 +105,7 @@ class JdbcAnalyticsManagerTest
 
         when( jdbcTemplate.queryForRowSet( sql.capture() ) ).thenReturn( rowSet );
 
-        subject = new JdbcAnalyticsManager( queryPlanner, jdbcTemplate, executionPlanStore );
+        subject = new JdbcAnalyticsManager( queryPlanner, jdbcTemplate, executionPlanStore, sqlResultCache );
     }
 
     @Test
@@ -42,7 +42,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 public abstract class AbstractAuditConsumer
     implements AuditConsumer
 {
-    protected AuditService auditService;
+    protected AuditBatchWriter auditBatchWriter;
 
     protected ObjectMapper objectMapper;
 
@@ -71,7 +71,7 @@ public abstract class AbstractAuditConsumer
 
             if ( isAuditDatabaseEnabled )
             {
-                auditService.addAudit( audit );
+                auditBatchWriter.add( audit );
             }
         }
         catch ( IOException e )
@@ -80,6 +80,11 @@ public abstract class AbstractAuditConsumer
                 "An error occurred de-serializing the message payload. The message can not be de-serialized to an Audit object.",
                 e );
         }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            log.error( "Interrupted while queueing an Audit message to be persisted", e );
+        }
         catch ( Exception e )
         {
             log.error( "An error occurred persisting an Audit message of type 'TRACKER'", e );
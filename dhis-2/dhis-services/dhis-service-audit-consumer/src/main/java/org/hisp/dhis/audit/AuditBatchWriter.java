@@ -0,0 +1,335 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.audit;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.apache.commons.lang3.math.NumberUtils;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Saves the audits received by the {@link AuditConsumer}s to the database in
+ * batches. Audits are buffered in a bounded queue and saved by a single writer
+ * thread with one {@link AuditService#addAudits(List)} call per batch, once
+ * the batch is full or its first audit has waited for the configured linger
+ * time. When the queue is full the consumers wait for space, which slows
+ * down the consumption of messages until the database has caught up. Once the
+ * writer is stopped, audits are saved synchronously by the consumers.
+ */
+@Slf4j
+@Component
+public class AuditBatchWriter
+{
+    /**
+     * Number of batches the queue can buffer before the consumers wait.
+     */
+    private static final int QUEUED_BATCHES = 10;
+
+    private static final long POLL_TIMEOUT_NANOS = TimeUnit.MILLISECONDS.toNanos( 500 );
+
+    private final AuditService auditService;
+
+    private final boolean enabled;
+
+    private final int batchSize;
+
+    private final long lingerNanos;
+
+    private final BlockingQueue<Audit> queue;
+
+    private final LongAdder savedCount = new LongAdder();
+
+    private final LongAdder failedCount = new LongAdder();
+
+    private final LongAdder batchCount = new LongAdder();
+
+    private final LongAdder saveTimeNanos = new LongAdder();
+
+    private final LongAdder lagMillis = new LongAdder();
+
+    /**
+     * Guards {@link #running}: consumers queue audits under the read lock, so
+     * that no audit is queued after {@link #stop()} has set it to false.
+     */
+    private final ReadWriteLock runningLock = new ReentrantReadWriteLock();
+
+    private volatile boolean running;
+
+    private Thread writer;
+
+    public AuditBatchWriter( AuditService auditService, DhisConfigurationProvider dhisConfig )
+    {
+        this.auditService = auditService;
+        this.enabled = dhisConfig.isEnabled( ConfigurationKey.AUDIT_DATABASE );
+        this.batchSize = Math.max( 1,
+            NumberUtils.toInt( dhisConfig.getProperty( ConfigurationKey.AUDIT_DATABASE_BATCH_SIZE ), 1000 ) );
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos( Math.max( 0,
+            NumberUtils.toLong( dhisConfig.getProperty( ConfigurationKey.AUDIT_DATABASE_BATCH_LINGER ), 1000 ) ) );
+        this.queue = new ArrayBlockingQueue<>( batchSize * QUEUED_BATCHES );
+    }
+
+    @PostConstruct
+    public void start()
+    {
+        if ( !enabled )
+        {
+            return;
+        }
+
+        running = true;
+        writer = new Thread( this::run, "audit-batch-writer" );
+        writer.setDaemon( true );
+        writer.start();
+    }
+
+    /**
+     * Stops the writer thread once it has saved the audits it has taken from
+     * the queue, and saves the audits still queued.
+     */
+    @PreDestroy
+    public void stop()
+        throws InterruptedException
+    {
+        runningLock.writeLock().lock();
+
+        try
+        {
+            running = false;
+        }
+        finally
+        {
+            runningLock.writeLock().unlock();
+        }
+
+        if ( writer != null )
+        {
+            writer.join();
+        }
+
+        List<Audit> remaining = new ArrayList<>();
+
+        while ( queue.drainTo( remaining, batchSize ) > 0 )
+        {
+            save( remaining );
+            remaining = new ArrayList<>();
+        }
+    }
+
+    /**
+     * Adds the given audit to the batch being collected, waiting while the
+     * queue is full. The audit is saved right away if the writer is not
+     * running, or stops while waiting.
+     *
+     * @param audit the audit to save.
+     * @throws InterruptedException if interrupted while waiting for space in
+     *         the queue.
+     */
+    public void add( Audit audit )
+        throws InterruptedException
+    {
+        while ( true )
+        {
+            // waits in slices, releasing the lock in between, so that a
+            // stopped writer with a full queue does not block the consumers
+
+            runningLock.readLock().lock();
+
+            try
+            {
+                if ( !running )
+                {
+                    break;
+                }
+
+                if ( queue.offer( audit, POLL_TIMEOUT_NANOS, TimeUnit.NANOSECONDS ) )
+                {
+                    return;
+                }
+            }
+            finally
+            {
+                runningLock.readLock().unlock();
+            }
+        }
+
+        save( List.of( audit ) );
+    }
+
+    private void run()
+    {
+        while ( running )
+        {
+            List<Audit> batch = new ArrayList<>();
+
+            try
+            {
+                Audit first = queue.poll( POLL_TIMEOUT_NANOS, TimeUnit.NANOSECONDS );
+
+                if ( first == null )
+                {
+                    continue;
+                }
+
+                batch.add( first );
+                collect( batch, System.nanoTime() + lingerNanos );
+            }
+            catch ( InterruptedException e )
+            {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+
+            if ( !batch.isEmpty() )
+            {
+                save( batch );
+            }
+        }
+    }
+
+    /**
+     * Adds queued audits to the given batch until it is full, the deadline has
+     * passed or the writer is stopped.
+     */
+    private void collect( List<Audit> batch, long deadline )
+        throws InterruptedException
+    {
+        while ( batch.size() < batchSize )
+        {
+            queue.drainTo( batch, batchSize - batch.size() );
+
+            long remaining = deadline - System.nanoTime();
+
+            if ( batch.size() >= batchSize || remaining <= 0 || !running )
+            {
+                return;
+            }
+
+            // waits in slices to notice when the writer is stopped
+
+            Audit next = queue.poll( Math.min( remaining, POLL_TIMEOUT_NANOS ), TimeUnit.NANOSECONDS );
+
+            if ( next != null )
+            {
+                batch.add( next );
+            }
+        }
+    }
+
+    /**
+     * Saves the given audits in one transaction. If that fails, the audits are
+     * saved one by one so that a single bad audit does not lose the batch.
+     */
+    private void save( List<Audit> batch )
+    {
+        long start = System.nanoTime();
+
+        try
+        {
+            auditService.addAudits( batch );
+            batch.forEach( this::saved );
+        }
+        catch ( Exception ex )
+        {
+            log.warn( String.format( "Saving a batch of %d audits failed, saving them one by one", batch.size() ),
+                ex );
+
+            for ( Audit audit : batch )
+            {
+                try
+                {
+                    auditService.addAudit( audit );
+                    saved( audit );
+                }
+                catch ( Exception e )
+                {
+                    failedCount.increment();
+                    log.error( "An error occurred persisting an Audit message", e );
+                }
+            }
+        }
+
+        batchCount.increment();
+        saveTimeNanos.add( System.nanoTime() - start );
+    }
+
+    private void saved( Audit audit )
+    {
+        savedCount.increment();
+
+        if ( audit.getCreatedAt() != null )
+        {
+            lagMillis.add( Duration.between( audit.getCreatedAt(), LocalDateTime.now() ).toMillis() );
+        }
+    }
+
+    public int getQueuedCount()
+    {
+        return queue.size();
+    }
+
+    public long getSavedCount()
+    {
+        return savedCount.sum();
+    }
+
+    public long getFailedCount()
+    {
+        return failedCount.sum();
+    }
+
+    public long getBatchCount()
+    {
+        return batchCount.sum();
+    }
+
+    public double getSaveTimeNanos()
+    {
+        return saveTimeNanos.sum();
+    }
+
+    public double getLagMillis()
+    {
+        return lagMillis.sum();
+    }
+}
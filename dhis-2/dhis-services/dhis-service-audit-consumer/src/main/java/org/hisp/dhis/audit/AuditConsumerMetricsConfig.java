@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.audit;
+
+import static org.hisp.dhis.external.conf.ConfigurationKey.MONITORING_AUDIT_ENABLED;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.monitoring.metrics.MetricsEnabler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Exposes the throughput and lag of the {@link AuditBatchWriter}.
+ */
+@Configuration
+@Conditional( AuditConsumerMetricsConfig.AuditMetricsEnabledCondition.class )
+public class AuditConsumerMetricsConfig
+{
+    @Autowired
+    public void bindToRegistry( MeterRegistry registry, AuditBatchWriter auditBatchWriter )
+    {
+        Gauge.builder( "audit.consumer.queued", auditBatchWriter, AuditBatchWriter::getQueuedCount )
+            .description( "Number of consumed audits waiting to be saved" )
+            .register( registry );
+
+        FunctionCounter
+            .builder( "audit.consumer.saved", auditBatchWriter, AuditBatchWriter::getSavedCount )
+            .description( "Number of audits saved to the database" )
+            .register( registry );
+
+        FunctionCounter
+            .builder( "audit.consumer.failed", auditBatchWriter, AuditBatchWriter::getFailedCount )
+            .description( "Number of audits which could not be saved to the database" )
+            .register( registry );
+
+        FunctionTimer
+            .builder( "audit.consumer.batches", auditBatchWriter, AuditBatchWriter::getBatchCount,
+                AuditBatchWriter::getSaveTimeNanos, TimeUnit.NANOSECONDS )
+            .description( "Time spent saving batches of audits" )
+            .register( registry );
+
+        FunctionTimer
+            .builder( "audit.consumer.lag", auditBatchWriter, AuditBatchWriter::getSavedCount,
+                AuditBatchWriter::getLagMillis, TimeUnit.MILLISECONDS )
+            .description( "Time between the creation of audits and their saving" )
+            .register( registry );
+    }
+
+    static class AuditMetricsEnabledCondition
+        extends
+        MetricsEnabler
+    {
+        @Override
+        protected ConfigurationKey getConfigKey()
+        {
+            return MONITORING_AUDIT_ENABLED;
+        }
+    }
+}
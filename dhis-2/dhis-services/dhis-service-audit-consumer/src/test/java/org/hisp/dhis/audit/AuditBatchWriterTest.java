@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.audit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AuditBatchWriterTest
+{
+    private AuditService auditService;
+
+    private AuditBatchWriter writer;
+
+    @BeforeEach
+    void setUp()
+    {
+        auditService = mock( AuditService.class );
+    }
+
+    @AfterEach
+    void tearDown()
+        throws InterruptedException
+    {
+        writer.stop();
+    }
+
+    @Test
+    void testAuditsAreSavedInFullBatches()
+        throws InterruptedException
+    {
+        writer = createWriter( true, "2", "60000" );
+        Audit a = createAudit( "a" );
+        Audit b = createAudit( "b" );
+        Audit c = createAudit( "c" );
+        Audit d = createAudit( "d" );
+
+        writer.add( a );
+        writer.add( b );
+        writer.add( c );
+        writer.add( d );
+
+        verify( auditService, timeout( 5000 ) ).addAudits( List.of( a, b ) );
+        verify( auditService, timeout( 5000 ) ).addAudits( List.of( c, d ) );
+    }
+
+    @Test
+    void testPartialBatchIsSavedAfterLinger()
+        throws InterruptedException
+    {
+        writer = createWriter( true, "100", "50" );
+        Audit audit = createAudit( "a" );
+
+        writer.add( audit );
+
+        verify( auditService, timeout( 5000 ) ).addAudits( List.of( audit ) );
+    }
+
+    @Test
+    void testFailedBatchIsSavedOneByOne()
+        throws InterruptedException
+    {
+        doThrow( new IllegalStateException() ).when( auditService ).addAudits( anyList() );
+        writer = createWriter( true, "2", "60000" );
+        Audit a = createAudit( "a" );
+        Audit b = createAudit( "b" );
+
+        writer.add( a );
+        writer.add( b );
+
+        verify( auditService, timeout( 5000 ) ).addAudit( a );
+        verify( auditService, timeout( 5000 ) ).addAudit( b );
+    }
+
+    @Test
+    void testQueuedAuditsAreSavedOnStop()
+        throws InterruptedException
+    {
+        writer = createWriter( true, "100", "60000" );
+        Audit audit = createAudit( "a" );
+
+        writer.add( audit );
+        writer.stop();
+
+        verify( auditService ).addAudits( List.of( audit ) );
+    }
+
+    @Test
+    void testAuditIsSavedRightAwayWhenWriterIsNotRunning()
+        throws InterruptedException
+    {
+        writer = createWriter( false, "100", "60000" );
+        Audit audit = createAudit( "a" );
+
+        writer.add( audit );
+
+        verify( auditService ).addAudits( List.of( audit ) );
+        verify( auditService, never() ).addAudit( audit );
+    }
+
+    @Test
+    void testWaitingAuditIsSavedWhenWriterStopsWithFullQueue()
+        throws InterruptedException
+    {
+        CountDownLatch release = new CountDownLatch( 1 );
+        Audit first = createAudit( "first" );
+        doAnswer( invocation -> {
+            if ( invocation.<List<Audit>> getArgument( 0 ).contains( first ) )
+            {
+                release.await();
+            }
+            return null;
+        } ).when( auditService ).addAudits( anyList() );
+        writer = createWriter( true, "1", "0" );
+
+        writer.add( first );
+        verify( auditService, timeout( 5000 ) ).addAudits( List.of( first ) );
+
+        for ( int i = 0; i < 10; i++ )
+        {
+            writer.add( createAudit( "queued" + i ) );
+        }
+
+        Audit waiting = createAudit( "waiting" );
+        Thread consumer = startThread( () -> writer.add( waiting ) );
+        Thread stopper = startThread( () -> writer.stop() );
+
+        consumer.join( 5000 );
+        assertFalse( consumer.isAlive() );
+        verify( auditService ).addAudits( List.of( waiting ) );
+
+        release.countDown();
+        stopper.join( 5000 );
+        assertFalse( stopper.isAlive() );
+    }
+
+    private static Thread startThread( InterruptibleAction action )
+    {
+        Thread thread = new Thread( () -> {
+            try
+            {
+                action.run();
+            }
+            catch ( InterruptedException e )
+            {
+                Thread.currentThread().interrupt();
+            }
+        } );
+        thread.start();
+        return thread;
+    }
+
+    private interface InterruptibleAction
+    {
+        void run()
+            throws InterruptedException;
+    }
+
+    private AuditBatchWriter createWriter( boolean enabled, String batchSize, String linger )
+    {
+        DhisConfigurationProvider config = mock( DhisConfigurationProvider.class );
+        when( config.isEnabled( ConfigurationKey.AUDIT_DATABASE ) ).thenReturn( enabled );
+        when( config.getProperty( ConfigurationKey.AUDIT_DATABASE_BATCH_SIZE ) ).thenReturn( batchSize );
+        when( config.getProperty( ConfigurationKey.AUDIT_DATABASE_BATCH_LINGER ) ).thenReturn( linger );
+
+        AuditBatchWriter auditBatchWriter = new AuditBatchWriter( auditService, config );
+        auditBatchWriter.start();
+        return auditBatchWriter;
+    }
+
+    private static Audit createAudit( String uid )
+    {
+        return Audit.builder()
+            .auditType( AuditType.CREATE )
+            .auditScope( AuditScope.METADATA )
+            .createdAt( LocalDateTime.now() )
+            .createdBy( "admin" )
+            .uid( uid )
+            .build();
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.cache;
+
+import static org.hisp.dhis.external.conf.ConfigurationKey.DEBEZIUM_ENABLED;
+import static org.hisp.dhis.external.conf.ConfigurationKey.REDIS_CACHE_INVALIDATION_ENABLED;
+import static org.hisp.dhis.external.conf.ConfigurationKey.SYSTEM_CACHE_DEEP_ETAG_ENABLED;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps the counters of the {@link ETagService} in memory. As changes made by
+ * other instances are not counted, the counters are disabled when running in
+ * a cluster or when cache invalidation between instances is enabled.
+ */
+@Service
+public class DefaultETagService
+    implements ETagService
+{
+    private final boolean enabled;
+
+    private final AtomicLong entityVersion = new AtomicLong();
+
+    private final AtomicLong analyticsVersion = new AtomicLong();
+
+    public DefaultETagService( DhisConfigurationProvider config )
+    {
+        this.enabled = config.isEnabled( SYSTEM_CACHE_DEEP_ETAG_ENABLED )
+            && !config.isClusterEnabled()
+            && !config.isEnabled( REDIS_CACHE_INVALIDATION_ENABLED )
+            && !config.isEnabled( DEBEZIUM_ENABLED );
+    }
+
+    @Override
+    public boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    @Override
+    public long getEntityVersion()
+    {
+        return entityVersion.get();
+    }
+
+    @Override
+    public long getAnalyticsVersion()
+    {
+        return analyticsVersion.get();
+    }
+
+    @Override
+    public void incrementEntityVersion()
+    {
+        entityVersion.incrementAndGet();
+    }
+
+    @Override
+    public void incrementAnalyticsVersion()
+    {
+        analyticsVersion.incrementAndGet();
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.cache;
+
+import java.util.Set;
+
+import javax.annotation.PostConstruct;
+
+import lombok.RequiredArgsConstructor;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.AbstractCollectionEvent;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostCollectionRemoveEvent;
+import org.hibernate.event.spi.PostCollectionRemoveEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hisp.dhis.common.MetadataObject;
+import org.hisp.dhis.setting.SystemSetting;
+import org.hisp.dhis.user.UserSetting;
+import org.springframework.stereotype.Component;
+
+/**
+ * Increments the entity version of the {@link ETagService} when a transaction
+ * which inserted, updated or deleted metadata objects, or changed their
+ * collections, is committed. User and system settings are counted as well, as
+ * they change how metadata and analytics responses are rendered. Changes made
+ * by bulk HQL or JDBC statements do not fire entity events and are not
+ * counted.
+ */
+@Component
+@RequiredArgsConstructor
+public class ETagVersionListener
+    implements PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener,
+    PostCollectionUpdateEventListener, PostCollectionRecreateEventListener, PostCollectionRemoveEventListener
+{
+    private static final Set<Class<?>> SETTING_CLASSES = Set.of( UserSetting.class, SystemSetting.class );
+
+    private final transient SessionFactory sessionFactory;
+
+    private final transient ETagService eTagService;
+
+    @PostConstruct
+    protected void init()
+    {
+        if ( !eTagService.isEnabled() )
+        {
+            return;
+        }
+
+        EventListenerRegistry registry = sessionFactory.unwrap( SessionFactoryImplementor.class )
+            .getServiceRegistry().getService( EventListenerRegistry.class );
+
+        registry.getEventListenerGroup( EventType.POST_COMMIT_INSERT ).appendListener( this );
+        registry.getEventListenerGroup( EventType.POST_COMMIT_UPDATE ).appendListener( this );
+        registry.getEventListenerGroup( EventType.POST_COMMIT_DELETE ).appendListener( this );
+        registry.getEventListenerGroup( EventType.POST_COLLECTION_UPDATE ).appendListener( this );
+        registry.getEventListenerGroup( EventType.POST_COLLECTION_RECREATE ).appendListener( this );
+        registry.getEventListenerGroup( EventType.POST_COLLECTION_REMOVE ).appendListener( this );
+    }
+
+    @Override
+    public void onPostInsert( PostInsertEvent event )
+    {
+        if ( requiresPostCommitHanding( event.getPersister() ) )
+        {
+            eTagService.incrementEntityVersion();
+        }
+    }
+
+    @Override
+    public void onPostUpdate( PostUpdateEvent event )
+    {
+        if ( requiresPostCommitHanding( event.getPersister() ) )
+        {
+            eTagService.incrementEntityVersion();
+        }
+    }
+
+    @Override
+    public void onPostDelete( PostDeleteEvent event )
+    {
+        if ( requiresPostCommitHanding( event.getPersister() ) )
+        {
+            eTagService.incrementEntityVersion();
+        }
+    }
+
+    @Override
+    public void onPostUpdateCollection( PostCollectionUpdateEvent event )
+    {
+        incrementOnCommit( event );
+    }
+
+    @Override
+    public void onPostRecreateCollection( PostCollectionRecreateEvent event )
+    {
+        incrementOnCommit( event );
+    }
+
+    @Override
+    public void onPostRemoveCollection( PostCollectionRemoveEvent event )
+    {
+        incrementOnCommit( event );
+    }
+
+    @Override
+    public void onPostInsertCommitFailed( PostInsertEvent event )
+    {
+        // nothing changed
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed( PostUpdateEvent event )
+    {
+        // nothing changed
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed( PostDeleteEvent event )
+    {
+        // nothing changed
+    }
+
+    @Override
+    public boolean requiresPostCommitHanding( EntityPersister persister )
+    {
+        Class<?> klass = persister.getMappedClass();
+
+        return MetadataObject.class.isAssignableFrom( klass ) || SETTING_CLASSES.contains( klass );
+    }
+
+    /**
+     * Collection events are fired on flush, so the version is incremented
+     * once the transaction has been committed, as for the other events.
+     */
+    private void incrementOnCommit( AbstractCollectionEvent event )
+    {
+        if ( !(event.getAffectedOwnerOrNull() instanceof MetadataObject) )
+        {
+            return;
+        }
+
+        event.getSession().getActionQueue().registerProcess( ( success, session ) -> {
+            if ( success )
+            {
+                eTagService.incrementEntityVersion();
+            }
+        } );
+    }
+}
@@ -93,7 +93,6 @@ import lombok.extern.slf4j.Slf4j;
 
 import org.apache.commons.lang3.StringUtils;
 import org.hisp.dhis.analytics.DataType;
-import org.hisp.dhis.antlr.Parser;
 import org.hisp.dhis.antlr.ParserException;
 import org.hisp.dhis.cache.Cache;
 import org.hisp.dhis.cache.CacheProvider;
@@ -276,6 +275,11 @@ public class DefaultExpressionService
      */
     private final Cache<Map<String, Constant>> constantMapCache;
 
+    /**
+     * Cache for the parse trees of expressions.
+     */
+    private final ExpressionParseTreeCache parseTreeCache;
+
     // -------------------------------------------------------------------------
     // Constructor
     // -------------------------------------------------------------------------
@@ -283,7 +287,8 @@ public class DefaultExpressionService
     public DefaultExpressionService(
         @Qualifier( "org.hisp.dhis.expression.ExpressionStore" ) HibernateGenericStore<Expression> expressionStore,
         ConstantService constantService, DimensionService dimensionService, IdentifiableObjectManager idObjectManager,
-        StatementBuilder statementBuilder, I18nManager i18nManager, CacheProvider cacheProvider )
+        StatementBuilder statementBuilder, I18nManager i18nManager, CacheProvider cacheProvider,
+        ExpressionParseTreeCache parseTreeCache )
     {
         checkNotNull( expressionStore );
         checkNotNull( constantService );
@@ -292,6 +297,7 @@ public class DefaultExpressionService
         checkNotNull( statementBuilder );
         checkNotNull( i18nManager );
         checkNotNull( cacheProvider );
+        checkNotNull( parseTreeCache );
 
         this.expressionStore = expressionStore;
         this.constantService = constantService;
@@ -300,6 +306,7 @@ public class DefaultExpressionService
         this.statementBuilder = statementBuilder;
         this.i18nManager = i18nManager;
         this.constantMapCache = cacheProvider.createAllConstantsCache();
+        this.parseTreeCache = parseTreeCache;
 
         FunctionSubExpression fn = (FunctionSubExpression) INDICATOR_EXPRESSION_ITEMS.get( SUB_EXPRESSION );
 
@@ -769,7 +776,7 @@ public class DefaultExpressionService
     {
         try
         {
-            Object result = Parser.visit( expression, visitor );
+            Object result = visitor.visit( parseTreeCache.getParseTree( expression ) );
 
             switch ( dataType )
             {
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.expression;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.tree.ParseTree;
+import org.hisp.dhis.antlr.ParserErrorListener;
+import org.hisp.dhis.cache.Cache;
+import org.hisp.dhis.cache.CacheProvider;
+import org.hisp.dhis.parser.expression.antlr.ExpressionLexer;
+import org.hisp.dhis.parser.expression.antlr.ExpressionParser;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cache of expression parse trees keyed by expression text. A parse tree
+ * depends on the expression text only, and is not modified when visited, so the
+ * same tree can be visited concurrently for any parse type and data type.
+ * <p>
+ * Keeps count of lookups and of expressions parsed, from which the hit rate of
+ * the cache can be derived.
+ *
+ * @see ExpressionMetricsConfig
+ */
+@Component
+public class ExpressionParseTreeCache
+{
+    private final Cache<ParseTree> parseTrees;
+
+    private final AtomicLong lookups = new AtomicLong();
+
+    private final AtomicLong compiles = new AtomicLong();
+
+    public ExpressionParseTreeCache( CacheProvider cacheProvider )
+    {
+        checkNotNull( cacheProvider );
+
+        this.parseTrees = cacheProvider.createExpressionParseTreeCache();
+    }
+
+    /**
+     * Returns the parse tree of the given expression, parsing the expression if
+     * it is not cached.
+     *
+     * @param expression the expression.
+     * @return the parse tree of the expression.
+     * @throws org.hisp.dhis.antlr.ParserException if the expression is invalid.
+     */
+    public ParseTree getParseTree( String expression )
+    {
+        lookups.incrementAndGet();
+
+        return parseTrees.get( expression, this::compile );
+    }
+
+    /**
+     * Returns the number of parse tree lookups.
+     */
+    public long getLookupCount()
+    {
+        return lookups.get();
+    }
+
+    /**
+     * Returns the number of expressions parsed, which equals the number of
+     * lookups missing the cache.
+     */
+    public long getCompileCount()
+    {
+        return compiles.get();
+    }
+
+    private ParseTree compile( String expression )
+    {
+        compiles.incrementAndGet();
+
+        ParserErrorListener errorListener = new ParserErrorListener();
+
+        ExpressionLexer lexer = new ExpressionLexer( CharStreams.fromString( expression ) );
+        lexer.removeErrorListeners();
+        lexer.addErrorListener( errorListener );
+
+        ExpressionParser parser = new ExpressionParser( new CommonTokenStream( lexer ) );
+        parser.removeErrorListeners();
+        parser.addErrorListener( errorListener );
+
+        return parser.expression();
+    }
+}
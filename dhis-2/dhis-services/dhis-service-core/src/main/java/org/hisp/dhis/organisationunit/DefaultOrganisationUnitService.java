@@ -41,6 +41,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nonnull;
@@ -67,6 +69,8 @@ import org.hisp.dhis.user.UserSettingKey;
 import org.hisp.dhis.user.UserSettingService;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.google.common.collect.Sets;
 
@@ -79,6 +83,8 @@ public class DefaultOrganisationUnitService
 {
     private static final String LEVEL_PREFIX = "Level ";
 
+    private static final long HIERARCHY_INDEX_MAX_AGE_MILLIS = TimeUnit.HOURS.toMillis( 1 );
+
     private final Cache<Boolean> inUserOrgUnitHierarchyCache;
 
     private final Cache<Boolean> inUserOrgUnitViewHierarchyCache;
@@ -87,6 +93,14 @@ public class DefaultOrganisationUnitService
 
     private final Cache<Boolean> userCaptureOrgCountThresholdCache;
 
+    private final Object hierarchyIndexLock = new Object();
+
+    private final AtomicLong hierarchyIndexVersion = new AtomicLong();
+
+    private volatile OrganisationUnitHierarchyIndex hierarchyIndex;
+
+    private volatile long hierarchyIndexLoadTime;
+
     // -------------------------------------------------------------------------
     // Dependencies
     // -------------------------------------------------------------------------
@@ -138,6 +152,7 @@ public class DefaultOrganisationUnitService
     public long addOrganisationUnit( OrganisationUnit organisationUnit )
     {
         organisationUnitStore.save( organisationUnit );
+        invalidateHierarchyIndex();
         User user = currentUserService.getCurrentUser();
 
         if ( organisationUnit.getParent() == null && user != null )
@@ -154,6 +169,7 @@ public class DefaultOrganisationUnitService
     public void updateOrganisationUnit( OrganisationUnit organisationUnit )
     {
         organisationUnitStore.update( organisationUnit );
+        invalidateHierarchyIndex();
     }
 
     @Override
@@ -169,6 +185,7 @@ public class DefaultOrganisationUnitService
         throws HierarchyViolationException
     {
         organisationUnitStore.delete( organisationUnit );
+        invalidateHierarchyIndex();
     }
 
     @Override
@@ -516,6 +533,15 @@ public class DefaultOrganisationUnitService
             ancestorsUid.add( ancestor.getUid() );
         }
 
+        OrganisationUnitHierarchyIndex index = getHierarchyIndex();
+
+        if ( isIndexed( index, organisationUnit )
+            && ancestors.stream().allMatch( ancestor -> ancestor == null || index.contains( ancestor.getId() ) ) )
+        {
+            return ancestors.stream().anyMatch(
+                ancestor -> ancestor != null && index.isDescendant( organisationUnit.getId(), ancestor.getId() ) );
+        }
+
         OrganisationUnit unit = getOrganisationUnit( organisationUnit.getUid() );
         if ( unit == null )
         {
@@ -544,6 +570,13 @@ public class DefaultOrganisationUnitService
             return false;
         }
 
+        OrganisationUnitHierarchyIndex index = getHierarchyIndex();
+
+        if ( isIndexed( index, organisationUnit ) && index.contains( ancestor.getId() ) )
+        {
+            return index.isDescendant( organisationUnit.getId(), ancestor.getId() );
+        }
+
         OrganisationUnit unit = getOrganisationUnit( organisationUnit.getUid() );
 
         while ( unit != null )
@@ -882,6 +915,7 @@ public class DefaultOrganisationUnitService
     public void updatePaths()
     {
         organisationUnitStore.updatePaths();
+        invalidateHierarchyIndex();
     }
 
     @Override
@@ -889,6 +923,64 @@ public class DefaultOrganisationUnitService
     public void forceUpdatePaths()
     {
         organisationUnitStore.forceUpdatePaths();
+        invalidateHierarchyIndex();
+    }
+
+    @Override
+    @Transactional( readOnly = true )
+    public OrganisationUnitHierarchyIndex getHierarchyIndex()
+    {
+        OrganisationUnitHierarchyIndex index = hierarchyIndex;
+
+        if ( index != null && !isHierarchyIndexExpired() )
+        {
+            return index;
+        }
+
+        synchronized ( hierarchyIndexLock )
+        {
+            index = hierarchyIndex;
+
+            if ( index != null && !isHierarchyIndexExpired() )
+            {
+                return index;
+            }
+
+            long version = hierarchyIndexVersion.get();
+
+            index = organisationUnitStore.getHierarchyIndex();
+
+            // Only publish if not invalidated while loading
+
+            if ( version == hierarchyIndexVersion.get() )
+            {
+                hierarchyIndexLoadTime = System.currentTimeMillis();
+                hierarchyIndex = index;
+            }
+
+            return index;
+        }
+    }
+
+    @Override
+    public void invalidateHierarchyIndex()
+    {
+        clearHierarchyIndex();
+
+        // Clear again on completion, as the index may have been reloaded from
+        // a state which did not yet include the changes of the transaction
+
+        if ( TransactionSynchronizationManager.isSynchronizationActive() )
+        {
+            TransactionSynchronizationManager.registerSynchronization( new TransactionSynchronization()
+            {
+                @Override
+                public void afterCompletion( int status )
+                {
+                    clearHierarchyIndex();
+                }
+            } );
+        }
     }
 
     @Override
@@ -1050,4 +1142,28 @@ public class DefaultOrganisationUnitService
 
         return new ArrayList<>();
     }
+
+    /**
+     * Indicates whether the given organisation unit is contained in the given
+     * index with the same parent as the organisation unit itself. Parent
+     * identifiers are read without initializing the parent.
+     */
+    private boolean isIndexed( OrganisationUnitHierarchyIndex index, OrganisationUnit organisationUnit )
+    {
+        long parentId = organisationUnit.getParent() != null ? organisationUnit.getParent().getId() : 0;
+
+        return index.contains( organisationUnit.getId() )
+            && index.getParentId( organisationUnit.getId() ) == parentId;
+    }
+
+    private boolean isHierarchyIndexExpired()
+    {
+        return System.currentTimeMillis() - hierarchyIndexLoadTime > HIERARCHY_INDEX_MAX_AGE_MILLIS;
+    }
+
+    private void clearHierarchyIndex()
+    {
+        hierarchyIndexVersion.incrementAndGet();
+        hierarchyIndex = null;
+    }
 }
@@ -52,6 +52,7 @@ import org.hisp.dhis.commons.util.TextUtils;
 import org.hisp.dhis.dataset.DataSet;
 import org.hisp.dhis.dbms.DbmsManager;
 import org.hisp.dhis.organisationunit.OrganisationUnit;
+import org.hisp.dhis.organisationunit.OrganisationUnitHierarchyIndex;
 import org.hisp.dhis.organisationunit.OrganisationUnitQueryParams;
 import org.hisp.dhis.organisationunit.OrganisationUnitStore;
 import org.hisp.dhis.program.Program;
@@ -345,6 +346,26 @@ public class HibernateOrganisationUnitStore
         updatePaths( organisationUnits );
     }
 
+    @Override
+    public OrganisationUnitHierarchyIndex getHierarchyIndex()
+    {
+        String sql = "select organisationunitid, parentid from organisationunit";
+
+        List<long[]> links = jdbcTemplate.query( sql,
+            ( rs, rowNum ) -> new long[] { rs.getLong( "organisationunitid" ), rs.getLong( "parentid" ) } );
+
+        long[] ids = new long[links.size()];
+        long[] parentIds = new long[links.size()];
+
+        for ( int i = 0; i < ids.length; i++ )
+        {
+            ids[i] = links.get( i )[0];
+            parentIds[i] = links.get( i )[1];
+        }
+
+        return OrganisationUnitHierarchyIndex.of( ids, parentIds );
+    }
+
     @Override
     public int getMaxLevel()
     {
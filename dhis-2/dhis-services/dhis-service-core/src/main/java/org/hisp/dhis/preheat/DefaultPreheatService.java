@@ -34,6 +34,10 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import lombok.RequiredArgsConstructor;
@@ -82,7 +86,9 @@ import org.hisp.dhis.util.SharingUtils;
 import org.springframework.context.annotation.Scope;
 import org.springframework.context.annotation.ScopedProxyMode;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
@@ -114,6 +120,10 @@ public class DefaultPreheatService implements PreheatService
 
     private final SchemaToDataFetcher schemaToDataFetcher;
 
+    private final PlatformTransactionManager transactionManager;
+
+    private final PreheatExecutor preheatExecutor;
+
     @Override
     @Transactional( readOnly = true )
     public Preheat preheat( PreheatParams params )
@@ -152,6 +162,8 @@ public class DefaultPreheatService implements PreheatService
 
                 if ( !identifiers.isEmpty() )
                 {
+                    Timer klassTimer = new SystemTimer().start();
+
                     for ( List<String> ids : identifiers )
                     {
                         Query query = Query.from( schemaService.getDynamicSchema( klass ) );
@@ -160,6 +172,8 @@ public class DefaultPreheatService implements PreheatService
                         List<? extends IdentifiableObject> objects = queryService.query( query );
                         preheat.put( PreheatIdentifier.UID, objects );
                     }
+
+                    addKlassTiming( preheat, "References", klass, klassTimer );
                 }
             }
         }
@@ -173,6 +187,8 @@ public class DefaultPreheatService implements PreheatService
 
                 if ( !identifiers.isEmpty() )
                 {
+                    Timer klassTimer = new SystemTimer().start();
+
                     for ( List<String> ids : identifiers )
                     {
                         Query query = Query.from( schemaService.getDynamicSchema( klass ) );
@@ -181,6 +197,8 @@ public class DefaultPreheatService implements PreheatService
                         List<? extends IdentifiableObject> objects = queryService.query( query );
                         preheat.put( PreheatIdentifier.CODE, objects );
                     }
+
+                    addKlassTiming( preheat, "References", klass, klassTimer );
                 }
             }
 
@@ -216,15 +234,7 @@ public class DefaultPreheatService implements PreheatService
             }
         }
 
-        for ( Class<? extends IdentifiableObject> klass : klasses )
-        {
-            List<? extends IdentifiableObject> objects = schemaToDataFetcher
-                .fetch( schemaService.getDynamicSchema( klass ) );
-            if ( !objects.isEmpty() )
-            {
-                uniqueCollectionMap.put( klass, new ArrayList<>( objects ) );
-            }
-        }
+        uniqueCollectionMap.putAll( fetchUniqueObjects( preheat, klasses ) );
 
         // assign an uid to objects without an UID, if they don't have UID but
         // an existing object exists then reuse the UID
@@ -268,6 +278,88 @@ public class DefaultPreheatService implements PreheatService
         return preheat;
     }
 
+    /**
+     * Fetches the unique values of the existing objects of the given classes.
+     * If parallelism is configured, classes are fetched concurrently, each in
+     * its own read-only transaction. This is safe as the fetched objects are
+     * built from projections and not attached to any session.
+     */
+    private Map<Class<? extends IdentifiableObject>, List<IdentifiableObject>> fetchUniqueObjects( Preheat preheat,
+        Set<Class<? extends IdentifiableObject>> klasses )
+    {
+        Map<Class<? extends IdentifiableObject>, List<IdentifiableObject>> uniqueCollectionMap = new ConcurrentHashMap<>();
+
+        if ( preheatExecutor.getParallelism() <= 1 || klasses.size() <= 1 )
+        {
+            klasses.forEach( klass -> fetchUniqueObjects( preheat, klass, uniqueCollectionMap ) );
+
+            return uniqueCollectionMap;
+        }
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate( transactionManager );
+        transactionTemplate.setReadOnly( true );
+
+        List<Future<?>> futures = new ArrayList<>();
+
+        try
+        {
+            for ( Class<? extends IdentifiableObject> klass : klasses )
+            {
+                futures.add( preheatExecutor.getExecutor().submit( () -> transactionTemplate.executeWithoutResult(
+                    status -> fetchUniqueObjects( preheat, klass, uniqueCollectionMap ) ) ) );
+            }
+
+            for ( Future<?> future : futures )
+            {
+                future.get();
+            }
+        }
+        catch ( InterruptedException ex )
+        {
+            Thread.currentThread().interrupt();
+
+            throw new IllegalStateException( "Parallel preheat was interrupted", ex );
+        }
+        catch ( ExecutionException ex )
+        {
+            throw ex.getCause() instanceof RuntimeException ? (RuntimeException) ex.getCause()
+                : new IllegalStateException( ex.getCause() );
+        }
+        finally
+        {
+            futures.forEach( future -> future.cancel( true ) );
+        }
+
+        return uniqueCollectionMap;
+    }
+
+    private void fetchUniqueObjects( Preheat preheat, Class<? extends IdentifiableObject> klass,
+        Map<Class<? extends IdentifiableObject>, List<IdentifiableObject>> uniqueCollectionMap )
+    {
+        Timer klassTimer = new SystemTimer().start();
+
+        List<? extends IdentifiableObject> objects = schemaToDataFetcher
+            .fetch( schemaService.getDynamicSchema( klass ) );
+
+        if ( !objects.isEmpty() )
+        {
+            uniqueCollectionMap.put( klass, new ArrayList<>( objects ) );
+        }
+
+        addKlassTiming( preheat, "Uniqueness", klass, klassTimer );
+    }
+
+    private void addKlassTiming( Preheat preheat, String phase, Class<?> klass, Timer timer )
+    {
+        timer.stop();
+
+        String name = phase + "[" + klass.getSimpleName() + "]";
+
+        preheat.addTiming( name, TimeUnit.NANOSECONDS.toMillis( timer.duration() ) );
+
+        log.debug( "(" + preheat.getUsername() + ") Import:Preheat:" + name + " took " + timer.toString() );
+    }
+
     private void handleSharing( PreheatParams params, Preheat preheat )
     {
         params.getObjects().forEach( ( klass, list ) -> list.forEach( object -> {
@@ -510,7 +602,7 @@ public class DefaultPreheatService implements PreheatService
                         if ( !codeMap.containsKey( itemKlass ) )
                             codeMap.put( itemKlass, new HashSet<>() );
 
-                        Object reference = ReflectionUtils.invokeMethod( object, p.getGetterMethod() );
+                        Object reference = p.getValue( object );
 
                         if ( reference != null )
                         {
@@ -520,8 +612,7 @@ public class DefaultPreheatService implements PreheatService
                     }
                     else
                     {
-                        Collection<IdentifiableObject> reference = ReflectionUtils.invokeMethod( object,
-                            p.getGetterMethod() );
+                        Collection<IdentifiableObject> reference = p.getValue( object );
 
                         if ( reference != null )
                         {
@@ -697,7 +788,7 @@ public class DefaultPreheatService implements PreheatService
                 properties.forEach( p -> {
                     if ( !p.isCollection() )
                     {
-                        IdentifiableObject reference = ReflectionUtils.invokeMethod( object, p.getGetterMethod() );
+                        IdentifiableObject reference = p.getValue( object );
 
                         if ( reference != null )
                         {
@@ -716,8 +807,7 @@ public class DefaultPreheatService implements PreheatService
                     {
                         Collection<IdentifiableObject> refObjects = ReflectionUtils
                             .newCollectionInstance( p.getKlass() );
-                        Collection<IdentifiableObject> references = ReflectionUtils.invokeMethod( object,
-                            p.getGetterMethod() );
+                        Collection<IdentifiableObject> references = p.getValue( object );
 
                         if ( references != null )
                         {
@@ -778,7 +868,7 @@ public class DefaultPreheatService implements PreheatService
                     }
 
                     objects
-                        .forEach( o -> list.addAll( ReflectionUtils.invokeMethod( o, property.getGetterMethod() ) ) );
+                        .forEach( o -> list.addAll( property.getValue( o ) ) );
                     targets.put( property.getItemKlass(), list );
                 }
                 else
@@ -790,7 +880,7 @@ public class DefaultPreheatService implements PreheatService
                         list.addAll( targets.get( property.getKlass() ) );
                     }
 
-                    objects.forEach( o -> list.add( ReflectionUtils.invokeMethod( o, property.getGetterMethod() ) ) );
+                    objects.forEach( o -> list.add( property.getValue( o ) ) );
                     targets.put( property.getKlass(), list );
                 }
             }
@@ -844,25 +934,24 @@ public class DefaultPreheatService implements PreheatService
 
             if ( !property.isCollection() )
             {
-                IdentifiableObject refObject = ReflectionUtils.invokeMethod( object, property.getGetterMethod() );
+                IdentifiableObject refObject = property.getValue( object );
                 IdentifiableObject ref = getPersistedObject( preheat, identifier, refObject );
 
                 ref = connectDefaults( preheat, property, object, refObject, ref );
 
                 if ( ref != null && ref.getId() == 0 )
                 {
-                    ReflectionUtils.invokeMethod( object, property.getSetterMethod(), (Object) null );
+                    property.setValue( object, null );
                 }
                 else
                 {
-                    ReflectionUtils.invokeMethod( object, property.getSetterMethod(), ref );
+                    property.setValue( object, ref );
                 }
             }
             else
             {
                 Collection<IdentifiableObject> objects = ReflectionUtils.newCollectionInstance( property.getKlass() );
-                Collection<IdentifiableObject> refObjects = ReflectionUtils.invokeMethod( object,
-                    property.getGetterMethod() );
+                Collection<IdentifiableObject> refObjects = property.getValue( object );
 
                 for ( IdentifiableObject refObject : refObjects )
                 {
@@ -871,7 +960,7 @@ public class DefaultPreheatService implements PreheatService
                         objects.add( ref );
                 }
 
-                ReflectionUtils.invokeMethod( object, property.getSetterMethod(), objects );
+                property.setValue( object, objects );
             }
         }
     }
@@ -959,7 +1048,7 @@ public class DefaultPreheatService implements PreheatService
             uniqueProperties.forEach( property -> {
                 if ( !map.containsKey( property.getName() ) )
                     map.put( property.getName(), new HashMap<>() );
-                Object value = ReflectionUtils.invokeMethod( object, property.getGetterMethod() );
+                Object value = property.getValue( object );
                 if ( value != null )
                     map.get( property.getName() ).put( value, identifier.getIdentifier( object ) );
             } );
@@ -45,6 +45,8 @@ import org.hibernate.SessionFactory;
 import org.hisp.dhis.cache.QueryCacheManager;
 import org.hisp.dhis.common.IdentifiableObject;
 import org.hisp.dhis.hibernate.InternalHibernateGenericStore;
+import org.hisp.dhis.hibernate.jsonb.type.JsonbFunctions;
+import org.hisp.dhis.query.planner.QueryPath;
 import org.hisp.dhis.query.planner.QueryPlan;
 import org.hisp.dhis.query.planner.QueryPlanner;
 import org.hisp.dhis.schema.Schema;
@@ -120,13 +122,7 @@ public class JpaCriteriaQueryEngine<T extends IdentifiableObject>
 
         if ( query.isEmpty() )
         {
-            Predicate predicate = builder.conjunction();
-
-            predicate.getExpressions().addAll( store
-                .getSharingPredicates( builder, query.getUser() ).stream().map( t -> t.apply( root ) )
-                .collect( Collectors.toList() ) );
-
-            criteriaQuery.where( predicate );
+            criteriaQuery.where( withSharingPredicates( builder, root, store, query, builder.conjunction() ) );
 
             TypedQuery<T> typedQuery = sessionFactory.getCurrentSession().createQuery( criteriaQuery );
 
@@ -136,13 +132,8 @@ public class JpaCriteriaQueryEngine<T extends IdentifiableObject>
             return typedQuery.getResultList();
         }
 
-        Predicate predicate = buildPredicates( builder, root, query );
-
-        predicate.getExpressions().addAll( store
-            .getSharingPredicates( builder, query.getUser() ).stream().map( t -> t.apply( root ) )
-            .collect( Collectors.toList() ) );
-
-        criteriaQuery.where( predicate );
+        criteriaQuery.where( withSharingPredicates( builder, root, store, query,
+            buildPredicates( builder, root, query ) ) );
 
         if ( !query.getOrders().isEmpty() )
         {
@@ -199,13 +190,8 @@ public class JpaCriteriaQueryEngine<T extends IdentifiableObject>
 
         criteriaQuery.select( builder.count( root ) );
 
-        Predicate predicate = buildPredicates( builder, root, query );
-
-        predicate.getExpressions().addAll( store
-            .getSharingPredicates( builder, query.getUser() ).stream().map( t -> t.apply( root ) )
-            .collect( Collectors.toList() ) );
-
-        criteriaQuery.where( predicate );
+        criteriaQuery.where( withSharingPredicates( builder, root, store, query,
+            buildPredicates( builder, root, query ) ) );
 
         if ( !query.getOrders().isEmpty() )
         {
@@ -239,6 +225,29 @@ public class JpaCriteriaQueryEngine<T extends IdentifiableObject>
         return stores.get( klass );
     }
 
+    /**
+     * Returns the conjunction of the given filter predicate and the sharing
+     * predicates of the query user. The sharing predicates must never be added
+     * to the filter predicate itself, as the filter predicate is a disjunction
+     * for queries with an OR root junction.
+     */
+    private Predicate withSharingPredicates( CriteriaBuilder builder, Root<T> root,
+        InternalHibernateGenericStore<T> store, Query query, Predicate filter )
+    {
+        Predicate predicate = builder.conjunction();
+
+        if ( !filter.getExpressions().isEmpty() )
+        {
+            predicate.getExpressions().add( filter );
+        }
+
+        predicate.getExpressions().addAll( store
+            .getSharingPredicates( builder, query.getUser() ).stream().map( t -> t.apply( root ) )
+            .collect( Collectors.toList() ) );
+
+        return predicate;
+    }
+
     private <Y> Predicate buildPredicates( CriteriaBuilder builder, Root<Y> root, Query query )
     {
         Predicate junction = getJpaJunction( builder, query.getRootJunctionType() );
@@ -273,7 +282,17 @@ public class JpaCriteriaQueryEngine<T extends IdentifiableObject>
             return null;
         }
 
-        return restriction.getOperator().getPredicate( builder, root, restriction.getQueryPath() );
+        QueryPath queryPath = restriction.getQueryPath();
+
+        if ( queryPath.isAttribute() )
+        {
+            return restriction.getOperator().getAttributeValuePredicate( builder,
+                builder.function( JsonbFunctions.EXTRACT_PATH_TEXT, String.class,
+                    root.get( queryPath.getPath() ), builder.literal( queryPath.getAttributeId() ),
+                    builder.literal( "value" ) ) );
+        }
+
+        return restriction.getOperator().getPredicate( builder, root, queryPath );
     }
 
     private <Y> void addPredicate( CriteriaBuilder builder, Root<Y> root, Predicate predicateJunction,
@@ -341,7 +360,7 @@ public class JpaCriteriaQueryEngine<T extends IdentifiableObject>
 
             for ( org.hisp.dhis.query.Criterion c : ((Junction) criterion).getCriterions() )
             {
-                addJunction( builder, root, junction, c );
+                addJunction( builder, root, j, c );
             }
         }
     }
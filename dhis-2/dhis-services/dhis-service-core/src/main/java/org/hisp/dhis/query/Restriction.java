@@ -57,7 +57,8 @@ public final class Restriction implements Criterion
 
     /**
      * Indicates that the {@link #path} is a attribute UID. This also means the
-     * {@link Restriction} is an in-memory filter.
+     * {@link Restriction} is an in-memory filter unless the operator supports
+     * attribute values in the database.
      */
     private final boolean attribute;
 
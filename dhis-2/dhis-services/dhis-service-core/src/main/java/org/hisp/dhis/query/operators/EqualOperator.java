@@ -31,6 +31,7 @@ import java.util.Collection;
 import java.util.Date;
 
 import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Expression;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 
@@ -99,6 +100,18 @@ public class EqualOperator<T extends Comparable<? super T>> extends Operator<T>
         return builder.equal( root.get( queryPath.getPath() ), args.get( 0 ) );
     }
 
+    @Override
+    public boolean isAttributeValuePredicateSupported()
+    {
+        return true;
+    }
+
+    @Override
+    public Predicate getAttributeValuePredicate( CriteriaBuilder builder, Expression<String> value )
+    {
+        return builder.equal( value, String.valueOf( args.get( 0 ) ) );
+    }
+
     @Override
     public boolean test( Object value )
     {
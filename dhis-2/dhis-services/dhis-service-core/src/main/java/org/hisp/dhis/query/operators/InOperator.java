@@ -31,6 +31,7 @@ import java.util.Collection;
 import java.util.Date;
 
 import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Expression;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 
@@ -85,6 +86,18 @@ public class InOperator<T extends Comparable<? super T>> extends Operator<T>
         return root.get( queryPath.getPath() ).in( getCollectionArgs().get( 0 ) );
     }
 
+    @Override
+    public boolean isAttributeValuePredicateSupported()
+    {
+        return true;
+    }
+
+    @Override
+    public Predicate getAttributeValuePredicate( CriteriaBuilder builder, Expression<String> value )
+    {
+        return value.in( getCollectionArgs().get( 0 ) );
+    }
+
     @Override
     public boolean test( Object value )
     {
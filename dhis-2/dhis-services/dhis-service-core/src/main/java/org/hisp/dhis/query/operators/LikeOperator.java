@@ -28,6 +28,7 @@
 package org.hisp.dhis.query.operators;
 
 import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Expression;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 
@@ -94,6 +95,19 @@ public class LikeOperator<T extends Comparable<? super T>> extends Operator<T>
             jpaMatchMode );
     }
 
+    @Override
+    public boolean isAttributeValuePredicateSupported()
+    {
+        return true;
+    }
+
+    @Override
+    public Predicate getAttributeValuePredicate( CriteriaBuilder builder, Expression<String> value )
+    {
+        return JpaQueryUtils.stringPredicate( builder, value, String.valueOf( args.get( 0 ) ).replace( "%", "" ),
+            jpaMatchMode, caseSensitive );
+    }
+
     @Override
     public boolean test( Object value )
     {
@@ -28,6 +28,7 @@
 package org.hisp.dhis.query.operators;
 
 import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Expression;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 
@@ -74,6 +75,12 @@ public class NotEqualOperator<T extends Comparable<? super T>> extends EqualOper
         return builder.notEqual( root.get( queryPath.getPath() ), args.get( 0 ) );
     }
 
+    @Override
+    public Predicate getAttributeValuePredicate( CriteriaBuilder builder, Expression<String> value )
+    {
+        return builder.or( builder.isNull( value ), builder.notEqual( value, String.valueOf( args.get( 0 ) ) ) );
+    }
+
     @Override
     public boolean test( Object value )
     {
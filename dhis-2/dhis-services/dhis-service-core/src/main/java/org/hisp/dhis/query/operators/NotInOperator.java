@@ -30,6 +30,7 @@ package org.hisp.dhis.query.operators;
 import java.util.Collection;
 
 import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Expression;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 
@@ -68,6 +69,12 @@ public class NotInOperator<T extends Comparable<? super T>> extends InOperator<T
         return builder.not( root.get( queryPath.getPath() ).in( getCollectionArgs().get( 0 ) ) );
     }
 
+    @Override
+    public Predicate getAttributeValuePredicate( CriteriaBuilder builder, Expression<String> value )
+    {
+        return builder.or( builder.isNull( value ), builder.not( value.in( getCollectionArgs().get( 0 ) ) ) );
+    }
+
     @Override
     public boolean test( Object value )
     {
@@ -30,6 +30,7 @@ package org.hisp.dhis.query.operators;
 import java.util.Date;
 
 import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Expression;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 
@@ -60,6 +61,18 @@ public class NullOperator<T extends Comparable<? super T>> extends Operator<T>
         return builder.isNull( root.get( queryPath.getPath() ) );
     }
 
+    @Override
+    public boolean isAttributeValuePredicateSupported()
+    {
+        return true;
+    }
+
+    @Override
+    public Predicate getAttributeValuePredicate( CriteriaBuilder builder, Expression<String> value )
+    {
+        return builder.isNull( value );
+    }
+
     @Override
     public boolean test( Object value )
     {
@@ -31,6 +31,7 @@ import java.util.Collection;
 import java.util.List;
 
 import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Expression;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 
@@ -154,6 +155,30 @@ public abstract class Operator<T extends Comparable<? super T>>
 
     public abstract <Y> Predicate getPredicate( CriteriaBuilder builder, Root<Y> root, QueryPath queryPath );
 
+    /**
+     * Indicates whether this operator can be applied to the text value of an
+     * attribute value in the database using
+     * {@link #getAttributeValuePredicate(CriteriaBuilder, Expression)}.
+     * Operators which can not are applied to attribute values in memory.
+     */
+    public boolean isAttributeValuePredicateSupported()
+    {
+        return false;
+    }
+
+    /**
+     * Returns a predicate for the given attribute value text expression, see
+     * {@link #isAttributeValuePredicateSupported()}.
+     *
+     * @param builder the {@link CriteriaBuilder}.
+     * @param value the expression extracting the text value of the attribute.
+     * @return a {@link Predicate}.
+     */
+    public Predicate getAttributeValuePredicate( CriteriaBuilder builder, Expression<String> value )
+    {
+        throw new UnsupportedOperationException( "Operator " + name + " is not supported for attribute values" );
+    }
+
     public abstract boolean test( Object value );
 
     org.hibernate.criterion.MatchMode getMatchMode( MatchMode matchMode )
@@ -71,7 +71,9 @@ public class DefaultQueryPlanner implements QueryPlanner
         Junction.Type junctionType = query.getCriterions().size() <= 1 ? Junction.Type.AND
             : query.getRootJunctionType();
 
-        if ( Junction.Type.OR == junctionType && !persistedOnly )
+        // a disjunction can only be split if all criterions can be persisted,
+        // otherwise all filtering is left to the in-memory engine
+        if ( Junction.Type.OR == junctionType && !persistedOnly && !isPersisted( query ) )
         {
             return QueryPlan.builder()
                 .persistedQuery( Query.from( query.getSchema() ).setPlannedQuery( true ) )
@@ -123,8 +125,16 @@ public class DefaultQueryPlanner implements QueryPlanner
             if ( isFilterByAttributeId( curProperty, name ) )
             {
                 // filter by Attribute Uid
-                persisted = false;
                 curProperty = curSchema.getProperty( "attributeValues" );
+
+                // values of attributes of the root object are persisted as
+                // JSONB and can be filtered by the query engine
+                if ( curProperty != null && curProperty.isPersisted() && pathComponents.length == 1 )
+                {
+                    return new QueryPath( curProperty, true, new String[] {}, name );
+                }
+
+                persisted = false;
             }
 
             if ( curProperty == null )
@@ -242,7 +252,7 @@ public class DefaultQueryPlanner implements QueryPlanner
                 Restriction restriction = (Restriction) criterion;
                 restriction.setQueryPath( getQueryPath( query.getSchema(), restriction.getPath() ) );
 
-                if ( restriction.getQueryPath().isPersisted() && !restriction.getQueryPath().haveAlias() )
+                if ( isPersisted( restriction ) && !restriction.getQueryPath().haveAlias() )
                 {
                     pQuery.getAliases().addAll( Arrays.asList( ((Restriction) criterion).getQueryPath().getAlias() ) );
                     pQuery.getCriterions().add( criterion );
@@ -290,7 +300,7 @@ public class DefaultQueryPlanner implements QueryPlanner
                 Restriction restriction = (Restriction) criterion;
                 restriction.setQueryPath( getQueryPath( query.getSchema(), restriction.getPath() ) );
 
-                if ( restriction.getQueryPath().isPersisted() && !restriction.getQueryPath().haveAlias( 1 ) )
+                if ( isPersisted( restriction ) && !restriction.getQueryPath().haveAlias( 1 ) )
                 {
                     criteriaJunction.getAliases()
                         .addAll( Arrays.asList( ((Restriction) criterion).getQueryPath().getAlias() ) );
@@ -308,6 +318,43 @@ public class DefaultQueryPlanner implements QueryPlanner
         return criteriaJunction;
     }
 
+    /**
+     * Indicates whether all criterions of the given query are moved to the
+     * persisted query by {@link #getQuery(Query, boolean)}.
+     */
+    private boolean isPersisted( Query query )
+    {
+        return query.getCriterions().stream()
+            .allMatch( criterion -> isPersisted( query.getSchema(), criterion, 0 ) );
+    }
+
+    private boolean isPersisted( Schema schema, Criterion criterion, int aliasDepth )
+    {
+        if ( criterion instanceof Junction )
+        {
+            return ((Junction) criterion).getCriterions().stream()
+                .allMatch( c -> isPersisted( schema, c, 1 ) );
+        }
+
+        if ( criterion instanceof Restriction )
+        {
+            Restriction restriction = (Restriction) criterion;
+            restriction.setQueryPath( getQueryPath( schema, restriction.getPath() ) );
+
+            return isPersisted( restriction ) && !restriction.getQueryPath().haveAlias( aliasDepth );
+        }
+
+        return false;
+    }
+
+    private boolean isPersisted( Restriction restriction )
+    {
+        QueryPath queryPath = restriction.getQueryPath();
+
+        return queryPath.isPersisted()
+            && (!queryPath.isAttribute() || restriction.getOperator().isAttributeValuePredicateSupported());
+    }
+
     private boolean isFilterByAttributeId( Property curProperty, String propertyName )
     {
         return curProperty == null && CodeGenerator.isValidUid( propertyName );
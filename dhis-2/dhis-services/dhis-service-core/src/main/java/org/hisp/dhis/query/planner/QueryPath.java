@@ -29,7 +29,6 @@ package org.hisp.dhis.query.planner;
 
 import java.util.Arrays;
 
-import lombok.AllArgsConstructor;
 import lombok.Getter;
 
 import org.hisp.dhis.schema.Property;
@@ -41,7 +40,6 @@ import com.google.common.base.MoreObjects;
  * @author Morten Olav Hansen <mortenoh@gmail.com>
  */
 @Getter
-@AllArgsConstructor
 public class QueryPath
 {
     private final Property property;
@@ -50,6 +48,12 @@ public class QueryPath
 
     private final String[] alias;
 
+    /**
+     * UID of the attribute if this path refers to the value of an attribute
+     * stored in the attribute values of the root object, null otherwise.
+     */
+    private final String attributeId;
+
     private static final Joiner PATH_JOINER = Joiner.on( "." );
 
     public QueryPath( Property property, boolean persisted )
@@ -57,6 +61,19 @@ public class QueryPath
         this( property, persisted, new String[0] );
     }
 
+    public QueryPath( Property property, boolean persisted, String[] alias )
+    {
+        this( property, persisted, alias, null );
+    }
+
+    public QueryPath( Property property, boolean persisted, String[] alias, String attributeId )
+    {
+        this.property = property;
+        this.persisted = persisted;
+        this.alias = alias;
+        this.attributeId = attributeId;
+    }
+
     public String getPath()
     {
         String fieldName = property.getFieldName();
@@ -69,6 +86,11 @@ public class QueryPath
         return haveAlias() ? PATH_JOINER.join( alias ) + "." + fieldName : fieldName;
     }
 
+    public boolean isAttribute()
+    {
+        return attributeId != null;
+    }
+
     public boolean haveAlias()
     {
         return haveAlias( 0 );
@@ -87,6 +109,7 @@ public class QueryPath
             .add( "path", getPath() )
             .add( "persisted", persisted )
             .add( "alias", Arrays.toString( alias ) )
+            .add( "attributeId", attributeId )
             .toString();
     }
 }
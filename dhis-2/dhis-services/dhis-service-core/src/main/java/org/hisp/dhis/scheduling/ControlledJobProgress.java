@@ -31,6 +31,7 @@ import static java.lang.String.format;
 import static org.hisp.dhis.scheduling.JobProgress.getMessage;
 
 import java.time.Duration;
+import java.util.Comparator;
 import java.util.Deque;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.ConcurrentLinkedDeque;
@@ -213,7 +214,7 @@ public class ControlledJobProgress implements JobProgress
         tracker.completedStage( summary );
         Stage stage = getOrAddLastIncompleteStage();
         stage.complete( summary );
-        logInfo( stage, "completed", summary );
+        logInfo( stage, "completed", withLongestItem( stage, summary ) );
     }
 
     @Override
@@ -454,10 +455,34 @@ public class ControlledJobProgress implements JobProgress
         }
     }
 
+    /**
+     * Appends the longest item of a stage with several items to the summary
+     * logged for the stage, to make a skew between the items of parallel
+     * stages visible.
+     */
+    private static String withLongestItem( Stage stage, String summary )
+    {
+        if ( stage.getItems().size() < 2 )
+        {
+            return summary;
+        }
+        Item longest = stage.getItems().stream()
+            .max( Comparator.comparingLong( Item::getDuration ) )
+            .orElseThrow();
+        String item = format( "longest item %s took %s", longest.getDescription(),
+            formatDuration( longest.getDuration() ) );
+        return summary == null ? item : summary + ", " + item;
+    }
+
+    private static String formatDuration( long millis )
+    {
+        return Duration.ofMillis( millis ).toString().substring( 2 ).toLowerCase();
+    }
+
     private String formatLogMessage( Node source, String action, String message )
     {
         String duration = source.isComplete()
-            ? " after " + Duration.ofMillis( source.getDuration() ).toString().substring( 2 ).toLowerCase()
+            ? " after " + formatDuration( source.getDuration() )
             : "";
         String msg = message == null ? "" : ": " + message;
         return format( "[%s %s] %s %s%s%s", configuration.getJobType().name(), configuration.getUid(),
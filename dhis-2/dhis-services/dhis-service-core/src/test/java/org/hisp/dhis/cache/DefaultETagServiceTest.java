@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.cache;
+
+import static org.hisp.dhis.external.conf.ConfigurationKey.SYSTEM_CACHE_DEEP_ETAG_ENABLED;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * Tests for {@link DefaultETagService}.
+ */
+@ExtendWith( MockitoExtension.class )
+class DefaultETagServiceTest
+{
+    @Mock
+    private DhisConfigurationProvider config;
+
+    @Test
+    void testIncrementVersions()
+    {
+        when( config.isEnabled( SYSTEM_CACHE_DEEP_ETAG_ENABLED ) ).thenReturn( true );
+
+        ETagService service = new DefaultETagService( config );
+
+        assertTrue( service.isEnabled() );
+        assertEquals( 0, service.getEntityVersion() );
+        assertEquals( 0, service.getAnalyticsVersion() );
+
+        service.incrementEntityVersion();
+        service.incrementEntityVersion();
+        service.incrementAnalyticsVersion();
+
+        assertEquals( 2, service.getEntityVersion() );
+        assertEquals( 1, service.getAnalyticsVersion() );
+    }
+
+    @Test
+    void testDisabledInCluster()
+    {
+        when( config.isEnabled( SYSTEM_CACHE_DEEP_ETAG_ENABLED ) ).thenReturn( true );
+        when( config.isClusterEnabled() ).thenReturn( true );
+
+        assertFalse( new DefaultETagService( config ).isEnabled() );
+    }
+
+    @Test
+    void testDisabledByConfiguration()
+    {
+        when( config.isEnabled( SYSTEM_CACHE_DEEP_ETAG_ENABLED ) ).thenReturn( false );
+
+        assertFalse( new DefaultETagService( config ).isEnabled() );
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.expression;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.TimeUnit;
+
+import org.antlr.v4.runtime.tree.ParseTree;
+import org.hisp.dhis.antlr.ParserException;
+import org.hisp.dhis.cache.CacheBuilder;
+import org.hisp.dhis.cache.CacheProvider;
+import org.hisp.dhis.cache.LocalCache;
+import org.hisp.dhis.cache.SimpleCacheBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * Tests for {@link ExpressionParseTreeCache}.
+ */
+@ExtendWith( MockitoExtension.class )
+class ExpressionParseTreeCacheTest
+{
+    @Mock
+    private CacheProvider cacheProvider;
+
+    private ExpressionParseTreeCache parseTreeCache;
+
+    @BeforeEach
+    void setUp()
+    {
+        CacheBuilder<ParseTree> cacheBuilder = new SimpleCacheBuilder<>();
+
+        cacheBuilder.expireAfterWrite( 1L, TimeUnit.MINUTES );
+
+        when( cacheProvider.<ParseTree> createExpressionParseTreeCache() )
+            .thenReturn( new LocalCache<>( cacheBuilder ) );
+
+        parseTreeCache = new ExpressionParseTreeCache( cacheProvider );
+    }
+
+    @Test
+    void testGetParseTreeParsesOnce()
+    {
+        ParseTree tree = parseTreeCache.getParseTree( "#{deabcdefghA} + 1" );
+
+        assertSame( tree, parseTreeCache.getParseTree( "#{deabcdefghA} + 1" ) );
+        assertEquals( "#{deabcdefghA} + 1<EOF>", tree.getText() );
+
+        parseTreeCache.getParseTree( "2 * 3" );
+
+        assertEquals( 3, parseTreeCache.getLookupCount() );
+        assertEquals( 2, parseTreeCache.getCompileCount() );
+    }
+
+    @Test
+    void testGetParseTreeInvalidExpression()
+    {
+        assertThrows( ParserException.class, () -> parseTreeCache.getParseTree( "1 +" ) );
+        assertThrows( ParserException.class, () -> parseTreeCache.getParseTree( "1 +" ) );
+
+        assertEquals( 2, parseTreeCache.getLookupCount() );
+        assertEquals( 2, parseTreeCache.getCompileCount() );
+    }
+}
@@ -257,8 +257,10 @@ class ExpressionService2Test extends DhisConvenienceTest
     public void setUp()
     {
         when( cacheProvider.createAllConstantsCache() ).thenReturn( new NoOpCache<>() );
+        when( cacheProvider.createExpressionParseTreeCache() ).thenReturn( new NoOpCache<>() );
         target = new DefaultExpressionService( hibernateGenericStore, constantService, dimensionService,
-            idObjectManager, statementBuilder, i18nManager, cacheProvider );
+            idObjectManager, statementBuilder, i18nManager, cacheProvider,
+            new ExpressionParseTreeCache( cacheProvider ) );
 
         categoryOptionA = new CategoryOption( "Under 5" );
         categoryOptionB = new CategoryOption( "Over 5" );
@@ -39,6 +39,7 @@ import org.hisp.dhis.attribute.Attribute;
 import org.hisp.dhis.dataelement.DataElement;
 import org.hisp.dhis.query.Junction;
 import org.hisp.dhis.query.Query;
+import org.hisp.dhis.query.Restriction;
 import org.hisp.dhis.query.Restrictions;
 import org.hisp.dhis.schema.Property;
 import org.hisp.dhis.schema.Schema;
@@ -213,6 +214,86 @@ class DefaultQueryPlannerTest
 
     }
 
+    @Test
+    void verifyPlanQueryReturnsPersistedQueryForPersistedDisjunction()
+        throws Exception
+    {
+        final Attribute attribute = new Attribute();
+        final Map<String, Property> propertyMap = new HashMap<>();
+        addProperty( propertyMap, attribute, "id", true );
+        addProperty( propertyMap, attribute, "name", true );
+        Schema schema = new OrganisationUnitSchemaDescriptor().getSchema();
+        schema.setPropertyMap( propertyMap );
+
+        Query query = Query.from( schema, Junction.Type.OR );
+        query.setMaxResults( 10 );
+        query.setFirstResult( 500 );
+
+        query.add( Restrictions.eq( "name", "test" ) );
+        query.add( Restrictions.eq( "id", 100 ) );
+
+        QueryPlan queryPlan = subject.planQuery( query, false );
+
+        Query persistedQuery = queryPlan.getPersistedQuery();
+
+        assertEquals( 2, persistedQuery.getCriterions().size() );
+        assertEquals( Junction.Type.OR, persistedQuery.getRootJunctionType() );
+        assertEquals( 500, persistedQuery.getFirstResult().intValue() );
+        assertEquals( 10, persistedQuery.getMaxResults().intValue() );
+
+        Query nonPersistedQuery = queryPlan.getNonPersistedQuery();
+        assertEquals( 0, nonPersistedQuery.getCriterions().size() );
+    }
+
+    @Test
+    void verifyPlanQueryReturnsPersistedQueryForAttributeValueFilter()
+        throws Exception
+    {
+        final DataElement dataElement = new DataElement();
+        final Map<String, Property> propertyMap = new HashMap<>();
+        addProperty( propertyMap, dataElement, "domainType", true );
+        addProperty( propertyMap, dataElement, "attributeValues", true );
+        Schema schema = new DataElementSchemaDescriptor().getSchema();
+        schema.setPropertyMap( propertyMap );
+
+        Query query = Query.from( schema, Junction.Type.AND );
+        query.add( Restrictions.eq( "domainType", "Aggregate" ) );
+        query.add( Restrictions.eq( "DiszpKrYNg8", "value" ).asAttribute() );
+
+        QueryPlan queryPlan = subject.planQuery( query, false );
+
+        Query persistedQuery = queryPlan.getPersistedQuery();
+        assertEquals( 2, persistedQuery.getCriterions().size() );
+
+        Restriction restriction = (Restriction) persistedQuery.getCriterions().get( 1 );
+        assertTrue( restriction.getQueryPath().isAttribute() );
+        assertEquals( "DiszpKrYNg8", restriction.getQueryPath().getAttributeId() );
+        assertEquals( "attributeValues", restriction.getQueryPath().getPath() );
+
+        assertEquals( 0, queryPlan.getNonPersistedQuery().getCriterions().size() );
+    }
+
+    @Test
+    void verifyPlanQueryReturnsNonPersistedQueryForUnsupportedAttributeValueFilter()
+        throws Exception
+    {
+        final DataElement dataElement = new DataElement();
+        final Map<String, Property> propertyMap = new HashMap<>();
+        addProperty( propertyMap, dataElement, "domainType", true );
+        addProperty( propertyMap, dataElement, "attributeValues", true );
+        Schema schema = new DataElementSchemaDescriptor().getSchema();
+        schema.setPropertyMap( propertyMap );
+
+        Query query = Query.from( schema, Junction.Type.OR );
+        query.add( Restrictions.eq( "domainType", "Aggregate" ) );
+        query.add( Restrictions.gt( "DiszpKrYNg8", "value" ).asAttribute() );
+
+        QueryPlan queryPlan = subject.planQuery( query, false );
+
+        assertEquals( 0, queryPlan.getPersistedQuery().getCriterions().size() );
+        assertEquals( 2, queryPlan.getNonPersistedQuery().getCriterions().size() );
+    }
+
     private void addProperty( Map<String, Property> propertyMap, Object bean, String property, boolean persisted )
         throws Exception
     {
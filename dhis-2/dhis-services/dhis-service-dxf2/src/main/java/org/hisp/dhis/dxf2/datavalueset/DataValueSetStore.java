@@ -29,10 +29,13 @@ package org.hisp.dhis.dxf2.datavalueset;
 
 import java.io.OutputStream;
 import java.io.Writer;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
 
 import org.hisp.dhis.common.IdSchemes;
 import org.hisp.dhis.datavalue.DataExportParams;
+import org.hisp.dhis.datavalue.DataValue;
 
 /**
  * @author Lars Helge Overland
@@ -67,4 +70,16 @@ public interface DataValueSetStore
      */
     void exportDataValueSetJson( Date lastUpdated, OutputStream outputStream, IdSchemes idSchemes, int pageSize,
         int page );
+
+    /**
+     * Retrieves the persisted data values which match any of the given data
+     * values on data element, period, organisation unit, category option combo
+     * and attribute option combo using a single query. The returned data values
+     * refer to the same metadata objects as the given data values.
+     *
+     * @param dataValues the data values to look up, referring to persisted
+     *        metadata objects.
+     * @return the persisted data values, empty if none exist.
+     */
+    List<DataValue> getPersistedDataValues( Collection<DataValue> dataValues );
 }
@@ -42,12 +42,16 @@ import java.io.OutputStream;
 import java.io.Writer;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.Callable;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -138,6 +142,8 @@ public class DefaultDataValueSetService
 
     private static final int CACHE_MISS_THRESHOLD = 250;
 
+    private static final int IMPORT_WINDOW_SIZE = 1000;
+
     private final IdentifiableObjectManager identifiableObjectManager;
 
     private final CategoryService categoryService;
@@ -717,21 +723,24 @@ public class DefaultDataValueSetService
         notifier.notify( id, notificationLevel, "Importing data values" );
 
         List<? extends DataValueEntry> values = dataValueSet.getDataValues();
+        List<DataValueImport> window = new ArrayList<>( IMPORT_WINDOW_SIZE );
         int index = 0;
         if ( values != null && !values.isEmpty() )
         {
             for ( DataValueEntry dataValue : values )
             {
-                importDataValue( context, dataSetContext, importCount, now, index++, dataValue );
+                prepareDataValue( context, dataSetContext, importCount, now, index++, dataValue, window );
             }
         }
         DataValueEntry dataValue = reader.readNext();
         while ( dataValue != null )
         {
-            importDataValue( context, dataSetContext, importCount, now, index++, dataValue );
+            prepareDataValue( context, dataSetContext, importCount, now, index++, dataValue, window );
             dataValue = reader.readNext();
         }
 
+        importDataValues( context, importCount, window );
+
         context.getDataValueBatchHandler().flush();
 
         if ( !context.isSkipAudit() )
@@ -754,8 +763,13 @@ public class DefaultDataValueSetService
         return context.getSummary();
     }
 
-    private void importDataValue( ImportContext context, DataSetContext dataSetContext, ImportCount importCount,
-        Date now, int index, DataValueEntry dataValue )
+    /**
+     * Validates the given entry and adds the resulting data value to the
+     * current window of data values. The window is imported once it is full.
+     * The entry is not retained, as readers may reuse entry instances.
+     */
+    private void prepareDataValue( ImportContext context, DataSetContext dataSetContext, ImportCount importCount,
+        Date now, int index, DataValueEntry dataValue, List<DataValueImport> window )
     {
         ImportContext.DataValueContext valueContext = createDataValueContext( index, dataValue, context,
             dataSetContext );
@@ -780,24 +794,68 @@ public class DefaultDataValueSetService
         // -----------------------------------------------------------------
         DataValue internalValue = createDataValue( dataValue, context, valueContext, now );
 
+        window.add( new DataValueImport( valueContext, internalValue, dataValue.hasCreated(),
+            dataValueIsZeroAndInsignificant( dataValue.getValue(), valueContext.getDataElement() ) ) );
+
+        if ( window.size() >= IMPORT_WINDOW_SIZE )
+        {
+            importDataValues( context, importCount, window );
+        }
+    }
+
+    /**
+     * Imports the given window of data values. Existing data values are looked
+     * up for the entire window with a single query, after which the window is
+     * cleared.
+     */
+    private void importDataValues( ImportContext context, ImportCount importCount, List<DataValueImport> window )
+    {
+        if ( window.isEmpty() )
+        {
+            return;
+        }
+
+        Map<DataValue, DataValue> existingValues = new HashMap<>();
+
+        if ( !context.isSkipExistingCheck() )
+        {
+            List<DataValue> internalValues = window.stream()
+                .map( DataValueImport::getInternalValue )
+                .collect( Collectors.toList() );
+
+            dataValueSetStore.getPersistedDataValues( internalValues )
+                .forEach( dv -> existingValues.put( dv, dv ) );
+        }
+
+        for ( DataValueImport valueImport : window )
+        {
+            importDataValue( context, importCount, valueImport, existingValues );
+        }
+
+        window.clear();
+    }
+
+    private void importDataValue( ImportContext context, ImportCount importCount, DataValueImport valueImport,
+        Map<DataValue, DataValue> existingValues )
+    {
+        ImportContext.DataValueContext valueContext = valueImport.getValueContext();
+        DataValue internalValue = valueImport.getInternalValue();
+
         // -----------------------------------------------------------------
         // Save, update or delete data value
         // -----------------------------------------------------------------
-        DataValue existingValue = !context.isSkipExistingCheck()
-            ? context.getDataValueBatchHandler().findObject( internalValue )
-            : null;
+        DataValue existingValue = existingValues.get( internalValue );
 
         // -----------------------------------------------------------------
         // Preserve any existing created date unless overwritten by import
         // -----------------------------------------------------------------
-        if ( existingValue != null && !dataValue.hasCreated() )
+        if ( existingValue != null && !valueImport.isCreatedSpecified() )
         {
             internalValue.setCreated( existingValue.getCreated() );
         }
 
         final ImportStrategy strategy = context.getStrategy();
-        boolean zeroAndInsignificant = ValidationUtils.dataValueIsZeroAndInsignificant(
-            dataValue.getValue(), valueContext.getDataElement() );
+        boolean zeroAndInsignificant = valueImport.isZeroAndInsignificant();
         if ( zeroAndInsignificant && (existingValue == null || strategy.isCreate()) )
         {
             // Ignore value
@@ -808,15 +866,19 @@ public class DefaultDataValueSetService
         // -----------------------------------------------------------------
         // Check soft deleted data values on update and import
         // -----------------------------------------------------------------
+        boolean written = false;
+
         if ( !context.isSkipExistingCheck() && existingValue != null && !existingValue.isDeleted() )
         {
             if ( strategy.isCreateAndUpdate() || strategy.isUpdate() )
             {
-                saveDataValueUpdate( context, importCount, dataValue, valueContext, internalValue, existingValue );
+                saveDataValueUpdate( context, importCount, valueImport, existingValue );
+                written = true;
             }
             else if ( strategy.isDelete() )
             {
-                saveDataValueDelete( context, importCount, dataValue, valueContext, internalValue, existingValue );
+                saveDataValueDelete( context, importCount, valueContext, internalValue, existingValue );
+                written = true;
             }
             else
             {
@@ -828,12 +890,25 @@ public class DefaultDataValueSetService
             if ( strategy.isCreateAndUpdate() || strategy.isCreate() )
             {
                 saveDataValueCreate( context, importCount, valueContext, internalValue, existingValue );
+
+                // Restoring a soft deleted value is written immediately,
+                // whereas new values are only visible once flushed
+                written = existingValue != null && !internalValue.isNullValue();
             }
             else
             {
                 importCount.incrementIgnored();
             }
         }
+
+        // -----------------------------------------------------------------
+        // Subsequent values of the window with the same key must see the
+        // state written by this value, as a per value lookup would
+        // -----------------------------------------------------------------
+        if ( written && !context.isDryRun() )
+        {
+            existingValues.put( internalValue, internalValue );
+        }
     }
 
     private void saveDataValueCreate( ImportContext context, ImportCount importCount,
@@ -886,8 +961,7 @@ public class DefaultDataValueSetService
     }
 
     private void saveDataValueDelete( ImportContext context, ImportCount importCount,
-        DataValueEntry dataValue, ImportContext.DataValueContext valueContext,
-        DataValue internalValue, DataValue existingValue )
+        ImportContext.DataValueContext valueContext, DataValue internalValue, DataValue existingValue )
     {
         internalValue.setDeleted( true );
 
@@ -912,7 +986,7 @@ public class DefaultDataValueSetService
             if ( !context.isSkipAudit() )
             {
                 DataValueAudit auditValue = new DataValueAudit( internalValue, existingValue.getValue(),
-                    context.getStoredBy( dataValue ), AuditType.DELETE );
+                    internalValue.getStoredBy(), AuditType.DELETE );
 
                 context.getAuditBatchHandler().addObject( auditValue );
             }
@@ -920,12 +994,13 @@ public class DefaultDataValueSetService
     }
 
     private void saveDataValueUpdate( ImportContext context, ImportCount importCount,
-        DataValueEntry dataValue, ImportContext.DataValueContext valueContext,
-        DataValue internalValue, DataValue existingValue )
+        DataValueImport valueImport, DataValue existingValue )
     {
+        ImportContext.DataValueContext valueContext = valueImport.getValueContext();
+        DataValue internalValue = valueImport.getInternalValue();
+
         AuditType auditType = AuditType.UPDATE;
-        if ( internalValue.isNullValue() || internalValue.isDeleted()
-            || dataValueIsZeroAndInsignificant( dataValue.getValue(), valueContext.getDataElement() ) )
+        if ( internalValue.isNullValue() || internalValue.isDeleted() || valueImport.isZeroAndInsignificant() )
         {
             internalValue.setDeleted( true );
 
@@ -951,7 +1026,7 @@ public class DefaultDataValueSetService
             if ( !context.isSkipAudit() && !Objects.equals( existingValue.getValue(), internalValue.getValue() ) )
             {
                 DataValueAudit auditValue = new DataValueAudit( internalValue, existingValue.getValue(),
-                    context.getStoredBy( dataValue ), auditType );
+                    internalValue.getStoredBy(), auditType );
 
                 context.getAuditBatchHandler().addObject( auditValue );
             }
@@ -1251,4 +1326,20 @@ public class DefaultDataValueSetService
         summary.setDataSetComplete( DateUtils.getMediumDateString( completeDate ) );
     }
 
+    /**
+     * A validated data value awaiting import as part of a window, holding what
+     * is needed from the entry it was read from.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    private static final class DataValueImport
+    {
+        private final ImportContext.DataValueContext valueContext;
+
+        private final DataValue internalValue;
+
+        private final boolean createdSpecified;
+
+        private final boolean zeroAndInsignificant;
+    }
 }
@@ -28,6 +28,7 @@
 package org.hisp.dhis.dxf2.datavalueset;
 
 import static com.google.common.base.Preconditions.checkNotNull;
+import static org.hisp.dhis.common.DimensionalObject.DIMENSION_SEP;
 import static org.hisp.dhis.common.IdentifiableObjectUtils.getIdentifiers;
 import static org.hisp.dhis.commons.util.TextUtils.getCommaDelimitedString;
 import static org.hisp.dhis.util.DateUtils.getLongGmtDateString;
@@ -38,7 +39,12 @@ import java.io.Writer;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -48,6 +54,7 @@ import org.hisp.dhis.common.IdScheme;
 import org.hisp.dhis.common.IdSchemes;
 import org.hisp.dhis.commons.util.TextUtils;
 import org.hisp.dhis.datavalue.DataExportParams;
+import org.hisp.dhis.datavalue.DataValue;
 import org.hisp.dhis.organisationunit.OrganisationUnit;
 import org.hisp.dhis.period.PeriodType;
 import org.hisp.dhis.query.JpaQueryUtils;
@@ -139,6 +146,72 @@ public class SpringDataValueSetStore
         }
     }
 
+    @Override
+    public List<DataValue> getPersistedDataValues( Collection<DataValue> dataValues )
+    {
+        if ( dataValues.isEmpty() )
+        {
+            return new ArrayList<>();
+        }
+
+        Map<String, DataValue> keyMap = new HashMap<>();
+        StringBuilder keys = new StringBuilder();
+
+        for ( DataValue dataValue : dataValues )
+        {
+            String key = getDataValueKey( dataValue.getDataElement().getId(), dataValue.getPeriod().getId(),
+                dataValue.getSource().getId(), dataValue.getCategoryOptionCombo().getId(),
+                dataValue.getAttributeOptionCombo().getId() );
+
+            if ( keyMap.put( key, dataValue ) == null )
+            {
+                keys.append( "(" ).append( dataValue.getDataElement().getId() )
+                    .append( "," ).append( dataValue.getPeriod().getId() )
+                    .append( "," ).append( dataValue.getSource().getId() )
+                    .append( "," ).append( dataValue.getCategoryOptionCombo().getId() )
+                    .append( "," ).append( dataValue.getAttributeOptionCombo().getId() ).append( ")," );
+            }
+        }
+
+        // ----------------------------------------------------------------------
+        // Rows are restricted by the exact key combinations through a row value
+        // list, rows are then matched by key to the given metadata objects
+        // ----------------------------------------------------------------------
+
+        final String sql = "select dv.dataelementid, dv.periodid, dv.sourceid, dv.categoryoptioncomboid, " +
+            "dv.attributeoptioncomboid, dv.value, dv.storedby, dv.created, dv.comment, dv.followup, dv.deleted " +
+            "from datavalue dv " +
+            "where (dv.dataelementid, dv.periodid, dv.sourceid, dv.categoryoptioncomboid, " +
+            "dv.attributeoptioncomboid) in (" + TextUtils.removeLastComma( keys.toString() ) + ")";
+
+        log.debug( "Get persisted data values SQL: " + sql );
+
+        List<DataValue> persistedValues = new ArrayList<>();
+
+        jdbcTemplate.query( sql, ( ResultSet rs ) -> {
+            DataValue match = keyMap.get( getDataValueKey( rs.getLong( "dataelementid" ), rs.getLong( "periodid" ),
+                rs.getLong( "sourceid" ), rs.getLong( "categoryoptioncomboid" ),
+                rs.getLong( "attributeoptioncomboid" ) ) );
+
+            if ( match != null )
+            {
+                DataValue dv = new DataValue( match.getDataElement(), match.getPeriod(), match.getSource(),
+                    match.getCategoryOptionCombo(), match.getAttributeOptionCombo() );
+
+                dv.setValue( rs.getString( "value" ) );
+                dv.setStoredBy( rs.getString( "storedby" ) );
+                dv.setCreated( rs.getTimestamp( "created" ) );
+                dv.setComment( rs.getString( "comment" ) );
+                dv.setFollowup( rs.getBoolean( "followup" ) );
+                dv.setDeleted( rs.getBoolean( "deleted" ) );
+
+                persistedValues.add( dv );
+            }
+        } );
+
+        return persistedValues;
+    }
+
     private String buildDataValueSql( Date lastUpdated, IdSchemes idSchemes )
     {
         String deScheme = idSchemes.getDataElementIdScheme().getIdentifiableString().toLowerCase();
@@ -162,6 +235,13 @@ public class SpringDataValueSetStore
         return sql;
     }
 
+    private static String getDataValueKey( long dataElementId, long periodId, long orgUnitId,
+        long categoryOptionComboId, long attributeOptionComboId )
+    {
+        return dataElementId + DIMENSION_SEP + periodId + DIMENSION_SEP + orgUnitId + DIMENSION_SEP
+            + categoryOptionComboId + DIMENSION_SEP + attributeOptionComboId;
+    }
+
     private void exportDataValueSet( String sql, DataExportParams params, Date completeDate,
         final DataValueSetWriter writer )
     {
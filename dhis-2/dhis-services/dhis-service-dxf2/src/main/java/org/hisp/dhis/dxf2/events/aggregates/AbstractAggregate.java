@@ -27,6 +27,7 @@
  */
 package org.hisp.dhis.dxf2.events.aggregates;
 
+import static java.util.concurrent.CompletableFuture.completedFuture;
 import static java.util.concurrent.CompletableFuture.supplyAsync;
 
 import java.util.concurrent.CompletableFuture;
@@ -46,7 +47,7 @@ public abstract class AbstractAggregate
      * provided {@see Executor}
      *
      * @param condition A condition that, if true, executes the Supplier, if
-     *        false, returns an empty Multimap
+     *        false, returns a completed future of an empty Multimap
      * @param supplier The Supplier to execute
      * @param executor an Executor instance
      *
@@ -55,7 +56,7 @@ public abstract class AbstractAggregate
     <T> CompletableFuture<Multimap<String, T>> conditionalAsyncFetch( boolean condition,
         Supplier<Multimap<String, T>> supplier, Executor executor )
     {
-        return (condition ? supplyAsync( supplier, executor ) : supplyAsync( ArrayListMultimap::create, executor ));
+        return condition ? supplyAsync( supplier, executor ) : completedFuture( ArrayListMultimap.create() );
     }
 
     /**
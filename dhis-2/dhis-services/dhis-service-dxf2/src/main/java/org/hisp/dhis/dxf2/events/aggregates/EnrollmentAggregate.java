@@ -28,12 +28,12 @@
 package org.hisp.dhis.dxf2.events.aggregates;
 
 import static java.util.concurrent.CompletableFuture.allOf;
-import static org.hisp.dhis.dxf2.events.aggregates.ThreadPoolManager.getPool;
 
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nonnull;
@@ -65,6 +65,9 @@ public class EnrollmentAggregate
     @Nonnull
     private final EventAggregate eventAggregate;
 
+    @Nonnull
+    private final ThreadPoolManager threadPoolManager;
+
     /**
      * Key: tei uid , value Enrollment
      *
@@ -85,20 +88,22 @@ public class EnrollmentAggregate
         List<Long> enrollmentIds = enrollments.values().stream().map( Enrollment::getId )
             .collect( Collectors.toList() );
 
+        Executor executor = threadPoolManager.getPool();
+
         final CompletableFuture<Multimap<String, Event>> eventAsync = conditionalAsyncFetch(
             ctx.getParams().getEnrollmentParams().isIncludeEvents(),
-            () -> eventAggregate.findByEnrollmentIds( enrollmentIds, ctx ), getPool() );
+            () -> eventAggregate.findByEnrollmentIds( enrollmentIds, ctx ), executor );
 
         final CompletableFuture<Multimap<String, Relationship>> relationshipAsync = conditionalAsyncFetch(
             ctx.getParams().getEnrollmentParams().isIncludeRelationships(),
-            () -> enrollmentStore.getRelationships( enrollmentIds, ctx ), getPool() );
+            () -> enrollmentStore.getRelationships( enrollmentIds, ctx ), executor );
 
         final CompletableFuture<Multimap<String, Note>> notesAsync = asyncFetch(
-            () -> enrollmentStore.getNotes( enrollmentIds ), getPool() );
+            () -> enrollmentStore.getNotes( enrollmentIds ), executor );
 
         final CompletableFuture<Multimap<String, Attribute>> attributesAsync = conditionalAsyncFetch(
             ctx.getParams().getTeiEnrollmentParams().isIncludeAttributes(),
-            () -> enrollmentStore.getAttributes( enrollmentIds, ctx ), getPool() );
+            () -> enrollmentStore.getAttributes( enrollmentIds, ctx ), executor );
 
         return allOf( eventAsync, notesAsync, relationshipAsync, attributesAsync ).thenApplyAsync( fn -> {
 
@@ -127,6 +132,6 @@ public class EnrollmentAggregate
 
             return enrollments;
 
-        }, getPool() ).join();
+        }, executor ).join();
     }
 }
@@ -29,13 +29,13 @@ package org.hisp.dhis.dxf2.events.aggregates;
 
 import static java.util.concurrent.CompletableFuture.allOf;
 import static java.util.concurrent.CompletableFuture.supplyAsync;
-import static org.hisp.dhis.dxf2.events.aggregates.ThreadPoolManager.getPool;
 
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nonnull;
@@ -63,6 +63,9 @@ public class EventAggregate
     @Nonnull
     private final EventStore eventStore;
 
+    @Nonnull
+    private final ThreadPoolManager threadPoolManager;
+
     /**
      * Key: enrollment uid -> Value: Event
      *
@@ -84,25 +87,27 @@ public class EventAggregate
 
         List<Long> eventIds = events.values().stream().map( Event::getId ).collect( Collectors.toList() );
 
+        Executor executor = threadPoolManager.getPool();
+
         /*
          * Async fetch Relationships for the given Event ids (only if
          * isIncludeRelationships = true)
          */
         final CompletableFuture<Multimap<String, Relationship>> relationshipAsync = conditionalAsyncFetch(
             ctx.getParams().getEventParams().isIncludeRelationships(),
-            () -> eventStore.getRelationships( eventIds, ctx ), getPool() );
+            () -> eventStore.getRelationships( eventIds, ctx ), executor );
 
         /*
          * Async fetch Notes for the given Event ids
          */
         final CompletableFuture<Multimap<String, Note>> notesAsync = asyncFetch(
-            () -> eventStore.getNotes( eventIds ), getPool() );
+            () -> eventStore.getNotes( eventIds ), executor );
 
         /*
          * Async fetch DataValues for the given Event ids
          */
         final CompletableFuture<Map<String, List<DataValue>>> dataValuesAsync = supplyAsync(
-            () -> eventStore.getDataValues( eventIds ), getPool() );
+            () -> eventStore.getDataValues( eventIds ), executor );
 
         return allOf( dataValuesAsync, notesAsync, relationshipAsync ).thenApplyAsync( fn -> {
 
@@ -127,6 +132,6 @@ public class EventAggregate
 
             return events;
 
-        }, getPool() ).join();
+        }, executor ).join();
     }
 }
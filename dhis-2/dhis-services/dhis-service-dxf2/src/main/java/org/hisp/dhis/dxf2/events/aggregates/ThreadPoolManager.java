@@ -27,35 +27,265 @@
  */
 package org.hisp.dhis.dxf2.events.aggregates;
 
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.PreDestroy;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.apache.commons.lang3.math.NumberUtils;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.springframework.stereotype.Component;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 /**
- * Exposes a static method to fetch an Executor for the Aggregates operations
+ * Provides the executors for the asynchronous fetches of the aggregates.
+ * <p>
+ * All fetches share a bounded thread pool, sized after the database connection
+ * pool as every fetch holds a connection. The pool does not queue tasks; a task
+ * which finds no idle thread runs on the submitting thread instead, so that
+ * latency degrades under load rather than connections being exhausted.
+ * <p>
+ * Each request obtains its own executor through {@link #getPool()}, which
+ * admits a limited number of its tasks to the pool at a time and holds the
+ * remaining tasks back until earlier ones completed. Tasks submitted from
+ * within a running task, i.e. by nested aggregates, are not held back, since
+ * the submitting task blocks until they completed.
  *
  * @author Luciano Fiandesio
  */
+@Slf4j
+@Component
 public class ThreadPoolManager
 {
     // Thread factory that sets a user-defined thread name (useful for debugging
     // purposes)
 
-    private final static ThreadFactory threadFactory = new ThreadFactoryBuilder()
+    private static final ThreadFactory THREAD_FACTORY = new ThreadFactoryBuilder()
         .setNameFormat( "TRACKER-TEI-FETCH-%d" )
         .setDaemon( true )
         .build();
 
+    private static final ThreadLocal<Boolean> IN_TASK = ThreadLocal.withInitial( () -> false );
+
+    private final ThreadPoolExecutor pool;
+
+    private final int requestParallelism;
+
+    private final AtomicInteger queuedTasks = new AtomicInteger();
+
+    private final AtomicInteger activeTasks = new AtomicInteger();
+
+    private final LongAdder startedTasks = new LongAdder();
+
+    private final LongAdder callerRunsTasks = new LongAdder();
+
+    private final LongAdder waitTimeNanos = new LongAdder();
+
+    public ThreadPoolManager( DhisConfigurationProvider config )
+    {
+        int poolSize = NumberUtils.toInt( config.getProperty( ConfigurationKey.TRACKER_AGGREGATE_POOL_SIZE ), 0 );
+
+        if ( poolSize < 1 )
+        {
+            poolSize = Math.max( 1,
+                NumberUtils.toInt( config.getProperty( ConfigurationKey.CONNECTION_POOL_MAX_SIZE ), 2 ) / 2 );
+        }
+
+        this.requestParallelism = Math.max( 1,
+            NumberUtils.toInt( config.getProperty( ConfigurationKey.TRACKER_AGGREGATE_REQUEST_PARALLELISM ), 1 ) );
+
+        this.pool = new ThreadPoolExecutor( poolSize, poolSize, 60, TimeUnit.SECONDS, new SynchronousQueue<>(),
+            THREAD_FACTORY, new ThreadPoolExecutor.AbortPolicy() );
+        this.pool.allowCoreThreadTimeOut( true );
+
+        log.info( "Tracker aggregate thread pool size: {}, request parallelism: {}", poolSize,
+            requestParallelism );
+    }
+
     /**
-     * Cached thread pool: not bound to a size, but can reuse existing threads.
+     * Returns a new executor for the fetches of a single request.
+     *
+     * @return an {@link Executor}.
      */
-    private final static Executor AGGREGATE_THREAD_POOL = Executors.newCachedThreadPool( threadFactory );
+    Executor getPool()
+    {
+        return new RequestExecutor();
+    }
+
+    @PreDestroy
+    public void shutdown()
+    {
+        pool.shutdownNow();
+    }
+
+    // -------------------------------------------------------------------------
+    // Statistics
+    // -------------------------------------------------------------------------
+
+    /**
+     * Returns the number of tasks held back by request executors.
+     */
+    public int getQueuedTaskCount()
+    {
+        return queuedTasks.get();
+    }
 
-    static Executor getPool()
+    /**
+     * Returns the number of running tasks, including tasks running on the
+     * submitting thread.
+     */
+    public int getActiveTaskCount()
     {
-        return AGGREGATE_THREAD_POOL;
+        return activeTasks.get();
     }
 
+    public long getStartedTaskCount()
+    {
+        return startedTasks.sum();
+    }
+
+    /**
+     * Returns the number of tasks which found no idle pool thread and ran on
+     * the submitting thread.
+     */
+    public long getCallerRunsTaskCount()
+    {
+        return callerRunsTasks.sum();
+    }
+
+    /**
+     * Returns the total time started tasks waited between submission and start.
+     */
+    public long getWaitTimeNanos()
+    {
+        return waitTimeNanos.sum();
+    }
+
+    public int getPoolSize()
+    {
+        return pool.getMaximumPoolSize();
+    }
+
+    // -------------------------------------------------------------------------
+    // Supportive methods
+    // -------------------------------------------------------------------------
+
+    /**
+     * Runs the given task on an idle pool thread or, if there is none, on the
+     * current thread.
+     */
+    private void dispatch( Runnable task )
+    {
+        try
+        {
+            pool.execute( task );
+        }
+        catch ( RejectedExecutionException ex )
+        {
+            callerRunsTasks.increment();
+            task.run();
+        }
+    }
+
+    private Runnable track( Runnable task )
+    {
+        long submitted = System.nanoTime();
+
+        return () -> {
+            waitTimeNanos.add( System.nanoTime() - submitted );
+            startedTasks.increment();
+            activeTasks.incrementAndGet();
+
+            boolean nested = IN_TASK.get();
+            IN_TASK.set( true );
+
+            try
+            {
+                task.run();
+            }
+            finally
+            {
+                IN_TASK.set( nested );
+                activeTasks.decrementAndGet();
+            }
+        };
+    }
+
+    /**
+     * Executor for the tasks of a single request, which limits the number of
+     * tasks admitted to the pool at a time to the request parallelism.
+     */
+    private final class RequestExecutor
+        implements Executor
+    {
+        private final Queue<Runnable> pending = new ConcurrentLinkedQueue<>();
+
+        private final AtomicInteger running = new AtomicInteger();
+
+        @Override
+        public void execute( Runnable task )
+        {
+            if ( IN_TASK.get() )
+            {
+                dispatch( track( task ) );
+                return;
+            }
+
+            queuedTasks.incrementAndGet();
+            pending.add( track( task ) );
+            drain();
+        }
+
+        private void drain()
+        {
+            while ( !pending.isEmpty() )
+            {
+                int current = running.get();
+
+                if ( current >= requestParallelism )
+                {
+                    return;
+                }
+
+                if ( !running.compareAndSet( current, current + 1 ) )
+                {
+                    continue;
+                }
+
+                Runnable task = pending.poll();
+
+                if ( task == null )
+                {
+                    running.decrementAndGet();
+                    continue;
+                }
+
+                queuedTasks.decrementAndGet();
+
+                dispatch( () -> {
+                    try
+                    {
+                        task.run();
+                    }
+                    finally
+                    {
+                        running.decrementAndGet();
+                        drain();
+                    }
+                } );
+            }
+        }
+    }
 }
@@ -29,7 +29,6 @@ package org.hisp.dhis.dxf2.events.aggregates;
 
 import static java.util.concurrent.CompletableFuture.allOf;
 import static java.util.concurrent.CompletableFuture.supplyAsync;
-import static org.hisp.dhis.dxf2.events.aggregates.ThreadPoolManager.getPool;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -39,6 +38,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -97,6 +97,9 @@ public class TrackedEntityInstanceAggregate
     @Nonnull
     private final CacheProvider cacheProvider;
 
+    @Nonnull
+    private final ThreadPoolManager threadPoolManager;
+
     private Cache<Set<TrackedEntityAttribute>> teiAttributesCache;
 
     private Cache<Map<Program, Set<TrackedEntityAttribute>>> programTeiAttributesCache;
@@ -128,6 +131,8 @@ public class TrackedEntityInstanceAggregate
     {
         final Optional<User> user = Optional.ofNullable( currentUserService.getCurrentUser() );
 
+        final Executor executor = threadPoolManager.getPool();
+
         user.ifPresent( u -> {
             if ( userGroupUIDCache.get( user.get().getUid() ).isEmpty()
                 && !CollectionUtils.isEmpty( user.get().getGroups() ) )
@@ -144,7 +149,7 @@ public class TrackedEntityInstanceAggregate
          */
         AggregateContext ctx = user.map( u -> securityCache.get( u.getUid(),
             userUID -> getSecurityContext( userUID, userGroupUIDCache.get( userUID )
-                .orElse( Lists.newArrayList() ) ) )
+                .orElse( Lists.newArrayList() ), executor ) )
             .toBuilder()
             .userId( u.getId() )
             .userUid( u.getUid() )
@@ -167,7 +172,7 @@ public class TrackedEntityInstanceAggregate
          */
         final CompletableFuture<Multimap<String, Relationship>> relationshipsAsync = conditionalAsyncFetch(
             ctx.getParams().isIncludeRelationships(), () -> trackedEntityInstanceStore.getRelationships( ids, ctx ),
-            getPool() );
+            executor );
 
         /*
          * Async fetch Enrollments for the given TrackedEntityInstance id (only
@@ -175,27 +180,27 @@ public class TrackedEntityInstanceAggregate
          */
         final CompletableFuture<Multimap<String, Enrollment>> enrollmentsAsync = conditionalAsyncFetch(
             ctx.getParams().isIncludeEnrollments(),
-            () -> enrollmentAggregate.findByTrackedEntityInstanceIds( ids, ctx ), getPool() );
+            () -> enrollmentAggregate.findByTrackedEntityInstanceIds( ids, ctx ), executor );
 
         /*
          * Async fetch all ProgramOwner for the given TrackedEntityInstance id
          */
         final CompletableFuture<Multimap<String, ProgramOwner>> programOwnersAsync = conditionalAsyncFetch(
             ctx.getParams().isIncludeProgramOwners(), () -> trackedEntityInstanceStore.getProgramOwners( ids ),
-            getPool() );
+            executor );
 
         /*
          * Async Fetch TrackedEntityInstances by id
          */
         final CompletableFuture<Map<String, TrackedEntityInstance>> teisAsync = supplyAsync(
-            () -> trackedEntityInstanceStore.getTrackedEntityInstances( ids, ctx ), getPool() );
+            () -> trackedEntityInstanceStore.getTrackedEntityInstances( ids, ctx ), executor );
 
         /*
          * Async fetch TrackedEntityInstance Attributes by TrackedEntityInstance
          * id
          */
         final CompletableFuture<Multimap<String, Attribute>> attributesAsync = supplyAsync(
-            () -> trackedEntityInstanceStore.getAttributes( ids ), getPool() );
+            () -> trackedEntityInstanceStore.getAttributes( ids ), executor );
 
         /*
          * Async fetch Owned Tei mapped to the provided program attributes by
@@ -203,7 +208,7 @@ public class TrackedEntityInstanceAggregate
          */
         final CompletableFuture<Multimap<String, String>> ownedTeiAsync = conditionalAsyncFetch(
             user.isPresent(),
-            () -> trackedEntityInstanceStore.getOwnedTeis( ids, ctx ), getPool() );
+            () -> trackedEntityInstanceStore.getOwnedTeis( ids, ctx ), executor );
 
         /*
          * Execute all queries and merge the results
@@ -243,7 +248,7 @@ public class TrackedEntityInstanceAggregate
                     return tei;
 
                 } ).collect( Collectors.toList() );
-            }, getPool() ).join();
+            }, executor ).join();
 
     }
 
@@ -325,24 +330,26 @@ public class TrackedEntityInstanceAggregate
      * - all Relationship Types this user has READ access to
      *
      * @param userUID the user uid of a {@see User}
+     * @param userGroupUIDs the uids of the user groups of the user
+     * @param executor the {@see Executor} of the request
      *
      * @return an instance of {@see AggregateContext} populated with ACL-related
      *         info
      */
-    private AggregateContext getSecurityContext( String userUID, List<String> userGroupUIDs )
+    private AggregateContext getSecurityContext( String userUID, List<String> userGroupUIDs, Executor executor )
     {
         final CompletableFuture<List<Long>> getTeiTypes = supplyAsync(
-            () -> aclStore.getAccessibleTrackedEntityInstanceTypes( userUID, userGroupUIDs ), getPool() );
+            () -> aclStore.getAccessibleTrackedEntityInstanceTypes( userUID, userGroupUIDs ), executor );
 
         final CompletableFuture<List<Long>> getPrograms = supplyAsync(
             () -> aclStore.getAccessiblePrograms( userUID, userGroupUIDs ),
-            getPool() );
+            executor );
 
         final CompletableFuture<List<Long>> getProgramStages = supplyAsync(
-            () -> aclStore.getAccessibleProgramStages( userUID, userGroupUIDs ), getPool() );
+            () -> aclStore.getAccessibleProgramStages( userUID, userGroupUIDs ), executor );
 
         final CompletableFuture<List<Long>> getRelationshipTypes = supplyAsync(
-            () -> aclStore.getAccessibleRelationshipTypes( userUID, userGroupUIDs ), getPool() );
+            () -> aclStore.getAccessibleRelationshipTypes( userUID, userGroupUIDs ), executor );
 
         return allOf( getTeiTypes, getPrograms, getProgramStages, getRelationshipTypes ).thenApplyAsync(
             fn -> AggregateContext.builder()
@@ -351,7 +358,7 @@ public class TrackedEntityInstanceAggregate
                 .programStages( getProgramStages.join() )
                 .relationshipTypes( getRelationshipTypes.join() )
                 .build(),
-            getPool() )
+            executor )
             .join();
     }
 }
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.dxf2.events.aggregates;
+
+import static org.hisp.dhis.external.conf.ConfigurationKey.MONITORING_TRACKER_AGGREGATE_ENABLED;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.monitoring.metrics.MetricsEnabler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Exposes the queue depth, active tasks and wait time of the
+ * {@link ThreadPoolManager}.
+ */
+@Configuration
+@Conditional( TrackerAggregateMetricsConfig.TrackerAggregateMetricsEnabledCondition.class )
+public class TrackerAggregateMetricsConfig
+{
+    @Autowired
+    public void bindToRegistry( MeterRegistry registry, ThreadPoolManager threadPoolManager )
+    {
+        Gauge.builder( "tracker.aggregate.pool.size", threadPoolManager, ThreadPoolManager::getPoolSize )
+            .description( "Max number of threads fetching tracker aggregates" )
+            .register( registry );
+
+        Gauge.builder( "tracker.aggregate.tasks.queued", threadPoolManager, ThreadPoolManager::getQueuedTaskCount )
+            .description( "Number of tracker aggregate fetches waiting for admission" )
+            .register( registry );
+
+        Gauge.builder( "tracker.aggregate.tasks.active", threadPoolManager, ThreadPoolManager::getActiveTaskCount )
+            .description( "Number of running tracker aggregate fetches" )
+            .register( registry );
+
+        FunctionCounter
+            .builder( "tracker.aggregate.tasks.caller.runs", threadPoolManager,
+                ThreadPoolManager::getCallerRunsTaskCount )
+            .description( "Number of tracker aggregate fetches run on the requesting thread" )
+            .register( registry );
+
+        FunctionTimer
+            .builder( "tracker.aggregate.tasks.wait", threadPoolManager, ThreadPoolManager::getStartedTaskCount,
+                ThreadPoolManager::getWaitTimeNanos, TimeUnit.NANOSECONDS )
+            .description( "Time tracker aggregate fetches waited before running" )
+            .register( registry );
+    }
+
+    static class TrackerAggregateMetricsEnabledCondition
+        extends
+        MetricsEnabler
+    {
+        @Override
+        protected ConfigurationKey getConfigKey()
+        {
+            return MONITORING_TRACKER_AGGREGATE_ENABLED;
+        }
+    }
+}
@@ -67,6 +67,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import lombok.extern.slf4j.Slf4j;
@@ -325,6 +326,21 @@ public abstract class AbstractEventService implements EventService
         return events;
     }
 
+    @Transactional( readOnly = true )
+    @Override
+    public void streamEvents( EventSearchParams params, Consumer<List<Event>> consumer )
+    {
+        User user = currentUserService.getCurrentUser();
+
+        validate( params, user );
+
+        List<OrganisationUnit> organisationUnits = getOrganisationUnits( params, user );
+
+        params.setSkipPaging( true );
+
+        eventStore.streamEvents( params, organisationUnits, consumer );
+    }
+
     /**
      * This method will apply the logic related to the parameter
      * 'totalPages=false'. This works in conjunction with the method:
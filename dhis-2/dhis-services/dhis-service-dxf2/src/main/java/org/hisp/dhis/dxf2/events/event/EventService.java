@@ -33,6 +33,7 @@ import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import org.hisp.dhis.common.Grid;
 import org.hisp.dhis.dxf2.common.ImportOptions;
@@ -55,6 +56,16 @@ public interface EventService
 
     Events getEvents( EventSearchParams params );
 
+    /**
+     * Passes the events matching the given params to the given consumer in
+     * batches while they are read, without paging. Intended for large exports
+     * which should not be held in memory.
+     *
+     * @param params the event search params
+     * @param consumer the consumer of batches of events
+     */
+    void streamEvents( EventSearchParams params, Consumer<List<Event>> consumer );
+
     EventRows getEventRows( EventSearchParams params );
 
     Grid getEventsGrid( EventSearchParams params );
@@ -30,6 +30,7 @@ package org.hisp.dhis.dxf2.events.event;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import org.hisp.dhis.dxf2.events.report.EventRow;
 import org.hisp.dhis.organisationunit.OrganisationUnit;
@@ -64,6 +65,18 @@ public interface EventStore
     List<Event> getEvents( EventSearchParams params, List<OrganisationUnit> organisationUnits,
         Map<String, Set<String>> psdesWithSkipSyncTrue );
 
+    /**
+     * Reads the events matching the given params through a database cursor and
+     * passes them to the given consumer in batches as soon as they are
+     * complete, so that the events never have to be held in memory at once.
+     *
+     * @param params the event search params
+     * @param organisationUnits the organisation units to search in
+     * @param consumer the consumer of batches of events
+     */
+    void streamEvents( EventSearchParams params, List<OrganisationUnit> organisationUnits,
+        Consumer<List<Event>> consumer );
+
     List<Map<String, String>> getEventsGrid( EventSearchParams params, List<OrganisationUnit> organisationUnits );
 
     List<EventRow> getEventRows( EventSearchParams params, List<OrganisationUnit> organisationUnits );
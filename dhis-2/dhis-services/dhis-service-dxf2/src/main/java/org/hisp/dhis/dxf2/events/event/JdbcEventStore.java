@@ -90,6 +90,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import lombok.RequiredArgsConstructor;
@@ -144,6 +145,7 @@ import org.locationtech.jts.io.WKTReader;
 import org.postgresql.util.PGobject;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.PreparedStatementCallback;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.jdbc.core.namedparam.SqlParameterSource;
@@ -194,6 +196,10 @@ public class JdbcEventStore implements EventStore
 
     private static final String PSI_STATUS = "psi_status";
 
+    private static final int STREAM_FETCH_SIZE = 1000;
+
+    private static final int STREAM_BATCH_SIZE = 1000;
+
     private static final String PSI_STATUS_EQ = " psi.status = ";
 
     private static final String PSI_LASTUPDATED_GT = " psi.lastupdated >= ";
@@ -375,12 +381,6 @@ public class JdbcEventStore implements EventStore
 
         setAccessiblePrograms( user, params );
 
-        Map<String, Event> eventUidToEventMap = new HashMap<>( params.getPageSizeWithDefault() );
-        List<Event> events = new ArrayList<>();
-        List<Long> relationshipIds = new ArrayList<>();
-
-        final Gson gson = new Gson();
-
         final MapSqlParameterSource mapSqlParameterSource = new MapSqlParameterSource();
 
         String sql = buildSql( params, mapSqlParameterSource, organisationUnits, user );
@@ -389,207 +389,62 @@ public class JdbcEventStore implements EventStore
 
             log.debug( "Event query SQL: " + sql );
 
-            Set<String> notes = new HashSet<>();
+            EventRowCollector collector = new EventRowCollector( params, user, psdesWithSkipSyncTrue,
+                params.getPageSizeWithDefault() );
 
             while ( resultSet.next() )
             {
-                if ( resultSet.getString( "psi_uid" ) == null
-                    || (params.getCategoryOptionCombo() == null && !isSuper( user ) && !userHasAccess( resultSet )) )
-                {
-                    continue;
-                }
-
-                String psiUid = resultSet.getString( "psi_uid" );
-
-                Event event;
-
-                if ( !eventUidToEventMap.containsKey( psiUid ) )
-                {
-                    validateIdentifiersPresence( resultSet, params.getIdSchemes(), true );
-
-                    event = new Event();
-                    eventUidToEventMap.put( psiUid, event );
-
-                    if ( !params.isSkipEventId() )
-                    {
-                        event.setUid( psiUid );
-                        event.setEvent( psiUid );
-                    }
-
-                    event.setTrackedEntityInstance( resultSet.getString( "tei_uid" ) );
-                    event.setStatus( EventStatus.valueOf( resultSet.getString( PSI_STATUS ) ) );
-
-                    ProgramType programType = ProgramType.fromValue( resultSet.getString( "p_type" ) );
-
-                    event.setProgram( resultSet.getString( "p_identifier" ) );
-                    event.setProgramType( programType );
-                    event.setProgramStage( resultSet.getString( "ps_identifier" ) );
-                    event.setOrgUnit( resultSet.getString( "ou_uid" ) );
-                    event.setDeleted( resultSet.getBoolean( "psi_deleted" ) );
-
-                    if ( programType != ProgramType.WITHOUT_REGISTRATION )
-                    {
-                        event.setEnrollment( resultSet.getString( "pi_uid" ) );
-                        event.setEnrollmentStatus( EnrollmentStatus
-                            .fromProgramStatus( ProgramStatus.valueOf( resultSet.getString( "pi_status" ) ) ) );
-                        event.setFollowup( resultSet.getBoolean( "pi_followup" ) );
-                    }
+                collector.addRow( resultSet );
+            }
 
-                    if ( params.getCategoryOptionCombo() == null && !isSuper( user ) )
-                    {
-                        event.setOptionSize( resultSet.getInt( "option_size" ) );
-                    }
+            return collector.collect();
+        } );
+    }
 
-                    event.setAttributeOptionCombo( resultSet.getString( "coc_identifier" ) );
-                    event.setAttributeCategoryOptions( resultSet.getString( "deco_uid" ) );
-                    event.setTrackedEntityInstance( resultSet.getString( "tei_uid" ) );
-
-                    event.setStoredBy( resultSet.getString( "psi_storedby" ) );
-                    event.setOrgUnitName( resultSet.getString( "ou_name" ) );
-                    event.setDueDate( DateUtils.getIso8601NoTz( resultSet.getDate( "psi_duedate" ) ) );
-                    event.setEventDate( DateUtils.getIso8601NoTz( resultSet.getDate( "psi_executiondate" ) ) );
-                    event.setCreated( DateUtils.getIso8601NoTz( resultSet.getDate( "psi_created" ) ) );
-                    event.setCreatedByUserInfo(
-                        jsonToUserInfo( resultSet.getString( "psi_createdbyuserinfo" ), jsonMapper ) );
-                    event.setLastUpdated( DateUtils.getIso8601NoTz( resultSet.getDate( "psi_lastupdated" ) ) );
-                    event.setLastUpdatedByUserInfo(
-                        jsonToUserInfo( resultSet.getString( "psi_lastupdatedbyuserinfo" ), jsonMapper ) );
-
-                    event.setCompletedBy( resultSet.getString( "psi_completedby" ) );
-                    event.setCompletedDate( DateUtils.getIso8601NoTz( resultSet.getDate( "psi_completeddate" ) ) );
-
-                    if ( resultSet.getObject( "psi_geometry" ) != null )
-                    {
-                        try
-                        {
-                            Geometry geom = new WKTReader().read( resultSet.getString( "psi_geometry" ) );
+    @Override
+    public void streamEvents( EventSearchParams params, List<OrganisationUnit> organisationUnits,
+        Consumer<List<Event>> consumer )
+    {
+        User user = currentUserService.getCurrentUser();
 
-                            event.setGeometry( geom );
-                        }
-                        catch ( ParseException e )
-                        {
-                            log.error( "Unable to read geometry for event '" + event.getUid() + "': ", e );
-                        }
-                    }
+        setAccessiblePrograms( user, params );
 
-                    if ( resultSet.getObject( "user_assigned" ) != null )
-                    {
-                        event.setAssignedUser( resultSet.getString( "user_assigned" ) );
-                        event.setAssignedUserUsername( resultSet.getString( "user_assigned_username" ) );
-                        event.setAssignedUserDisplayName( resultSet.getString( "user_assigned_name" ) );
-                        event.setAssignedUserFirstName( resultSet.getString( "user_assigned_first_name" ) );
-                        event.setAssignedUserSurname( resultSet.getString( "user_assigned_surname" ) );
-                    }
+        final MapSqlParameterSource mapSqlParameterSource = new MapSqlParameterSource();
 
-                    events.add( event );
-                }
-                else
-                {
-                    event = eventUidToEventMap.get( psiUid );
-                    String attributeCategoryCombination = event.getAttributeCategoryOptions();
-                    String currentAttributeCategoryCombination = resultSet.getString( "deco_uid" );
+        // Rows of an event must be adjacent to know when the event is complete
+        String sql = buildSql( params, mapSqlParameterSource, organisationUnits, user ) + ", psi_id";
 
-                    if ( !attributeCategoryCombination.contains( currentAttributeCategoryCombination ) )
-                    {
-                        event.setAttributeCategoryOptions(
-                            attributeCategoryCombination + ";" + currentAttributeCategoryCombination );
-                    }
-                }
+        jdbcTemplate.execute( sql, mapSqlParameterSource, (PreparedStatementCallback<Void>) statement -> {
 
-                if ( !StringUtils.isEmpty( resultSet.getString( "psi_eventdatavalues" ) ) )
-                {
-                    Set<EventDataValue> eventDataValues = convertEventDataValueJsonIntoSet(
-                        resultSet.getString( "psi_eventdatavalues" ) );
+            log.debug( "Event stream SQL: " + sql );
 
-                    for ( EventDataValue dv : eventDataValues )
-                    {
-                        DataValue dataValue = convertEventDataValueIntoDtoDataValue( dv );
+            // Fetch rows through a cursor instead of loading all of them
+            statement.setFetchSize( STREAM_FETCH_SIZE );
 
-                        if ( params.isSynchronizationQuery() )
-                        {
-                            dataValue.setSkipSynchronization(
-                                psdesWithSkipSyncTrue.containsKey( resultSet.getString( "ps_uid" ) )
-                                    && psdesWithSkipSyncTrue
-                                        .get( resultSet.getString( "ps_uid" ) )
-                                        .contains( dv.getDataElement() ) );
-                        }
+            EventRowCollector collector = new EventRowCollector( params, user, Map.of(), STREAM_BATCH_SIZE );
 
-                        event.getDataValues().add( dataValue );
-                    }
-                }
-
-                if ( resultSet.getString( "psinote_value" ) != null
-                    && !notes.contains( resultSet.getString( "psinote_id" ) ) )
+            try ( ResultSet resultSet = statement.executeQuery() )
+            {
+                while ( resultSet.next() )
                 {
-                    Note note = new Note();
-                    note.setNote( resultSet.getString( "psinote_uid" ) );
-                    note.setValue( resultSet.getString( "psinote_value" ) );
-                    note.setStoredDate( DateUtils.getIso8601NoTz( resultSet.getDate( "psinote_storeddate" ) ) );
-                    note.setStoredBy( resultSet.getString( "psinote_storedby" ) );
-
-                    if ( resultSet.getObject( "usernote_id" ) != null )
+                    if ( collector.size() >= STREAM_BATCH_SIZE && collector.isNextEvent( resultSet ) )
                     {
-
-                        note.setLastUpdatedBy(
-                            UserInfoSnapshot.of(
-                                resultSet.getLong( "usernote_id" ),
-                                resultSet.getString( "usernote_code" ),
-                                resultSet.getString( "usernote_uid" ),
-                                resultSet.getString( "usernote_username" ),
-                                resultSet.getString( "userinfo_firstname" ),
-                                resultSet.getString( "userinfo_surname" ) ) );
+                        consumer.accept( collector.collect() );
                     }
 
-                    note.setLastUpdated( resultSet.getDate( "psinote_lastupdated" ) );
-
-                    event.getNotes().add( note );
-                    notes.add( resultSet.getString( "psinote_id" ) );
-                }
-
-                if ( params.isIncludeRelationships() && resultSet.getObject( "psi_rl" ) != null )
-                {
-                    PGobject pGobject = (PGobject) resultSet.getObject( "psi_rl" );
-
-                    if ( pGobject != null )
-                    {
-                        String value = pGobject.getValue();
-
-                        relationshipIds.addAll( Lists.newArrayList( gson.fromJson( value, Long[].class ) ) );
-                    }
+                    collector.addRow( resultSet );
                 }
             }
 
-            final Multimap<String, Relationship> map = eventStore.getRelationshipsByIds( relationshipIds, params );
-
-            if ( !map.isEmpty() )
-            {
-                events.forEach( e -> e.getRelationships().addAll( map.get( e.getEvent() ) ) );
-            }
-
-            IdSchemes idSchemes = ObjectUtils.firstNonNull( params.getIdSchemes(), new IdSchemes() );
-            IdScheme dataElementIdScheme = idSchemes.getDataElementIdScheme();
-
-            if ( dataElementIdScheme != IdScheme.ID && dataElementIdScheme != IdScheme.UID )
-            {
-                CachingMap<String, String> dataElementUidToIdentifierCache = new CachingMap<>();
-
-                List<Collection<DataValue>> dataValuesList = events.stream().map( Event::getDataValues )
-                    .collect( Collectors.toList() );
-                populateCache( dataElementIdScheme, dataValuesList, dataElementUidToIdentifierCache );
-                convertDataValuesIdentifiers( dataElementIdScheme, dataValuesList, dataElementUidToIdentifierCache );
-            }
+            List<Event> events = collector.collect();
 
-            if ( params.getCategoryOptionCombo() == null && !isSuper( user ) )
+            if ( !events.isEmpty() )
             {
-                return events.stream().filter( ev -> ev.getAttributeCategoryOptions() != null
-                    && splitToSet( ev.getAttributeCategoryOptions(), TextUtils.SEMICOLON ).size() == ev
-                        .getOptionSize() )
-                    .collect( Collectors.toList() );
+                consumer.accept( events );
             }
 
-            return events;
+            return null;
         } );
-
     }
 
     @Override
@@ -2132,6 +1987,267 @@ public class JdbcEventStore implements EventStore
             .addValue( UID.getColumnName(), programStageInstance.getUid() );
     }
 
+    /**
+     * Collects events from the rows of the event query. The rows of an event
+     * are merged into one event, and the relationships, data element
+     * identifiers and attribute option access of the events are resolved when
+     * the events are collected. Collecting resets the collector, so that events
+     * can be collected in batches while reading the rows.
+     */
+    private class EventRowCollector
+    {
+        private final EventSearchParams params;
+
+        private final User user;
+
+        private final Map<String, Set<String>> psdesWithSkipSyncTrue;
+
+        private final Gson gson = new Gson();
+
+        private Map<String, Event> eventUidToEventMap;
+
+        private List<Event> events = new ArrayList<>();
+
+        private List<Long> relationshipIds = new ArrayList<>();
+
+        private Set<String> notes = new HashSet<>();
+
+        EventRowCollector( EventSearchParams params, User user, Map<String, Set<String>> psdesWithSkipSyncTrue,
+            int expectedSize )
+        {
+            this.params = params;
+            this.user = user;
+            this.psdesWithSkipSyncTrue = psdesWithSkipSyncTrue;
+            this.eventUidToEventMap = new HashMap<>( expectedSize );
+        }
+
+        int size()
+        {
+            return events.size();
+        }
+
+        /**
+         * Indicates whether the given row starts an event which is not
+         * collected yet.
+         */
+        boolean isNextEvent( ResultSet resultSet )
+            throws SQLException
+        {
+            String psiUid = resultSet.getString( "psi_uid" );
+
+            return psiUid != null && !eventUidToEventMap.containsKey( psiUid );
+        }
+
+        void addRow( ResultSet resultSet )
+            throws SQLException
+        {
+            if ( resultSet.getString( "psi_uid" ) == null
+                || (params.getCategoryOptionCombo() == null && !isSuper( user ) && !userHasAccess( resultSet )) )
+            {
+                return;
+            }
+
+            String psiUid = resultSet.getString( "psi_uid" );
+
+            Event event;
+
+            if ( !eventUidToEventMap.containsKey( psiUid ) )
+            {
+                validateIdentifiersPresence( resultSet, params.getIdSchemes(), true );
+
+                event = new Event();
+                eventUidToEventMap.put( psiUid, event );
+
+                if ( !params.isSkipEventId() )
+                {
+                    event.setUid( psiUid );
+                    event.setEvent( psiUid );
+                }
+
+                event.setTrackedEntityInstance( resultSet.getString( "tei_uid" ) );
+                event.setStatus( EventStatus.valueOf( resultSet.getString( PSI_STATUS ) ) );
+
+                ProgramType programType = ProgramType.fromValue( resultSet.getString( "p_type" ) );
+
+                event.setProgram( resultSet.getString( "p_identifier" ) );
+                event.setProgramType( programType );
+                event.setProgramStage( resultSet.getString( "ps_identifier" ) );
+                event.setOrgUnit( resultSet.getString( "ou_uid" ) );
+                event.setDeleted( resultSet.getBoolean( "psi_deleted" ) );
+
+                if ( programType != ProgramType.WITHOUT_REGISTRATION )
+                {
+                    event.setEnrollment( resultSet.getString( "pi_uid" ) );
+                    event.setEnrollmentStatus( EnrollmentStatus
+                        .fromProgramStatus( ProgramStatus.valueOf( resultSet.getString( "pi_status" ) ) ) );
+                    event.setFollowup( resultSet.getBoolean( "pi_followup" ) );
+                }
+
+                if ( params.getCategoryOptionCombo() == null && !isSuper( user ) )
+                {
+                    event.setOptionSize( resultSet.getInt( "option_size" ) );
+                }
+
+                event.setAttributeOptionCombo( resultSet.getString( "coc_identifier" ) );
+                event.setAttributeCategoryOptions( resultSet.getString( "deco_uid" ) );
+                event.setTrackedEntityInstance( resultSet.getString( "tei_uid" ) );
+
+                event.setStoredBy( resultSet.getString( "psi_storedby" ) );
+                event.setOrgUnitName( resultSet.getString( "ou_name" ) );
+                event.setDueDate( DateUtils.getIso8601NoTz( resultSet.getDate( "psi_duedate" ) ) );
+                event.setEventDate( DateUtils.getIso8601NoTz( resultSet.getDate( "psi_executiondate" ) ) );
+                event.setCreated( DateUtils.getIso8601NoTz( resultSet.getDate( "psi_created" ) ) );
+                event.setCreatedByUserInfo(
+                    jsonToUserInfo( resultSet.getString( "psi_createdbyuserinfo" ), jsonMapper ) );
+                event.setLastUpdated( DateUtils.getIso8601NoTz( resultSet.getDate( "psi_lastupdated" ) ) );
+                event.setLastUpdatedByUserInfo(
+                    jsonToUserInfo( resultSet.getString( "psi_lastupdatedbyuserinfo" ), jsonMapper ) );
+
+                event.setCompletedBy( resultSet.getString( "psi_completedby" ) );
+                event.setCompletedDate( DateUtils.getIso8601NoTz( resultSet.getDate( "psi_completeddate" ) ) );
+
+                if ( resultSet.getObject( "psi_geometry" ) != null )
+                {
+                    try
+                    {
+                        Geometry geom = new WKTReader().read( resultSet.getString( "psi_geometry" ) );
+
+                        event.setGeometry( geom );
+                    }
+                    catch ( ParseException e )
+                    {
+                        log.error( "Unable to read geometry for event '" + event.getUid() + "': ", e );
+                    }
+                }
+
+                if ( resultSet.getObject( "user_assigned" ) != null )
+                {
+                    event.setAssignedUser( resultSet.getString( "user_assigned" ) );
+                    event.setAssignedUserUsername( resultSet.getString( "user_assigned_username" ) );
+                    event.setAssignedUserDisplayName( resultSet.getString( "user_assigned_name" ) );
+                    event.setAssignedUserFirstName( resultSet.getString( "user_assigned_first_name" ) );
+                    event.setAssignedUserSurname( resultSet.getString( "user_assigned_surname" ) );
+                }
+
+                events.add( event );
+            }
+            else
+            {
+                event = eventUidToEventMap.get( psiUid );
+                String attributeCategoryCombination = event.getAttributeCategoryOptions();
+                String currentAttributeCategoryCombination = resultSet.getString( "deco_uid" );
+
+                if ( !attributeCategoryCombination.contains( currentAttributeCategoryCombination ) )
+                {
+                    event.setAttributeCategoryOptions(
+                        attributeCategoryCombination + ";" + currentAttributeCategoryCombination );
+                }
+            }
+
+            if ( !StringUtils.isEmpty( resultSet.getString( "psi_eventdatavalues" ) ) )
+            {
+                Set<EventDataValue> eventDataValues = convertEventDataValueJsonIntoSet(
+                    resultSet.getString( "psi_eventdatavalues" ) );
+
+                for ( EventDataValue dv : eventDataValues )
+                {
+                    DataValue dataValue = convertEventDataValueIntoDtoDataValue( dv );
+
+                    if ( params.isSynchronizationQuery() )
+                    {
+                        dataValue.setSkipSynchronization(
+                            psdesWithSkipSyncTrue.containsKey( resultSet.getString( "ps_uid" ) )
+                                && psdesWithSkipSyncTrue
+                                    .get( resultSet.getString( "ps_uid" ) )
+                                    .contains( dv.getDataElement() ) );
+                    }
+
+                    event.getDataValues().add( dataValue );
+                }
+            }
+
+            if ( resultSet.getString( "psinote_value" ) != null
+                && !notes.contains( resultSet.getString( "psinote_id" ) ) )
+            {
+                Note note = new Note();
+                note.setNote( resultSet.getString( "psinote_uid" ) );
+                note.setValue( resultSet.getString( "psinote_value" ) );
+                note.setStoredDate( DateUtils.getIso8601NoTz( resultSet.getDate( "psinote_storeddate" ) ) );
+                note.setStoredBy( resultSet.getString( "psinote_storedby" ) );
+
+                if ( resultSet.getObject( "usernote_id" ) != null )
+                {
+
+                    note.setLastUpdatedBy(
+                        UserInfoSnapshot.of(
+                            resultSet.getLong( "usernote_id" ),
+                            resultSet.getString( "usernote_code" ),
+                            resultSet.getString( "usernote_uid" ),
+                            resultSet.getString( "usernote_username" ),
+                            resultSet.getString( "userinfo_firstname" ),
+                            resultSet.getString( "userinfo_surname" ) ) );
+                }
+
+                note.setLastUpdated( resultSet.getDate( "psinote_lastupdated" ) );
+
+                event.getNotes().add( note );
+                notes.add( resultSet.getString( "psinote_id" ) );
+            }
+
+            if ( params.isIncludeRelationships() && resultSet.getObject( "psi_rl" ) != null )
+            {
+                PGobject pGobject = (PGobject) resultSet.getObject( "psi_rl" );
+
+                if ( pGobject != null )
+                {
+                    String value = pGobject.getValue();
+
+                    relationshipIds.addAll( Lists.newArrayList( gson.fromJson( value, Long[].class ) ) );
+                }
+            }
+        }
+
+        List<Event> collect()
+        {
+            final Multimap<String, Relationship> map = eventStore.getRelationshipsByIds( relationshipIds, params );
+
+            if ( !map.isEmpty() )
+            {
+                events.forEach( e -> e.getRelationships().addAll( map.get( e.getEvent() ) ) );
+            }
+
+            IdSchemes idSchemes = ObjectUtils.firstNonNull( params.getIdSchemes(), new IdSchemes() );
+            IdScheme dataElementIdScheme = idSchemes.getDataElementIdScheme();
+
+            if ( dataElementIdScheme != IdScheme.ID && dataElementIdScheme != IdScheme.UID )
+            {
+                CachingMap<String, String> dataElementUidToIdentifierCache = new CachingMap<>();
+
+                List<Collection<DataValue>> dataValuesList = events.stream().map( Event::getDataValues )
+                    .collect( Collectors.toList() );
+                populateCache( dataElementIdScheme, dataValuesList, dataElementUidToIdentifierCache );
+                convertDataValuesIdentifiers( dataElementIdScheme, dataValuesList, dataElementUidToIdentifierCache );
+            }
+
+            if ( params.getCategoryOptionCombo() == null && !isSuper( user ) )
+            {
+                events = events.stream().filter( ev -> ev.getAttributeCategoryOptions() != null
+                    && splitToSet( ev.getAttributeCategoryOptions(), TextUtils.SEMICOLON ).size() == ev
+                        .getOptionSize() )
+                    .collect( Collectors.toList() );
+            }
+
+            List<Event> collected = events;
+
+            eventUidToEventMap = new HashMap<>();
+            events = new ArrayList<>();
+            relationshipIds = new ArrayList<>();
+            notes = new HashSet<>();
+
+            return collected;
+        }
+    }
+
     private boolean userHasAccess( ResultSet rowSet )
         throws SQLException
     {
@@ -124,6 +124,8 @@ public class DefaultMetadataImportService implements MetadataImportService
 
         postCreateBundle( bundle, bundleParams );
 
+        importReport.setPreheatTimings( bundle.getPreheat().getTimings() );
+
         ObjectBundleValidationReport validationReport = objectBundleValidationService.validate( bundle );
         importReport.addTypeReports( validationReport );
 
@@ -35,6 +35,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 
@@ -49,6 +50,7 @@ import org.hisp.dhis.feedback.Status;
 import org.hisp.dhis.feedback.TypeReport;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlElementWrapper;
 import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlProperty;
@@ -67,6 +69,8 @@ public class ImportReport implements ErrorReportContainer
 
     private final Map<Class<?>, TypeReport> typeReportMap = new HashMap<>();
 
+    private Map<String, Long> preheatTimings = new TreeMap<>();
+
     // -----------------------------------------------------------------------------------
     // Utility Methods
     // -----------------------------------------------------------------------------------
@@ -159,6 +163,23 @@ public class ImportReport implements ErrorReportContainer
         return stats;
     }
 
+    /**
+     * Time in milliseconds spent loading the existing objects of each class
+     * during preheat, mapped by phase and class name.
+     */
+    @JsonProperty
+    @JsonInclude( JsonInclude.Include.NON_EMPTY )
+    @JacksonXmlProperty( namespace = DxfNamespaces.DXF_2_0 )
+    public Map<String, Long> getPreheatTimings()
+    {
+        return preheatTimings;
+    }
+
+    public void setPreheatTimings( Map<String, Long> preheatTimings )
+    {
+        this.preheatTimings = preheatTimings != null ? new TreeMap<>( preheatTimings ) : new TreeMap<>();
+    }
+
     @JsonProperty
     @JacksonXmlElementWrapper( localName = "typeReports", namespace = DxfNamespaces.DXF_2_0 )
     @JacksonXmlProperty( localName = "typeReport", namespace = DxfNamespaces.DXF_2_0 )
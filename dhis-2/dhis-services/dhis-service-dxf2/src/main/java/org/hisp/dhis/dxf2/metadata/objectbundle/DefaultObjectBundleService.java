@@ -44,6 +44,8 @@ import org.hisp.dhis.common.IdentifiableObject;
 import org.hisp.dhis.common.IdentifiableObjectManager;
 import org.hisp.dhis.common.IdentifiableObjectUtils;
 import org.hisp.dhis.common.MergeMode;
+import org.hisp.dhis.commons.timer.SystemTimer;
+import org.hisp.dhis.commons.timer.Timer;
 import org.hisp.dhis.dbms.DbmsManager;
 import org.hisp.dhis.dxf2.metadata.FlushMode;
 import org.hisp.dhis.dxf2.metadata.objectbundle.feedback.ObjectBundleCommitReport;
@@ -130,9 +132,16 @@ public class DefaultObjectBundleService implements ObjectBundleService
         List<ObjectBundleHook<?>> commitHooks = objectBundleHooks.getCommitHooks( klasses );
         commitHooks.forEach( hook -> hook.preCommit( bundle ) );
 
+        // Classes are committed one after another in the import session, as
+        // the session cannot be shared between threads
         for ( Class<? extends IdentifiableObject> klass : klasses )
         {
+            Timer klassTimer = new SystemTimer().start();
+
             commitObjectType( bundle, typeReports, session, klass );
+
+            log.debug( "(" + bundle.getUsername() + ") Import:Commit[" + klass.getSimpleName() + "] took "
+                + klassTimer.toString() );
         }
 
         if ( !bundle.getImportMode().isDelete() )
@@ -29,8 +29,11 @@ package org.hisp.dhis.dxf2.metadata.objectbundle;
 
 import static java.util.stream.Collectors.toList;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -42,6 +45,7 @@ import org.hisp.dhis.dxf2.metadata.AtomicMode;
 import org.hisp.dhis.dxf2.metadata.objectbundle.feedback.ObjectBundleValidationReport;
 import org.hisp.dhis.dxf2.metadata.objectbundle.validation.ValidationFactory;
 import org.hisp.dhis.preheat.Preheat;
+import org.hisp.dhis.schema.PropertyType;
 import org.hisp.dhis.schema.SchemaService;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -59,6 +63,8 @@ public class DefaultObjectBundleValidationService
 
     private final SchemaService schemaService;
 
+    private final ObjectBundleValidationExecutor validationExecutor;
+
     @Override
     @Transactional( readOnly = true )
     public ObjectBundleValidationReport validate( ObjectBundle bundle )
@@ -76,9 +82,20 @@ public class DefaultObjectBundleValidationService
 
         List<Class<? extends IdentifiableObject>> klasses = getSortedClasses( bundle );
 
-        for ( Class<? extends IdentifiableObject> klass : klasses )
+        if ( validationExecutor.getParallelism() <= 1 )
+        {
+            for ( Class<? extends IdentifiableObject> klass : klasses )
+            {
+                Timer klassTimer = new SystemTimer().start();
+
+                validateObjectType( bundle, validation, klass );
+
+                logTiming( bundle, List.of( klass ), klassTimer );
+            }
+        }
+        else
         {
-            validateObjectType( bundle, validation, klass );
+            validateObjectTypes( bundle, validation, klasses );
         }
 
         validateAtomicity( bundle, validation );
@@ -103,6 +120,86 @@ public class DefaultObjectBundleValidationService
             .addTypeReport( validationFactory.validateBundle( bundle, klass, persistedObjects, nonPersistedObjects ) );
     }
 
+    /**
+     * Validates groups of classes which do not reference each other one group
+     * after another, running the thread-safe checks of the classes of a group
+     * concurrently on the shared {@link ObjectBundleValidationExecutor}.
+     */
+    private void validateObjectTypes( ObjectBundle bundle, ObjectBundleValidationReport validation,
+        List<Class<? extends IdentifiableObject>> klasses )
+    {
+        for ( List<Class<? extends IdentifiableObject>> group : getIndependentClassGroups( klasses ) )
+        {
+            Timer groupTimer = new SystemTimer().start();
+
+            for ( Class<? extends IdentifiableObject> klass : group )
+            {
+                cleanDefaults( bundle.getPreheat(), bundle.getObjects( klass, false ) );
+                cleanDefaults( bundle.getPreheat(), bundle.getObjects( klass, true ) );
+            }
+
+            validationFactory.validateBundle( bundle, group, validationExecutor.getExecutor() ).values()
+                .forEach( validation::addTypeReport );
+
+            logTiming( bundle, group, groupTimer );
+        }
+    }
+
+    /**
+     * Groups the given classes so that the classes of a group do not reference
+     * each other. A class is placed in a later group than any class sorted
+     * before it which it references or is referenced by.
+     *
+     * @param klasses the sorted classes.
+     * @return the groups of classes in validation order.
+     */
+    List<List<Class<? extends IdentifiableObject>>> getIndependentClassGroups(
+        List<Class<? extends IdentifiableObject>> klasses )
+    {
+        Map<Class<? extends IdentifiableObject>, Integer> levels = new HashMap<>();
+        List<List<Class<? extends IdentifiableObject>>> groups = new ArrayList<>();
+
+        for ( int i = 0; i < klasses.size(); i++ )
+        {
+            Class<? extends IdentifiableObject> klass = klasses.get( i );
+            int level = 0;
+
+            for ( int j = 0; j < i; j++ )
+            {
+                Class<? extends IdentifiableObject> other = klasses.get( j );
+
+                if ( references( klass, other ) || references( other, klass ) )
+                {
+                    level = Math.max( level, levels.get( other ) + 1 );
+                }
+            }
+
+            levels.put( klass, level );
+
+            if ( groups.size() <= level )
+            {
+                groups.add( new ArrayList<>() );
+            }
+
+            groups.get( level ).add( klass );
+        }
+
+        return groups;
+    }
+
+    private boolean references( Class<?> klass, Class<?> referencedKlass )
+    {
+        return schemaService.getDynamicSchema( klass ).getProperties().stream()
+            .anyMatch( p -> (PropertyType.REFERENCE == p.getPropertyType() && referencedKlass == p.getKlass())
+                || (PropertyType.REFERENCE == p.getItemPropertyType() && referencedKlass == p.getItemKlass()) );
+    }
+
+    private void logTiming( ObjectBundle bundle, List<Class<? extends IdentifiableObject>> klasses, Timer timer )
+    {
+        log.debug( "(" + bundle.getUsername() + ") Import:Validation" + klasses.stream()
+            .map( Class::getSimpleName ).collect( Collectors.joining( ", ", "[", "]" ) ) + " took " + timer.toString() );
+    }
+
     private void cleanDefaults( Preheat preheat, List<? extends IdentifiableObject> objects )
     {
         objects.removeIf( preheat::isDefault );
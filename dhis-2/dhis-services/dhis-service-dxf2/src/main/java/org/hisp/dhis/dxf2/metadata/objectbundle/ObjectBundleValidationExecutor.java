@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.dxf2.metadata.objectbundle;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PreDestroy;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.apache.commons.lang3.math.NumberUtils;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.springframework.stereotype.Component;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Provides the thread pool shared by all metadata imports for running the
+ * thread-safe validation checks of classes concurrently.
+ * <p>
+ * The pool is sized by
+ * {@link ConfigurationKey#METADATA_IMPORT_VALIDATION_PARALLELISM} and created
+ * once. Checks of concurrent imports queue up rather than each import starting
+ * threads of its own. Idle threads time out.
+ */
+@Slf4j
+@Component
+public class ObjectBundleValidationExecutor
+{
+    private static final ThreadFactory THREAD_FACTORY = new ThreadFactoryBuilder()
+        .setNameFormat( "METADATA-VALIDATION-%d" )
+        .setDaemon( true )
+        .build();
+
+    private final int parallelism;
+
+    private final ThreadPoolExecutor pool;
+
+    public ObjectBundleValidationExecutor( DhisConfigurationProvider config )
+    {
+        this.parallelism = Math.max( 1,
+            NumberUtils.toInt( config.getProperty( ConfigurationKey.METADATA_IMPORT_VALIDATION_PARALLELISM ), 1 ) );
+
+        this.pool = new ThreadPoolExecutor( parallelism, parallelism, 60, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(), THREAD_FACTORY );
+        this.pool.allowCoreThreadTimeOut( true );
+
+        log.info( "Metadata validation parallelism: {}", parallelism );
+    }
+
+    /**
+     * Returns the number of threads of the pool. If 1, classes should be
+     * validated on the calling thread instead.
+     */
+    public int getParallelism()
+    {
+        return parallelism;
+    }
+
+    public ExecutorService getExecutor()
+    {
+        return pool;
+    }
+
+    @PreDestroy
+    public void shutdown()
+    {
+        pool.shutdownNow();
+    }
+}
@@ -71,6 +71,11 @@ public class OrganisationUnitObjectBundleHook extends AbstractObjectBundleHook<O
     @Override
     public void postCommit( ObjectBundle bundle )
     {
+        if ( bundle.hasObjects( OrganisationUnit.class ) )
+        {
+            organisationUnitService.invalidateHierarchyIndex();
+        }
+
         Iterable<OrganisationUnit> objects = bundle.getObjects( OrganisationUnit.class );
         Map<String, Map<String, Object>> objectReferences = bundle.getObjectReferences( OrganisationUnit.class );
 
@@ -46,6 +46,12 @@ import org.springframework.stereotype.Component;
 @Component
 public class CreationCheck implements ObjectValidationCheck
 {
+    @Override
+    public boolean isThreadSafe()
+    {
+        return true;
+    }
+
     @Override
     public <T extends IdentifiableObject> void check( ObjectBundle bundle, Class<T> klass,
         List<T> persistedObjects, List<T> nonPersistedObjects,
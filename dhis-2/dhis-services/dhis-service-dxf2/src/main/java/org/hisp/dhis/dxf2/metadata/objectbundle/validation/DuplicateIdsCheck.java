@@ -48,6 +48,11 @@ import org.springframework.stereotype.Component;
 @Component
 public class DuplicateIdsCheck implements ObjectValidationCheck
 {
+    @Override
+    public boolean isThreadSafe()
+    {
+        return true;
+    }
 
     @Override
     public <T extends IdentifiableObject> void check( ObjectBundle bundle, Class<T> klass,
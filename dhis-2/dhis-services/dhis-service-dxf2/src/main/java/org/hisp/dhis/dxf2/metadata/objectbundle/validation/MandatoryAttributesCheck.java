@@ -53,6 +53,12 @@ import org.springframework.stereotype.Component;
 @Component
 public class MandatoryAttributesCheck implements ObjectValidationCheck
 {
+    @Override
+    public boolean isThreadSafe()
+    {
+        return true;
+    }
+
     @Override
     public <T extends IdentifiableObject> void check( ObjectBundle bundle, Class<T> klass,
         List<T> persistedObjects, List<T> nonPersistedObjects,
@@ -61,6 +61,19 @@ public interface ValidationCheck
         List<T> persistedObjects, List<T> nonPersistedObjects,
         ImportStrategy importStrategy, ValidationContext context );
 
+    /**
+     * Indicates whether the check only reads the bundle, its preheat and the
+     * schemas, without using the Hibernate session or the current user and
+     * without modifying the objects of the bundle. Such checks may run
+     * concurrently on other threads than the import thread.
+     *
+     * @return true if the check may run concurrently.
+     */
+    default boolean isThreadSafe()
+    {
+        return false;
+    }
+
     default <T extends IdentifiableObject> List<T> selectObjects( List<T> persistedObjects,
         List<T> nonPersistedObjects, ImportStrategy importStrategy )
     {
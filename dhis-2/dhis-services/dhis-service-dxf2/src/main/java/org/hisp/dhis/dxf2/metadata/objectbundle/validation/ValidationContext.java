@@ -28,6 +28,7 @@
 package org.hisp.dhis.dxf2.metadata.objectbundle.validation;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import lombok.AllArgsConstructor;
@@ -55,7 +56,10 @@ public class ValidationContext
 
     private final SchemaService schemaService;
 
-    private final List<IdentifiableObject> markedForRemoval = new ArrayList<>();
+    /**
+     * Synchronized, as thread-safe checks of a class may run concurrently.
+     */
+    private final List<IdentifiableObject> markedForRemoval = Collections.synchronizedList( new ArrayList<>() );
 
     public ObjectBundleHooks getObjectBundleHooks()
     {
@@ -27,7 +27,10 @@
  */
 package org.hisp.dhis.dxf2.metadata.objectbundle.validation;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
 
 import lombok.AllArgsConstructor;
 
@@ -83,6 +86,40 @@ public class ValidationFactory
         return addStatistics( typeReport, bundle, persistedObjects, nonPersistedObjects );
     }
 
+    /**
+     * Run the validation checks against the bundle for classes which do not
+     * reference each other, running thread-safe checks on the given executor
+     *
+     * @param bundle an {@see ObjectBundle}
+     * @param klasses the Class types that are getting validated
+     * @param executor the executor to run thread-safe checks on
+     *
+     * @return a {@see TypeReport} for each class, in the order of the classes
+     */
+    public Map<Class<? extends IdentifiableObject>, TypeReport> validateBundle( ObjectBundle bundle,
+        List<Class<? extends IdentifiableObject>> klasses, ExecutorService executor )
+    {
+        Map<Class<? extends IdentifiableObject>, ValidationContext> contexts = new HashMap<>();
+        klasses.forEach( klass -> contexts.put( klass, getContext() ) );
+
+        Map<Class<? extends IdentifiableObject>, TypeReport> typeReports = validationRunner
+            .executeValidationChains( bundle, klasses, contexts, executor );
+
+        typeReports.forEach( ( klass, typeReport ) -> completeTypeReport( klass, typeReport, contexts.get( klass ),
+            bundle ) );
+
+        return typeReports;
+    }
+
+    private <T extends IdentifiableObject> void completeTypeReport( Class<T> klass, TypeReport typeReport,
+        ValidationContext ctx, ObjectBundle bundle )
+    {
+        // Remove invalid objects from the bundle
+        removeFromBundle( klass, ctx, bundle );
+
+        addStatistics( typeReport, bundle, bundle.getObjects( klass, true ), bundle.getObjects( klass, false ) );
+    }
+
     private <T extends IdentifiableObject> TypeReport addStatistics( TypeReport typeReport, ObjectBundle bundle,
         List<T> persistedObjects, List<T> nonPersistedObjects )
     {
@@ -27,8 +27,13 @@
  */
 package org.hisp.dhis.dxf2.metadata.objectbundle.validation;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import lombok.RequiredArgsConstructor;
 
@@ -64,4 +69,107 @@ class ValidationRunner
 
         return typeReport;
     }
+
+    /**
+     * Executes the validation chain for each of the given classes, which must
+     * not reference each other. A thread-safe check runs concurrently for all
+     * classes on the given executor, other checks run on the calling thread.
+     * Checks never run concurrently with each other: each check starts once
+     * the checks before it in the chain are done for all classes, as in
+     * {@link #executeValidationChain}.
+     *
+     * @param bundle the bundle to validate
+     * @param klasses the classes to validate
+     * @param contexts the validation context of each class
+     * @param executor the executor to run thread-safe checks on
+     * @return the type report of each class, in the order of the classes
+     */
+    public Map<Class<? extends IdentifiableObject>, TypeReport> executeValidationChains( ObjectBundle bundle,
+        List<Class<? extends IdentifiableObject>> klasses,
+        Map<Class<? extends IdentifiableObject>, ValidationContext> contexts, ExecutorService executor )
+    {
+        List<ValidationCheck> validationChecks = validatorsByImportStrategy.get( bundle.getImportMode() );
+
+        Map<Class<? extends IdentifiableObject>, TypeReport[]> checkReports = new LinkedHashMap<>();
+        klasses.forEach( klass -> checkReports.put( klass, new TypeReport[validationChecks.size()] ) );
+
+        for ( int i = 0; i < validationChecks.size(); i++ )
+        {
+            int index = i;
+            ValidationCheck validationCheck = validationChecks.get( i );
+
+            if ( !validationCheck.isThreadSafe() )
+            {
+                for ( Class<? extends IdentifiableObject> klass : klasses )
+                {
+                    checkReports.get( klass )[index] = check( validationCheck, bundle, klass, contexts.get( klass ) );
+                }
+
+                continue;
+            }
+
+            List<Future<?>> futures = new ArrayList<>();
+
+            for ( Class<? extends IdentifiableObject> klass : klasses )
+            {
+                futures.add( executor.submit( () -> checkReports.get( klass )[index] = check(
+                    validationCheck, bundle, klass, contexts.get( klass ) ) ) );
+            }
+
+            // the next check only starts once this check is done for all
+            // classes, so it sees the same state as in the sequential run
+            await( futures );
+        }
+
+        Map<Class<? extends IdentifiableObject>, TypeReport> typeReports = new LinkedHashMap<>();
+
+        checkReports.forEach( ( klass, reports ) -> {
+            TypeReport typeReport = new TypeReport( klass );
+
+            for ( TypeReport report : reports )
+            {
+                typeReport.merge( report );
+            }
+
+            typeReports.put( klass, typeReport );
+        } );
+
+        return typeReports;
+    }
+
+    private <T extends IdentifiableObject> TypeReport check( ValidationCheck validationCheck, ObjectBundle bundle,
+        Class<T> klass, ValidationContext ctx )
+    {
+        return validationCheck.check( bundle, klass, bundle.getObjects( klass, true ),
+            bundle.getObjects( klass, false ), bundle.getImportMode(), ctx );
+    }
+
+    private void await( List<Future<?>> futures )
+    {
+        try
+        {
+            for ( Future<?> future : futures )
+            {
+                future.get();
+            }
+        }
+        catch ( InterruptedException ex )
+        {
+            Thread.currentThread().interrupt();
+
+            throw new IllegalStateException( "Parallel metadata validation was interrupted", ex );
+        }
+        catch ( ExecutionException ex )
+        {
+            throw ex.getCause() instanceof RuntimeException ? (RuntimeException) ex.getCause()
+                : new IllegalStateException( ex.getCause() );
+        }
+        finally
+        {
+            // the executor is shared, so checks left over after a failure
+            // must not keep running
+
+            futures.forEach( future -> future.cancel( true ) );
+        }
+    }
 }
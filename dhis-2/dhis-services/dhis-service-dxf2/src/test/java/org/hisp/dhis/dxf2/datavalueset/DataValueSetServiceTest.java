@@ -32,18 +32,22 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UncheckedIOException;
+import java.util.ArrayList;
 
 import org.hisp.dhis.DhisConvenienceTest;
 import org.hisp.dhis.calendar.Calendar;
 import org.hisp.dhis.calendar.CalendarService;
+import org.hisp.dhis.category.CategoryOptionCombo;
 import org.hisp.dhis.category.CategoryService;
 import org.hisp.dhis.common.IdScheme;
 import org.hisp.dhis.common.IdentifiableObjectManager;
@@ -61,6 +65,7 @@ import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.hisp.dhis.fileresource.FileResourceService;
 import org.hisp.dhis.i18n.I18nManager;
 import org.hisp.dhis.jdbc.batchhandler.DataValueBatchHandler;
+import org.hisp.dhis.organisationunit.OrganisationUnit;
 import org.hisp.dhis.organisationunit.OrganisationUnitService;
 import org.hisp.dhis.period.MonthlyPeriodType;
 import org.hisp.dhis.period.PeriodService;
@@ -72,7 +77,6 @@ import org.hisp.dhis.user.CurrentUserService;
 import org.hisp.quick.BatchHandlerFactory;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.AdditionalAnswers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -171,10 +175,12 @@ class DataValueSetServiceTest extends DhisConvenienceTest
         dataElement.setUid( "f7n9E0hX8qk" );
         when( identifiableObjectManager.getObject( DataElement.class, IdScheme.UID, "f7n9E0hX8qk" ) )
             .thenReturn( dataElement );
+        mockDataValueDimensions();
 
         // simulate that the imported DataValue already exists and is identical
         // (no changes)
-        when( batchHandler.findObject( any() ) ).then( AdditionalAnswers.returnsFirstArg() );
+        when( dataValueSetStore.getPersistedDataValues( any() ) )
+            .then( invocation -> new ArrayList<>( invocation.getArgument( 0 ) ) );
 
         ImportSummary summary = dataValueSetService
             .importDataValueSetXml( readFile( "datavalueset/dataValueSetA.xml" ), new ImportOptions() );
@@ -183,6 +189,65 @@ class DataValueSetServiceTest extends DhisConvenienceTest
         verify( batchHandler, never() ).updateObject( any() );
     }
 
+    @Test
+    void testImportDataValuesLooksUpExistingValuesOnce()
+    {
+        Calendar calendar = mock( Calendar.class );
+        when( calendarService.getSystemCalendar() ).thenReturn( calendar );
+
+        DataValueBatchHandler batchHandler = mock( DataValueBatchHandler.class );
+        when( batchHandler.init() ).thenReturn( batchHandler );
+        when( batchHandler.addObject( any() ) ).thenReturn( true );
+        when( batchHandlerFactory.createBatchHandler( DataValueBatchHandler.class ) ).thenReturn( batchHandler );
+
+        when( notifier.clear( any() ) ).thenReturn( notifier );
+        when( notifier.notify( any(), any(), anyString() ) ).thenReturn( notifier );
+        when( notifier.notify( any(), any(), anyString(), anyBoolean() ) ).thenReturn( notifier );
+
+        DataSet dataSet = createDataSet( 'A', new MonthlyPeriodType() );
+        dataSet.setUid( "pBOMPrpg1QX" );
+        when( identifiableObjectManager.getObject( DataSet.class, IdScheme.UID, "pBOMPrpg1QX" ) ).thenReturn( dataSet );
+        DataElement dataElement = createDataElement( 'A' );
+        dataElement.setUid( "f7n9E0hX8qk" );
+        when( identifiableObjectManager.getObject( DataElement.class, IdScheme.UID, "f7n9E0hX8qk" ) )
+            .thenReturn( dataElement );
+        mockDataValueDimensions();
+
+        when( dataValueSetStore.getPersistedDataValues( any() ) ).thenReturn( new ArrayList<>() );
+
+        ImportSummary summary = dataValueSetService
+            .importDataValueSetXml( readFile( "datavalueset/dataValueSetA.xml" ), new ImportOptions() );
+
+        assertSuccessWithImportedUpdatedDeleted( 3, 0, 0, summary );
+        verify( dataValueSetStore, times( 1 ) ).getPersistedDataValues( any() );
+        verify( batchHandler, never() ).findObject( any() );
+        verify( batchHandler, times( 3 ) ).addObject( any() );
+    }
+
+    /**
+     * Resolves the periods and organisation units of the imported data values
+     * and assigns the default category option combos, as validation would.
+     */
+    private void mockDataValueDimensions()
+    {
+        when( periodService.reloadIsoPeriodInStatelessSession( anyString() ) )
+            .then( invocation -> createPeriod( invocation.<String> getArgument( 0 ) ) );
+        when( identifiableObjectManager.getObject( eq( OrganisationUnit.class ), eq( IdScheme.UID ), anyString() ) )
+            .then( invocation -> {
+                OrganisationUnit orgUnit = createOrganisationUnit( 'A' );
+                orgUnit.setUid( invocation.getArgument( 2 ) );
+                return orgUnit;
+            } );
+
+        CategoryOptionCombo optionCombo = createCategoryOptionCombo( 'A' );
+        when( dataValueSetImportValidator.skipDataValue( any(), any(), any(), any() ) ).then( invocation -> {
+            ImportContext.DataValueContext valueContext = invocation.getArgument( 3 );
+            valueContext.setCategoryOptionCombo( optionCombo );
+            valueContext.setAttrOptionCombo( optionCombo );
+            return false;
+        } );
+    }
+
     private InputStream readFile( String filename )
     {
         try
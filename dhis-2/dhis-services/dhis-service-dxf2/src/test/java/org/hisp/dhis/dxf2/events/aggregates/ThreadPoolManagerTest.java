@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.dxf2.events.aggregates;
+
+import static java.util.concurrent.CompletableFuture.allOf;
+import static java.util.concurrent.CompletableFuture.supplyAsync;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith( MockitoExtension.class )
+class ThreadPoolManagerTest
+{
+    @Mock
+    private DhisConfigurationProvider config;
+
+    private ThreadPoolManager threadPoolManager;
+
+    @AfterEach
+    void tearDown()
+    {
+        threadPoolManager.shutdown();
+    }
+
+    @Test
+    void testPoolSizeDefaultsToHalfOfConnectionPool()
+    {
+        threadPoolManager = create( "0", "2" );
+
+        assertEquals( 40, threadPoolManager.getPoolSize() );
+    }
+
+    @Test
+    void testRequestParallelismIsLimited()
+        throws Exception
+    {
+        threadPoolManager = create( "8", "2" );
+
+        Executor executor = threadPoolManager.getPool();
+
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+
+        for ( int i = 0; i < 10; i++ )
+        {
+            int value = i;
+
+            futures.add( supplyAsync( () -> {
+                maxRunning.accumulateAndGet( running.incrementAndGet(), Math::max );
+                sleep();
+                running.decrementAndGet();
+                return value;
+            }, executor ) );
+        }
+
+        allOf( futures.toArray( new CompletableFuture[0] ) ).get( 10, TimeUnit.SECONDS );
+
+        assertTrue( maxRunning.get() <= 2 );
+        assertEquals( 45, futures.stream().mapToInt( CompletableFuture::join ).sum() );
+        assertEquals( 0, threadPoolManager.getQueuedTaskCount() );
+        assertEquals( 10, threadPoolManager.getStartedTaskCount() );
+    }
+
+    @Test
+    void testNestedFetchesDoNotExhaustPool()
+        throws Exception
+    {
+        threadPoolManager = create( "1", "1" );
+
+        Executor executor = threadPoolManager.getPool();
+
+        CompletableFuture<Integer> outer = supplyAsync( () -> {
+            Executor nestedExecutor = threadPoolManager.getPool();
+
+            CompletableFuture<Integer> a = supplyAsync( () -> 1, nestedExecutor );
+            CompletableFuture<Integer> b = supplyAsync( () -> 2, nestedExecutor );
+
+            return allOf( a, b ).thenApplyAsync( fn -> a.join() + b.join(), nestedExecutor ).join();
+        }, executor );
+
+        assertEquals( 3, outer.get( 10, TimeUnit.SECONDS ) );
+        assertTrue( threadPoolManager.getCallerRunsTaskCount() > 0 );
+    }
+
+    private ThreadPoolManager create( String poolSize, String requestParallelism )
+    {
+        when( config.getProperty( ConfigurationKey.TRACKER_AGGREGATE_POOL_SIZE ) ).thenReturn( poolSize );
+        when( config.getProperty( ConfigurationKey.TRACKER_AGGREGATE_REQUEST_PARALLELISM ) )
+            .thenReturn( requestParallelism );
+
+        if ( "0".equals( poolSize ) )
+        {
+            when( config.getProperty( ConfigurationKey.CONNECTION_POOL_MAX_SIZE ) ).thenReturn( "80" );
+        }
+
+        return new ThreadPoolManager( config );
+    }
+
+    private static void sleep()
+    {
+        try
+        {
+            Thread.sleep( 20 );
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
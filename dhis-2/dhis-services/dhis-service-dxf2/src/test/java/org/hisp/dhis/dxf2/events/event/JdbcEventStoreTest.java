@@ -30,11 +30,14 @@ package org.hisp.dhis.dxf2.events.event;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.collection.IsCollectionWithSize.hasSize;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
@@ -54,11 +57,13 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.PreparedStatementCallback;
 import org.springframework.jdbc.core.ResultSetExtractor;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ArrayListMultimap;
 
 /**
  * @author Luciano Fiandesio
@@ -127,6 +132,33 @@ class JdbcEventStoreTest
         verify( rowSet, times( 4 ) ).getString( "psi_eventdatavalues" );
     }
 
+    @Test
+    void verifyStreamedEventsAreReadThroughCursor()
+        throws SQLException
+    {
+        PreparedStatement statement = mock( PreparedStatement.class );
+        when( statement.executeQuery() ).thenReturn( rowSet );
+        when( namedParameterJdbcTemplate.execute( anyString(), any( MapSqlParameterSource.class ),
+            ArgumentMatchers.<PreparedStatementCallback<?>> any() ) ).thenAnswer( invocationOnMock -> {
+                PreparedStatementCallback<?> callback = invocationOnMock.getArgument( 2 );
+                mockRowSet();
+                return callback.doInPreparedStatement( statement );
+            } );
+        when( rowSet.getString( "psi_status" ) ).thenReturn( "ACTIVE" );
+        when( rowSet.getString( "pi_status" ) ).thenReturn( "ACTIVE" );
+        when( rowSet.getString( "deco_uid" ) ).thenReturn( "DecoUID0001" );
+        when( eventStore.getRelationshipsByIds( any(), any() ) ).thenReturn( ArrayListMultimap.create() );
+
+        List<List<Event>> batches = new ArrayList<>();
+
+        subject.streamEvents( new EventSearchParams(), new ArrayList<>(), batches::add );
+
+        assertThat( batches, hasSize( 1 ) );
+        assertThat( batches.get( 0 ), hasSize( 1 ) );
+        assertThat( batches.get( 0 ).get( 0 ).getDataValues(), hasSize( 1 ) );
+        verify( statement ).setFetchSize( anyInt() );
+    }
+
     private void mockRowSet()
         throws SQLException
     {
@@ -0,0 +1,247 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.dxf2.metadata.objectbundle.validation;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
+import static org.hisp.dhis.dxf2.metadata.objectbundle.validation.ValidationUtils.createObjectReport;
+import static org.hisp.dhis.importexport.ImportStrategy.CREATE_AND_UPDATE;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+import org.hisp.dhis.attribute.Attribute;
+import org.hisp.dhis.common.IdentifiableObject;
+import org.hisp.dhis.commons.collection.ListUtils;
+import org.hisp.dhis.constant.Constant;
+import org.hisp.dhis.dxf2.metadata.objectbundle.ObjectBundle;
+import org.hisp.dhis.dxf2.metadata.objectbundle.ObjectBundleHooks;
+import org.hisp.dhis.dxf2.metadata.objectbundle.ObjectBundleParams;
+import org.hisp.dhis.feedback.ErrorCode;
+import org.hisp.dhis.feedback.ErrorReport;
+import org.hisp.dhis.feedback.ObjectReport;
+import org.hisp.dhis.feedback.TypeReport;
+import org.hisp.dhis.importexport.ImportStrategy;
+import org.hisp.dhis.preheat.Preheat;
+import org.hisp.dhis.schema.SchemaService;
+import org.hisp.dhis.schema.validation.SchemaValidator;
+import org.hisp.dhis.security.acl.AclService;
+import org.hisp.dhis.user.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * Tests the concurrent execution of validation chains for independent
+ * classes.
+ */
+@ExtendWith( MockitoExtension.class )
+class ValidationRunnerTest
+{
+    @Mock
+    private SchemaValidator schemaValidator;
+
+    @Mock
+    private SchemaService schemaService;
+
+    @Mock
+    private AclService aclService;
+
+    @Mock
+    private UserService userService;
+
+    private final Set<String> threadSafeCheckThreads = ConcurrentHashMap.newKeySet();
+
+    private ExecutorService executor;
+
+    private ValidationFactory validationFactory;
+
+    @BeforeEach
+    void setUp()
+    {
+        executor = Executors.newFixedThreadPool( 2 );
+
+        validationFactory = new ValidationFactory( schemaValidator, schemaService, aclService, userService,
+            new ObjectBundleHooks( Collections.emptyList() ),
+            new ValidationRunner( Map.of( CREATE_AND_UPDATE,
+                ListUtils.newList( new ThreadSafeCheck(), new DummyCheck() ) ) ) );
+    }
+
+    @AfterEach
+    void tearDown()
+    {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void verifyValidationChainsOfIndependentClasses()
+    {
+        ObjectBundle bundle = createObjectBundle();
+
+        Map<Class<? extends IdentifiableObject>, TypeReport> typeReports = validationFactory.validateBundle( bundle,
+            List.of( Attribute.class, Constant.class ), executor );
+
+        assertThat( typeReports.keySet(), contains( Attribute.class, Constant.class ) );
+        assertThat( typeReports.get( Attribute.class ).getObjectReportsCount(), is( 2 ) );
+        assertThat( typeReports.get( Attribute.class ).getStats().getCreated(), is( 1 ) );
+        assertThat( typeReports.get( Constant.class ).getObjectReportsCount(), is( 1 ) );
+        assertThat( typeReports.get( Constant.class ).getStats().getCreated(), is( 0 ) );
+
+        // verify that invalid objects have been removed from bundle
+        assertThat( bundle.getObjects( Attribute.class, false ), hasSize( 1 ) );
+        assertThat( bundle.getObjects( Constant.class, false ), hasSize( 0 ) );
+
+        // verify that thread-safe checks did not run on the calling thread
+        assertThat( threadSafeCheckThreads, not( hasItem( Thread.currentThread().getName() ) ) );
+    }
+
+    @Test
+    void verifyChecksDoNotOverlap()
+    {
+        List<String> events = Collections.synchronizedList( new ArrayList<>() );
+
+        ValidationFactory factory = new ValidationFactory( schemaValidator, schemaService, aclService, userService,
+            new ObjectBundleHooks( Collections.emptyList() ),
+            new ValidationRunner( Map.of( CREATE_AND_UPDATE,
+                ListUtils.newList( new RecordingCheck( "first", events ),
+                    new RecordingCheck( "second", events ) ) ) ) );
+
+        factory.validateBundle( createObjectBundle(), List.of( Attribute.class, Constant.class ), executor );
+
+        // both classes finish the first check before any starts the second
+        assertThat( events, hasSize( 8 ) );
+        assertThat( events.subList( 0, 4 ), everyItem( startsWith( "first" ) ) );
+        assertThat( events.subList( 4, 8 ), everyItem( startsWith( "second" ) ) );
+    }
+
+    private ObjectBundle createObjectBundle()
+    {
+        Map<Class<? extends IdentifiableObject>, List<IdentifiableObject>> objectMap = new HashMap<>();
+        objectMap.put( Attribute.class, new ArrayList<>( List.of(
+            createAttribute( "u1" ), createAttribute( "t1" ), createAttribute( "a1" ) ) ) );
+        objectMap.put( Constant.class, new ArrayList<>( List.of( createConstant( "t2" ) ) ) );
+
+        return new ObjectBundle( new ObjectBundleParams(), new Preheat(), objectMap );
+    }
+
+    private Attribute createAttribute( String uid )
+    {
+        Attribute attribute = new Attribute();
+        attribute.setUid( uid );
+        return attribute;
+    }
+
+    private Constant createConstant( String uid )
+    {
+        Constant constant = new Constant();
+        constant.setUid( uid );
+        return constant;
+    }
+
+    /**
+     * Records when it starts and ends for a class.
+     */
+    private static class RecordingCheck implements ObjectValidationCheck
+    {
+        private final String name;
+
+        private final List<String> events;
+
+        RecordingCheck( String name, List<String> events )
+        {
+            this.name = name;
+            this.events = events;
+        }
+
+        @Override
+        public boolean isThreadSafe()
+        {
+            return true;
+        }
+
+        @Override
+        public <T extends IdentifiableObject> void check( ObjectBundle bundle, Class<T> klass,
+            List<T> persistedObjects, List<T> nonPersistedObjects,
+            ImportStrategy importStrategy, ValidationContext context, Consumer<ObjectReport> addReports )
+        {
+            events.add( name + ":start:" + klass.getSimpleName() );
+            Thread.yield();
+            events.add( name + ":end:" + klass.getSimpleName() );
+        }
+    }
+
+    /**
+     * Reports the objects with a UID starting with "t".
+     */
+    private class ThreadSafeCheck implements ObjectValidationCheck
+    {
+        @Override
+        public boolean isThreadSafe()
+        {
+            return true;
+        }
+
+        @Override
+        public <T extends IdentifiableObject> void check( ObjectBundle bundle, Class<T> klass,
+            List<T> persistedObjects, List<T> nonPersistedObjects,
+            ImportStrategy importStrategy, ValidationContext context, Consumer<ObjectReport> addReports )
+        {
+            threadSafeCheckThreads.add( Thread.currentThread().getName() );
+
+            for ( T nonPersistedObject : nonPersistedObjects )
+            {
+                if ( nonPersistedObject.getUid().startsWith( "t" ) )
+                {
+                    ErrorReport errorReport = new ErrorReport( klass, ErrorCode.E5000, bundle.getPreheatIdentifier(),
+                        bundle.getPreheatIdentifier().getIdentifiersWithName( nonPersistedObject ) )
+                            .setMainId( nonPersistedObject.getUid() );
+                    addReports.accept( createObjectReport( errorReport, nonPersistedObject, bundle ) );
+
+                    context.markForRemoval( nonPersistedObject );
+                }
+            }
+        }
+    }
+}
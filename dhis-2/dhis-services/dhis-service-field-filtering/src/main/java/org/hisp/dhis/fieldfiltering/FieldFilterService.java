@@ -35,10 +35,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 import org.hisp.dhis.attribute.Attribute;
 import org.hisp.dhis.attribute.AttributeService;
 import org.hisp.dhis.attribute.AttributeValue;
+import org.hisp.dhis.cache.Cache;
+import org.hisp.dhis.cache.CacheProvider;
 import org.hisp.dhis.common.BaseIdentifiableObject;
 import org.hisp.dhis.common.CodeGenerator;
 import org.hisp.dhis.common.IdentifiableObject;
@@ -65,6 +68,8 @@ import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.cfg.MapperConfig;
 import com.fasterxml.jackson.databind.introspect.Annotated;
 import com.fasterxml.jackson.databind.introspect.JacksonAnnotationIntrospector;
@@ -72,6 +77,7 @@ import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 
 /**
  * @author Morten Olav Hansen
@@ -96,6 +102,8 @@ public class FieldFilterService
 
     private final AttributeService attributeService;
 
+    private final Cache<PreparedFilter> preparedFilterCache;
+
     public FieldFilterService(
         FieldPathHelper fieldPathHelper,
         ObjectMapper jsonMapper,
@@ -104,7 +112,8 @@ public class FieldFilterService
         CurrentUserService currentUserService,
         UserGroupService userGroupService,
         UserService userService,
-        AttributeService attributeService )
+        AttributeService attributeService,
+        CacheProvider cacheProvider )
     {
         this.fieldPathHelper = fieldPathHelper;
         this.jsonMapper = configureFieldFilterObjectMapper( jsonMapper );
@@ -114,6 +123,7 @@ public class FieldFilterService
         this.userGroupService = userGroupService;
         this.userService = userService;
         this.attributeService = attributeService;
+        this.preparedFilterCache = cacheProvider.createFieldFilterWriterCache();
     }
 
     private static class IgnoreJsonSerializerRefinementAnnotationInspector extends JacksonAnnotationIntrospector
@@ -160,25 +170,13 @@ public class FieldFilterService
             return objectNodes;
         }
 
-        List<FieldPath> fieldPaths = FieldFilterParser.parse( params.getFilters() );
-
         if ( params.getUser() == null )
         {
             params.setUser( currentUserService.getCurrentUser() );
         }
 
-        // In case we get a proxied object in we can't just use o.getClass(), we
-        // need to figure out the real class name by using HibernateProxyUtils.
-        Object firstObject = params.getObjects().iterator().next();
-        fieldPathHelper.apply( fieldPaths, HibernateProxyUtils.getRealClass( firstObject ) );
-
-        SimpleFilterProvider filterProvider = getSimpleFilterProvider( fieldPaths, params.isSkipSharing() );
-
-        // only set filter provider on a local copy so that we don't affect
-        // other object mappers (running across other threads)
-        ObjectMapper objectMapper = jsonMapper.copy().setFilterProvider( filterProvider );
-
-        Map<String, List<FieldTransformer>> fieldTransformers = getTransformers( fieldPaths );
+        PreparedFilter filter = getPreparedFilter( params );
+        List<FieldPath> fieldPaths = filter.fieldPaths;
 
         for ( Object object : params.getObjects() )
         {
@@ -186,8 +184,8 @@ public class FieldFilterService
             applySharingDisplayNames( params, fieldPaths, object );
             applyAttributeValuesAttribute( params, fieldPaths, object );
 
-            ObjectNode objectNode = objectMapper.valueToTree( object );
-            applyTransformers( objectNode, null, "", fieldTransformers );
+            ObjectNode objectNode = toObjectNode( filter.writer, object );
+            applyTransformers( objectNode, null, "", filter.fieldTransformers );
 
             objectNodes.add( objectNode );
         }
@@ -212,7 +210,10 @@ public class FieldFilterService
     }
 
     /**
-     * Streams filtered object nodes using given JsonGenerator.
+     * Streams filtered object nodes using given JsonGenerator. Objects are
+     * written directly to the generator unless field transformers or attribute
+     * value fields are requested, which are applied to an intermediate
+     * {@link ObjectNode} per object.
      *
      * @param params Filter params to apply
      * @param generator Pre-created json generator
@@ -231,66 +232,144 @@ public class FieldFilterService
             params.setUser( currentUserService.getCurrentUser() );
         }
 
+        PreparedFilter filter = getPreparedFilter( params );
+        List<FieldPath> fieldPaths = filter.fieldPaths;
+
+        for ( Object object : params.getObjects() )
+        {
+            applyAccess( params, fieldPaths, object );
+            applySharingDisplayNames( params, fieldPaths, object );
+            applyAttributeValuesAttribute( params, fieldPaths, object );
+
+            if ( filter.isStreamable() )
+            {
+                filter.writer.writeValue( generator, object );
+            }
+            else
+            {
+                ObjectNode objectNode = toObjectNode( filter.writer, object );
+                applyAttributeValueFields( object, objectNode, filter.attributeValuePaths );
+                applyTransformers( objectNode, null, "", filter.fieldTransformers );
+
+                generator.writeObject( objectNode );
+            }
+        }
+    }
+
+    /**
+     * Returns the field paths and writer for the shape of the given params,
+     * i.e. the class of the objects, the normalized filters and whether to skip
+     * sharing. Preparing the field paths requires schema lookups, and writers
+     * share the serializers of the object mapper, so both are kept per shape.
+     */
+    private PreparedFilter getPreparedFilter( FieldFilterParams<?> params )
+    {
         List<FieldPath> fieldPaths = FieldFilterParser.parse( params.getFilters() );
 
         // In case we get a proxied object in we can't just use o.getClass(), we
         // need to figure out the real class name by using HibernateProxyUtils.
         Object firstObject = params.getObjects().iterator().next();
-        fieldPathHelper.apply( fieldPaths, HibernateProxyUtils.getRealClass( firstObject ) );
+        Class<?> rootKlass = HibernateProxyUtils.getRealClass( firstObject );
 
-        SimpleFilterProvider filterProvider = getSimpleFilterProvider( fieldPaths, params.isSkipSharing() );
+        String key = getShapeKey( rootKlass, fieldPaths, params.isSkipSharing() );
 
-        // only set filter provider on a local copy so that we don't affect
-        // other object mappers (running across other threads)
-        ObjectMapper objectMapper = jsonMapper.copy().setFilterProvider( filterProvider );
+        return preparedFilterCache.get( key, k -> {
+            fieldPathHelper.apply( fieldPaths, rootKlass );
 
-        Map<String, List<FieldTransformer>> fieldTransformers = getTransformers( fieldPaths );
+            SimpleFilterProvider filterProvider = getSimpleFilterProvider( fieldPaths, params.isSkipSharing() );
 
-        for ( Object object : params.getObjects() )
+            // only set filter provider on the writer so that we don't affect
+            // other writers of the object mapper (running across other threads)
+            ObjectWriter writer = jsonMapper.writer( filterProvider )
+                .without( SerializationFeature.FLUSH_AFTER_WRITE_VALUE );
+
+            return new PreparedFilter( fieldPaths, writer, getTransformers( fieldPaths ),
+                getAttributeValuePaths( fieldPaths ) );
+        } );
+    }
+
+    private String getShapeKey( Class<?> rootKlass, List<FieldPath> fieldPaths, boolean skipSharing )
+    {
+        return rootKlass.getName() + ":" + skipSharing + ":" + fieldPaths.stream()
+            .map( this::getShapeKey )
+            .sorted()
+            .collect( Collectors.joining( "," ) );
+    }
+
+    private String getShapeKey( FieldPath fieldPath )
+    {
+        StringBuilder key = new StringBuilder();
+
+        if ( fieldPath.isExclude() )
         {
-            applyAccess( params, fieldPaths, object );
-            applySharingDisplayNames( params, fieldPaths, object );
-            applyAttributeValuesAttribute( params, fieldPaths, object );
+            key.append( '!' );
+        }
+
+        if ( fieldPath.isPreset() )
+        {
+            key.append( ':' );
+        }
 
-            ObjectNode objectNode = objectMapper.valueToTree( object );
-            applyAttributeValueFields( object, objectNode, fieldPaths );
-            applyTransformers( objectNode, null, "", fieldTransformers );
+        key.append( fieldPath.toFullPath() );
 
-            generator.writeObject( objectNode );
+        for ( FieldPathTransformer transformer : fieldPath.getTransformers() )
+        {
+            key.append( "::" ).append( transformer.getName() ).append( transformer.getParameters() );
         }
+
+        return key.toString();
+    }
+
+    private ObjectNode toObjectNode( ObjectWriter writer, Object object )
+    {
+        try ( TokenBuffer buffer = new TokenBuffer( jsonMapper, false ) )
+        {
+            writer.writeValue( buffer, object );
+
+            return jsonMapper.readTree( buffer.asParser() );
+        }
+        catch ( IOException ex )
+        {
+            throw new IllegalArgumentException( ex.getMessage(), ex );
+        }
+    }
+
+    private List<FieldPath> getAttributeValuePaths( List<FieldPath> fieldPaths )
+    {
+        return fieldPaths.stream()
+            .filter( path -> path.getProperty() == null && CodeGenerator.isValidUid( path.getFullPath() ) )
+            .collect( Collectors.toList() );
     }
 
-    private void applyAttributeValueFields( Object object, ObjectNode objectNode, List<FieldPath> fieldPaths )
+    private void applyAttributeValueFields( Object object, ObjectNode objectNode,
+        List<FieldPath> attributeValuePaths )
     {
         if ( !(object instanceof BaseIdentifiableObject) )
         {
             return;
         }
-        for ( FieldPath path : fieldPaths )
+        for ( FieldPath path : attributeValuePaths )
         {
-            if ( path.getProperty() == null && CodeGenerator.isValidUid( path.getFullPath() ) )
+            AttributeValue value = ((BaseIdentifiableObject) object).getAttributeValue( path.getFullPath() );
+            if ( value != null )
             {
-                AttributeValue value = ((BaseIdentifiableObject) object).getAttributeValue( path.getFullPath() );
-                if ( value != null )
+                String v = value.getValue();
+                Attribute attribute = attributeService.getAttribute( value.getAttribute().getUid() );
+                if ( v != null && !v.isBlank() && attribute.getValueType().isJson() )
                 {
-                    String v = value.getValue();
-                    Attribute attribute = attributeService.getAttribute( value.getAttribute().getUid() );
-                    if ( v != null && !v.isBlank() && attribute.getValueType().isJson() )
+                    try
                     {
-                        try
-                        {
-                            objectNode.set( path.getFullPath(), jsonMapper.readTree( v ) );
-                        }
-                        catch ( JsonProcessingException e )
-                        {
-                            objectNode.put( path.getFullPath(), v );
-                        }
+                        objectNode.set( path.getFullPath(), jsonMapper.readTree( v ) );
                     }
-                    else
+                    catch ( JsonProcessingException e )
                     {
                         objectNode.put( path.getFullPath(), v );
                     }
                 }
+                else
+                {
+                    objectNode.put( path.getFullPath(), v );
+                }
             }
         }
     }
@@ -485,4 +564,39 @@ public class FieldFilterService
                 }
             } );
     }
+
+    /**
+     * Field paths, writer and transformers prepared for a filter shape. Shared
+     * across requests, so must not be modified.
+     */
+    private static final class PreparedFilter
+    {
+        private final List<FieldPath> fieldPaths;
+
+        private final ObjectWriter writer;
+
+        private final Map<String, List<FieldTransformer>> fieldTransformers;
+
+        private final List<FieldPath> attributeValuePaths;
+
+        private PreparedFilter( List<FieldPath> fieldPaths, ObjectWriter writer,
+            Map<String, List<FieldTransformer>> fieldTransformers, List<FieldPath> attributeValuePaths )
+        {
+            this.fieldPaths = fieldPaths;
+            this.writer = writer;
+            this.fieldTransformers = fieldTransformers;
+            this.attributeValuePaths = attributeValuePaths;
+        }
+
+        /**
+         * Indicates whether objects can be written without an intermediate
+         * tree, which is the case if there are neither transformers nor
+         * attribute value fields to apply to the tree.
+         */
+        private boolean isStreamable()
+        {
+            return attributeValuePaths.isEmpty()
+                && fieldTransformers.values().stream().allMatch( List::isEmpty );
+        }
+    }
 }
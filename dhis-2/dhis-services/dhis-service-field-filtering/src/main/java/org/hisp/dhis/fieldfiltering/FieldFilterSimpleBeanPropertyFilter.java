@@ -29,6 +29,8 @@ package org.hisp.dhis.fieldfiltering;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
@@ -53,13 +55,22 @@ import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
  *
  * @author Morten Olav Hansen
  */
-@RequiredArgsConstructor
 public class FieldFilterSimpleBeanPropertyFilter extends SimpleBeanPropertyFilter
 {
-    private final List<FieldPath> fieldPaths;
+    /**
+     * Full paths of the field paths to include, the filter is shared by all
+     * writers of a filter shape so this must not be modified.
+     */
+    private final Set<String> fullPaths;
 
     private final boolean skipSharing;
 
+    public FieldFilterSimpleBeanPropertyFilter( List<FieldPath> fieldPaths, boolean skipSharing )
+    {
+        this.fullPaths = fieldPaths.stream().map( FieldPath::toFullPath ).collect( Collectors.toUnmodifiableSet() );
+        this.skipSharing = skipSharing;
+    }
+
     @Override
     protected boolean include( final BeanPropertyWriter writer )
     {
@@ -93,15 +104,7 @@ public class FieldFilterSimpleBeanPropertyFilter extends SimpleBeanPropertyFilte
             return true;
         }
 
-        for ( FieldPath fieldPath : fieldPaths )
-        {
-            if ( fieldPath.toFullPath().equals( ctx.getFullPath() ) )
-            {
-                return true;
-            }
-        }
-
-        return false;
+        return fullPaths.contains( ctx.getFullPath() );
     }
 
     private PathContext getPath( PropertyWriter writer, JsonGenerator jgen )
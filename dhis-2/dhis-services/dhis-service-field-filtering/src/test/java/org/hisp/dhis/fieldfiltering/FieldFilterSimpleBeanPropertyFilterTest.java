@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.fieldfiltering;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+class FieldFilterSimpleBeanPropertyFilterTest
+{
+    private final ObjectMapper objectMapper = new ObjectMapper()
+        .registerModule( new SimpleModule().setMixInAnnotation( Object.class, FieldFilterMixin.class ) );
+
+    @Test
+    void testIncludeFieldPaths()
+        throws JsonProcessingException
+    {
+        ObjectWriter writer = getWriter( FieldFilterParser.parse( Set.of( "id,name" ) ), false );
+
+        assertEquals( "{\"id\":\"a\",\"name\":\"A\"}", writer.writeValueAsString( new Item( "a", "A", "x" ) ) );
+    }
+
+    @Test
+    void testWriterIsReusable()
+        throws JsonProcessingException
+    {
+        ObjectWriter writer = getWriter( FieldFilterParser.parse( Set.of( "code" ) ), false );
+
+        assertEquals( "{\"code\":\"x\"}", writer.writeValueAsString( new Item( "a", "A", "x" ) ) );
+        assertEquals( "{\"code\":\"y\"}", writer.writeValueAsString( new Item( "b", "B", "y" ) ) );
+    }
+
+    private ObjectWriter getWriter( List<FieldPath> fieldPaths, boolean skipSharing )
+    {
+        SimpleFilterProvider filterProvider = new SimpleFilterProvider();
+        filterProvider.addFilter( "field-filter", new FieldFilterSimpleBeanPropertyFilter( fieldPaths, skipSharing ) );
+
+        return objectMapper.writer( filterProvider );
+    }
+
+    public static class Item
+    {
+        private final String id;
+
+        private final String name;
+
+        private final String code;
+
+        Item( String id, String name, String code )
+        {
+            this.id = id;
+            this.name = name;
+            this.code = code;
+        }
+
+        public String getId()
+        {
+            return id;
+        }
+
+        public String getName()
+        {
+            return name;
+        }
+
+        public String getCode()
+        {
+            return code;
+        }
+    }
+}
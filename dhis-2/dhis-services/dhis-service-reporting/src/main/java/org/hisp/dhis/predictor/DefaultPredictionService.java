@@ -29,6 +29,7 @@ package org.hisp.dhis.predictor;
 
 import static com.google.common.base.MoreObjects.firstNonNull;
 import static java.lang.String.format;
+import static java.util.stream.Collectors.toList;
 import static org.hisp.dhis.common.OrganisationUnitDescendants.DESCENDANTS;
 import static org.hisp.dhis.expression.MissingValueStrategy.NEVER_SKIP;
 import static org.hisp.dhis.expression.ParseType.PREDICTOR_EXPRESSION;
@@ -46,8 +47,16 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
 
 import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.With;
 import lombok.extern.slf4j.Slf4j;
 
 import org.apache.commons.collections4.CollectionUtils;
@@ -78,12 +87,16 @@ import org.hisp.dhis.period.PeriodService;
 import org.hisp.dhis.period.PeriodType;
 import org.hisp.dhis.scheduling.JobProgress;
 import org.hisp.dhis.scheduling.parameters.PredictorJobParameters;
+import org.hisp.dhis.security.SecurityContextRunnable;
 import org.hisp.dhis.user.CurrentUserService;
 import org.hisp.dhis.user.User;
 import org.hisp.dhis.util.DateUtils;
 import org.hisp.quick.BatchHandlerFactory;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
@@ -98,6 +111,10 @@ import com.google.common.collect.Sets;
 public class DefaultPredictionService
     implements PredictionService
 {
+    private static final int PREDICTIONS_QUEUE_SIZE = 1000;
+
+    private static final long PREDICTIONS_QUEUE_TIMEOUT_MILLIS = 100;
+
     private final PredictorService predictorService;
 
     private final ExpressionService expressionService;
@@ -118,6 +135,10 @@ public class DefaultPredictionService
 
     private final CurrentUserService currentUserService;
 
+    private final PredictionExecutor predictionExecutor;
+
+    private final TransactionTemplate transactionTemplate;
+
     // -------------------------------------------------------------------------
     // Prediction business logic
     // -------------------------------------------------------------------------
@@ -194,7 +215,6 @@ public class DefaultPredictionService
     public void predict( Predictor predictor, Date startDate, Date endDate, PredictionSummary predictionSummary )
     {
         Expression generator = predictor.getGenerator();
-        Expression skipTest = predictor.getSampleSkipTest();
         DataElement outputDataElement = predictor.getOutput();
         DataType expressionDataType = DataType.fromValueType( outputDataElement.getValueType() );
 
@@ -214,10 +234,6 @@ public class DefaultPredictionService
         Set<Period> dataValueQueryPeriods = getDataValueQueryPeriods( analyticsQueryPeriods, existingOutputPeriods );
         outputPeriods = periodService.reloadPeriods( outputPeriods );
 
-        boolean forwardReference = isForwardReference( predictor, baseExParams.getItemMap().values() );
-        boolean requireData = generator.getMissingValueStrategy() != NEVER_SKIP &&
-            !baseExParams.getItemMap().values().isEmpty();
-
         Set<OrganisationUnit> currentUserOrgUnits = new HashSet<>();
         User currentUser = currentUserService.getCurrentUser();
 
@@ -226,10 +242,14 @@ public class DefaultPredictionService
             currentUserOrgUnits = currentUser.getOrganisationUnits();
         }
 
-        PredictionDataConsolidator consolidator = new PredictionDataConsolidator( items,
-            predictor.getOrganisationUnitDescendants().equals( DESCENDANTS ),
-            new PredictionDataValueFetcher( dataValueService, categoryService ),
-            new PredictionAnalyticsDataFetcher( analyticsService, categoryService ) );
+        boolean forwardReference = isForwardReference( predictor, baseExParams.getItemMap().values() );
+        boolean requireData = generator.getMissingValueStrategy() != NEVER_SKIP &&
+            !baseExParams.getItemMap().values().isEmpty();
+
+        PredictionRun run = new PredictionRun( predictor, exInfo, baseExParams, defaultCategoryOptionCombo, preDis,
+            items, outputDataElementOperand, expressionDataType, outputPeriods, existingOutputPeriods,
+            samplePeriodsMap, allSamplePeriods, analyticsQueryPeriods, dataValueQueryPeriods, forwardReference,
+            requireData, currentUser );
 
         PredictionWriter predictionWriter = new PredictionWriter( dataValueService, batchHandlerFactory );
 
@@ -242,8 +262,212 @@ public class DefaultPredictionService
             List<OrganisationUnit> orgUnits = organisationUnitService
                 .getOrganisationUnitsAtOrgUnitLevels( Lists.newArrayList( orgUnitLevel ), currentUserOrgUnits );
 
-            consolidator.init( currentUserOrgUnits, orgUnitLevel.getLevel(), orgUnits,
-                dataValueQueryPeriods, analyticsQueryPeriods, existingOutputPeriods, outputDataElementOperand );
+            if ( predictionExecutor.getParallelism() > 1 && orgUnits.size() > predictionExecutor.getOrgUnitsPerChunk() )
+            {
+                predictInParallel( run, orgUnitLevel.getLevel(), orgUnits, predictionWriter );
+            }
+            else
+            {
+                run.predict( currentUserOrgUnits, orgUnitLevel.getLevel(), orgUnits, predictionWriter::write );
+            }
+        }
+
+        predictionWriter.flush();
+
+        preDis.issueMappingWarnings();
+    }
+
+    // -------------------------------------------------------------------------
+    // Parallel prediction
+    // -------------------------------------------------------------------------
+
+    /**
+     * Evaluates the predictor for chunks of organisation units in parallel on
+     * the shared {@link PredictionExecutor}. Each chunk runs in the security
+     * context of the caller, so that analytics applies the constraints of the
+     * current user, and fetches its own data within its own transaction. The
+     * predictions are handed back to this thread and written by the single
+     * {@link PredictionWriter}.
+     */
+    private void predictInParallel( PredictionRun run, int orgUnitLevel, List<OrganisationUnit> orgUnits,
+        PredictionWriter predictionWriter )
+    {
+        BlockingQueue<Predictions> queue = new ArrayBlockingQueue<>( PREDICTIONS_QUEUE_SIZE );
+
+        SecurityContext securityContext = SecurityContextHolder.getContext();
+
+        List<Future<?>> futures = new ArrayList<>();
+
+        try
+        {
+            for ( List<OrganisationUnit> chunk : Lists.partition( orgUnits,
+                predictionExecutor.getOrgUnitsPerChunk() ) )
+            {
+                List<String> orgUnitUids = chunk.stream().map( OrganisationUnit::getUid ).collect( toList() );
+
+                futures.add( predictionExecutor.getExecutor().submit( new SecurityContextRunnable( securityContext )
+                {
+                    @Override
+                    public void call()
+                    {
+                        transactionTemplate.executeWithoutResult(
+                            status -> predictChunk( run, orgUnitLevel, orgUnitUids, queue ) );
+                    }
+
+                    @Override
+                    public void handleError( Throwable ex )
+                    {
+                        throw ex instanceof RuntimeException ? (RuntimeException) ex : new IllegalStateException( ex );
+                    }
+                } ) );
+            }
+
+            while ( !futures.stream().allMatch( Future::isDone ) || !queue.isEmpty() )
+            {
+                Predictions predictions = queue.poll( PREDICTIONS_QUEUE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS );
+
+                if ( predictions != null )
+                {
+                    predictionWriter.write( predictions.getPredictions(), predictions.getOldPredictions() );
+                }
+            }
+
+            for ( Future<?> future : futures )
+            {
+                future.get();
+            }
+        }
+        catch ( InterruptedException ex )
+        {
+            Thread.currentThread().interrupt();
+
+            throw new IllegalStateException( "Parallel prediction was interrupted", ex );
+        }
+        catch ( ExecutionException ex )
+        {
+            throw ex.getCause() instanceof RuntimeException ? (RuntimeException) ex.getCause()
+                : new IllegalStateException( ex.getCause() );
+        }
+        finally
+        {
+            futures.forEach( future -> future.cancel( true ) );
+        }
+    }
+
+    /**
+     * Evaluates the predictor for a chunk of organisation units on a worker
+     * thread. The entities of the caller belong to the session of the calling
+     * thread, so the predictor, the organisation units and the current user
+     * are loaded again in the session of the worker. A predictor which has
+     * not been saved is used as given.
+     */
+    private void predictChunk( PredictionRun run, int orgUnitLevel, List<String> orgUnitUids,
+        BlockingQueue<Predictions> queue )
+    {
+        List<OrganisationUnit> orgUnits = idObjectManager.getByUidOrdered( OrganisationUnit.class, orgUnitUids );
+
+        Predictor predictor = firstNonNull( idObjectManager.get( Predictor.class, run.predictor.getUid() ),
+            run.predictor );
+
+        run.withPredictor( predictor )
+            .withCurrentUser( currentUserService.getCurrentUser() )
+            .predict( new HashSet<>( orgUnits ), orgUnitLevel, orgUnits,
+                ( predictions, oldPredictions ) -> enqueue( queue, new Predictions( predictions, oldPredictions ) ) );
+    }
+
+    private static void enqueue( BlockingQueue<Predictions> queue, Predictions predictions )
+    {
+        try
+        {
+            queue.put( predictions );
+        }
+        catch ( InterruptedException ex )
+        {
+            Thread.currentThread().interrupt();
+
+            throw new IllegalStateException( "Parallel prediction was interrupted", ex );
+        }
+    }
+
+    /**
+     * The predictions for one organisation unit, with the existing predictions
+     * they replace.
+     */
+    @Value
+    private static class Predictions
+    {
+        List<DataValue> predictions;
+
+        List<DataValue> oldPredictions;
+    }
+
+    /**
+     * Evaluates one predictor for the organisation units of a level. An
+     * instance holds everything that is prepared once per predictor and is not
+     * changed while evaluating, so it can be shared by the threads evaluating
+     * chunks of organisation units in parallel.
+     */
+    @RequiredArgsConstructor
+    private final class PredictionRun
+    {
+        @With
+        private final Predictor predictor;
+
+        private final ExpressionInfo exInfo;
+
+        private final ExpressionParams baseExParams;
+
+        private final CategoryOptionCombo defaultCategoryOptionCombo;
+
+        private final PredictionDisaggregator preDis;
+
+        private final Set<DimensionalItemObject> items;
+
+        private final DataElementOperand outputDataElementOperand;
+
+        private final DataType expressionDataType;
+
+        private final List<Period> outputPeriods;
+
+        private final Set<Period> existingOutputPeriods;
+
+        private final ListMap<Period, Period> samplePeriodsMap;
+
+        private final Set<Period> allSamplePeriods;
+
+        private final Set<Period> analyticsQueryPeriods;
+
+        private final Set<Period> dataValueQueryPeriods;
+
+        private final boolean forwardReference;
+
+        private final boolean requireData;
+
+        @With
+        private final User currentUser;
+
+        /**
+         * Evaluates the predictor for the given organisation units, which are
+         * at the given level and descendants of the given parents.
+         *
+         * @param parentOrgUnits organisation units to fetch data below.
+         * @param orgUnitLevel level of the organisation units.
+         * @param orgUnits organisation units to predict for.
+         * @param writer receives the predictions and old predictions of each
+         *        organisation unit.
+         */
+        void predict( Set<OrganisationUnit> parentOrgUnits, int orgUnitLevel, List<OrganisationUnit> orgUnits,
+            BiConsumer<List<DataValue>, List<DataValue>> writer )
+        {
+            Expression generator = predictor.getGenerator();
+
+            PredictionDataConsolidator consolidator = new PredictionDataConsolidator( items,
+                predictor.getOrganisationUnitDescendants().equals( DESCENDANTS ),
+                new PredictionDataValueFetcher( dataValueService, categoryService ),
+                new PredictionAnalyticsDataFetcher( analyticsService, categoryService ) );
+
+            consolidator.init( parentOrgUnits, orgUnitLevel, orgUnits, dataValueQueryPeriods,
+                analyticsQueryPeriods, existingOutputPeriods, outputDataElementOperand );
 
             PredictionData data;
 
@@ -262,7 +486,7 @@ public class DefaultPredictionService
                     List<Period> samplePeriods = new ArrayList<>( samplePeriodsMap.get( c.getOutputPeriod() ) );
 
                     samplePeriods.removeAll( getSkippedPeriods( allSamplePeriods, baseExParams, c.getPeriodValueMap(),
-                        skipTest, data.getOrgUnit() ) );
+                        predictor.getSampleSkipTest(), data.getOrgUnit() ) );
 
                     if ( !isEvaluationRequired( requireData, exInfo, samplePeriods, valueMap,
                         c.getPeriodValueMap(), baseExParams.getItemMap() ) )
@@ -271,7 +495,7 @@ public class DefaultPredictionService
                     }
 
                     Object value = expressionService.getExpressionValue( baseExParams.toBuilder()
-                        .expression( predictor.getGenerator().getExpression() )
+                        .expression( generator.getExpression() )
                         .parseType( PREDICTOR_EXPRESSION )
                         .dataType( expressionDataType )
                         .valueMap( valueMap )
@@ -287,13 +511,9 @@ public class DefaultPredictionService
                     rememberPredictedValue( prediction, predictions, contexts, forwardReference );
                 }
 
-                predictionWriter.write( predictions, data.getOldPredictions() );
+                writer.accept( predictions, data.getOldPredictions() );
             }
         }
-
-        predictionWriter.flush();
-
-        preDis.issueMappingWarnings();
     }
 
     // -------------------------------------------------------------------------
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.predictor;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PreDestroy;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.apache.commons.lang3.math.NumberUtils;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Provides the thread pool shared by all prediction runs for evaluating
+ * predictors on chunks of organisation units in parallel.
+ * <p>
+ * The pool is sized by {@link ConfigurationKey#SYSTEM_PREDICTOR_PARALLELISM}
+ * and created once. Tasks of concurrent prediction runs queue up rather than
+ * each run starting threads of its own. Idle threads time out.
+ */
+@Slf4j
+@Component
+public class PredictionExecutor
+{
+    /**
+     * Number of organisation units evaluated by one task.
+     */
+    private static final int ORG_UNITS_PER_CHUNK = 500;
+
+    private static final ThreadFactory THREAD_FACTORY = new ThreadFactoryBuilder()
+        .setNameFormat( "PREDICTION-%d" )
+        .setDaemon( true )
+        .build();
+
+    private final int parallelism;
+
+    private final int orgUnitsPerChunk;
+
+    private final ThreadPoolExecutor pool;
+
+    @Autowired
+    public PredictionExecutor( DhisConfigurationProvider config )
+    {
+        this( NumberUtils.toInt( config.getProperty( ConfigurationKey.SYSTEM_PREDICTOR_PARALLELISM ), 1 ),
+            ORG_UNITS_PER_CHUNK );
+
+        log.info( "Predictor parallelism: {}", parallelism );
+    }
+
+    PredictionExecutor( int parallelism, int orgUnitsPerChunk )
+    {
+        this.parallelism = Math.max( 1, parallelism );
+        this.orgUnitsPerChunk = orgUnitsPerChunk;
+
+        this.pool = new ThreadPoolExecutor( this.parallelism, this.parallelism, 60, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(), THREAD_FACTORY );
+        this.pool.allowCoreThreadTimeOut( true );
+    }
+
+    /**
+     * Returns the number of threads of the pool. If 1, predictors should be
+     * evaluated on the calling thread instead.
+     */
+    public int getParallelism()
+    {
+        return parallelism;
+    }
+
+    /**
+     * Returns the number of organisation units evaluated by one task. Levels
+     * with no more organisation units are evaluated on the calling thread.
+     */
+    public int getOrgUnitsPerChunk()
+    {
+        return orgUnitsPerChunk;
+    }
+
+    public ExecutorService getExecutor()
+    {
+        return pool;
+    }
+
+    @PreDestroy
+    public void shutdown()
+    {
+        pool.shutdownNow();
+    }
+}
@@ -79,7 +79,7 @@ public class Validator
         progress.startingStage( "Evaluating validation rules in chunks of " + chunkSize, orgUnitLists.size(),
             SKIP_ITEM_OUTLIER );
         progress.runStageInParallel( threadPoolSize, orgUnitLists, ValidationChunk::toString,
-            chunk -> runner.run( chunk.getOrgUnits(), context ) );
+            ValidationChunk::getCost, chunk -> runner.run( chunk.getOrgUnits(), context ) );
 
         progress.startingStage( "Reloading attribute option combos" );
         progress.runStage(
@@ -132,6 +132,11 @@ public class Validator
 
         private final List<OrganisationUnit> orgUnits;
 
+        long getCost()
+        {
+            return orgUnits.size();
+        }
+
         @Override
         public String toString()
         {
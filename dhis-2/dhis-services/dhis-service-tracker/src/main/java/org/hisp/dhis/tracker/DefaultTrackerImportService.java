@@ -35,8 +35,10 @@ import static org.hisp.dhis.tracker.report.TimingsStats.TOTAL_OPS;
 import static org.hisp.dhis.tracker.report.TimingsStats.VALIDATE_PROGRAMRULE_OPS;
 import static org.hisp.dhis.tracker.report.TimingsStats.VALIDATION_OPS;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -51,7 +53,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.hisp.dhis.system.notification.NotificationLevel;
 import org.hisp.dhis.system.notification.Notifier;
 import org.hisp.dhis.tracker.bundle.TrackerBundle;
+import org.hisp.dhis.tracker.bundle.TrackerBundleMode;
 import org.hisp.dhis.tracker.bundle.TrackerBundleService;
+import org.hisp.dhis.tracker.domain.TrackerDto;
 import org.hisp.dhis.tracker.job.TrackerSideEffectDataBundle;
 import org.hisp.dhis.tracker.preprocess.TrackerPreprocessService;
 import org.hisp.dhis.tracker.report.ImportReport;
@@ -64,7 +68,10 @@ import org.hisp.dhis.tracker.validation.ValidationResult;
 import org.hisp.dhis.tracker.validation.ValidationService;
 import org.hisp.dhis.user.User;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * @author Morten Olav Hansen <mortenoh@gmail.com>
@@ -90,6 +97,9 @@ public class DefaultTrackerImportService
     @Nonnull
     private final Notifier notifier;
 
+    @Nonnull
+    private final PlatformTransactionManager transactionManager;
+
     @Override
     @Transactional
     public ImportReport importTracker( TrackerImportParams params )
@@ -103,6 +113,11 @@ public class DefaultTrackerImportService
 
         try
         {
+            if ( isImportInChunks( params ) )
+            {
+                return importChunks( params, opsTimer );
+            }
+
             TrackerBundle trackerBundle = preHeat( params, opsTimer );
 
             Map<TrackerType, Integer> bundleSize = calculatePayloadSize( trackerBundle );
@@ -142,6 +157,119 @@ public class DefaultTrackerImportService
         }
     }
 
+    private boolean isImportInChunks( TrackerImportParams params )
+    {
+        return params.getChunkSize() > 0
+            && params.getAtomicMode() == AtomicMode.OBJECT
+            && params.getImportMode() == TrackerBundleMode.COMMIT
+            && TrackerType.getOrderedByPriority().stream()
+                .mapToInt( type -> getObjects( params, type ).size() ).sum() > params.getChunkSize();
+    }
+
+    /**
+     * Imports the objects of the given params in chunks of at most
+     * {@link TrackerImportParams#getChunkSize()} objects of the same type. Each
+     * chunk runs through preheat, validation and commit in its own transaction
+     * so that the preheat, the bundle and the session only ever hold the
+     * objects of one chunk. Chunks are imported in the order of the
+     * dependencies between the types, or in reverse order when deleting.
+     */
+    private ImportReport importChunks( TrackerImportParams params, TimingsStats opsTimer )
+    {
+        TransactionTemplate transactionTemplate = new TransactionTemplate( transactionManager );
+        transactionTemplate.setPropagationBehavior( TransactionDefinition.PROPAGATION_REQUIRES_NEW );
+
+        List<TrackerType> types = TrackerType.getOrderedByPriority();
+        if ( params.getImportStrategy().isDelete() )
+        {
+            Collections.reverse( types );
+        }
+
+        ValidationReport validationReport = ValidationReport.emptyReport();
+        PersistenceReport persistenceReport = PersistenceReport.emptyReport();
+        Map<TrackerType, Integer> bundleSize = new EnumMap<>( TrackerType.class );
+        for ( TrackerType type : types )
+        {
+            int size = getObjects( params, type ).size();
+            bundleSize.put( type, size );
+            for ( int from = 0; from < size; from += params.getChunkSize() )
+            {
+                int to = Math.min( size, from + params.getChunkSize() );
+                TrackerImportParams chunk = chunk( params, type, from, to );
+                int indexOffset = from;
+                transactionTemplate.executeWithoutResult( status -> {
+                    TrackerBundle trackerBundle = preheatBundle( chunk );
+                    preProcessBundle( trackerBundle );
+                    ValidationReport chunkValidationReport = validate( chunk, new TimingsStats(), trackerBundle );
+                    validationReport.addErrors( chunkValidationReport.getErrors() );
+                    validationReport.addWarnings( chunkValidationReport.getWarnings() );
+                    persistenceReport.merge( commit( chunk, new TimingsStats(), trackerBundle ), indexOffset );
+                    postCommit( trackerBundle );
+                } );
+
+                notifyChunk( params, type, to, size );
+            }
+        }
+
+        ImportReport importReport = ImportReport.withImportCompleted(
+            Status.OK,
+            persistenceReport, validationReport,
+            opsTimer.stopTimer(), bundleSize );
+
+        endImport( params, importReport );
+
+        return importReport;
+    }
+
+    /**
+     * Creates the params of a chunk containing the objects of the given type in
+     * the range {@code [from, to)}. The chunk has no job configuration so that
+     * the stages of each chunk are not notified individually.
+     */
+    private static TrackerImportParams chunk( TrackerImportParams params, TrackerType type, int from, int to )
+    {
+        TrackerImportParams chunk = params.toBuilder()
+            .jobConfiguration( null )
+            .trackedEntities( new ArrayList<>() )
+            .enrollments( new ArrayList<>() )
+            .events( new ArrayList<>() )
+            .relationships( new ArrayList<>() )
+            .build();
+        switch ( type )
+        {
+        case TRACKED_ENTITY:
+            chunk.getTrackedEntities().addAll( params.getTrackedEntities().subList( from, to ) );
+            break;
+        case ENROLLMENT:
+            chunk.getEnrollments().addAll( params.getEnrollments().subList( from, to ) );
+            break;
+        case EVENT:
+            chunk.getEvents().addAll( params.getEvents().subList( from, to ) );
+            break;
+        case RELATIONSHIP:
+            chunk.getRelationships().addAll( params.getRelationships().subList( from, to ) );
+            break;
+        }
+        return chunk;
+    }
+
+    private static List<? extends TrackerDto> getObjects( TrackerImportParams params, TrackerType type )
+    {
+        switch ( type )
+        {
+        case TRACKED_ENTITY:
+            return params.getTrackedEntities();
+        case ENROLLMENT:
+            return params.getEnrollments();
+        case EVENT:
+            return params.getEvents();
+        case RELATIONSHIP:
+            return params.getRelationships();
+        default:
+            throw new IllegalStateException( "TrackerType " + type.getName() + " not yet supported." );
+        }
+    }
+
     private TrackerBundle preHeat( TrackerImportParams params, TimingsStats opsTimer )
     {
         TrackerBundle trackerBundle = opsTimer.exec( PREHEAT_OPS,
@@ -321,6 +449,17 @@ public class DefaultTrackerImportService
         }
     }
 
+    private void notifyChunk( TrackerImportParams params, TrackerType type, int imported, int size )
+    {
+        if ( null != params.getJobConfiguration() )
+        {
+            notifier
+                .update( params.getJobConfiguration(), NotificationLevel.DEBUG,
+                    params + " imported " + imported + " of " + size + " " + type.getName()
+                        + " Import:Chunk" );
+        }
+    }
+
     private void endImport( TrackerImportParams params, ImportReport importReport )
     {
         if ( null != params.getJobConfiguration() )
@@ -51,7 +51,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
  * @author Morten Olav Hansen <mortenoh@gmail.com>
  */
 @Data
-@Builder
+@Builder( toBuilder = true )
 @NoArgsConstructor
 @AllArgsConstructor
 public class TrackerImportParams
@@ -130,6 +130,17 @@ public class TrackerImportParams
     @Builder.Default
     private final boolean skipRuleEngine = false;
 
+    /**
+     * Maximum number of objects imported together when the import is split into
+     * chunks. Each chunk is preheated, validated and committed in its own
+     * transaction, tracked entities first, followed by enrollments, events and
+     * relationships. Chunks are only used with {@link AtomicMode#OBJECT}, 0
+     * imports all objects as one bundle.
+     */
+    @JsonProperty
+    @Builder.Default
+    private final int chunkSize = 0;
+
     /**
      * Name of file that was used for import (if available).
      */
@@ -47,6 +47,8 @@ import org.hibernate.Session;
 import org.hisp.dhis.common.AuditType;
 import org.hisp.dhis.common.BaseIdentifiableObject;
 import org.hisp.dhis.common.ValueType;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.hisp.dhis.fileresource.FileResource;
 import org.hisp.dhis.reservedvalue.ReservedValueService;
 import org.hisp.dhis.trackedentity.TrackedEntityAttribute;
@@ -79,6 +81,8 @@ public abstract class AbstractTrackerPersister<T extends TrackerDto, V extends B
 
     protected final TrackedEntityAttributeValueAuditService trackedEntityAttributeValueAuditService;
 
+    protected final DhisConfigurationProvider config;
+
     /**
      * Template method that can be used by classes extending this class to
      * execute the persistence flow of Tracker entities
@@ -104,6 +108,8 @@ public abstract class AbstractTrackerPersister<T extends TrackerDto, V extends B
 
         Set<String> updatedTeiList = bundle.getUpdatedTeis();
 
+        TrackedEntityAttributeValueWriter attributeValueWriter = createAttributeValueWriter( session );
+
         for ( int idx = 0; idx < dtos.size(); idx++ )
         {
             //
@@ -140,13 +146,15 @@ public abstract class AbstractTrackerPersister<T extends TrackerDto, V extends B
                     session.persist( convertedDto );
                     typeReport.getStats().incCreated();
                     typeReport.addEntity( objectReport );
-                    updateAttributes( session, bundle.getPreheat(), trackerDto, convertedDto );
+                    updateAttributes( session, bundle.getPreheat(), trackerDto, convertedDto,
+                        attributeValueWriter );
                 }
                 else
                 {
                     if ( isUpdatable() )
                     {
-                        updateAttributes( session, bundle.getPreheat(), trackerDto, convertedDto );
+                        updateAttributes( session, bundle.getPreheat(), trackerDto, convertedDto,
+                            attributeValueWriter );
                         session.merge( convertedDto );
                         typeReport.getStats().incUpdated();
                         typeReport.addEntity( objectReport );
@@ -166,6 +174,7 @@ public abstract class AbstractTrackerPersister<T extends TrackerDto, V extends B
                 if ( FlushMode.OBJECT == bundle.getFlushMode() )
                 {
                     session.flush();
+                    attributeValueWriter.flush();
                 }
 
                 if ( !bundle.isSkipSideEffects() )
@@ -196,6 +205,20 @@ public abstract class AbstractTrackerPersister<T extends TrackerDto, V extends B
             }
         }
 
+        //
+        // Write the attribute values buffered by the writer, if any. Failures
+        // here cannot be attributed to a single entity anymore.
+        //
+        try
+        {
+            attributeValueWriter.flush();
+        }
+        catch ( Exception e )
+        {
+            throw new PersistenceException( "Attribute values of Tracker Entities of type '"
+                + getType().getName() + "' failed to persist.", e );
+        }
+
         typeReport.getSideEffectDataBundles().addAll( sideEffectDataBundles );
 
         return typeReport;
@@ -240,7 +263,7 @@ public abstract class AbstractTrackerPersister<T extends TrackerDto, V extends B
      * processed
      */
     protected abstract void updateAttributes( Session session, TrackerPreheat preheat,
-        T trackerDto, V hibernateEntity );
+        T trackerDto, V hibernateEntity, TrackedEntityAttributeValueWriter attributeValueWriter );
 
     /**
      * Updates the {@link TrackerPreheat} object with the entity that has been
@@ -312,6 +335,21 @@ public abstract class AbstractTrackerPersister<T extends TrackerDto, V extends B
     // // // // // // // //
     // // // // // // // //
 
+    /**
+     * Creates the writer for the attribute values of the entities persisted
+     * with the given session. Attribute values are written with multi-row JDBC
+     * statements if enabled, and one by one through the session otherwise.
+     */
+    protected TrackedEntityAttributeValueWriter createAttributeValueWriter( Session session )
+    {
+        if ( config.isEnabled( ConfigurationKey.TRACKER_IMPORT_JDBC_BATCH_ENABLED ) )
+        {
+            return new JdbcTrackedEntityAttributeValueWriter( session );
+        }
+
+        return new HibernateTrackedEntityAttributeValueWriter( session );
+    }
+
     protected void assignFileResource( Session session, TrackerPreheat preheat,
         String fileResourceOwner, String fr )
     {
@@ -340,7 +378,8 @@ public abstract class AbstractTrackerPersister<T extends TrackerDto, V extends B
     }
 
     protected void handleTrackedEntityAttributeValues( Session session, TrackerPreheat preheat,
-        List<Attribute> payloadAttributes, TrackedEntityInstance trackedEntityInstance )
+        List<Attribute> payloadAttributes, TrackedEntityInstance trackedEntityInstance,
+        TrackedEntityAttributeValueWriter attributeValueWriter )
     {
         if ( payloadAttributes.isEmpty() )
         {
@@ -375,7 +414,8 @@ public abstract class AbstractTrackerPersister<T extends TrackerDto, V extends B
 
                 if ( isDelete )
                 {
-                    delete( session, preheat, trackedEntityAttributeValue, trackedEntityInstance );
+                    delete( session, preheat, trackedEntityAttributeValue, trackedEntityInstance,
+                        attributeValueWriter );
                 }
                 else
                 {
@@ -392,7 +432,7 @@ public abstract class AbstractTrackerPersister<T extends TrackerDto, V extends B
                         .setValue( attribute.getValue() );
 
                     saveOrUpdate( session, preheat, isNew, trackedEntityInstance, trackedEntityAttributeValue,
-                        isUpdated );
+                        isUpdated, attributeValueWriter );
                 }
 
                 handleReservedValue( trackedEntityAttributeValue );
@@ -400,7 +440,8 @@ public abstract class AbstractTrackerPersister<T extends TrackerDto, V extends B
     }
 
     private void delete( Session session, TrackerPreheat preheat,
-        TrackedEntityAttributeValue trackedEntityAttributeValue, TrackedEntityInstance trackedEntityInstance )
+        TrackedEntityAttributeValue trackedEntityAttributeValue, TrackedEntityInstance trackedEntityInstance,
+        TrackedEntityAttributeValueWriter attributeValueWriter )
     {
         if ( isFileResource( trackedEntityAttributeValue ) )
         {
@@ -408,7 +449,7 @@ public abstract class AbstractTrackerPersister<T extends TrackerDto, V extends B
                 trackedEntityAttributeValue.getValue() );
         }
 
-        session.remove( trackedEntityAttributeValue );
+        attributeValueWriter.delete( trackedEntityAttributeValue );
 
         logTrackedEntityAttributeValueHistory(
             preheat.getUsername(),
@@ -419,7 +460,7 @@ public abstract class AbstractTrackerPersister<T extends TrackerDto, V extends B
 
     private void saveOrUpdate( Session session, TrackerPreheat preheat, boolean isNew,
         TrackedEntityInstance trackedEntityInstance, TrackedEntityAttributeValue trackedEntityAttributeValue,
-        boolean isUpdated )
+        boolean isUpdated, TrackedEntityAttributeValueWriter attributeValueWriter )
     {
         if ( isFileResource( trackedEntityAttributeValue ) )
         {
@@ -431,7 +472,7 @@ public abstract class AbstractTrackerPersister<T extends TrackerDto, V extends B
 
         if ( isNew )
         {
-            session.persist( trackedEntityAttributeValue );
+            attributeValueWriter.save( trackedEntityAttributeValue, true );
             // In case it's a newly created attribute we'll add it back to TEI,
             // so it can end up in preheat
             trackedEntityInstance.getTrackedEntityAttributeValues().add( trackedEntityAttributeValue );
@@ -439,7 +480,7 @@ public abstract class AbstractTrackerPersister<T extends TrackerDto, V extends B
         }
         else
         {
-            session.merge( trackedEntityAttributeValue );
+            attributeValueWriter.save( trackedEntityAttributeValue, false );
 
             if ( isUpdated )
             {
@@ -32,6 +32,7 @@ import java.util.HashMap;
 import java.util.Objects;
 
 import org.hibernate.Session;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.hisp.dhis.program.ProgramInstance;
 import org.hisp.dhis.reservedvalue.ReservedValueService;
 import org.hisp.dhis.trackedentity.TrackedEntityProgramOwnerService;
@@ -66,9 +67,10 @@ public class EnrollmentPersister extends AbstractTrackerPersister<Enrollment, Pr
         TrackedEntityCommentService trackedEntityCommentService,
         TrackerSideEffectConverterService sideEffectConverterService,
         TrackedEntityProgramOwnerService trackedEntityProgramOwnerService,
-        TrackedEntityAttributeValueAuditService trackedEntityAttributeValueAuditService )
+        TrackedEntityAttributeValueAuditService trackedEntityAttributeValueAuditService,
+        DhisConfigurationProvider config )
     {
-        super( reservedValueService, trackedEntityAttributeValueAuditService );
+        super( reservedValueService, trackedEntityAttributeValueAuditService, config );
 
         this.enrollmentConverter = enrollmentConverter;
         this.trackedEntityCommentService = trackedEntityCommentService;
@@ -78,10 +80,12 @@ public class EnrollmentPersister extends AbstractTrackerPersister<Enrollment, Pr
 
     @Override
     protected void updateAttributes( Session session, TrackerPreheat preheat,
-        Enrollment enrollment, ProgramInstance programInstance )
+        Enrollment enrollment, ProgramInstance programInstance,
+        TrackedEntityAttributeValueWriter attributeValueWriter )
     {
         handleTrackedEntityAttributeValues( session, preheat, enrollment.getAttributes(),
-            preheat.getTrackedEntity( programInstance.getEntityInstance().getUid() ) );
+            preheat.getTrackedEntity( programInstance.getEntityInstance().getUid() ),
+            attributeValueWriter );
     }
 
     @Override
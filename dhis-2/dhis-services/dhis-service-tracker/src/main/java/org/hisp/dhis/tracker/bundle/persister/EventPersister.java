@@ -48,6 +48,7 @@ import org.hibernate.Session;
 import org.hisp.dhis.common.AuditType;
 import org.hisp.dhis.dataelement.DataElement;
 import org.hisp.dhis.eventdatavalue.EventDataValue;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.hisp.dhis.program.ProgramStageInstance;
 import org.hisp.dhis.reservedvalue.ReservedValueService;
 import org.hisp.dhis.trackedentityattributevalue.TrackedEntityAttributeValueAuditService;
@@ -85,9 +86,10 @@ public class EventPersister extends AbstractTrackerPersister<Event, ProgramStage
         TrackedEntityCommentService trackedEntityCommentService,
         TrackerSideEffectConverterService sideEffectConverterService,
         TrackedEntityAttributeValueAuditService trackedEntityAttributeValueAuditService,
-        TrackedEntityDataValueAuditService trackedEntityDataValueAuditService )
+        TrackedEntityDataValueAuditService trackedEntityDataValueAuditService,
+        DhisConfigurationProvider config )
     {
-        super( reservedValueService, trackedEntityAttributeValueAuditService );
+        super( reservedValueService, trackedEntityAttributeValueAuditService, config );
         this.eventConverter = eventConverter;
         this.trackedEntityCommentService = trackedEntityCommentService;
         this.sideEffectConverterService = sideEffectConverterService;
@@ -151,7 +153,8 @@ public class EventPersister extends AbstractTrackerPersister<Event, ProgramStage
 
     @Override
     protected void updateAttributes( Session session, TrackerPreheat preheat,
-        Event event, ProgramStageInstance programStageInstance )
+        Event event, ProgramStageInstance programStageInstance,
+        TrackedEntityAttributeValueWriter attributeValueWriter )
     {
         // DO NOTHING - EVENT HAVE NO ATTRIBUTES
     }
@@ -25,64 +25,45 @@
  * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
  * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
  */
-package org.hisp.dhis.datasource;
+package org.hisp.dhis.tracker.bundle.persister;
 
-import java.sql.Connection;
-import java.sql.SQLException;
-import java.util.Collections;
-import java.util.Iterator;
-import java.util.List;
+import lombok.RequiredArgsConstructor;
 
-import javax.sql.DataSource;
-
-import org.springframework.jdbc.datasource.AbstractDataSource;
-
-import com.google.common.collect.Iterators;
+import org.hibernate.Session;
+import org.hisp.dhis.trackedentityattributevalue.TrackedEntityAttributeValue;
 
 /**
- * Data source implementation which routes to the configured target data sources
- * in a circular fashion.
- *
- * @author Lars Helge Overland
+ * {@link TrackedEntityAttributeValueWriter} writing each attribute value
+ * through the Hibernate {@link Session}.
  */
-public class CircularRoutingDataSource
-    extends AbstractDataSource
+@RequiredArgsConstructor
+public class HibernateTrackedEntityAttributeValueWriter
+    implements TrackedEntityAttributeValueWriter
 {
-    private Iterator<DataSource> dataSourceIterator;
-
-    public CircularRoutingDataSource()
-    {
-    }
-
-    public CircularRoutingDataSource( List<DataSource> targetDataSources )
-    {
-        this.dataSourceIterator = Iterators.cycle( Collections.synchronizedList( targetDataSources ) );
-    }
-
-    // -------------------------------------------------------------------------
-    // AbstractDataSource implementation
-    // -------------------------------------------------------------------------
+    private final Session session;
 
     @Override
-    public Connection getConnection()
-        throws SQLException
+    public void save( TrackedEntityAttributeValue attributeValue, boolean isNew )
     {
-        return getDataSource().getConnection();
+        if ( isNew )
+        {
+            session.persist( attributeValue );
+        }
+        else
+        {
+            session.merge( attributeValue );
+        }
     }
 
     @Override
-    public Connection getConnection( String username, String password )
-        throws SQLException
+    public void delete( TrackedEntityAttributeValue attributeValue )
     {
-        return getDataSource().getConnection( username, password );
+        session.remove( attributeValue );
     }
 
-    // -------------------------------------------------------------------------
-    // Private methods
-    // -------------------------------------------------------------------------
-
-    private synchronized DataSource getDataSource()
+    @Override
+    public void flush()
     {
-        return dataSourceIterator.next();
+        // DO NOTHING - values are written as part of the Hibernate session
     }
 }
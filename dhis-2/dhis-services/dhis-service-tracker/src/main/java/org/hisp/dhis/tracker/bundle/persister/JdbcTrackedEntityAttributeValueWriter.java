@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.tracker.bundle.persister;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.hibernate.Session;
+import org.hisp.dhis.trackedentityattributevalue.TrackedEntityAttributeValue;
+
+import com.google.common.collect.Lists;
+
+/**
+ * {@link TrackedEntityAttributeValueWriter} buffering attribute values and
+ * writing them with multi-row insert/upsert and delete statements, in the
+ * manner of the batch handlers in dhis-support-jdbc.
+ * <p>
+ * The statements are executed on the connection of the given Hibernate
+ * {@link Session}, so that they take part in the transaction of the import and
+ * can reference tracked entities persisted by Hibernate earlier in the same
+ * transaction. Buffered values are evicted from the session, so they are
+ * written once, by the JDBC statements. Values of confidential attributes are
+ * encrypted by Hibernate and are therefore still written through the session.
+ * <p>
+ * Events and enrollments themselves are still written through the session.
+ * Their notes, program ownership, relationships, audits and side effects are
+ * built from the managed entities, which a JDBC write would bypass.
+ */
+public class JdbcTrackedEntityAttributeValueWriter
+    implements TrackedEntityAttributeValueWriter
+{
+    private static final String TABLE_NAME = "trackedentityattributevalue";
+
+    private static final List<String> UNIQUE_COLUMNS = List.of( "trackedentityinstanceid",
+        "trackedentityattributeid" );
+
+    private static final List<String> COLUMNS = List.of( "trackedentityinstanceid", "trackedentityattributeid",
+        "created", "lastupdated", "value", "storedby" );
+
+    private static final List<String> UPDATE_COLUMNS = List.of( "lastupdated", "value", "storedby" );
+
+    /**
+     * Keeps the number of bind parameters of a statement well below the limit
+     * of the database driver.
+     */
+    private static final int MAX_ROWS_PER_STATEMENT = 1000;
+
+    private final Session session;
+
+    private final TrackedEntityAttributeValueWriter hibernateWriter;
+
+    private final Map<String, TrackedEntityAttributeValue> upserts = new LinkedHashMap<>();
+
+    private final Map<String, TrackedEntityAttributeValue> deletes = new LinkedHashMap<>();
+
+    public JdbcTrackedEntityAttributeValueWriter( Session session )
+    {
+        this.session = session;
+        this.hibernateWriter = new HibernateTrackedEntityAttributeValueWriter( session );
+    }
+
+    @Override
+    public void save( TrackedEntityAttributeValue attributeValue, boolean isNew )
+    {
+        if ( attributeValue.getAttribute().isConfidentialBool() )
+        {
+            hibernateWriter.save( attributeValue, isNew );
+            return;
+        }
+
+        detach( attributeValue );
+
+        String key = getKey( attributeValue );
+        deletes.remove( key );
+        upserts.put( key, attributeValue );
+    }
+
+    @Override
+    public void delete( TrackedEntityAttributeValue attributeValue )
+    {
+        if ( attributeValue.getAttribute().isConfidentialBool() )
+        {
+            hibernateWriter.delete( attributeValue );
+            return;
+        }
+
+        detach( attributeValue );
+
+        String key = getKey( attributeValue );
+        upserts.remove( key );
+        deletes.put( key, attributeValue );
+    }
+
+    @Override
+    public void flush()
+    {
+        if ( upserts.isEmpty() && deletes.isEmpty() )
+        {
+            return;
+        }
+
+        // Tracked entities persisted through the session must be written
+        // before their attribute values can reference them. The buffered
+        // values are detached, so the flush does not write them as well
+
+        session.flush();
+
+        List<TrackedEntityAttributeValue> toDelete = new ArrayList<>( deletes.values() );
+        List<TrackedEntityAttributeValue> toUpsert = new ArrayList<>( upserts.values() );
+
+        deletes.clear();
+        upserts.clear();
+
+        toUpsert.forEach( TrackedEntityAttributeValue::setAutoFields );
+
+        session.doWork( connection -> {
+            for ( List<TrackedEntityAttributeValue> rows : Lists.partition( toDelete, MAX_ROWS_PER_STATEMENT ) )
+            {
+                execute( connection, getDeleteSql( rows.size() ), rows, false );
+            }
+
+            for ( List<TrackedEntityAttributeValue> rows : Lists.partition( toUpsert, MAX_ROWS_PER_STATEMENT ) )
+            {
+                execute( connection, getUpsertSql( rows.size() ), rows, true );
+            }
+        } );
+    }
+
+    // -------------------------------------------------------------------------
+    // Supportive methods
+    // -------------------------------------------------------------------------
+
+    /**
+     * Evicts an attribute value loaded by the session, so that changes made to
+     * it by the persister are written by the JDBC statements only, and deleted
+     * values are not kept in the session.
+     */
+    private void detach( TrackedEntityAttributeValue attributeValue )
+    {
+        if ( session.contains( attributeValue ) )
+        {
+            session.evict( attributeValue );
+        }
+    }
+
+    private static void execute( Connection connection, String sql, List<TrackedEntityAttributeValue> rows,
+        boolean includeValues )
+        throws SQLException
+    {
+        try ( PreparedStatement statement = connection.prepareStatement( sql ) )
+        {
+            int index = 1;
+
+            for ( TrackedEntityAttributeValue row : rows )
+            {
+                statement.setLong( index++, row.getEntityInstance().getId() );
+                statement.setLong( index++, row.getAttribute().getId() );
+
+                if ( includeValues )
+                {
+                    statement.setTimestamp( index++, new Timestamp( row.getCreated().getTime() ) );
+                    statement.setTimestamp( index++, new Timestamp( row.getLastUpdated().getTime() ) );
+                    statement.setString( index++, row.getPlainValue() );
+                    statement.setString( index++, row.getStoredBy() );
+                }
+            }
+
+            statement.executeUpdate();
+        }
+    }
+
+    static String getUpsertSql( int rows )
+    {
+        return "insert into " + TABLE_NAME + " (" + String.join( ", ", COLUMNS ) + ") values "
+            + getPlaceholderRows( COLUMNS.size(), rows )
+            + " on conflict (" + String.join( ", ", UNIQUE_COLUMNS ) + ") do update set "
+            + UPDATE_COLUMNS.stream().map( c -> c + " = excluded." + c ).collect( Collectors.joining( ", " ) );
+    }
+
+    static String getDeleteSql( int rows )
+    {
+        return "delete from " + TABLE_NAME + " where (" + String.join( ", ", UNIQUE_COLUMNS ) + ") in ("
+            + getPlaceholderRows( UNIQUE_COLUMNS.size(), rows ) + ")";
+    }
+
+    private static String getPlaceholderRows( int columns, int rows )
+    {
+        String row = "(" + String.join( ", ", Collections.nCopies( columns, "?" ) ) + ")";
+
+        return String.join( ", ", Collections.nCopies( rows, row ) );
+    }
+
+    private static String getKey( TrackedEntityAttributeValue attributeValue )
+    {
+        return attributeValue.getEntityInstance().getUid() + "." + attributeValue.getAttribute().getUid();
+    }
+}
@@ -28,6 +28,7 @@
 package org.hisp.dhis.tracker.bundle.persister;
 
 import org.hibernate.Session;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.hisp.dhis.reservedvalue.ReservedValueService;
 import org.hisp.dhis.trackedentityattributevalue.TrackedEntityAttributeValueAuditService;
 import org.hisp.dhis.tracker.TrackerType;
@@ -49,10 +50,11 @@ public class RelationshipPersister
 
     public RelationshipPersister( ReservedValueService reservedValueService,
         TrackerConverterService<Relationship, org.hisp.dhis.relationship.Relationship> relationshipConverter,
-        TrackedEntityAttributeValueAuditService trackedEntityAttributeValueAuditService )
+        TrackedEntityAttributeValueAuditService trackedEntityAttributeValueAuditService,
+        DhisConfigurationProvider config )
 
     {
-        super( reservedValueService, trackedEntityAttributeValueAuditService );
+        super( reservedValueService, trackedEntityAttributeValueAuditService, config );
         this.relationshipConverter = relationshipConverter;
     }
 
@@ -70,7 +72,8 @@ public class RelationshipPersister
 
     @Override
     protected void updateAttributes( Session session, TrackerPreheat preheat, Relationship trackerDto,
-        org.hisp.dhis.relationship.Relationship hibernateEntity )
+        org.hisp.dhis.relationship.Relationship hibernateEntity,
+        TrackedEntityAttributeValueWriter attributeValueWriter )
     {
         // NOTHING TO DO
     }
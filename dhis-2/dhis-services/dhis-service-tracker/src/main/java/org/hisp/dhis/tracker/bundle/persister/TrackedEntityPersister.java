@@ -32,6 +32,7 @@ import java.util.Collections;
 import javax.annotation.Nonnull;
 
 import org.hibernate.Session;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.hisp.dhis.reservedvalue.ReservedValueService;
 import org.hisp.dhis.trackedentity.TrackedEntityInstance;
 import org.hisp.dhis.trackedentityattributevalue.TrackedEntityAttributeValueAuditService;
@@ -54,17 +55,20 @@ public class TrackedEntityPersister extends AbstractTrackerPersister<TrackedEnti
 
     public TrackedEntityPersister( ReservedValueService reservedValueService,
         TrackerConverterService<TrackedEntity, TrackedEntityInstance> teConverter,
-        TrackedEntityAttributeValueAuditService trackedEntityAttributeValueAuditService )
+        TrackedEntityAttributeValueAuditService trackedEntityAttributeValueAuditService,
+        DhisConfigurationProvider config )
     {
-        super( reservedValueService, trackedEntityAttributeValueAuditService );
+        super( reservedValueService, trackedEntityAttributeValueAuditService, config );
         this.teConverter = teConverter;
     }
 
     @Override
     protected void updateAttributes( Session session, TrackerPreheat preheat,
-        TrackedEntity trackerDto, TrackedEntityInstance tei )
+        TrackedEntity trackerDto, TrackedEntityInstance tei,
+        TrackedEntityAttributeValueWriter attributeValueWriter )
     {
-        handleTrackedEntityAttributeValues( session, preheat, trackerDto.getAttributes(), tei );
+        handleTrackedEntityAttributeValues( session, preheat, trackerDto.getAttributes(), tei,
+            attributeValueWriter );
     }
 
     @Override
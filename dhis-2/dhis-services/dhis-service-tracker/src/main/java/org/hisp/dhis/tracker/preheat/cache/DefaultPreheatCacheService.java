@@ -27,20 +27,31 @@
  */
 package org.hisp.dhis.tracker.preheat.cache;
 
+import static java.lang.Integer.parseInt;
+import static org.hisp.dhis.commons.util.SystemUtils.isTestRun;
+
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiFunction;
 
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
 import org.cache2k.Cache;
 import org.cache2k.Cache2kBuilder;
+import org.cache2k.CacheEntry;
+import org.cache2k.event.CacheEntryEvictedListener;
+import org.cache2k.event.CacheEntryExpiredListener;
+import org.hibernate.Hibernate;
+import org.hisp.dhis.cache.GenericSizeof;
 import org.hisp.dhis.common.IdentifiableObject;
 import org.hisp.dhis.common.event.ApplicationCacheClearedEvent;
+import org.hisp.dhis.external.conf.ConfigurationKey;
 import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.hisp.dhis.tracker.TrackerIdScheme;
 import org.springframework.context.event.EventListener;
@@ -50,6 +61,19 @@ import org.springframework.stereotype.Service;
 /**
  * Pre-heat cache implementation for metadata objects.
  *
+ * The cache is shared by all tracker imports running at the same time and
+ * therefore only uses concurrent data structures. Each region keeps hit, miss
+ * and eviction counts together with an estimate of the memory used by its
+ * entries. All regions together are capped to a percentage of the JVM heap (see
+ * {@link ConfigurationKey#TRACKER_IMPORT_PREHEAT_CACHE_CAP_PERCENTAGE}). Once
+ * the cap is reached new entries are not cached until memory got freed by
+ * evictions or invalidation.
+ *
+ * The cache is off by default (see
+ * {@link ConfigurationKey#TRACKER_IMPORT_PREHEAT_CACHE_ENABLED}). It holds the
+ * entity instances loaded by the import which first requested them, and all
+ * regions are invalidated on any metadata change committed on this node.
+ *
  * @author Luciano Fiandesio
  */
 @RequiredArgsConstructor
@@ -60,26 +84,161 @@ public class DefaultPreheatCacheService implements PreheatCacheService
 
     private final Environment environment;
 
+    private final GenericSizeof sizeof = new GenericSizeof( 20L, Hibernate::unproxy );
+
     /**
      * Data structure to hold the metadata cache:
      *
      * - the key is the full class name of the metadata class getting cached
      * (e.g. "org.hisp.dhis.program.Program")
      *
-     * - the value is a Cache2K cache holding the objects to cache
+     * - the value is a {@link PreheatCacheRegion} holding the objects to cache
      *
      * Caveat: this data structure may reference multiple times the same
      * objects, if different {@link TrackerIdScheme} are used during different
      * imports.
      */
-    private static final Map<String, Cache<String, IdentifiableObject>> cache = new HashMap<>();
+    private final ConcurrentMap<String, PreheatCacheRegion> regions = new ConcurrentHashMap<>();
+
+    /**
+     * Estimated number of bytes used by all regions.
+     */
+    private final AtomicLong totalSize = new AtomicLong();
+
+    /**
+     * A cached object together with its estimated size, which is computed once
+     * when the object is put, so that removing the entry does not need to walk
+     * the object again.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    private static final class SizedObject
+    {
+        private final IdentifiableObject object;
+
+        private final long size;
+    }
+
+    private final class PreheatCacheRegion
+        implements CacheEntryEvictedListener<String, SizedObject>,
+        CacheEntryExpiredListener<String, SizedObject>
+    {
+        private final String key;
+
+        private final Cache<String, SizedObject> entries;
+
+        private final AtomicLong size = new AtomicLong();
+
+        private final AtomicLong hits = new AtomicLong();
+
+        private final AtomicLong misses = new AtomicLong();
+
+        private final AtomicLong evictions = new AtomicLong();
+
+        private final AtomicLong rejections = new AtomicLong();
+
+        PreheatCacheRegion( String key, int cacheTTL, long capacity )
+        {
+            this.key = key;
+            this.entries = new Cache2kBuilder<String, SizedObject>()
+            {
+            }
+                .expireAfterWrite( cacheTTL, TimeUnit.MINUTES )
+                .name( key )
+                .permitNullValues( false )
+                .entryCapacity( capacity == -1 ? Long.MAX_VALUE : capacity )
+                .resilienceDuration( 30, TimeUnit.SECONDS ) // cope with at
+                // most 30
+                // seconds
+                // outage before propagating exceptions
+                .addListener( this )
+                .build();
+        }
+
+        Optional<IdentifiableObject> get( String id )
+        {
+            SizedObject value = entries.peek( id );
+            (value == null ? misses : hits).incrementAndGet();
+            return Optional.ofNullable( value ).map( SizedObject::getObject );
+        }
+
+        List<IdentifiableObject> getAll()
+        {
+            List<IdentifiableObject> objects = new ArrayList<>();
+            entries.asMap().values().forEach( value -> objects.add( value.getObject() ) );
+            return objects;
+        }
+
+        void put( String id, IdentifiableObject object )
+        {
+            long entrySize = sizeof.sizeof( id ) + sizeof.sizeof( object );
+            if ( totalSize.get() + entrySize > getCapSize() )
+            {
+                rejections.incrementAndGet();
+                return;
+            }
+            SizedObject oldValue = entries.peekAndPut( id, new SizedObject( object, entrySize ) );
+            updateSize( oldValue == null ? entrySize : entrySize - oldValue.getSize() );
+        }
+
+        /**
+         * Removes the entries one by one, so that each removal accounts for
+         * exactly the size of the entry it removed, also while other threads
+         * put entries concurrently.
+         */
+        void invalidateAll()
+        {
+            for ( String id : entries.keys() )
+            {
+                SizedObject oldValue = entries.peekAndRemove( id );
+                if ( oldValue != null )
+                {
+                    updateSize( -oldValue.getSize() );
+                }
+            }
+        }
+
+        @Override
+        public void onEntryEvicted( Cache<String, SizedObject> cache, CacheEntry<String, SizedObject> entry )
+        {
+            remove( entry );
+        }
+
+        @Override
+        public void onEntryExpired( Cache<String, SizedObject> cache, CacheEntry<String, SizedObject> entry )
+        {
+            remove( entry );
+        }
+
+        private void remove( CacheEntry<String, SizedObject> entry )
+        {
+            evictions.incrementAndGet();
+            updateSize( -entry.getValue().getSize() );
+        }
+
+        private void updateSize( long sizeDelta )
+        {
+            size.addAndGet( sizeDelta );
+            totalSize.addAndGet( sizeDelta );
+        }
+
+        PreheatCacheRegionInfo getInfo()
+        {
+            return new PreheatCacheRegionInfo( key, entries.asMap().size(), hits.get(), misses.get(),
+                evictions.get(), rejections.get(), size.get() );
+        }
+    }
 
     @Override
     public Optional<IdentifiableObject> get( final String cacheKey, final String id )
     {
-        if ( isCacheEnabled() && cache.containsKey( cacheKey ) )
+        if ( isCacheEnabled() )
         {
-            return Optional.ofNullable( cache.get( cacheKey ).get( id ) );
+            PreheatCacheRegion region = regions.get( cacheKey );
+            if ( region != null )
+            {
+                return region.get( id );
+            }
         }
 
         return Optional.empty();
@@ -112,20 +271,14 @@ public class DefaultPreheatCacheService implements PreheatCacheService
     @Override
     public boolean hasKey( String cacheKey )
     {
-        return cache.containsKey( cacheKey );
+        return regions.containsKey( cacheKey );
     }
 
+    @Override
     public List<IdentifiableObject> getAll( String cacheKey )
     {
-        List<IdentifiableObject> res = new ArrayList<>();
-        if ( hasKey( cacheKey ) )
-        {
-            cache.get( cacheKey ).keys().forEach( k -> {
-                res.add( cache.get( cacheKey ).get( k ) );
-            } );
-        }
-        return res;
-
+        PreheatCacheRegion region = regions.get( cacheKey );
+        return region == null ? new ArrayList<>() : region.getAll();
     }
 
     @Override
@@ -137,32 +290,19 @@ public class DefaultPreheatCacheService implements PreheatCacheService
 
         if ( isCacheEnabled() )
         {
-            if ( cache.containsKey( cacheKey ) )
-            {
-                cache.get( cacheKey ).put( id, object );
-            }
-            else
-            {
-                Cache<String, IdentifiableObject> c = new Cache2kBuilder<String, IdentifiableObject>()
-                {
-                }
-                    .expireAfterWrite( cacheTTL, TimeUnit.MINUTES )
-                    .name( cacheKey )
-                    .permitNullValues( false )
-                    .entryCapacity( capacity == -1 ? Long.MAX_VALUE : capacity )
-                    .resilienceDuration( 30, TimeUnit.SECONDS ) // cope with at
-                    // most 30
-                    // seconds
-                    // outage before propagating exceptions
-                    .build();
-
-                c.put( id, object );
-
-                cache.put( cacheKey, c );
-            }
+            regions.computeIfAbsent( cacheKey, key -> new PreheatCacheRegion( key, cacheTTL, capacity ) )
+                .put( id, object );
         }
     }
 
+    @Override
+    public List<PreheatCacheRegionInfo> getInfo()
+    {
+        List<PreheatCacheRegionInfo> info = new ArrayList<>();
+        regions.values().forEach( region -> info.add( region.getInfo() ) );
+        return info;
+    }
+
     @EventListener
     @Override
     public void handleApplicationCachesCleared( ApplicationCacheClearedEvent event )
@@ -173,18 +313,18 @@ public class DefaultPreheatCacheService implements PreheatCacheService
     @Override
     public void invalidateCache()
     {
-        cache.values().forEach( Cache::removeAll );
+        regions.values().forEach( PreheatCacheRegion::invalidateAll );
     }
 
     private boolean isCacheEnabled()
     {
-        return false;
-
-        // Due to concerns and issues with the current cache implementation, we
-        // decided to
-        // deactivate the cache in the preheat completely for now.
-        // return !isTestRun( this.environment.getActiveProfiles() )
-        // && config.isEnabled(
-        // ConfigurationKey.TRACKER_IMPORT_PREHEAT_CACHE_ENABLED );
+        return !isTestRun( this.environment.getActiveProfiles() )
+            && config.isEnabled( ConfigurationKey.TRACKER_IMPORT_PREHEAT_CACHE_ENABLED );
+    }
+
+    private long getCapSize()
+    {
+        return Runtime.getRuntime().maxMemory() / 100
+            * parseInt( config.getProperty( ConfigurationKey.TRACKER_IMPORT_PREHEAT_CACHE_CAP_PERCENTAGE ) );
     }
 }
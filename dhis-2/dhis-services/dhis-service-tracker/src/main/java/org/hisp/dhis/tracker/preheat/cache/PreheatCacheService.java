@@ -95,6 +95,14 @@ public interface PreheatCacheService
      */
     void put( String cacheKey, String id, IdentifiableObject object, int cacheTTL, long capacity );
 
+    /**
+     * Returns the statistics of each region of the pre-heat cache.
+     *
+     * @return hit, miss and eviction counts and estimated memory usage of each
+     *         region
+     */
+    List<PreheatCacheRegionInfo> getInfo();
+
     /**
      * Invalidates all caches.
      */
@@ -67,6 +67,19 @@ public class PersistenceReport
         return stats;
     }
 
+    /**
+     * Adds the stats and entity reports of the given report to this report.
+     * Side effects of the given report are not added.
+     *
+     * @param report the report to add
+     * @param indexOffset the offset added to the index of each added entity
+     */
+    public void merge( PersistenceReport report, int indexOffset )
+    {
+        report.getTypeReportMap().forEach( ( trackerType, typeReport ) -> typeReportMap
+            .computeIfAbsent( trackerType, TrackerTypeReport::new ).merge( typeReport, indexOffset ) );
+    }
+
     public boolean isEmpty()
     {
         return typeReportMap.values().stream().allMatch( TrackerTypeReport::isEmpty );
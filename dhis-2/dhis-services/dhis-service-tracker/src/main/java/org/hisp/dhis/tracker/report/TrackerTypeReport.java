@@ -107,6 +107,26 @@ public class TrackerTypeReport
         this.entityReport.put( entity.getIndex(), entity );
     }
 
+    /**
+     * Adds the stats and entity reports of the given report to this report.
+     *
+     * @param typeReport the report to add
+     * @param indexOffset the offset added to the index of each added entity
+     */
+    public void merge( TrackerTypeReport typeReport, int indexOffset )
+    {
+        this.stats.merge( typeReport.getStats() );
+
+        for ( Entity entity : typeReport.getEntityReportMap().values() )
+        {
+            if ( entity.getIndex() != null )
+            {
+                entity.setIndex( entity.getIndex() + indexOffset );
+            }
+            addEntity( entity );
+        }
+    }
+
     private List<Error> getErrorReports()
     {
         List<Error> errorReports = new ArrayList<>();
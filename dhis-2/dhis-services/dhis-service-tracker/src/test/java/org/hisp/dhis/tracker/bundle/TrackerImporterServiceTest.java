@@ -27,6 +27,7 @@
  */
 package org.hisp.dhis.tracker.bundle;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -41,6 +42,7 @@ import java.util.stream.Collectors;
 
 import org.hisp.dhis.random.BeanRandomizer;
 import org.hisp.dhis.system.notification.Notifier;
+import org.hisp.dhis.tracker.AtomicMode;
 import org.hisp.dhis.tracker.DefaultTrackerImportService;
 import org.hisp.dhis.tracker.ParamsConverter;
 import org.hisp.dhis.tracker.TrackerImportParams;
@@ -54,8 +56,10 @@ import org.hisp.dhis.user.User;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 
 /**
  * @author Zubair Asghar
@@ -79,6 +83,9 @@ class TrackerImporterServiceTest
     @Mock
     private Notifier notifier;
 
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @Mock
     private ValidationResult validationResult;
 
@@ -93,7 +100,7 @@ class TrackerImporterServiceTest
     {
         subject = new DefaultTrackerImportService( trackerBundleService, validationService,
             trackerPreprocessService,
-            trackerUserService, notifier );
+            trackerUserService, notifier, transactionManager );
 
         final List<Event> events = rnd.objects( Event.class, 3 ).collect( Collectors.toList() );
 
@@ -150,6 +157,31 @@ class TrackerImporterServiceTest
         verify( trackerBundleService, times( 1 ) ).handleTrackerSideEffects( anyList() );
     }
 
+    @Test
+    void testImportInChunks()
+    {
+        TrackerImportParams parameters = TrackerImportParams.builder()
+            .events( params.getEvents() )
+            .enrollments( new ArrayList<>() )
+            .relationships( new ArrayList<>() )
+            .trackedEntities( new ArrayList<>() )
+            .atomicMode( AtomicMode.OBJECT )
+            .chunkSize( 2 )
+            .userId( "123" )
+            .build();
+
+        when( trackerBundleService.create( any( TrackerImportParams.class ) ) )
+            .thenAnswer( invocation -> ParamsConverter.convert( invocation.getArgument( 0 ) ) );
+
+        subject.importTracker( parameters );
+
+        ArgumentCaptor<TrackerImportParams> chunks = ArgumentCaptor.forClass( TrackerImportParams.class );
+        verify( trackerBundleService, times( 2 ) ).create( chunks.capture() );
+        assertEquals( params.getEvents().subList( 0, 2 ), chunks.getAllValues().get( 0 ).getEvents() );
+        assertEquals( params.getEvents().subList( 2, 3 ), chunks.getAllValues().get( 1 ).getEvents() );
+        verify( trackerBundleService, times( 2 ) ).commit( any( TrackerBundle.class ) );
+    }
+
     private User getUser()
     {
         User user = new User();
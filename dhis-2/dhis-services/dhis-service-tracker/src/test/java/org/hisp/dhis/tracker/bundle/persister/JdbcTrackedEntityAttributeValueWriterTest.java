@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.tracker.bundle.persister;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+
+import org.hibernate.Session;
+import org.hibernate.jdbc.Work;
+import org.hisp.dhis.trackedentity.TrackedEntityAttribute;
+import org.hisp.dhis.trackedentity.TrackedEntityInstance;
+import org.hisp.dhis.trackedentityattributevalue.TrackedEntityAttributeValue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith( MockitoExtension.class )
+class JdbcTrackedEntityAttributeValueWriterTest
+{
+    @Mock
+    private Session session;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement statement;
+
+    private JdbcTrackedEntityAttributeValueWriter writer;
+
+    @BeforeEach
+    void setUp()
+    {
+        writer = new JdbcTrackedEntityAttributeValueWriter( session );
+    }
+
+    @Test
+    void testFlushWritesBufferedValuesInOneStatement()
+        throws Exception
+    {
+        TrackedEntityInstance tei = createTrackedEntityInstance( "TeiUid00001", 1L );
+        TrackedEntityAttribute attributeA = createAttribute( "AttrUid0001", 10L, false );
+        TrackedEntityAttribute attributeB = createAttribute( "AttrUid0002", 11L, false );
+
+        doAnswer( invocation -> {
+            invocation.getArgument( 0, Work.class ).execute( connection );
+            return null;
+        } ).when( session ).doWork( any() );
+        when( connection.prepareStatement( JdbcTrackedEntityAttributeValueWriter.getUpsertSql( 2 ) ) )
+            .thenReturn( statement );
+
+        writer.save( new TrackedEntityAttributeValue( attributeA, tei, "first" ), true );
+        writer.save( new TrackedEntityAttributeValue( attributeB, tei, "value" ), true );
+        writer.save( new TrackedEntityAttributeValue( attributeA, tei, "second" ), false );
+
+        verify( session, never() ).doWork( any() );
+
+        writer.flush();
+        writer.flush();
+
+        verify( session ).flush();
+        verify( statement ).setString( 5, "second" );
+        verify( statement ).setString( 11, "value" );
+        verify( statement, times( 4 ) ).setLong( anyInt(), anyLong() );
+        verify( statement ).executeUpdate();
+    }
+
+    @Test
+    void testDeleteReplacesBufferedSave()
+        throws Exception
+    {
+        TrackedEntityInstance tei = createTrackedEntityInstance( "TeiUid00001", 1L );
+        TrackedEntityAttribute attribute = createAttribute( "AttrUid0001", 10L, false );
+
+        doAnswer( invocation -> {
+            invocation.getArgument( 0, Work.class ).execute( connection );
+            return null;
+        } ).when( session ).doWork( any() );
+        when( connection.prepareStatement( JdbcTrackedEntityAttributeValueWriter.getDeleteSql( 1 ) ) )
+            .thenReturn( statement );
+
+        TrackedEntityAttributeValue attributeValue = new TrackedEntityAttributeValue( attribute, tei, "value" );
+        writer.save( attributeValue, false );
+        writer.delete( attributeValue );
+        writer.flush();
+
+        verify( statement ).setLong( 1, 1L );
+        verify( statement ).setLong( 2, 10L );
+        verify( statement ).executeUpdate();
+    }
+
+    @Test
+    void testConfidentialValuesAreWrittenThroughSession()
+    {
+        TrackedEntityInstance tei = createTrackedEntityInstance( "TeiUid00001", 1L );
+        TrackedEntityAttribute attribute = createAttribute( "AttrUid0001", 10L, true );
+
+        TrackedEntityAttributeValue attributeValue = new TrackedEntityAttributeValue( attribute, tei, "secret" );
+        writer.save( attributeValue, true );
+        writer.flush();
+
+        verify( session ).persist( attributeValue );
+        verify( session, never() ).doWork( any() );
+    }
+
+    @Test
+    void testManagedValuesAreEvictedFromSession()
+        throws Exception
+    {
+        TrackedEntityInstance tei = createTrackedEntityInstance( "TeiUid00001", 1L );
+        TrackedEntityAttribute attribute = createAttribute( "AttrUid0001", 10L, false );
+        attribute.setConfidential( null );
+
+        doAnswer( invocation -> {
+            invocation.getArgument( 0, Work.class ).execute( connection );
+            return null;
+        } ).when( session ).doWork( any() );
+        when( connection.prepareStatement( JdbcTrackedEntityAttributeValueWriter.getUpsertSql( 1 ) ) )
+            .thenReturn( statement );
+
+        TrackedEntityAttributeValue attributeValue = new TrackedEntityAttributeValue( attribute, tei, "value" );
+        when( session.contains( attributeValue ) ).thenReturn( true );
+
+        writer.save( attributeValue, false );
+        writer.flush();
+
+        verify( session ).evict( attributeValue );
+        verify( session, never() ).merge( attributeValue );
+        verify( statement ).executeUpdate();
+    }
+
+    @Test
+    void testGetSql()
+    {
+        assertEquals( "insert into trackedentityattributevalue (trackedentityinstanceid, trackedentityattributeid, "
+            + "created, lastupdated, value, storedby) values (?, ?, ?, ?, ?, ?), (?, ?, ?, ?, ?, ?) "
+            + "on conflict (trackedentityinstanceid, trackedentityattributeid) do update set "
+            + "lastupdated = excluded.lastupdated, value = excluded.value, storedby = excluded.storedby",
+            JdbcTrackedEntityAttributeValueWriter.getUpsertSql( 2 ) );
+        assertEquals( "delete from trackedentityattributevalue where "
+            + "(trackedentityinstanceid, trackedentityattributeid) in ((?, ?), (?, ?))",
+            JdbcTrackedEntityAttributeValueWriter.getDeleteSql( 2 ) );
+    }
+
+    private static TrackedEntityInstance createTrackedEntityInstance( String uid, long id )
+    {
+        TrackedEntityInstance tei = new TrackedEntityInstance();
+        tei.setUid( uid );
+        tei.setId( id );
+        return tei;
+    }
+
+    private static TrackedEntityAttribute createAttribute( String uid, long id, boolean confidential )
+    {
+        TrackedEntityAttribute attribute = new TrackedEntityAttribute();
+        attribute.setUid( uid );
+        attribute.setId( id );
+        attribute.setConfidential( confidential );
+        return attribute;
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.tracker.preheat.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.hisp.dhis.program.Program;
+import org.hisp.dhis.program.ProgramStage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.env.Environment;
+
+@ExtendWith( MockitoExtension.class )
+class DefaultPreheatCacheServiceTest
+{
+    @Mock
+    private DhisConfigurationProvider config;
+
+    @Mock
+    private Environment environment;
+
+    private DefaultPreheatCacheService cache;
+
+    @BeforeEach
+    void setUp()
+    {
+        when( environment.getActiveProfiles() ).thenReturn( new String[] {} );
+        when( config.isEnabled( ConfigurationKey.TRACKER_IMPORT_PREHEAT_CACHE_ENABLED ) ).thenReturn( true );
+        cache = new DefaultPreheatCacheService( config, environment );
+    }
+
+    @AfterEach
+    void tearDown()
+    {
+        cache.invalidateCache();
+    }
+
+    @Test
+    void testGetCountsHitsAndMisses()
+    {
+        when( config.getProperty( ConfigurationKey.TRACKER_IMPORT_PREHEAT_CACHE_CAP_PERCENTAGE ) ).thenReturn( "5" );
+        Program program = createProgram( "PrA" );
+
+        cache.put( "PreheatProgramA", program.getUid(), program, 5, -1 );
+
+        assertEquals( program, cache.get( "PreheatProgramA", program.getUid() ).orElse( null ) );
+        assertFalse( cache.get( "PreheatProgramA", "unknown" ).isPresent() );
+
+        PreheatCacheRegionInfo info = getInfo( "PreheatProgramA" );
+        assertEquals( 1, info.getEntries() );
+        assertEquals( 1, info.getHits() );
+        assertEquals( 1, info.getMisses() );
+        assertEquals( 0, info.getRejections() );
+        assertTrue( info.getSize() > 0 );
+    }
+
+    @Test
+    void testPutRejectsEntriesBeyondCap()
+    {
+        when( config.getProperty( ConfigurationKey.TRACKER_IMPORT_PREHEAT_CACHE_CAP_PERCENTAGE ) ).thenReturn( "0" );
+        Program program = createProgram( "PrB" );
+
+        cache.put( "PreheatProgramB", program.getUid(), program, 5, -1 );
+
+        assertFalse( cache.get( "PreheatProgramB", program.getUid() ).isPresent() );
+        PreheatCacheRegionInfo info = getInfo( "PreheatProgramB" );
+        assertEquals( 0, info.getEntries() );
+        assertEquals( 1, info.getRejections() );
+        assertEquals( 0, info.getSize() );
+    }
+
+    @Test
+    void testInvalidateCacheClearsAllRegionsAndSizes()
+    {
+        when( config.getProperty( ConfigurationKey.TRACKER_IMPORT_PREHEAT_CACHE_CAP_PERCENTAGE ) ).thenReturn( "5" );
+        Program program = createProgram( "PrC" );
+        ProgramStage stage = new ProgramStage( "StageC", program );
+        stage.setUid( "PrStageC" );
+
+        cache.put( "PreheatProgramC", program.getUid(), program, 5, -1 );
+        cache.put( "PreheatProgramStageC", stage.getUid(), stage, 5, -1 );
+
+        cache.invalidateCache();
+
+        assertFalse( cache.get( "PreheatProgramC", program.getUid() ).isPresent() );
+        assertFalse( cache.get( "PreheatProgramStageC", stage.getUid() ).isPresent() );
+        assertEquals( 0, getInfo( "PreheatProgramC" ).getSize() );
+        assertEquals( 0, getInfo( "PreheatProgramStageC" ).getSize() );
+    }
+
+    @Test
+    void testSizeMatchesEntriesAfterReplaceAndInvalidate()
+    {
+        when( config.getProperty( ConfigurationKey.TRACKER_IMPORT_PREHEAT_CACHE_CAP_PERCENTAGE ) ).thenReturn( "5" );
+        Program programA = createProgram( "PrD" );
+        Program programB = createProgram( "PrE" );
+
+        cache.put( "PreheatProgramD", programA.getUid(), programA, 5, -1 );
+        long sizeA = getInfo( "PreheatProgramD" ).getSize();
+
+        cache.put( "PreheatProgramD", programA.getUid(), programA, 5, -1 );
+        assertEquals( sizeA, getInfo( "PreheatProgramD" ).getSize() );
+
+        cache.invalidateCache();
+        cache.put( "PreheatProgramD", programB.getUid(), programB, 5, -1 );
+
+        assertEquals( 1, getInfo( "PreheatProgramD" ).getEntries() );
+        assertEquals( sizeA, getInfo( "PreheatProgramD" ).getSize() );
+    }
+
+    private PreheatCacheRegionInfo getInfo( String cacheKey )
+    {
+        List<PreheatCacheRegionInfo> info = cache.getInfo();
+        return info.stream().filter( i -> i.getName().equals( cacheKey ) ).findFirst().orElseThrow();
+    }
+
+    private static Program createProgram( String uid )
+    {
+        Program program = new Program( "Program " + uid, "Description" );
+        program.setUid( uid );
+        return program;
+    }
+}
@@ -27,8 +27,12 @@
  */
 package org.hisp.dhis.tracker.report;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
+import java.util.Map;
+
+import org.hisp.dhis.tracker.TrackerType;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -43,4 +47,26 @@ class PersistenceReportTest
         PersistenceReport report = PersistenceReport.emptyReport();
         assertNotNull( report.getTypeReportMap() );
     }
+
+    @Test
+    void testMergeShiftsEntityIndexes()
+    {
+        PersistenceReport report = PersistenceReport.emptyReport();
+
+        report.merge( createReport( "EventA", 0 ), 0 );
+        report.merge( createReport( "EventB", 0 ), 2 );
+
+        TrackerTypeReport typeReport = report.getTypeReportMap().get( TrackerType.EVENT );
+        assertEquals( 2, typeReport.getStats().getCreated() );
+        assertEquals( "EventA", typeReport.getEntityReportMap().get( 0 ).getUid() );
+        assertEquals( "EventB", typeReport.getEntityReportMap().get( 2 ).getUid() );
+    }
+
+    private static PersistenceReport createReport( String uid, int index )
+    {
+        TrackerTypeReport typeReport = new TrackerTypeReport( TrackerType.EVENT );
+        typeReport.getStats().incCreated();
+        typeReport.addEntity( new Entity( TrackerType.EVENT, uid, index ) );
+        return new PersistenceReport( Map.of( TrackerType.EVENT, typeReport ) );
+    }
 }
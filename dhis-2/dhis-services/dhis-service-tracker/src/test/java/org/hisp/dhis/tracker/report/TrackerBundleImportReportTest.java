@@ -60,6 +60,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -85,6 +86,9 @@ class TrackerBundleImportReportTest
     @Mock
     private Notifier notifier;
 
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private DefaultTrackerImportService trackerImportService;
 
@@ -31,8 +31,10 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -76,6 +78,8 @@ public class AuditManager
      */
     private static final Map<String, Map<Field, Method>> cachedAuditAttributeFields = new ConcurrentHashMap<>();
 
+    private static final Map<String, Map<String, Function<Object, Object>>> cachedAuditAttributeGetters = new ConcurrentHashMap<>();
+
     public AuditManager(
         AuditProducerSupplier auditProducerSupplier,
         AuditScheduler auditScheduler,
@@ -147,20 +151,32 @@ public class AuditManager
     {
         AuditAttributes auditAttributes = new AuditAttributes();
 
-        getAuditAttributeFields( entityClass ).forEach( ( field, getterMethod ) -> auditAttributes.put( field.getName(),
-            getAttributeValue( entity, field.getName(), getterMethod ) ) );
+        getAuditAttributeGetters( entityClass ).forEach( ( name, getter ) -> auditAttributes.put( name,
+            getAttributeValue( entity, name, getter ) ) );
 
         return auditAttributes;
     }
 
-    private Object getAttributeValue( Object auditObject, String attributeName, Method getter )
+    private Map<String, Function<Object, Object>> getAuditAttributeGetters( Class<?> auditClass )
+    {
+        return cachedAuditAttributeGetters.computeIfAbsent( auditClass.getName(), className -> {
+            Map<String, Function<Object, Object>> getters = new HashMap<>();
+
+            getAuditAttributeFields( auditClass ).forEach( ( field, getterMethod ) -> getters.put( field.getName(),
+                ReflectionUtils.createGetter( getterMethod ) ) );
+
+            return getters;
+        } );
+    }
+
+    private Object getAttributeValue( Object auditObject, String attributeName, Function<Object, Object> getter )
     {
         if ( auditObject instanceof Map )
         {
             return ((Map) auditObject).get( attributeName );
         }
 
-        Object value = ReflectionUtils.invokeMethod( auditObject, getter );
+        Object value = getter == null || auditObject == null ? null : getter.apply( auditObject );
 
         if ( value instanceof IdentifiableObject )
         {
@@ -35,6 +35,7 @@ import java.util.Map;
 import javax.jms.ConnectionFactory;
 import javax.jms.DeliveryMode;
 import javax.jms.JMSException;
+import javax.jms.Session;
 
 import org.apache.activemq.artemis.api.core.RoutingType;
 import org.apache.activemq.artemis.api.core.SimpleString;
@@ -147,6 +148,22 @@ public class ArtemisConfig
         return factory;
     }
 
+    @Bean // configured for the audit topics
+    public DefaultJmsListenerContainerFactory jmsAuditListenerContainerFactory( ConnectionFactory connectionFactory,
+        NameDestinationResolver nameDestinationResolver )
+    {
+        DefaultJmsListenerContainerFactory factory = new DefaultJmsListenerContainerFactory();
+        factory.setConnectionFactory( connectionFactory );
+        factory.setDestinationResolver( nameDestinationResolver );
+        factory.setPubSubDomain( true );
+        factory.setConcurrency( "1" );
+        // audits are saved in batches by the consumers, so there is no need to
+        // acknowledge every message on its own
+        factory.setSessionAcknowledgeMode( Session.DUPS_OK_ACKNOWLEDGE );
+
+        return factory;
+    }
+
     @Bean // configured for queues
     public DefaultJmsListenerContainerFactory jmsQueueListenerContainerFactory( ConnectionFactory connectionFactory,
         NameDestinationResolver nameDestinationResolver )
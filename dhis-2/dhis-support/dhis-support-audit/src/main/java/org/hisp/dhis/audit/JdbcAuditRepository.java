@@ -35,7 +35,8 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.sql.Date;
 import java.sql.Timestamp;
-import java.util.ArrayList;
+import java.sql.Types;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -60,6 +61,15 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 @Repository
 public class JdbcAuditRepository implements AuditRepository
 {
+    private static final List<String> COLUMNS = List.of( "auditType", "auditScope", "createdAt", "createdBy",
+        "klass", "uid", "code", "data", "attributes" );
+
+    /**
+     * Keeps the number of bind parameters of a statement well below the limit
+     * of the database driver.
+     */
+    private static final int MAX_ROWS_PER_STATEMENT = 1000;
+
     private final JdbcTemplate jdbcTemplate;
 
     private final SimpleJdbcInsert auditInsert;
@@ -85,12 +95,36 @@ public class JdbcAuditRepository implements AuditRepository
         return auditInsert.executeAndReturnKey( parameterSource ).longValue();
     }
 
+    /**
+     * Saves the given audits with multi-row insert statements of up to
+     * {@link #MAX_ROWS_PER_STATEMENT} rows each, rather than one statement per
+     * audit.
+     */
     @Override
     public void save( List<Audit> audits )
     {
-        List<MapSqlParameterSource> parameterSources = new ArrayList<>();
-        audits.forEach( audit -> parameterSources.add( buildParameterSource( audit ) ) );
-        auditInsert.executeBatch( parameterSources.toArray( new MapSqlParameterSource[0] ) );
+        for ( int from = 0; from < audits.size(); from += MAX_ROWS_PER_STATEMENT )
+        {
+            List<Audit> rows = audits.subList( from, Math.min( from + MAX_ROWS_PER_STATEMENT, audits.size() ) );
+
+            jdbcTemplate.update( getInsertSql( rows.size() ), statement -> {
+                int index = 1;
+
+                for ( Audit audit : rows )
+                {
+                    statement.setString( index++, audit.getAuditType().name() );
+                    statement.setString( index++, audit.getAuditScope().name() );
+                    statement.setTimestamp( index++,
+                        audit.getCreatedAt() == null ? null : Timestamp.valueOf( audit.getCreatedAt() ) );
+                    statement.setString( index++, audit.getCreatedBy() );
+                    statement.setString( index++, audit.getKlass() );
+                    statement.setString( index++, audit.getUid() );
+                    statement.setString( index++, audit.getCode() );
+                    statement.setBytes( index++, compress( audit.getData() ) );
+                    statement.setObject( index++, toJson( audit.getAttributes() ), Types.OTHER );
+                }
+            } );
+        }
     }
 
     @Override
@@ -201,6 +235,26 @@ public class JdbcAuditRepository implements AuditRepository
             .collect( Collectors.joining( ", " ) );
     }
 
+    private static String getInsertSql( int rows )
+    {
+        String row = "(" + String.join( ", ", Collections.nCopies( COLUMNS.size(), "?" ) ) + ")";
+
+        return "insert into audit (" + String.join( ", ", COLUMNS ) + ") values "
+            + String.join( ", ", Collections.nCopies( rows, row ) );
+    }
+
+    private String toJson( AuditAttributes attributes )
+    {
+        try
+        {
+            return jsonMapper.writeValueAsString( attributes );
+        }
+        catch ( JsonProcessingException ignored )
+        {
+            return "{}";
+        }
+    }
+
     private MapSqlParameterSource buildParameterSource( Audit audit )
     {
         MapSqlParameterSource parameters = new MapSqlParameterSource();
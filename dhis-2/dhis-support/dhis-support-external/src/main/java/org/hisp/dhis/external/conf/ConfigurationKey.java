@@ -88,6 +88,21 @@ public enum ConfigurationKey
      */
     SYSTEM_CACHE_CAP_PERCENTAGE( "system.cache.cap.percentage", "0", false ),
 
+    /**
+     * Answer conditional requests of the metadata and analytics API with ETags
+     * derived from change counters instead of from the response body. Only
+     * takes effect when not running in a cluster. Bulk updates which bypass
+     * Hibernate entity events are not counted. (default: off).
+     */
+    SYSTEM_CACHE_DEEP_ETAG_ENABLED( "system.cache.deep_etag.enabled", Constants.OFF, false ),
+
+    /**
+     * Number of threads evaluating a predictor in parallel, each on a chunk of
+     * organisation units. If set to 1, predictors are evaluated on a single
+     * thread. (default: 1).
+     */
+    SYSTEM_PREDICTOR_PARALLELISM( "system.predictor.parallelism", "1", false ),
+
     /**
      * Node identifier, optional, useful in clusters.
      */
@@ -268,6 +283,21 @@ public enum ConfigurationKey
      */
     FILESTORE_IDENTITY( "filestore.identity", "", false ),
 
+    /**
+     * Size of the thread pool shared by all metadata imports for loading the
+     * unique values of classes in parallel during preheat, each in its own
+     * read-only transaction. If set to 1, classes are loaded one after another.
+     * (default: 1).
+     */
+    METADATA_IMPORT_PREHEAT_PARALLELISM( "metadata.import.preheat.parallelism", "1", false ),
+
+    /**
+     * Number of threads running the thread-safe validation checks of a
+     * metadata import, for classes which do not reference each other. If set
+     * to 1, classes are validated one after another. (default: 1).
+     */
+    METADATA_IMPORT_VALIDATION_PARALLELISM( "metadata.import.validation.parallelism", "1", false ),
+
     /**
      * Secret key / password (sensitive).
      */
@@ -344,6 +374,41 @@ public enum ConfigurationKey
 
     PROGRAM_TEMPORARY_OWNERSHIP_TIMEOUT( "tracker.temporary.ownership.timeout", "3", false ),
 
+    /**
+     * Enable/disable the metadata cache used by the tracker importer preheat.
+     * The cache shares loaded metadata objects between imports and is only
+     * invalidated by changes made on the same node, so it must stay off in
+     * clustered setups. (default: off).
+     */
+    TRACKER_IMPORT_PREHEAT_CACHE_ENABLED( "tracker.import.preheat.cache.enabled", Constants.OFF, false ),
+
+    /**
+     * Percentage of the JVM heap the tracker importer preheat metadata cache
+     * may use at most, based on estimated object sizes. (default: 5).
+     */
+    TRACKER_IMPORT_PREHEAT_CACHE_CAP_PERCENTAGE( "tracker.import.preheat.cache.cap.percentage", "5", false ),
+
+    /**
+     * Write tracked entity attribute values of the tracker importer with
+     * multi-row JDBC statements instead of one Hibernate operation per value.
+     * Events and enrollments are still written through Hibernate (default:
+     * off).
+     */
+    TRACKER_IMPORT_JDBC_BATCH_ENABLED( "tracker.import.jdbc.batch.enabled", Constants.OFF, false ),
+
+    /**
+     * Max number of threads fetching tracked entity instances, enrollments and
+     * events with their associations. If set to 0, half of the max size of the
+     * connection pool is used. (default: 0).
+     */
+    TRACKER_AGGREGATE_POOL_SIZE( "tracker.aggregate.pool.size", "0", false ),
+
+    /**
+     * Max number of queries a single request for tracked entity instances runs
+     * in parallel. (default: 4).
+     */
+    TRACKER_AGGREGATE_REQUEST_PARALLELISM( "tracker.aggregate.request.parallelism", "4", false ),
+
     LEADER_TIME_TO_LIVE( "leader.time.to.live.minutes", "2", false ),
 
     /**
@@ -472,6 +537,26 @@ public enum ConfigurationKey
      */
     MONITORING_CPU_ENABLED( "monitoring.cpu.enabled", Constants.OFF, false ),
 
+    /**
+     * Expression parse tree cache monitoring. (default: off)
+     */
+    MONITORING_EXPRESSION_ENABLED( "monitoring.expression.enabled", Constants.OFF, false ),
+
+    /**
+     * Tracker aggregate fetch thread pool monitoring. (default: off)
+     */
+    MONITORING_TRACKER_AGGREGATE_ENABLED( "monitoring.tracker.aggregate.enabled", Constants.OFF, false ),
+
+    /**
+     * Read replica routing monitoring. (default: off)
+     */
+    MONITORING_READ_REPLICA_ENABLED( "monitoring.readreplica.enabled", Constants.OFF, false ),
+
+    /**
+     * Audit consumer throughput and lag monitoring. (default: off)
+     */
+    MONITORING_AUDIT_ENABLED( "monitoring.audit.enabled", Constants.OFF, false ),
+
     /**
      * AppHub base URL. (default: https://apps.dhis2.org).
      */
@@ -526,6 +611,18 @@ public enum ConfigurationKey
      */
     AUDIT_TRACKER_MATRIX( "audit.tracker", "", false ),
 
+    /**
+     * Max number of audits saved to the database in one transaction.
+     * (default: 1000).
+     */
+    AUDIT_DATABASE_BATCH_SIZE( "audit.database.batch.size", "1000", false ),
+
+    /**
+     * Max time in milliseconds an audit waits for its batch to fill up before
+     * the batch is saved to the database. (default: 1000).
+     */
+    AUDIT_DATABASE_BATCH_LINGER( "audit.database.batch.linger", "1000", false ),
+
     /**
      * Enable OIDC. (default: off).
      */
@@ -632,6 +729,24 @@ public enum ConfigurationKey
 
     ACTIVE_READ_REPLICAS( "active.read.replicas", "0", false ),
 
+    /**
+     * Number of consecutive connection failures after which a read replica is
+     * taken out of rotation. (default: 3)
+     */
+    READ_REPLICA_EJECT_FAILURES( "read.replica.eject.failures", "3", false ),
+
+    /**
+     * Number of seconds a failing read replica is kept out of rotation before
+     * it is tried again. (default: 30)
+     */
+    READ_REPLICA_EJECT_DURATION( "read.replica.eject.duration", "30", false ),
+
+    /**
+     * Maximum replication lag in seconds for a read replica to receive reads.
+     * Lag is not checked when 0. (default: 0)
+     */
+    READ_REPLICA_MAX_LAG( "read.replica.max.lag", "0", false ),
+
     /**
      * Allows enabling/disabling audits system-wide (without configuring the
      * audit matrix). (default: true)
@@ -31,12 +31,18 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import static org.hisp.dhis.external.conf.ConfigurationKey.CONNECTION_PASSWORD;
 import static org.hisp.dhis.external.conf.ConfigurationKey.CONNECTION_URL;
 import static org.hisp.dhis.external.conf.ConfigurationKey.CONNECTION_USERNAME;
+import static org.hisp.dhis.external.conf.ConfigurationKey.READ_REPLICA_EJECT_DURATION;
+import static org.hisp.dhis.external.conf.ConfigurationKey.READ_REPLICA_EJECT_FAILURES;
+import static org.hisp.dhis.external.conf.ConfigurationKey.READ_REPLICA_MAX_LAG;
 
 import java.beans.PropertyVetoException;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import javax.sql.DataSource;
 
@@ -47,6 +53,7 @@ import org.hisp.dhis.commons.util.DebugUtils;
 import org.hisp.dhis.external.conf.ConfigurationKey;
 import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.hisp.dhis.util.ObjectUtils;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
 
 /**
@@ -54,7 +61,7 @@ import org.springframework.beans.factory.InitializingBean;
  */
 @Slf4j
 public class DefaultReadOnlyDataSourceManager
-    implements ReadOnlyDataSourceManager, InitializingBean
+    implements ReadOnlyDataSourceManager, InitializingBean, DisposableBean
 {
     private static final String FORMAT_READ_PREFIX = "read%d.";
 
@@ -70,31 +77,78 @@ public class DefaultReadOnlyDataSourceManager
 
     private static final int MAX_READ_REPLICAS = 5;
 
+    private static final int LAG_CHECK_INTERVAL_SECONDS = 10;
+
     private final DhisConfigurationProvider config;
 
-    public DefaultReadOnlyDataSourceManager( DhisConfigurationProvider config )
+    private final DataSource mainDataSource;
+
+    /**
+     * @param config the configuration provider.
+     * @param mainDataSource the data source to fall back to when no read
+     *        replica is available, can be null.
+     */
+    public DefaultReadOnlyDataSourceManager( DhisConfigurationProvider config, DataSource mainDataSource )
     {
         checkNotNull( config );
         this.config = config;
+        this.mainDataSource = mainDataSource;
     }
 
     /**
      * State holder for the resolved read only data source.
      */
-    private DataSource internalReadOnlyDataSource;
+    private LoadBalancingRoutingDataSource internalReadOnlyDataSource;
 
     /**
      * State holder for explicitly defined read only data sources.
      */
-    private List<DataSource> internalReadOnlyInstanceList;
+    private List<ReadReplica> internalReadOnlyInstanceList;
+
+    /**
+     * Executor for replication lag checks, null if lag is not checked.
+     */
+    private ScheduledExecutorService lagCheckExecutor;
 
     @Override
     public void afterPropertiesSet()
     {
-        List<DataSource> ds = getReadOnlyDataSources();
+        List<ReadReplica> replicas = getReadOnlyDataSources();
+
+        this.internalReadOnlyInstanceList = replicas;
 
-        this.internalReadOnlyInstanceList = ds;
-        this.internalReadOnlyDataSource = !ds.isEmpty() ? new CircularRoutingDataSource( ds ) : null;
+        if ( replicas.isEmpty() )
+        {
+            return;
+        }
+
+        long maxLag = Long.parseLong( config.getProperty( READ_REPLICA_MAX_LAG ) );
+
+        this.internalReadOnlyDataSource = new LoadBalancingRoutingDataSource( replicas, mainDataSource,
+            Integer.parseInt( config.getProperty( READ_REPLICA_EJECT_FAILURES ) ),
+            TimeUnit.SECONDS.toMillis( Long.parseLong( config.getProperty( READ_REPLICA_EJECT_DURATION ) ) ),
+            maxLag );
+
+        if ( maxLag > 0 )
+        {
+            lagCheckExecutor = Executors.newSingleThreadScheduledExecutor( runnable -> {
+                Thread thread = new Thread( runnable, "read-replica-lag-check" );
+                thread.setDaemon( true );
+                return thread;
+            } );
+
+            lagCheckExecutor.scheduleWithFixedDelay( internalReadOnlyDataSource::updateReplicationLag,
+                0, LAG_CHECK_INTERVAL_SECONDS, TimeUnit.SECONDS );
+        }
+    }
+
+    @Override
+    public void destroy()
+    {
+        if ( lagCheckExecutor != null )
+        {
+            lagCheckExecutor.shutdownNow();
+        }
     }
 
     // -------------------------------------------------------------------------
@@ -113,11 +167,23 @@ public class DefaultReadOnlyDataSourceManager
         return internalReadOnlyInstanceList != null ? internalReadOnlyInstanceList.size() : 0;
     }
 
+    @Override
+    public List<ReadReplica> getReadReplicas()
+    {
+        return internalReadOnlyInstanceList != null ? internalReadOnlyInstanceList : List.of();
+    }
+
+    @Override
+    public long getReadReplicaFallbackCount()
+    {
+        return internalReadOnlyDataSource != null ? internalReadOnlyDataSource.getFallbackCount() : 0;
+    }
+
     // -------------------------------------------------------------------------
     // Supportive methods
     // -------------------------------------------------------------------------
 
-    private List<DataSource> getReadOnlyDataSources()
+    private List<ReadReplica> getReadOnlyDataSources()
     {
         String mainUser = config.getProperty( ConfigurationKey.CONNECTION_USERNAME );
         String mainPassword = config.getProperty( ConfigurationKey.CONNECTION_PASSWORD );
@@ -127,7 +193,7 @@ public class DefaultReadOnlyDataSourceManager
 
         Properties props = config.getProperties();
 
-        List<DataSource> dataSources = new ArrayList<>();
+        List<ReadReplica> dataSources = new ArrayList<>();
 
         for ( int i = 1; i <= MAX_READ_REPLICAS; i++ )
         {
@@ -152,7 +218,8 @@ public class DefaultReadOnlyDataSourceManager
             {
                 try
                 {
-                    dataSources.add( DatabasePoolUtils.createDbPool( builder.build() ) );
+                    dataSources.add( new ReadReplica( String.format( "read%d", i ),
+                        DatabasePoolUtils.createDbPool( builder.build() ) ) );
                 }
                 catch ( SQLException | PropertyVetoException e )
                 {
@@ -0,0 +1,278 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.datasource;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+/**
+ * Data source implementation which routes to the least loaded available read
+ * replica. Load is measured as connections in use, with ties broken by the
+ * average connection latency and a rotating start position. Replicas which
+ * fail to hand out connections a number of times in a row are ejected for a
+ * while, and replicas which lag behind more than a configured maximum are
+ * skipped. When no replica is available, connections are taken from the
+ * fallback data source, normally the main database.
+ */
+@Slf4j
+public class LoadBalancingRoutingDataSource
+    extends AbstractDataSource
+{
+    /**
+     * Replication lag in seconds, 0 when all received WAL has been replayed,
+     * since the last replayed transaction is old when the primary is idle.
+     */
+    private static final String LAG_SQL = "select case " +
+        "when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0 " +
+        "else coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()), 0) end";
+
+    private final List<ReadReplica> replicas;
+
+    private final DataSource fallbackDataSource;
+
+    private final int ejectFailures;
+
+    private final long ejectMillis;
+
+    private final long maxLagSeconds;
+
+    private final AtomicInteger offset = new AtomicInteger();
+
+    private final AtomicLong fallbackCount = new AtomicLong();
+
+    /**
+     * @param replicas the read replicas.
+     * @param fallbackDataSource the data source to use when no replica is
+     *        available, can be null.
+     * @param ejectFailures the number of consecutive failures after which a
+     *        replica is ejected.
+     * @param ejectMillis the time in milliseconds a replica stays ejected.
+     * @param maxLagSeconds the maximum replication lag in seconds, not checked
+     *        if 0.
+     */
+    public LoadBalancingRoutingDataSource( List<ReadReplica> replicas, DataSource fallbackDataSource,
+        int ejectFailures, long ejectMillis, long maxLagSeconds )
+    {
+        this.replicas = Collections.unmodifiableList( replicas );
+        this.fallbackDataSource = fallbackDataSource;
+        this.ejectFailures = ejectFailures;
+        this.ejectMillis = ejectMillis;
+        this.maxLagSeconds = maxLagSeconds;
+    }
+
+    // -------------------------------------------------------------------------
+    // AbstractDataSource implementation
+    // -------------------------------------------------------------------------
+
+    @Override
+    public Connection getConnection()
+        throws SQLException
+    {
+        return getConnection( null, null );
+    }
+
+    @Override
+    public Connection getConnection( String username, String password )
+        throws SQLException
+    {
+        Set<ReadReplica> failed = new HashSet<>();
+        SQLException lastException = null;
+
+        ReadReplica replica;
+
+        while ( (replica = getReplica( failed, fallbackDataSource == null )) != null )
+        {
+            AtomicInteger active = replica.activeConnections();
+            active.incrementAndGet();
+
+            long start = System.nanoTime();
+
+            try
+            {
+                Connection connection = username != null
+                    ? replica.getDataSource().getConnection( username, password )
+                    : replica.getDataSource().getConnection();
+
+                replica.connectionOpened( System.nanoTime() - start );
+
+                return trackClose( connection, active );
+            }
+            catch ( SQLException ex )
+            {
+                active.decrementAndGet();
+                replica.connectionFailed( System.currentTimeMillis(), ejectFailures, ejectMillis );
+                failed.add( replica );
+                lastException = ex;
+
+                log.warn( String.format( "Failed to get connection from read replica '%s': %s",
+                    replica.getName(), ex.getMessage() ) );
+            }
+        }
+
+        if ( fallbackDataSource == null )
+        {
+            throw lastException != null ? lastException : new SQLException( "No read replica available" );
+        }
+
+        fallbackCount.incrementAndGet();
+
+        return username != null
+            ? fallbackDataSource.getConnection( username, password )
+            : fallbackDataSource.getConnection();
+    }
+
+    // -------------------------------------------------------------------------
+    // Replica state
+    // -------------------------------------------------------------------------
+
+    /**
+     * Reads the replication lag of each replica. Replicas which cannot be
+     * queried count as failing.
+     */
+    public void updateReplicationLag()
+    {
+        for ( ReadReplica replica : replicas )
+        {
+            try ( Connection connection = replica.getDataSource().getConnection();
+                Statement statement = connection.createStatement();
+                ResultSet resultSet = statement.executeQuery( LAG_SQL ) )
+            {
+                if ( resultSet.next() )
+                {
+                    replica.setLagSeconds( resultSet.getDouble( 1 ) );
+                }
+            }
+            catch ( SQLException ex )
+            {
+                replica.connectionFailed( System.currentTimeMillis(), ejectFailures, ejectMillis );
+
+                log.warn( String.format( "Failed to read replication lag of read replica '%s': %s",
+                    replica.getName(), ex.getMessage() ) );
+            }
+        }
+    }
+
+    public List<ReadReplica> getReplicas()
+    {
+        return replicas;
+    }
+
+    /**
+     * Returns the number of connections taken from the fallback data source
+     * because no replica was available.
+     */
+    public long getFallbackCount()
+    {
+        return fallbackCount.get();
+    }
+
+    // -------------------------------------------------------------------------
+    // Supportive methods
+    // -------------------------------------------------------------------------
+
+    /**
+     * Returns the least loaded available replica which has not failed yet, or
+     * null if there is none.
+     *
+     * @param failed the replicas which failed for the current request.
+     * @param includeUnavailable whether to fall back to ejected or lagging
+     *        replicas when no replica is available.
+     */
+    private ReadReplica getReplica( Set<ReadReplica> failed, boolean includeUnavailable )
+    {
+        long now = System.currentTimeMillis();
+        int start = Math.floorMod( offset.getAndIncrement(), replicas.size() );
+
+        ReadReplica selected = null;
+        ReadReplica unavailable = null;
+
+        for ( int i = 0; i < replicas.size(); i++ )
+        {
+            ReadReplica replica = replicas.get( (start + i) % replicas.size() );
+
+            if ( failed.contains( replica ) )
+            {
+                continue;
+            }
+
+            if ( replica.isAvailable( now, maxLagSeconds ) )
+            {
+                selected = selected == null || replica.compareLoad( selected ) < 0 ? replica : selected;
+            }
+            else
+            {
+                unavailable = unavailable == null || replica.compareLoad( unavailable ) < 0 ? replica : unavailable;
+            }
+        }
+
+        return selected != null || !includeUnavailable ? selected : unavailable;
+    }
+
+    /**
+     * Wraps the given connection so that the given counter of connections in
+     * use is decremented once the connection is closed.
+     */
+    private Connection trackClose( Connection connection, AtomicInteger active )
+    {
+        AtomicBoolean closed = new AtomicBoolean();
+
+        return (Connection) Proxy.newProxyInstance( Connection.class.getClassLoader(),
+            new Class<?>[] { Connection.class }, ( proxy, method, args ) -> {
+                if ( "close".equals( method.getName() ) && closed.compareAndSet( false, true ) )
+                {
+                    active.decrementAndGet();
+                }
+
+                try
+                {
+                    return method.invoke( connection, args );
+                }
+                catch ( InvocationTargetException ex )
+                {
+                    throw ex.getTargetException();
+                }
+            } );
+    }
+}
@@ -27,6 +27,8 @@
  */
 package org.hisp.dhis.datasource;
 
+import java.util.List;
+
 import javax.sql.DataSource;
 
 /**
@@ -51,4 +53,20 @@ public interface ReadOnlyDataSourceManager
      * @return the number of explicitly defined read only database instances.
      */
     int getReadReplicaCount();
+
+    /**
+     * Returns the explicitly defined read only database instances along with
+     * their current load and health.
+     *
+     * @return the explicitly defined read only database instances.
+     */
+    List<ReadReplica> getReadReplicas();
+
+    /**
+     * Returns the number of connections which were taken from the main data
+     * source because no read only database instance was available.
+     *
+     * @return the number of connections taken from the main data source.
+     */
+    long getReadReplicaFallbackCount();
 }
@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.datasource;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+/**
+ * State of a read replica as seen by the {@link LoadBalancingRoutingDataSource}:
+ * connections in use, connection latency, replication lag and health.
+ */
+public class ReadReplica
+{
+    /**
+     * Weight of the latest sample in the moving average of the latency.
+     */
+    private static final double LATENCY_WEIGHT = 0.2;
+
+    private final String name;
+
+    private final DataSource dataSource;
+
+    private final AtomicInteger activeConnections = new AtomicInteger();
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+    private final AtomicLong connectionCount = new AtomicLong();
+
+    private final AtomicLong failureCount = new AtomicLong();
+
+    private volatile double latencyMillis;
+
+    private volatile double lagSeconds;
+
+    private volatile long ejectedUntil;
+
+    ReadReplica( String name, DataSource dataSource )
+    {
+        this.name = name;
+        this.dataSource = dataSource;
+    }
+
+    // -------------------------------------------------------------------------
+    // State
+    // -------------------------------------------------------------------------
+
+    /**
+     * Indicates whether the replica may receive connections, meaning that it
+     * is not ejected and does not lag behind more than the given maximum.
+     *
+     * @param now the current time in milliseconds.
+     * @param maxLagSeconds the maximum lag in seconds, not checked if 0.
+     */
+    boolean isAvailable( long now, long maxLagSeconds )
+    {
+        return ejectedUntil <= now && (maxLagSeconds <= 0 || lagSeconds <= maxLagSeconds);
+    }
+
+    /**
+     * Compares the load of this replica with the given replica, first by
+     * connections in use and then by connection latency.
+     */
+    int compareLoad( ReadReplica other )
+    {
+        int result = Integer.compare( activeConnections.get(), other.activeConnections.get() );
+
+        return result != 0 ? result : Double.compare( latencyMillis, other.latencyMillis );
+    }
+
+    void connectionOpened( long elapsedNanos )
+    {
+        connectionCount.incrementAndGet();
+        consecutiveFailures.set( 0 );
+        latencyMillis += LATENCY_WEIGHT * ((elapsedNanos / 1_000_000d) - latencyMillis);
+    }
+
+    void connectionFailed( long now, int ejectFailures, long ejectMillis )
+    {
+        failureCount.incrementAndGet();
+
+        if ( consecutiveFailures.incrementAndGet() >= ejectFailures )
+        {
+            consecutiveFailures.set( 0 );
+            ejectedUntil = now + ejectMillis;
+        }
+    }
+
+    AtomicInteger activeConnections()
+    {
+        return activeConnections;
+    }
+
+    void setLagSeconds( double lagSeconds )
+    {
+        this.lagSeconds = lagSeconds;
+    }
+
+    // -------------------------------------------------------------------------
+    // Getters
+    // -------------------------------------------------------------------------
+
+    public String getName()
+    {
+        return name;
+    }
+
+    public DataSource getDataSource()
+    {
+        return dataSource;
+    }
+
+    public int getActiveConnections()
+    {
+        return activeConnections.get();
+    }
+
+    public long getConnectionCount()
+    {
+        return connectionCount.get();
+    }
+
+    public long getFailureCount()
+    {
+        return failureCount.get();
+    }
+
+    public double getLatencyMillis()
+    {
+        return latencyMillis;
+    }
+
+    public double getLagSeconds()
+    {
+        return lagSeconds;
+    }
+
+    public boolean isEjected()
+    {
+        return ejectedUntil > System.currentTimeMillis();
+    }
+}
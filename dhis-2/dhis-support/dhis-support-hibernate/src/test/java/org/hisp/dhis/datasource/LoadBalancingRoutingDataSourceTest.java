@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link LoadBalancingRoutingDataSource}.
+ */
+class LoadBalancingRoutingDataSourceTest
+{
+    private DataSource dataSourceA;
+
+    private DataSource dataSourceB;
+
+    private DataSource fallbackDataSource;
+
+    private ReadReplica replicaA;
+
+    private ReadReplica replicaB;
+
+    @BeforeEach
+    void setUp()
+        throws SQLException
+    {
+        dataSourceA = mockDataSource();
+        dataSourceB = mockDataSource();
+        fallbackDataSource = mockDataSource();
+        replicaA = new ReadReplica( "read1", dataSourceA );
+        replicaB = new ReadReplica( "read2", dataSourceB );
+    }
+
+    @Test
+    void testRoutesToLeastLoadedReplica()
+        throws SQLException
+    {
+        LoadBalancingRoutingDataSource dataSource = new LoadBalancingRoutingDataSource(
+            List.of( replicaA, replicaB ), fallbackDataSource, 3, 30_000, 0 );
+
+        Connection first = dataSource.getConnection();
+        Connection second = dataSource.getConnection();
+
+        assertEquals( 1, replicaA.getActiveConnections() );
+        assertEquals( 1, replicaB.getActiveConnections() );
+
+        first.close();
+        first.close();
+
+        assertEquals( 1, replicaA.getActiveConnections() + replicaB.getActiveConnections() );
+
+        dataSource.getConnection();
+        second.close();
+
+        assertEquals( 2, replicaA.getConnectionCount() );
+        assertEquals( 1, replicaB.getConnectionCount() );
+        assertEquals( 0, dataSource.getFallbackCount() );
+    }
+
+    @Test
+    void testEjectsFailingReplica()
+        throws SQLException
+    {
+        when( dataSourceA.getConnection() ).thenThrow( new SQLException( "Connection refused" ) );
+
+        LoadBalancingRoutingDataSource dataSource = new LoadBalancingRoutingDataSource(
+            List.of( replicaA, replicaB ), fallbackDataSource, 2, 30_000, 0 );
+
+        for ( int i = 0; i < 4; i++ )
+        {
+            dataSource.getConnection().close();
+        }
+
+        assertTrue( replicaA.isEjected() );
+        assertFalse( replicaB.isEjected() );
+        assertEquals( 2, replicaA.getFailureCount() );
+        assertEquals( 4, replicaB.getConnectionCount() );
+        verify( dataSourceA, times( 2 ) ).getConnection();
+        verify( fallbackDataSource, never() ).getConnection();
+    }
+
+    @Test
+    void testFallsBackWhenNoReplicaIsAvailable()
+        throws SQLException
+    {
+        when( dataSourceA.getConnection() ).thenThrow( new SQLException( "Connection refused" ) );
+
+        LoadBalancingRoutingDataSource dataSource = new LoadBalancingRoutingDataSource(
+            List.of( replicaA ), fallbackDataSource, 1, 30_000, 0 );
+
+        dataSource.getConnection();
+        dataSource.getConnection();
+
+        assertEquals( 2, dataSource.getFallbackCount() );
+        assertEquals( 1, replicaA.getFailureCount() );
+        verify( fallbackDataSource, times( 2 ) ).getConnection();
+    }
+
+    @Test
+    void testSkipsLaggingReplica()
+        throws SQLException
+    {
+        replicaA.setLagSeconds( 120 );
+
+        LoadBalancingRoutingDataSource dataSource = new LoadBalancingRoutingDataSource(
+            List.of( replicaA, replicaB ), fallbackDataSource, 3, 30_000, 60 );
+
+        dataSource.getConnection();
+        dataSource.getConnection();
+
+        assertEquals( 0, replicaA.getConnectionCount() );
+        assertEquals( 2, replicaB.getConnectionCount() );
+    }
+
+    @Test
+    void testThrowsWithoutFallback()
+        throws SQLException
+    {
+        SQLException exception = new SQLException( "Connection refused" );
+        when( dataSourceA.getConnection() ).thenThrow( exception );
+
+        LoadBalancingRoutingDataSource dataSource = new LoadBalancingRoutingDataSource(
+            List.of( replicaA ), null, 1, 30_000, 0 );
+
+        assertSame( exception, assertThrows( SQLException.class, dataSource::getConnection ) );
+    }
+
+    private DataSource mockDataSource()
+        throws SQLException
+    {
+        DataSource dataSource = mock( DataSource.class );
+        when( dataSource.getConnection() ).thenAnswer( invocation -> mock( Connection.class ) );
+        return dataSource;
+    }
+}
@@ -37,6 +37,7 @@ import java.time.Duration;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
 
 import org.hisp.dhis.common.event.ApplicationCacheClearedEvent;
 import org.hisp.dhis.external.conf.ConfigurationKey;
@@ -65,6 +66,8 @@ public class DefaultCacheProvider
 
     private static final long SIZE_10K = 10_000;
 
+    private static final long WEIGHT_500K = 500_000;
+
     private final double cacheFactor;
 
     private final CacheBuilderProvider cacheBuilderProvider;
@@ -132,7 +135,10 @@ public class DefaultCacheProvider
         jobCancelRequested,
         dataIntegritySummaryCache,
         dataIntegrityDetailsCache,
-        subExpressionCache
+        subExpressionCache,
+        expressionParseTreeCache,
+        analyticsSqlResult,
+        fieldFilterWriter
     }
 
     private final Map<String, Cache<?>> allCaches = new ConcurrentHashMap<>();
@@ -646,4 +652,54 @@ public class DefaultCacheProvider
             .forRegion( Region.subExpressionCache.name() )
             .expireAfterWrite( 5, TimeUnit.MINUTES ) );
     }
+
+    /**
+     * Cache for parse trees of expressions, which are immutable once parsed and
+     * depend on the expression text only.
+     */
+    @Override
+    public <V> Cache<V> createExpressionParseTreeCache()
+    {
+        return registerCache( this.<V> newBuilder()
+            .forRegion( Region.expressionParseTreeCache.name() )
+            .expireAfterAccess( 1, HOURS )
+            .withInitialCapacity( (int) getActualSize( SIZE_1K ) )
+            .forceInMemory()
+            .withMaximumSize( orZeroInTestRun( getActualSize( SIZE_10K ) ) ) );
+    }
+
+    /**
+     * Cache for the aggregated values read by individual analytics SQL
+     * statements. Entries are replaced when analytics tables are swapped, the
+     * expiration time is overwritten on put. As a single entry can hold any
+     * number of values, the cache is bounded by the total weight of its
+     * entries rather than their number.
+     */
+    @Override
+    public <V> Cache<V> createAnalyticsSqlResultCache( ToIntFunction<V> weigher )
+    {
+        return registerCache( this.<V> newBuilder()
+            .forRegion( Region.analyticsSqlResult.name() )
+            .expireAfterWrite( 12, HOURS )
+            .withInitialCapacity( (int) getActualSize( SIZE_1K ) )
+            .forceInMemory()
+            .withMaximumSize( orZeroInTestRun( getActualSize( SIZE_1K ) ) )
+            .withMaximumWeight( getActualSize( WEIGHT_500K ), weigher ) );
+    }
+
+    /**
+     * Cache for the field paths and writers prepared for a field filter shape,
+     * which are immutable once prepared and held in memory only as writers are
+     * not serializable.
+     */
+    @Override
+    public <V> Cache<V> createFieldFilterWriterCache()
+    {
+        return registerCache( this.<V> newBuilder()
+            .forRegion( Region.fieldFilterWriter.name() )
+            .expireAfterAccess( 1, HOURS )
+            .withInitialCapacity( (int) getActualSize( SIZE_100 ) )
+            .forceInMemory()
+            .withMaximumSize( orZeroInTestRun( getActualSize( SIZE_1K ) ) ) );
+    }
 }
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.monitoring.metrics;
+
+import static org.hisp.dhis.external.conf.ConfigurationKey.MONITORING_READ_REPLICA_ENABLED;
+
+import org.hisp.dhis.datasource.ReadOnlyDataSourceManager;
+import org.hisp.dhis.datasource.ReadReplica;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Exposes the load and health of each read replica, tagged with the name of
+ * the replica, and the number of reads routed to the main database.
+ */
+@Configuration
+@Conditional( ReadReplicaMetricsConfig.ReadReplicaMetricsEnabledCondition.class )
+public class ReadReplicaMetricsConfig
+{
+    private static final String TAG_REPLICA = "replica";
+
+    @Autowired
+    public void bindToRegistry( MeterRegistry registry, ReadOnlyDataSourceManager readOnlyDataSourceManager )
+    {
+        for ( ReadReplica replica : readOnlyDataSourceManager.getReadReplicas() )
+        {
+            Gauge.builder( "db.replica.connections.active", replica, ReadReplica::getActiveConnections )
+                .tag( TAG_REPLICA, replica.getName() )
+                .description( "Number of read replica connections in use" )
+                .register( registry );
+
+            Gauge.builder( "db.replica.latency", replica, ReadReplica::getLatencyMillis )
+                .tag( TAG_REPLICA, replica.getName() )
+                .description( "Moving average of the time to get a read replica connection in milliseconds" )
+                .register( registry );
+
+            Gauge.builder( "db.replica.lag", replica, ReadReplica::getLagSeconds )
+                .tag( TAG_REPLICA, replica.getName() )
+                .description( "Replication lag of the read replica in seconds, if checked" )
+                .register( registry );
+
+            Gauge.builder( "db.replica.ejected", replica, r -> r.isEjected() ? 1 : 0 )
+                .tag( TAG_REPLICA, replica.getName() )
+                .description( "Whether the read replica is out of rotation after failures" )
+                .register( registry );
+
+            FunctionCounter.builder( "db.replica.connections", replica, ReadReplica::getConnectionCount )
+                .tag( TAG_REPLICA, replica.getName() )
+                .description( "Number of connections taken from the read replica" )
+                .register( registry );
+
+            FunctionCounter.builder( "db.replica.failures", replica, ReadReplica::getFailureCount )
+                .tag( TAG_REPLICA, replica.getName() )
+                .description( "Number of failed attempts to use the read replica" )
+                .register( registry );
+        }
+
+        FunctionCounter
+            .builder( "db.replica.fallbacks", readOnlyDataSourceManager,
+                ReadOnlyDataSourceManager::getReadReplicaFallbackCount )
+            .description( "Number of read connections taken from the main database as no replica was available" )
+            .register( registry );
+    }
+
+    static class ReadReplicaMetricsEnabledCondition
+        extends
+        MetricsEnabler
+    {
+        @Override
+        protected ConfigurationKey getConfigKey()
+        {
+            return MONITORING_READ_REPLICA_ENABLED;
+        }
+    }
+}
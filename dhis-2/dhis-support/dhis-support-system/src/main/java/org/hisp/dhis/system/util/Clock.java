@@ -46,6 +46,8 @@ public class Clock
 
     private Logger log;
 
+    private long lastSplitTime;
+
     /**
      * Create a new instance.
      */
@@ -100,10 +102,38 @@ public class Clock
     {
         super.split();
 
-        String time = DurationFormatUtils.formatDurationHMS( super.getSplitTime() );
+        lastSplitTime = super.getSplitTime();
+
+        log( message + SEPARATOR + DurationFormatUtils.formatDurationHMS( lastSplitTime ) );
+
+        return this;
+    }
+
+    /**
+     * Timestamps the given message using the time elapsed since the previous
+     * timestamp of this Clock, followed by the total elapsed time, and logs it
+     * using the logger. Useful for reporting the duration of individual stages
+     * of a process.
+     *
+     * @param message the message to log.
+     * @return this Clock.
+     */
+    public Clock logStageTime( String message )
+    {
+        super.split();
+
+        long splitTime = super.getSplitTime();
+        long stageTime = splitTime - lastSplitTime;
+        lastSplitTime = splitTime;
+
+        log( message + SEPARATOR + DurationFormatUtils.formatDurationHMS( stageTime ) + " (total "
+            + DurationFormatUtils.formatDurationHMS( splitTime ) + ")" );
 
-        String msg = message + SEPARATOR + time;
+        return this;
+    }
 
+    private void log( String msg )
+    {
         if ( log != null )
         {
             log.info( msg );
@@ -112,7 +142,5 @@ public class Clock
         {
             defaultLog.info( msg );
         }
-
-        return this;
     }
 }
@@ -30,6 +30,10 @@ package org.hisp.dhis.system.util;
 import static org.apache.commons.lang3.StringUtils.uncapitalize;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
@@ -42,6 +46,8 @@ import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -457,6 +463,83 @@ public class ReflectionUtils
         }
     }
 
+    /**
+     * Creates a function calling the given getter method. The function is
+     * generated using {@link LambdaMetafactory} and avoids reflective dispatch,
+     * if the method can not be linked it falls back to
+     * {@link #invokeMethod(Object, Method, Object...)}.
+     *
+     * @param method the getter method.
+     * @return a function calling the method, or null if the method is null,
+     *         static, protected or private.
+     */
+    @SuppressWarnings( "unchecked" )
+    public static Function<Object, Object> createGetter( Method method )
+    {
+        if ( !isAccessor( method, 0 ) )
+        {
+            return null;
+        }
+
+        try
+        {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodHandle handle = lookup.unreflect( method );
+
+            return (Function<Object, Object>) LambdaMetafactory.metafactory( lookup, "apply",
+                MethodType.methodType( Function.class ), MethodType.methodType( Object.class, Object.class ),
+                handle, handle.type().wrap() ).getTarget().invoke();
+        }
+        catch ( Throwable ex )
+        {
+            log.debug( "Could not generate getter for method: " + method, ex );
+
+            return target -> invokeMethod( target, method );
+        }
+    }
+
+    /**
+     * Creates a function calling the given setter method, see
+     * {@link #createGetter(Method)}.
+     *
+     * @param method the setter method.
+     * @return a function calling the method, or null if the method is null,
+     *         static, protected or private.
+     */
+    @SuppressWarnings( "unchecked" )
+    public static BiConsumer<Object, Object> createSetter( Method method )
+    {
+        if ( !isAccessor( method, 1 ) )
+        {
+            return null;
+        }
+
+        try
+        {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodHandle handle = lookup.unreflect( method );
+
+            return (BiConsumer<Object, Object>) LambdaMetafactory.metafactory( lookup, "accept",
+                MethodType.methodType( BiConsumer.class ),
+                MethodType.methodType( void.class, Object.class, Object.class ),
+                handle, handle.type().wrap().changeReturnType( void.class ) ).getTarget().invoke();
+        }
+        catch ( Throwable ex )
+        {
+            log.debug( "Could not generate setter for method: " + method, ex );
+
+            return ( target, value ) -> invokeMethod( target, method, value );
+        }
+    }
+
+    private static boolean isAccessor( Method method, int parameterCount )
+    {
+        return method != null && method.getParameterCount() == parameterCount
+            && !Modifier.isStatic( method.getModifiers() )
+            && !Modifier.isProtected( method.getModifiers() )
+            && !Modifier.isPrivate( method.getModifiers() );
+    }
+
     public static Collection<Field> collectFields( Class<?> clazz, Predicate<Field> predicate )
     {
         Class<?> type = clazz;
@@ -27,6 +27,8 @@
  */
 package org.hisp.dhis.system.util;
 
+import static org.hisp.dhis.system.util.ReflectionUtils.createGetter;
+import static org.hisp.dhis.system.util.ReflectionUtils.createSetter;
 import static org.hisp.dhis.system.util.ReflectionUtils.getClassName;
 import static org.hisp.dhis.system.util.ReflectionUtils.getId;
 import static org.hisp.dhis.system.util.ReflectionUtils.getProperty;
@@ -42,6 +44,8 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 
 import org.hisp.dhis.analytics.AggregationType;
 import org.hisp.dhis.dataelement.DataElement;
@@ -107,4 +111,31 @@ class ReflectionUtilsTest
         assertTrue( isCollection( colC ) );
         assertFalse( isCollection( dataElementA ) );
     }
+
+    @Test
+    void testCreateGetter()
+        throws Exception
+    {
+        Function<Object, Object> name = createGetter( DataElement.class.getMethod( "getName" ) );
+        Function<Object, Object> id = createGetter( DataElement.class.getMethod( "getId" ) );
+
+        assertEquals( "NameA", name.apply( dataElementA ) );
+        assertEquals( 8L, id.apply( dataElementA ) );
+        assertNull( createGetter( null ) );
+    }
+
+    @Test
+    void testCreateSetter()
+        throws Exception
+    {
+        BiConsumer<Object, Object> name = createSetter( DataElement.class.getMethod( "setName", String.class ) );
+        BiConsumer<Object, Object> id = createSetter( DataElement.class.getMethod( "setId", long.class ) );
+
+        name.accept( dataElementA, "NameB" );
+        id.accept( dataElementA, 9L );
+
+        assertEquals( "NameB", dataElementA.getName() );
+        assertEquals( 9L, dataElementA.getId() );
+        assertNull( createSetter( DataElement.class.getMethod( "getName" ) ) );
+    }
 }
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.analytics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.hisp.dhis.common.CodeGenerator;
+import org.hisp.dhis.common.DimensionalItemObject;
+import org.hisp.dhis.dataelement.DataElement;
+import org.hisp.dhis.organisationunit.OrganisationUnit;
+import org.hisp.dhis.period.PeriodType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of {@link DataQueryParams#getKey()}, which is computed for every
+ * analytics request and for every query the request is planned into, to look
+ * up the analytics caches.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+public class DataQueryParamsKeyBenchmark
+{
+    /**
+     * Number of data elements and of organisation units of the query.
+     */
+    @Param( { "10", "100", "1000" } )
+    public int items;
+
+    private DataQueryParams params;
+
+    @Setup
+    public void setUp()
+    {
+        List<DimensionalItemObject> dataElements = new ArrayList<>();
+        List<DimensionalItemObject> orgUnits = new ArrayList<>();
+        List<DimensionalItemObject> periods = new ArrayList<>();
+
+        for ( int i = 0; i < items; i++ )
+        {
+            DataElement dataElement = new DataElement( "DataElement" + i );
+            dataElement.setUid( CodeGenerator.generateUid() );
+            dataElements.add( dataElement );
+
+            OrganisationUnit orgUnit = new OrganisationUnit( "OrgUnit" + i );
+            orgUnit.setUid( CodeGenerator.generateUid() );
+            orgUnits.add( orgUnit );
+        }
+
+        for ( int month = 1; month <= 12; month++ )
+        {
+            periods.add( PeriodType.getPeriodFromIsoString( String.format( "2022%02d", month ) ) );
+        }
+
+        params = DataQueryParams.newBuilder()
+            .withDataElements( dataElements )
+            .withOrganisationUnits( orgUnits )
+            .withFilterPeriods( periods )
+            .build();
+    }
+
+    @Benchmark
+    public String getKey()
+    {
+        return params.getKey();
+    }
+
+    @Benchmark
+    public String copyAndGetKey()
+    {
+        return DataQueryParams.newBuilder( params ).build().getKey();
+    }
+}
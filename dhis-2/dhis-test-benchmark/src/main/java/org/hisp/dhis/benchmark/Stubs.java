@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.benchmark;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+
+/**
+ * Creates stand-ins for the collaborators of benchmarked services which are
+ * not reached by the benchmarked paths. A stub answers the given results by
+ * method name and the default value of the return type otherwise, i.e. null,
+ * zero or false.
+ */
+public final class Stubs
+{
+    private Stubs()
+    {
+        throw new UnsupportedOperationException( "util" );
+    }
+
+    public static <T> T stub( Class<T> type )
+    {
+        return stub( type, Map.of() );
+    }
+
+    public static <T> T stub( Class<T> type, Map<String, Object> results )
+    {
+        return type.cast( Proxy.newProxyInstance( type.getClassLoader(), new Class<?>[] { type },
+            ( proxy, method, args ) -> invoke( type, proxy, method, args, results ) ) );
+    }
+
+    private static Object invoke( Class<?> type, Object proxy, Method method, Object[] args,
+        Map<String, Object> results )
+    {
+        if ( method.getDeclaringClass() == Object.class )
+        {
+            switch ( method.getName() )
+            {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode( proxy );
+            default:
+                return "Stub of " + type.getSimpleName();
+            }
+        }
+
+        if ( results.containsKey( method.getName() ) )
+        {
+            return results.get( method.getName() );
+        }
+
+        return defaultValue( method.getReturnType() );
+    }
+
+    private static Object defaultValue( Class<?> type )
+    {
+        if ( !type.isPrimitive() || type == void.class )
+        {
+            return null;
+        }
+
+        if ( type == boolean.class )
+        {
+            return false;
+        }
+
+        if ( type == char.class )
+        {
+            return '\0';
+        }
+
+        if ( type == long.class )
+        {
+            return 0L;
+        }
+
+        if ( type == float.class )
+        {
+            return 0f;
+        }
+
+        if ( type == double.class )
+        {
+            return 0d;
+        }
+
+        if ( type == byte.class )
+        {
+            return (byte) 0;
+        }
+
+        if ( type == short.class )
+        {
+            return (short) 0;
+        }
+
+        return 0;
+    }
+}
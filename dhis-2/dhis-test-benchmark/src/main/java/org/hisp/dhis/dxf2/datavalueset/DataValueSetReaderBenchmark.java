@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.dxf2.datavalueset;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.hisp.dhis.common.CodeGenerator;
+import org.hisp.dhis.commons.jackson.config.JacksonObjectMapperConfig;
+import org.hisp.dhis.system.util.CsvUtils;
+import org.hisp.staxwax.factory.XMLFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Benchmarks of reading data value sets in the formats accepted by the data
+ * value set import, consuming all values in the way the import does. The
+ * payloads are generated in memory.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+public class DataValueSetReaderBenchmark
+{
+    /**
+     * Number of data values in the data value set.
+     */
+    @Param( { "10000" } )
+    public int dataValues;
+
+    private final ObjectMapper jsonMapper = JacksonObjectMapperConfig.staticJsonMapper();
+
+    private byte[] xml;
+
+    private byte[] json;
+
+    private byte[] csv;
+
+    @Setup
+    public void setUp()
+    {
+        String dataSet = CodeGenerator.generateUid();
+
+        StringBuilder xmlPayload = new StringBuilder( "<dataValueSet xmlns=\"http://dhis2.org/schema/dxf/2.0\" " )
+            .append( "dataSet=\"" ).append( dataSet ).append( "\">" );
+        StringBuilder jsonPayload = new StringBuilder( "{\"dataSet\":\"" ).append( dataSet )
+            .append( "\",\"dataValues\":[" );
+        StringBuilder csvPayload = new StringBuilder(
+            "dataelement,period,orgunit,categoryoptioncombo,attributeoptioncombo,value,storedby,lastupdated,"
+                + "comment,followup,deleted\n" );
+
+        for ( int i = 0; i < dataValues; i++ )
+        {
+            String dataElement = CodeGenerator.generateUid();
+            String period = String.format( "2022%02d", i % 12 + 1 );
+            String orgUnit = CodeGenerator.generateUid();
+            String categoryOptionCombo = CodeGenerator.generateUid();
+            String value = String.valueOf( i );
+
+            xmlPayload.append( "<dataValue dataElement=\"" ).append( dataElement )
+                .append( "\" period=\"" ).append( period )
+                .append( "\" orgUnit=\"" ).append( orgUnit )
+                .append( "\" categoryOptionCombo=\"" ).append( categoryOptionCombo )
+                .append( "\" value=\"" ).append( value )
+                .append( "\" comment=\"comment\" />" );
+
+            jsonPayload.append( i == 0 ? "" : "," )
+                .append( "{\"dataElement\":\"" ).append( dataElement )
+                .append( "\",\"period\":\"" ).append( period )
+                .append( "\",\"orgUnit\":\"" ).append( orgUnit )
+                .append( "\",\"categoryOptionCombo\":\"" ).append( categoryOptionCombo )
+                .append( "\",\"value\":\"" ).append( value )
+                .append( "\",\"comment\":\"comment\"}" );
+
+            csvPayload.append( dataElement ).append( ',' )
+                .append( period ).append( ',' )
+                .append( orgUnit ).append( ',' )
+                .append( categoryOptionCombo ).append( ",," )
+                .append( value ).append( ",,," )
+                .append( "comment,false,false\n" );
+        }
+
+        xml = xmlPayload.append( "</dataValueSet>" ).toString().getBytes( StandardCharsets.UTF_8 );
+        json = jsonPayload.append( "]}" ).toString().getBytes( StandardCharsets.UTF_8 );
+        csv = csvPayload.toString().getBytes( StandardCharsets.UTF_8 );
+    }
+
+    @Benchmark
+    public void readXml( Blackhole blackhole )
+    {
+        read( new XmlDataValueSetReader( XMLFactory.getXMLReader( new ByteArrayInputStream( xml ) ) ), blackhole );
+    }
+
+    @Benchmark
+    public void readJson( Blackhole blackhole )
+    {
+        read( new JsonDataValueSetReader( new ByteArrayInputStream( json ), jsonMapper ), blackhole );
+    }
+
+    @Benchmark
+    public void readCsv( Blackhole blackhole )
+    {
+        read( new CsvDataValueSetReader( CsvUtils.getReader( new ByteArrayInputStream( csv ) ), null ), blackhole );
+    }
+
+    /**
+     * Reads all values of the data value set, first the ones of the header and
+     * then the streamed ones, as in the data value set import.
+     */
+    private static void read( DataValueSetReader reader, Blackhole blackhole )
+    {
+        try ( reader )
+        {
+            DataValueSet dataValueSet = reader.readHeader();
+            blackhole.consume( dataValueSet.getDataSet() );
+
+            List<? extends DataValueEntry> values = dataValueSet.getDataValues();
+
+            if ( values != null )
+            {
+                values.forEach( value -> consume( value, blackhole ) );
+            }
+
+            DataValueEntry value = reader.readNext();
+
+            while ( value != null )
+            {
+                consume( value, blackhole );
+                value = reader.readNext();
+            }
+        }
+    }
+
+    private static void consume( DataValueEntry value, Blackhole blackhole )
+    {
+        blackhole.consume( value.getDataElement() );
+        blackhole.consume( value.getPeriod() );
+        blackhole.consume( value.getOrgUnit() );
+        blackhole.consume( value.getCategoryOptionCombo() );
+        blackhole.consume( value.getAttributeOptionCombo() );
+        blackhole.consume( value.getValue() );
+        blackhole.consume( value.getComment() );
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.expression;
+
+import static org.hisp.dhis.benchmark.Stubs.stub;
+import static org.hisp.dhis.parser.expression.ExpressionItem.ITEM_EVALUATE;
+import static org.hisp.dhis.parser.expression.ParserUtils.COMMON_EXPRESSION_ITEMS;
+import static org.hisp.dhis.parser.expression.antlr.ExpressionParser.HASH_BRACE;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.antlr.v4.runtime.tree.ParseTree;
+import org.hisp.dhis.analytics.DataType;
+import org.hisp.dhis.antlr.Parser;
+import org.hisp.dhis.cache.CacheBuilder;
+import org.hisp.dhis.cache.CacheProvider;
+import org.hisp.dhis.cache.LocalCache;
+import org.hisp.dhis.cache.SimpleCacheBuilder;
+import org.hisp.dhis.common.DimensionItemType;
+import org.hisp.dhis.common.DimensionalItemId;
+import org.hisp.dhis.common.DimensionalItemObject;
+import org.hisp.dhis.dataelement.DataElement;
+import org.hisp.dhis.expression.dataitem.DimItemDataElementAndOperand;
+import org.hisp.dhis.parser.expression.CommonExpressionVisitor;
+import org.hisp.dhis.parser.expression.ExpressionItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of evaluating expressions with a {@link CommonExpressionVisitor},
+ * as done for every indicator, validation rule and predictor value. Compares
+ * {@link Parser#visit} parsing the expression on every evaluation with visiting
+ * the parse tree from the {@link ExpressionParseTreeCache}.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+public class ExpressionEvaluationBenchmark
+{
+    private static final String[] DATA_ELEMENT_UIDS = { "deabcdefghA", "deabcdefghB", "deabcdefghC",
+        "deabcdefghD" };
+
+    @Param( {
+        "#{deabcdefghA} + #{deabcdefghB}",
+        "(#{deabcdefghA} + #{deabcdefghB}) / #{deabcdefghC} * 100",
+        "if(#{deabcdefghA} > 0, #{deabcdefghB} / #{deabcdefghA}, 0) + greatest(#{deabcdefghC}, #{deabcdefghD})" } )
+    public String expression;
+
+    private final Map<Integer, ExpressionItem> itemMap = new HashMap<>( COMMON_EXPRESSION_ITEMS );
+
+    private ExpressionParams params;
+
+    private ExpressionParseTreeCache parseTreeCache;
+
+    @Setup
+    public void setUp()
+    {
+        itemMap.put( HASH_BRACE, new DimItemDataElementAndOperand() );
+
+        Map<DimensionalItemId, DimensionalItemObject> items = new HashMap<>();
+        Map<DimensionalItemObject, Object> values = new HashMap<>();
+
+        for ( int i = 0; i < DATA_ELEMENT_UIDS.length; i++ )
+        {
+            DataElement dataElement = new DataElement( "DataElement" + i );
+            dataElement.setUid( DATA_ELEMENT_UIDS[i] );
+
+            items.put( new DimensionalItemId( DimensionItemType.DATA_ELEMENT, DATA_ELEMENT_UIDS[i] ), dataElement );
+            values.put( dataElement, 10.0 * (i + 1) );
+        }
+
+        params = ExpressionParams.builder()
+            .expression( expression )
+            .parseType( ParseType.VALIDATION_RULE_EXPRESSION )
+            .dataType( DataType.NUMERIC )
+            .itemMap( items )
+            .valueMap( values )
+            .build();
+
+        CacheBuilder<ParseTree> cacheBuilder = new SimpleCacheBuilder<>();
+        cacheBuilder.expireAfterAccess( 1, TimeUnit.HOURS );
+
+        CacheProvider cacheProvider = stub( CacheProvider.class,
+            Map.of( "createExpressionParseTreeCache", new LocalCache<>( cacheBuilder ) ) );
+
+        parseTreeCache = new ExpressionParseTreeCache( cacheProvider );
+    }
+
+    @Benchmark
+    public Object parseAndVisit()
+    {
+        return Parser.visit( expression, newVisitor() );
+    }
+
+    @Benchmark
+    public Object visitCachedParseTree()
+    {
+        return newVisitor().visit( parseTreeCache.getParseTree( expression ) );
+    }
+
+    /**
+     * Creates a visitor per evaluation, as the expression service does, since
+     * the visitor holds the state of the evaluation.
+     */
+    private CommonExpressionVisitor newVisitor()
+    {
+        return CommonExpressionVisitor.builder()
+            .itemMap( itemMap )
+            .itemMethod( ITEM_EVALUATE )
+            .params( params )
+            .build();
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.fieldfiltering;
+
+import static org.hisp.dhis.benchmark.Stubs.stub;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.SessionFactory;
+import org.hisp.dhis.analytics.AggregationType;
+import org.hisp.dhis.attribute.AttributeService;
+import org.hisp.dhis.cache.CacheBuilder;
+import org.hisp.dhis.cache.CacheProvider;
+import org.hisp.dhis.cache.LocalCache;
+import org.hisp.dhis.cache.SimpleCacheBuilder;
+import org.hisp.dhis.category.CategoryCombo;
+import org.hisp.dhis.common.CodeGenerator;
+import org.hisp.dhis.common.DataDimensionType;
+import org.hisp.dhis.common.ValueType;
+import org.hisp.dhis.commons.jackson.config.JacksonObjectMapperConfig;
+import org.hisp.dhis.dataelement.DataElement;
+import org.hisp.dhis.dataelement.DataElementDomain;
+import org.hisp.dhis.schema.DefaultPropertyIntrospectorService;
+import org.hisp.dhis.schema.DefaultSchemaService;
+import org.hisp.dhis.schema.SchemaService;
+import org.hisp.dhis.schema.introspection.JacksonPropertyIntrospector;
+import org.hisp.dhis.security.acl.AclService;
+import org.hisp.dhis.user.CurrentUserService;
+import org.hisp.dhis.user.User;
+import org.hisp.dhis.user.UserGroupService;
+import org.hisp.dhis.user.UserService;
+import org.hisp.dhis.user.UserStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Benchmarks of parsing the fields parameter with {@link FieldFilterParser}
+ * and of serializing a page of data elements with the {@link FieldFilterService}
+ * as done by the metadata API. Fields which need the database (sharing, access
+ * and attribute values) are not requested, so the services backing them are
+ * mocked.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+public class FieldFilterBenchmark
+{
+    @Param( {
+        "id,name,code",
+        "id,name,shortName,valueType,domainType,aggregationType,categoryCombo[id,name]",
+        "id,name::rename(label),categoryCombo[id,name],lastUpdated,created" } )
+    public String fields;
+
+    /**
+     * Number of objects serialized, a page of the metadata API by default.
+     */
+    @Param( { "50" } )
+    public int objects;
+
+    private FieldFilterService fieldFilterService;
+
+    private FieldFilterParams<DataElement> params;
+
+    @Setup
+    public void setUp()
+    {
+        SchemaService schemaService = new DefaultSchemaService(
+            new DefaultPropertyIntrospectorService( new JacksonPropertyIntrospector() ),
+            stub( SessionFactory.class ) );
+
+        CacheBuilder<Object> cacheBuilder = new SimpleCacheBuilder<>();
+        cacheBuilder.expireAfterAccess( 1, TimeUnit.HOURS );
+
+        CacheProvider cacheProvider = stub( CacheProvider.class,
+            Map.of( "createFieldFilterWriterCache", new LocalCache<>( cacheBuilder ) ) );
+
+        fieldFilterService = new FieldFilterService( new FieldPathHelper( schemaService ),
+            JacksonObjectMapperConfig.staticJsonMapper(), schemaService, stub( AclService.class ),
+            new CurrentUserService( stub( UserStore.class ), stub( CacheProvider.class ) ),
+            stub( UserGroupService.class ), stub( UserService.class ), stub( AttributeService.class ),
+            cacheProvider );
+
+        CategoryCombo categoryCombo = new CategoryCombo( "default", DataDimensionType.DISAGGREGATION );
+        categoryCombo.setUid( CodeGenerator.generateUid() );
+
+        List<DataElement> dataElements = new ArrayList<>();
+
+        for ( int i = 0; i < objects; i++ )
+        {
+            DataElement dataElement = new DataElement( "DataElement" + i );
+            dataElement.setUid( CodeGenerator.generateUid() );
+            dataElement.setShortName( "DE" + i );
+            dataElement.setCode( "DE_" + i );
+            dataElement.setValueType( ValueType.NUMBER );
+            dataElement.setDomainType( DataElementDomain.AGGREGATE );
+            dataElement.setAggregationType( AggregationType.SUM );
+            dataElement.setCategoryCombo( categoryCombo );
+            dataElements.add( dataElement );
+        }
+
+        params = FieldFilterParams.<DataElement> builder()
+            .objects( dataElements )
+            .filters( Set.of( fields ) )
+            .user( new User() )
+            .build();
+    }
+
+    @Benchmark
+    public List<FieldPath> parse()
+    {
+        return FieldFilterParser.parse( params.getFilters() );
+    }
+
+    @Benchmark
+    public List<ObjectNode> toObjectNodes()
+    {
+        return fieldFilterService.toObjectNodes( params );
+    }
+
+    @Benchmark
+    public void toObjectNodesStream()
+        throws IOException
+    {
+        fieldFilterService.toObjectNodesStream( params, OutputStream.nullOutputStream() );
+    }
+}
@@ -69,6 +69,20 @@ class AuditRepositoryTest extends TransactionalIntegrationTest
         assertEquals( 1, auditRepository.query( AuditQuery.builder().build() ).size() );
     }
 
+    @Test
+    void testSaveAudits()
+    {
+        List<Audit> audits = new ArrayList<>();
+        IntStream.rangeClosed( 1, 1500 ).forEach( n -> audits.add( Audit.builder().auditType( AuditType.CREATE )
+            .auditScope( AuditScope.AGGREGATE ).createdAt( LocalDateTime.of( 2019, 1, 1, 0, 0 ) )
+            .createdBy( "test-user" ).klass( DataElement.class.getName() ).uid( CodeGenerator.generateUid() )
+            .code( CodeGenerator.generateUid() ).data( "{\"value\":" + n + "}" ).build() ) );
+        auditRepository.save( audits );
+        List<Audit> saved = auditRepository.query( AuditQuery.builder().build() );
+        assertEquals( 1500, saved.size() );
+        assertTrue( saved.stream().anyMatch( audit -> "{\"value\":1500}".equals( audit.getData() ) ) );
+    }
+
     @Test
     void testDeleteAudit()
     {
@@ -134,6 +134,9 @@ class DataValueSetServiceIntegrationTest extends IntegrationTestBase
     @Autowired
     private DataValueSetService dataValueSetServiceNoMocks;
 
+    @Autowired
+    private DataValueSetStore dataValueSetStore;
+
     @Autowired
     private CompleteDataSetRegistrationService registrationService;
 
@@ -455,6 +458,52 @@ class DataValueSetServiceIntegrationTest extends IntegrationTestBase
         assertEquals( "2020-02-02", getMediumDateString( dv2.getCreated() ) );
     }
 
+    /**
+     * Existing values are looked up for the exact keys of the import window,
+     * not for every combination of the identifiers in the window.
+     */
+    @Test
+    void testGetPersistedDataValuesSparseKeys()
+    {
+        dataValueSetService.importDataValueSetXml( readFile( "datavalueset/dataValueSetB.xml" ) );
+
+        Period peC = periodService.getPeriod( "201203" );
+
+        List<DataValue> persistedValues = dataValueSetStore.getPersistedDataValues( List.of(
+            new DataValue( deA, peA, ouA, ocDef, ocDef ),
+            new DataValue( deB, peB, ouB, ocDef, ocDef ),
+            new DataValue( deA, peC, ouA, ocDef, ocDef ) ) );
+
+        assertEquals( 2, persistedValues.size() );
+        assertTrue( persistedValues.contains( new DataValue( deA, peA, ouA, ocDef, ocDef ) ) );
+        assertTrue( persistedValues.contains( new DataValue( deB, peB, ouB, ocDef, ocDef ) ) );
+        assertEquals( Set.of( "10001", "10008" ),
+            persistedValues.stream().map( DataValue::getValue ).collect( Collectors.toSet() ) );
+    }
+
+    /**
+     * A key occurring twice within one import window is updated twice, the
+     * second update seeing the value written by the first.
+     */
+    @Test
+    void testImportDuplicateKeyWithinWindow()
+    {
+        dataValueSetService.importDataValueSetXml( readFile( "datavalueset/dataValueSetB.xml" ) );
+
+        String importData = "<dataValueSet xmlns=\"http://dhis2.org/schema/dxf/2.0\">\n"
+            + "  <dataValue dataElement=\"f7n9E0hX8qk\" period=\"201201\" orgUnit=\"DiszpKrYNg8\" value=\"20001\" />\n"
+            + "  <dataValue dataElement=\"Ix2HsbDMLea\" period=\"201203\" orgUnit=\"DiszpKrYNg8\" value=\"20002\" />\n"
+            + "  <dataValue dataElement=\"f7n9E0hX8qk\" period=\"201201\" orgUnit=\"DiszpKrYNg8\" value=\"20003\" />\n"
+            + "</dataValueSet>\n";
+
+        ImportSummary summary = dataValueSetService
+            .importDataValueSetXml( new ByteArrayInputStream( importData.getBytes( StandardCharsets.UTF_8 ) ) );
+
+        assertSuccessWithImportedUpdatedDeleted( 1, 2, 0, summary );
+        assertDataValuesCount( 13 );
+        assertEquals( "20003", dataValueService.getDataValue( deA, peA, ouA, ocDef, ocDef ).getValue() );
+    }
+
     /**
      * Import 12 data values where 4 are marked as deleted. Deleted values
      * should count as imports when there are no existing non-deleted matching
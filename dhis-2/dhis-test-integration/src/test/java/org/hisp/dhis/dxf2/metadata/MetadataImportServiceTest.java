@@ -129,6 +129,18 @@ class MetadataImportServiceTest extends TransactionalIntegrationTest
         assertEquals( Status.OK, report.getStatus() );
     }
 
+    @Test
+    void testImportReportContainsPreheatTimings()
+        throws IOException
+    {
+        Map<Class<? extends IdentifiableObject>, List<IdentifiableObject>> metadata = renderService.fromMetadata(
+            new ClassPathResource( "dxf2/dataset_with_sections.json" ).getInputStream(), RenderFormat.JSON );
+        MetadataImportParams params = createParams( ImportStrategy.CREATE, metadata );
+        ImportReport report = importService.importMetadata( params );
+        assertTrue( report.getPreheatTimings().containsKey( "Uniqueness[DataSet]" ) );
+        assertTrue( report.getPreheatTimings().containsKey( "References[DataSet]" ) );
+    }
+
     @Test
     void testCorrectStatusOnImportErrors()
         throws IOException
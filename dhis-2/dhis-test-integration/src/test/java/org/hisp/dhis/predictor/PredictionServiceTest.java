@@ -31,6 +31,7 @@ import static com.google.common.collect.Sets.newHashSet;
 import static org.hisp.dhis.common.OrganisationUnitDescendants.SELECTED;
 import static org.hisp.dhis.expression.ExpressionService.SYMBOL_DAYS;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.Date;
 import java.util.HashSet;
@@ -76,6 +77,7 @@ import org.hisp.quick.BatchHandlerFactory;
 import org.joda.time.DateTime;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
@@ -122,6 +124,9 @@ class PredictionServiceTest extends IntegrationTestBase
     @Autowired
     private BatchHandlerFactory batchHandlerFactory;
 
+    @Autowired
+    private PredictionExecutor predictionExecutor;
+
     @Autowired
     private UserService _userService;
 
@@ -537,6 +542,50 @@ class PredictionServiceTest extends IntegrationTestBase
         assertEquals( "Pred 1 Ins 0 Upd 0 Del 0 Unch 8", shortSummary( summary ) );
     }
 
+    @Test
+    void testPredictInParallelMatchesSequential()
+    {
+        setupTestData();
+        Predictor sequential = createPredictor( dataElementX, defaultCombo, "PredictSequential", expressionA, null,
+            periodTypeMonthly, orgUnitLevel3, 3, 1, 0 );
+        Predictor parallel = createPredictor( dataElementC, defaultCombo, "PredictParallel", expressionA, null,
+            periodTypeMonthly, orgUnitLevel3, 3, 1, 0 );
+        predictorService.addPredictor( parallel );
+
+        predictionService.predict( sequential, monthStart( 2001, 7 ), monthStart( 2004, 12 ), summary );
+
+        // evaluates each organisation unit of level 3 in a task of its own
+        PredictionExecutor parallelExecutor = new PredictionExecutor( 2, 1 );
+        PredictionSummary parallelSummary = new PredictionSummary();
+        ReflectionTestUtils.setField( predictionService, "predictionExecutor", parallelExecutor );
+
+        try
+        {
+            predictionService.predict( parallel, monthStart( 2001, 7 ), monthStart( 2004, 12 ), parallelSummary );
+        }
+        finally
+        {
+            ReflectionTestUtils.setField( predictionService, "predictionExecutor", predictionExecutor );
+            parallelExecutor.shutdown();
+        }
+
+        assertTrue( summary.getInserted() > 0 );
+        assertEquals( shortSummary( summary ), shortSummary( parallelSummary ) );
+
+        for ( OrganisationUnit orgUnit : List.of( sourceE, sourceF ) )
+        {
+            for ( int year = 2001; year <= 2004; year++ )
+            {
+                for ( int month = 1; month <= 12; month++ )
+                {
+                    Period period = makeMonth( year, month );
+                    assertEquals( getDataValue( dataElementX, defaultCombo, orgUnit, period ),
+                        getDataValue( dataElementC, defaultCombo, orgUnit, period ) );
+                }
+            }
+        }
+    }
+
     @Test
     void testPredictSequentialWithoutDescendants()
     {
@@ -37,6 +37,9 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.hisp.dhis.attribute.Attribute;
+import org.hisp.dhis.attribute.AttributeService;
+import org.hisp.dhis.attribute.AttributeValue;
 import org.hisp.dhis.common.IdentifiableObject;
 import org.hisp.dhis.common.IdentifiableObjectManager;
 import org.hisp.dhis.common.ValueType;
@@ -77,6 +80,9 @@ class CriteriaQueryEngineTest extends TransactionalIntegrationTest
     @Autowired
     private UserService _userService;
 
+    @Autowired
+    private AttributeService attributeService;
+
     @BeforeEach
     void createDataElements()
     {
@@ -114,6 +120,37 @@ class CriteriaQueryEngineTest extends TransactionalIntegrationTest
         return de;
     }
 
+    private Attribute addAttributeValues()
+    {
+        Attribute attribute = createAttribute( 'A' );
+        attribute.setDataElementAttribute( true );
+        attributeService.addAttribute( attribute );
+        addAttributeValue( "deabcdefghA", attribute, "red" );
+        addAttributeValue( "deabcdefghB", attribute, "Redwood" );
+        addAttributeValue( "deabcdefghC", attribute, "blue" );
+        return attribute;
+    }
+
+    private void addAttributeValue( String dataElementUid, Attribute attribute, String value )
+    {
+        DataElement de = identifiableObjectManager.get( DataElement.class, dataElementUid );
+        de.getAttributeValues().add( new AttributeValue( value, attribute ) );
+        identifiableObjectManager.update( de );
+    }
+
+    private void assertAttributeValueQuery( Restriction restriction, String... uids )
+    {
+        Query query = Query.from( schemaService.getDynamicSchema( DataElement.class ) );
+        query.add( restriction.asAttribute() );
+        List<? extends IdentifiableObject> objects = queryEngine.query( query );
+        assertEquals( uids.length, objects.size() );
+        for ( String uid : uids )
+        {
+            assertTrue( collectionContainsUid( objects, uid ) );
+        }
+        assertEquals( uids.length, queryEngine.count( query ) );
+    }
+
     private boolean collectionContainsUid( Collection<? extends IdentifiableObject> collection, String uid )
     {
         for ( IdentifiableObject identifiableObject : collection )
@@ -620,6 +657,34 @@ class CriteriaQueryEngineTest extends TransactionalIntegrationTest
         assertTrue( !notPublicDe.isPresent() );
     }
 
+    @Test
+    void testDisjunctionQueryWithNoAccessPermission()
+    {
+        User userA = makeUser( "A" );
+        userService.addUser( userA );
+        User userB = makeUser( "B" );
+        userService.addUser( userB );
+        DataElement de = identifiableObjectManager.get( DataElement.class, "deabcdefghA" );
+        de.setCreatedBy( userB );
+        identifiableObjectManager.save( de, false );
+        de = identifiableObjectManager.get( DataElement.class, "deabcdefghA" );
+        assertEquals( AccessStringHelper.DEFAULT, de.getSharing().getPublicAccess() );
+        DataElement publicDe = identifiableObjectManager.get( DataElement.class, "deabcdefghB" );
+        publicDe.setPublicAccess( AccessStringHelper.READ );
+        identifiableObjectManager.save( publicDe, false );
+        Query query = Query.from( schemaService.getDynamicSchema( DataElement.class ), Junction.Type.OR );
+        query.add( Restrictions.eq( "id", "deabcdefghA" ) );
+        query.add( Restrictions.eq( "id", "deabcdefghB" ) );
+        query.setUser( userA );
+        injectSecurityContext( userA );
+        // The sharing predicates must not become alternatives of the OR root
+        // junction, so the private DEA is excluded
+        List<? extends IdentifiableObject> objects = queryEngine.query( query );
+        assertEquals( 1, objects.size() );
+        assertEquals( "deabcdefghB", objects.get( 0 ).getUid() );
+        assertEquals( 1, queryEngine.count( query ) );
+    }
+
     @Test
     void testCountAndPaging()
     {
@@ -637,4 +702,57 @@ class CriteriaQueryEngineTest extends TransactionalIntegrationTest
         assertEquals( 0, queryEngine.count( query ) );
         assertEquals( 0, queryEngine.query( query ).size() );
     }
+
+    @Test
+    void testAttributeValueEq()
+    {
+        Attribute attribute = addAttributeValues();
+        assertAttributeValueQuery( Restrictions.eq( attribute.getUid(), "red" ), "deabcdefghA" );
+        assertAttributeValueQuery( Restrictions.ne( attribute.getUid(), "red" ), "deabcdefghB", "deabcdefghC",
+            "deabcdefghD", "deabcdefghE", "deabcdefghF" );
+    }
+
+    @Test
+    void testAttributeValueLike()
+    {
+        Attribute attribute = addAttributeValues();
+        assertAttributeValueQuery( Restrictions.like( attribute.getUid(), "ed", MatchMode.ANYWHERE ), "deabcdefghA",
+            "deabcdefghB" );
+        assertAttributeValueQuery( Restrictions.like( attribute.getUid(), "Red", MatchMode.START ), "deabcdefghB" );
+        assertAttributeValueQuery( Restrictions.ilike( attribute.getUid(), "RED", MatchMode.START ), "deabcdefghA",
+            "deabcdefghB" );
+    }
+
+    @Test
+    void testAttributeValueIn()
+    {
+        Attribute attribute = addAttributeValues();
+        assertAttributeValueQuery( Restrictions.in( attribute.getUid(), List.of( "red", "blue", "green" ) ),
+            "deabcdefghA", "deabcdefghC" );
+        assertAttributeValueQuery( Restrictions.notIn( attribute.getUid(), List.of( "red", "blue" ) ), "deabcdefghB",
+            "deabcdefghD", "deabcdefghE", "deabcdefghF" );
+    }
+
+    @Test
+    void testAttributeValueNull()
+    {
+        Attribute attribute = addAttributeValues();
+        assertAttributeValueQuery( Restrictions.isNull( attribute.getUid() ), "deabcdefghD", "deabcdefghE",
+            "deabcdefghF" );
+        assertAttributeValueQuery( Restrictions.isNotNull( attribute.getUid() ), "deabcdefghA", "deabcdefghB",
+            "deabcdefghC" );
+    }
+
+    @Test
+    void testAttributeValueDisjunction()
+    {
+        Attribute attribute = addAttributeValues();
+        Query query = Query.from( schemaService.getDynamicSchema( DataElement.class ), Junction.Type.OR );
+        query.add( Restrictions.eq( attribute.getUid(), "blue" ).asAttribute() );
+        query.add( Restrictions.eq( "id", "deabcdefghF" ) );
+        List<? extends IdentifiableObject> objects = queryEngine.query( query );
+        assertEquals( 2, objects.size() );
+        assertTrue( collectionContainsUid( objects, "deabcdefghC" ) );
+        assertTrue( collectionContainsUid( objects, "deabcdefghF" ) );
+    }
 }
@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.tracker.bundle;
+
+import static org.hisp.dhis.tracker.Assertions.assertNoErrors;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.hisp.dhis.trackedentity.TrackedEntityInstance;
+import org.hisp.dhis.trackedentityattributevalue.TrackedEntityAttributeValue;
+import org.hisp.dhis.trackedentityattributevalue.TrackedEntityAttributeValueService;
+import org.hisp.dhis.tracker.TrackerImportParams;
+import org.hisp.dhis.tracker.TrackerImportService;
+import org.hisp.dhis.tracker.TrackerImportStrategy;
+import org.hisp.dhis.tracker.TrackerTest;
+import org.hisp.dhis.tracker.domain.Attribute;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Tests importing tracked entity attribute values with
+ * {@link ConfigurationKey#TRACKER_IMPORT_JDBC_BATCH_ENABLED}, which writes the
+ * values of non-confidential attributes with multi-row JDBC statements.
+ */
+class TrackedEntityAttributeValueJdbcBatchTest extends TrackerTest
+{
+    private static final String TRACKED_ENTITY = "EEFkxTWB55Y";
+
+    private static final String ATTRIBUTE_INTEGER = "sYn3tkL3XKa";
+
+    private static final String ATTRIBUTE_TEXT = "TsfP85GKsU5";
+
+    private static final String ATTRIBUTE_DATE = "sTGqP5JNy6E";
+
+    private static final String ATTRIBUTE_ENCRYPTED = "CWMLspQP2RH";
+
+    private static final String ATTRIBUTE_PROGRAM = "p5TPww5Uhrd";
+
+    @Autowired
+    private TrackerImportService trackerImportService;
+
+    @Autowired
+    private TrackedEntityAttributeValueService trackedEntityAttributeValueService;
+
+    @Autowired
+    private DhisConfigurationProvider config;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    protected void initTest()
+        throws IOException
+    {
+        setUpMetadata( "tracker/te_program_with_tea_encryption_metadata.json" );
+        injectAdminUser();
+    }
+
+    @BeforeEach
+    void enableJdbcBatch()
+    {
+        config.getProperties().setProperty( ConfigurationKey.TRACKER_IMPORT_JDBC_BATCH_ENABLED.getKey(), "on" );
+    }
+
+    @AfterEach
+    void disableJdbcBatch()
+    {
+        config.getProperties().remove( ConfigurationKey.TRACKER_IMPORT_JDBC_BATCH_ENABLED.getKey() );
+    }
+
+    @Test
+    void testImportAttributeValues()
+        throws IOException
+    {
+        assertNoErrors( trackerImportService
+            .importTracker( fromJson( "tracker/te_program_with_tea_encryption_data.json" ) ) );
+        manager.clear();
+
+        Map<String, String> values = getAttributeValues();
+
+        assertEquals( 5, values.size() );
+        assertEquals( "321", values.get( ATTRIBUTE_INTEGER ) );
+        assertEquals( "TEXT", values.get( ATTRIBUTE_TEXT ) );
+        assertEquals( "2020-02-20", values.get( ATTRIBUTE_DATE ) );
+        assertEquals( "Value To Encrypt", values.get( ATTRIBUTE_ENCRYPTED ) );
+        assertEquals( "321", values.get( ATTRIBUTE_PROGRAM ) );
+
+        assertEquals( "TEXT", getColumn( ATTRIBUTE_TEXT, "value" ) );
+        assertNull( getColumn( ATTRIBUTE_ENCRYPTED, "value" ) );
+        assertNotNull( getColumn( ATTRIBUTE_ENCRYPTED, "encryptedvalue" ) );
+    }
+
+    @Test
+    void testUpdateAndDeleteAttributeValues()
+        throws IOException
+    {
+        assertNoErrors( trackerImportService
+            .importTracker( fromJson( "tracker/te_program_with_tea_encryption_data.json" ) ) );
+        manager.clear();
+
+        TrackerImportParams params = fromJson( "tracker/te_program_with_tea_encryption_data.json" );
+        params.setImportStrategy( TrackerImportStrategy.UPDATE );
+        params.getEnrollments().clear();
+
+        // updates and deletes the values loaded by the session, leaving the
+        // confidential value as it is
+
+        params.getTrackedEntities().get( 0 ).getAttributes()
+            .removeIf( a -> ATTRIBUTE_ENCRYPTED.equals( a.getAttribute().getIdentifier() ) );
+
+        for ( Attribute attribute : params.getTrackedEntities().get( 0 ).getAttributes() )
+        {
+            if ( ATTRIBUTE_INTEGER.equals( attribute.getAttribute().getIdentifier() ) )
+            {
+                attribute.setValue( "123" );
+            }
+            else if ( ATTRIBUTE_TEXT.equals( attribute.getAttribute().getIdentifier() ) )
+            {
+                attribute.setValue( null );
+            }
+        }
+
+        assertNoErrors( trackerImportService.importTracker( params ) );
+        manager.clear();
+
+        Map<String, String> values = getAttributeValues();
+
+        assertEquals( 4, values.size() );
+        assertEquals( "123", values.get( ATTRIBUTE_INTEGER ) );
+        assertEquals( "2020-02-20", values.get( ATTRIBUTE_DATE ) );
+        assertEquals( "Value To Encrypt", values.get( ATTRIBUTE_ENCRYPTED ) );
+        assertEquals( "321", values.get( ATTRIBUTE_PROGRAM ) );
+        assertEquals( "123", getColumn( ATTRIBUTE_INTEGER, "value" ) );
+    }
+
+    private Map<String, String> getAttributeValues()
+    {
+        TrackedEntityInstance trackedEntityInstance = manager.get( TrackedEntityInstance.class, TRACKED_ENTITY );
+
+        Map<String, String> values = new HashMap<>();
+
+        for ( TrackedEntityAttributeValue value : trackedEntityAttributeValueService
+            .getTrackedEntityAttributeValues( trackedEntityInstance ) )
+        {
+            values.put( value.getAttribute().getUid(), value.getValue() );
+        }
+
+        return values;
+    }
+
+    private String getColumn( String attribute, String column )
+    {
+        return jdbcTemplate.queryForObject( "select v." + column + " from trackedentityattributevalue v"
+            + " join trackedentityattribute a on a.trackedentityattributeid = v.trackedentityattributeid"
+            + " join trackedentityinstance t on t.trackedentityinstanceid = v.trackedentityinstanceid"
+            + " where a.uid = ? and t.uid = ?", String.class, attribute, TRACKED_ENTITY );
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.webapi.controller;
+
+import static org.hisp.dhis.web.WebClient.Header;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.util.Locale;
+import java.util.Properties;
+
+import org.hisp.dhis.cache.ETagService;
+import org.hisp.dhis.config.H2DhisConfigurationProvider;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.hisp.dhis.user.UserSettingKey;
+import org.hisp.dhis.user.UserSettingService;
+import org.hisp.dhis.web.HttpStatus;
+import org.hisp.dhis.webapi.DhisControllerConvenienceTest;
+import org.hisp.dhis.webapi.service.DeepETagService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.test.context.ContextConfiguration;
+
+/**
+ * Tests the conditional requests answered by the {@link DeepETagService} for
+ * the metadata endpoints. Deep ETags are off by default, so they are enabled
+ * for this test only.
+ */
+@ContextConfiguration( classes = DeepETagControllerTest.DeepETagConfiguration.class )
+class DeepETagControllerTest extends DhisControllerConvenienceTest
+{
+    @Configuration
+    static class DeepETagConfiguration
+    {
+        @Bean( name = "dhisConfigurationProvider" )
+        @Primary
+        public DhisConfigurationProvider dhisConfigurationProvider()
+        {
+            Properties properties = new Properties();
+            properties.put( ConfigurationKey.SYSTEM_CACHE_DEEP_ETAG_ENABLED.getKey(), "on" );
+
+            H2DhisConfigurationProvider config = new H2DhisConfigurationProvider();
+            config.addProperties( properties );
+            return config;
+        }
+    }
+
+    @Autowired
+    private ETagService eTagService;
+
+    @Autowired
+    private UserSettingService userSettingService;
+
+    @Test
+    void testGetNotModified()
+    {
+        String eTag = getETag( "/dataElements" );
+
+        assertEquals( HttpStatus.NOT_MODIFIED,
+            GET( "/dataElements", Header( "If-None-Match", eTag ) ).status() );
+    }
+
+    @Test
+    void testGetModifiedAfterEntityVersionChanged()
+    {
+        String eTag = getETag( "/dataElements" );
+
+        eTagService.incrementEntityVersion();
+
+        assertEquals( HttpStatus.OK, GET( "/dataElements", Header( "If-None-Match", eTag ) ).status() );
+    }
+
+    @Test
+    void testGetModifiedForOtherUser()
+    {
+        String eTag = getETag( "/dataElements" );
+
+        switchToNewUser( "eTagUser", "ALL" );
+
+        assertEquals( HttpStatus.OK, GET( "/dataElements", Header( "If-None-Match", eTag ) ).status() );
+    }
+
+    @Test
+    void testGetModifiedAfterDbLocaleChanged()
+    {
+        String eTag = getETag( "/dataElements" );
+
+        userSettingService.saveUserSetting( UserSettingKey.DB_LOCALE, Locale.FRENCH );
+
+        assertEquals( HttpStatus.OK, GET( "/dataElements", Header( "If-None-Match", eTag ) ).status() );
+    }
+
+    @Test
+    void testGetModifiedForOtherQuery()
+    {
+        String eTag = getETag( "/dataElements" );
+
+        assertEquals( HttpStatus.OK,
+            GET( "/dataElements?fields=id", Header( "If-None-Match", eTag ) ).status() );
+    }
+
+    private String getETag( String url )
+    {
+        HttpResponse response = GET( url );
+        assertEquals( HttpStatus.OK, response.status() );
+
+        String eTag = response.header( "ETag" );
+        assertNotNull( eTag );
+        return eTag;
+    }
+}
@@ -120,4 +120,18 @@ class EventControllerIntegrationTest extends DhisControllerIntegrationTest
         res = GET( "/events.json?skipPaging=false" ).content( HttpStatus.OK );
         assertTrue( res.get( "pager" ).exists() );
     }
+
+    @Test
+    void testSkipPagingStream()
+    {
+        JsonResponse res = GET( "/events.json?skipPaging=true&stream=true&program=q04UBOqq3rp" )
+            .content( HttpStatus.OK );
+        assertFalse( res.get( "pager" ).exists() );
+        assertEquals( 0, res.getArray( "events" ).size() );
+        assertTrue( res.getObject( "metaData" ).get( "de" ).exists() );
+
+        res = GET( "/events.json?skipPaging=true&stream=true&program=q04UBOqq3rp&skipMeta=true" )
+            .content( HttpStatus.OK );
+        assertFalse( res.get( "metaData" ).exists() );
+    }
 }
@@ -76,7 +76,6 @@ import org.hisp.dhis.schema.Property;
 import org.hisp.dhis.schema.PropertyType;
 import org.hisp.dhis.schema.Schema;
 import org.hisp.dhis.security.acl.AclService;
-import org.hisp.dhis.system.util.ReflectionUtils;
 import org.hisp.dhis.user.CurrentUser;
 import org.hisp.dhis.user.CurrentUserService;
 import org.hisp.dhis.user.CurrentUserUtil;
@@ -87,6 +86,7 @@ import org.hisp.dhis.webapi.mvc.annotation.ApiVersion;
 import org.hisp.dhis.webapi.openapi.SchemaGenerators.PropertyNames;
 import org.hisp.dhis.webapi.openapi.SchemaGenerators.UID;
 import org.hisp.dhis.webapi.service.ContextService;
+import org.hisp.dhis.webapi.service.DeepETagService;
 import org.hisp.dhis.webapi.service.LinkService;
 import org.hisp.dhis.webapi.utils.ContextUtils;
 import org.hisp.dhis.webapi.utils.PaginationUtils;
@@ -94,6 +94,7 @@ import org.hisp.dhis.webapi.webdomain.StreamingJsonRoot;
 import org.hisp.dhis.webapi.webdomain.WebMetadata;
 import org.hisp.dhis.webapi.webdomain.WebOptions;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -156,6 +157,9 @@ public abstract class AbstractFullReadOnlyController<T extends IdentifiableObjec
     @Autowired
     protected CsvMapper csvMapper;
 
+    @Autowired
+    protected DeepETagService deepETagService;
+
     // --------------------------------------------------------------------------
     // Hooks
     // --------------------------------------------------------------------------
@@ -229,6 +233,13 @@ public abstract class AbstractFullReadOnlyController<T extends IdentifiableObjec
                 "You don't have the proper permissions to read objects of this type." );
         }
 
+        cachePrivate( response );
+
+        if ( isNotModified( contextService.getRequest(), response ) )
+        {
+            return ResponseEntity.status( HttpStatus.NOT_MODIFIED ).build();
+        }
+
         forceFiltering( options, filters );
 
         List<T> entities = getEntityList( metadata, options, filters, orders );
@@ -262,8 +273,6 @@ public abstract class AbstractFullReadOnlyController<T extends IdentifiableObjec
         handleLinksAndAccess( entities, fields, false );
         linkService.generatePagerLinks( pager, getEntityClass() );
 
-        cachePrivate( response );
-
         return ResponseEntity.ok( new StreamingJsonRoot<>( pager, getSchema().getCollectionName(),
             FieldFilterParams.of( entities, fields ) ) );
     }
@@ -343,7 +352,7 @@ public abstract class AbstractFullReadOnlyController<T extends IdentifiableObjec
                 {
                     schemaBuilder.addColumn( property.getName() );
                     obj2valueByProperty.put( property.getName(),
-                        obj -> ReflectionUtils.invokeMethod( obj, property.getGetterMethod() ) );
+                        obj -> property.getValue( obj ) );
                 }
             }
         }
@@ -403,7 +412,7 @@ public abstract class AbstractFullReadOnlyController<T extends IdentifiableObjec
 
     private static List<String> getCollectionValue( Object obj, Property property )
     {
-        Object value = ReflectionUtils.invokeMethod( obj, property.getGetterMethod() );
+        Object value = property.getValue( obj );
 
         @SuppressWarnings( "unchecked" )
         Collection<IdentifiableObject> collection = (Collection<IdentifiableObject>) value;
@@ -452,6 +461,11 @@ public abstract class AbstractFullReadOnlyController<T extends IdentifiableObjec
 
         cachePrivate( response );
 
+        if ( isNotModified( request, response ) )
+        {
+            return ResponseEntity.status( HttpStatus.NOT_MODIFIED ).build();
+        }
+
         WebOptions options = new WebOptions( rpParameters );
         List<T> entities = getEntity( pvUid, options );
 
@@ -589,6 +603,16 @@ public abstract class AbstractFullReadOnlyController<T extends IdentifiableObjec
             noCache().cachePrivate().getHeaderValue() );
     }
 
+    /**
+     * Checks whether metadata requested has not changed since the ETag sent by
+     * the client was handed out, without loading it. Other objects, such as
+     * data and tracker objects, are left to the shallow ETag filter.
+     */
+    private boolean isNotModified( HttpServletRequest request, HttpServletResponse response )
+    {
+        return getSchema().isMetadata() && deepETagService.isMetadataNotModified( request, response );
+    }
+
     private boolean hasHref( List<String> fields )
     {
         return fieldsContains( "href", fields );
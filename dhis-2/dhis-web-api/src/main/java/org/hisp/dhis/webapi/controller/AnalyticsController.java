@@ -33,6 +33,7 @@ import static org.springframework.http.MediaType.TEXT_HTML_VALUE;
 import static org.springframework.http.MediaType.TEXT_PLAIN_VALUE;
 
 import javax.annotation.Nonnull;
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import lombok.AllArgsConstructor;
@@ -51,6 +52,7 @@ import org.hisp.dhis.common.cache.CacheStrategy;
 import org.hisp.dhis.dxf2.datavalueset.DataValueSet;
 import org.hisp.dhis.system.grid.GridUtils;
 import org.hisp.dhis.webapi.mvc.annotation.ApiVersion;
+import org.hisp.dhis.webapi.service.DeepETagService;
 import org.hisp.dhis.webapi.utils.ContextUtils;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
@@ -83,6 +85,9 @@ public class AnalyticsController
     @Nonnull
     private final ContextUtils contextUtils;
 
+    @Nonnull
+    private final DeepETagService deepETagService;
+
     // -------------------------------------------------------------------------
     // Resources
     // -------------------------------------------------------------------------
@@ -101,8 +106,14 @@ public class AnalyticsController
     public @ResponseBody Grid getJson( // JSON, JSONP
         AggregateAnalyticsQueryCriteria criteria,
         DhisApiVersion apiVersion,
+        HttpServletRequest request,
         HttpServletResponse response )
     {
+        if ( deepETagService.isAnalyticsNotModified( request, response ) )
+        {
+            return null;
+        }
+
         return getGrid( criteria, apiVersion, ContextUtils.CONTENT_TYPE_JSON, response );
     }
 
@@ -110,9 +121,15 @@ public class AnalyticsController
     public void getXml(
         AggregateAnalyticsQueryCriteria criteria,
         DhisApiVersion apiVersion,
+        HttpServletRequest request,
         HttpServletResponse response )
         throws Exception
     {
+        if ( deepETagService.isAnalyticsNotModified( request, response ) )
+        {
+            return;
+        }
+
         GridUtils.toXml( getGrid( criteria, apiVersion, ContextUtils.CONTENT_TYPE_XML, response ),
             response.getOutputStream() );
     }
@@ -121,9 +138,15 @@ public class AnalyticsController
     public void getHtml(
         AggregateAnalyticsQueryCriteria criteria,
         DhisApiVersion apiVersion,
+        HttpServletRequest request,
         HttpServletResponse response )
         throws Exception
     {
+        if ( deepETagService.isAnalyticsNotModified( request, response ) )
+        {
+            return;
+        }
+
         GridUtils.toHtml( getGrid( criteria, apiVersion, ContextUtils.CONTENT_TYPE_HTML, response ),
             response.getWriter() );
     }
@@ -132,9 +155,15 @@ public class AnalyticsController
     public void getHtmlCss(
         AggregateAnalyticsQueryCriteria criteria,
         DhisApiVersion apiVersion,
+        HttpServletRequest request,
         HttpServletResponse response )
         throws Exception
     {
+        if ( deepETagService.isAnalyticsNotModified( request, response ) )
+        {
+            return;
+        }
+
         GridUtils.toHtmlCss( getGrid( criteria, apiVersion, ContextUtils.CONTENT_TYPE_HTML, response ),
             response.getWriter() );
     }
@@ -143,9 +172,15 @@ public class AnalyticsController
     public void getCsv(
         AggregateAnalyticsQueryCriteria criteria,
         DhisApiVersion apiVersion,
+        HttpServletRequest request,
         HttpServletResponse response )
         throws Exception
     {
+        if ( deepETagService.isAnalyticsNotModified( request, response ) )
+        {
+            return;
+        }
+
         GridUtils.toCsv( getGridWithAttachment( criteria, apiVersion, ContextUtils.CONTENT_TYPE_CSV,
             "data.csv", response ), response.getWriter() );
     }
@@ -154,9 +189,15 @@ public class AnalyticsController
     public void getXls(
         AggregateAnalyticsQueryCriteria criteria,
         DhisApiVersion apiVersion,
+        HttpServletRequest request,
         HttpServletResponse response )
         throws Exception
     {
+        if ( deepETagService.isAnalyticsNotModified( request, response ) )
+        {
+            return;
+        }
+
         GridUtils.toXls( getGridWithAttachment( criteria, apiVersion, ContextUtils.CONTENT_TYPE_EXCEL,
             "data.xls", response ), response.getOutputStream() );
     }
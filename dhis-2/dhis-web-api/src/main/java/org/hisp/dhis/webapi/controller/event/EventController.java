@@ -50,6 +50,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -63,6 +64,7 @@ import javax.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 
+import org.apache.commons.io.output.CloseShieldOutputStream;
 import org.apache.commons.lang3.StringUtils;
 import org.hisp.dhis.category.CategoryOptionCombo;
 import org.hisp.dhis.common.AssignedUserSelectionMode;
@@ -75,6 +77,7 @@ import org.hisp.dhis.common.OrganisationUnitSelectionMode;
 import org.hisp.dhis.common.PagerUtils;
 import org.hisp.dhis.common.SlimPager;
 import org.hisp.dhis.common.cache.CacheStrategy;
+import org.hisp.dhis.commons.jackson.config.JacksonObjectMapperConfig;
 import org.hisp.dhis.commons.util.StreamUtils;
 import org.hisp.dhis.commons.util.TextUtils;
 import org.hisp.dhis.dataelement.DataElement;
@@ -143,6 +146,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.google.common.base.Joiner;
 import com.google.common.base.MoreObjects;
 import com.google.common.collect.Lists;
@@ -187,6 +191,8 @@ public class EventController
 
     private final FieldFilterService fieldFilterService;
 
+    private final org.hisp.dhis.fieldfiltering.FieldFilterService objectFieldFilterService;
+
     private final ContextService contextService;
 
     private final SchemaService schemaService;
@@ -537,6 +543,25 @@ public class EventController
 
         setParamBasedOnFieldParameters( params, fields );
 
+        if ( eventCriteria.isStream() && params.isSkipPaging() && !isAcceptCompressed( request ) )
+        {
+            if ( !StringUtils.isEmpty( eventCriteria.getAttachment() ) )
+            {
+                response.addHeader( ContextUtils.HEADER_CONTENT_DISPOSITION,
+                    "attachment; filename=" + eventCriteria.getAttachment() );
+                response.addHeader( ContextUtils.HEADER_CONTENT_TRANSFER_ENCODING, "binary" );
+            }
+
+            Map<Object, Object> metaData = !eventCriteria.isSkipMeta() && params.getProgram() != null
+                ? getMetaData( params.getProgram() )
+                : null;
+
+            writeEventsJson( params, fields, hasHref( fields, eventCriteria.getSkipEventId() ), metaData, request,
+                response );
+
+            return null;
+        }
+
         Events events = eventService.getEvents( params );
 
         if ( hasHref( fields, eventCriteria.getSkipEventId() ) )
@@ -570,6 +595,65 @@ public class EventController
         return rootNode;
     }
 
+    /**
+     * Writes the events to the response as they are read instead of building
+     * the complete result in memory first. Used for unpaged exports which opt
+     * in with {@code stream=true}, as they have no pager to write ahead of the
+     * events. Events are rendered by the object field filter, which differs
+     * from the node based rendering of other responses in details such as the
+     * representation of empty values.
+     */
+    @SneakyThrows
+    private void writeEventsJson( EventSearchParams params, List<String> fields, boolean href,
+        Map<Object, Object> metaData, HttpServletRequest request, HttpServletResponse response )
+    {
+        response.setContentType( ContextUtils.CONTENT_TYPE_JSON );
+
+        String hrefPath = ContextUtils.getRootPath( request ) + RESOURCE_PATH + "/";
+
+        try ( JsonGenerator generator = JacksonObjectMapperConfig.staticJsonMapper().getFactory()
+            .createGenerator( response.getOutputStream() ) )
+        {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart( "events" );
+
+            eventService.streamEvents( params, events -> {
+                if ( href )
+                {
+                    events.forEach( e -> e.setHref( hrefPath + e.getEvent() ) );
+                }
+
+                writeEventsJson( generator, events, fields );
+            } );
+
+            generator.writeEndArray();
+
+            if ( metaData != null )
+            {
+                generator.writeObjectField( "metaData", metaData );
+            }
+
+            generator.writeEndObject();
+        }
+    }
+
+    @SneakyThrows
+    private void writeEventsJson( JsonGenerator generator, List<Event> events, List<String> fields )
+    {
+        objectFieldFilterService.toObjectNodesStream(
+            org.hisp.dhis.fieldfiltering.FieldFilterParams.of( events, fields ), generator );
+
+        generator.flush();
+    }
+
+    private boolean isAcceptCompressed( HttpServletRequest request )
+    {
+        String accept = request.getHeader( HttpHeaders.ACCEPT );
+
+        return StringUtils.endsWithAny( request.getPathInfo(), ".gz", ".zip" )
+            || StringUtils.containsAny( accept, "gzip", "zip" );
+    }
+
     @GetMapping( produces = { APPLICATION_XML_VALUE, "application/xml+gzip", TEXT_XML_VALUE } )
     public @ResponseBody RootNode getXmlEvents(
         EventCriteria eventCriteria, @RequestParam Map<String, String> parameters, Model model,
@@ -653,8 +737,6 @@ public class EventController
     {
         EventSearchParams params = requestToSearchParamsMapper.map( eventCriteria );
 
-        Events events = eventService.getEvents( params );
-
         OutputStream outputStream = response.getOutputStream();
         response.setContentType( "application/csv" );
 
@@ -678,7 +760,30 @@ public class EventController
             response.addHeader( "Content-Disposition", "attachment; filename=" + eventCriteria.getAttachment() );
         }
 
-        csvEventService.writeEvents( outputStream, events.getEvents(), !skipHeader );
+        if ( params.isSkipPaging() )
+        {
+            // Write each batch as it is read, keeping the stream open until
+            // the last batch and writing the header only once
+            OutputStream batchOutputStream = CloseShieldOutputStream.wrap( outputStream );
+            AtomicBoolean withHeader = new AtomicBoolean( !skipHeader );
+
+            eventService.streamEvents( params,
+                events -> writeEventsCsv( batchOutputStream, events, withHeader.getAndSet( false ) ) );
+
+            csvEventService.writeEvents( outputStream, List.of(), withHeader.get() );
+        }
+        else
+        {
+            Events events = eventService.getEvents( params );
+
+            csvEventService.writeEvents( outputStream, events.getEvents(), !skipHeader );
+        }
+    }
+
+    @SneakyThrows
+    private void writeEventsCsv( OutputStream outputStream, List<Event> events, boolean withHeader )
+    {
+        csvEventService.writeEvents( outputStream, events, withHeader );
     }
 
     // -------------------------------------------------------------------------
@@ -97,6 +97,8 @@ public class EventCriteria extends PagingAndSortingCriteriaAdapter
 
     private String attachment;
 
+    private boolean stream;
+
     private boolean includeDeleted;
 
     private String event;
@@ -39,6 +39,7 @@ enum TrackerImportParamKey
     FLUSH_MODE_KEY( "flushMode" ),
     SKIP_RULE_ENGINE_KEY( "skipRuleEngine" ),
     SKIP_SIDE_EFFECTS( "skipSideEffects" ),
+    CHUNK_SIZE_KEY( "chunkSize" ),
     ID_SCHEME_KEY( "idScheme" ),
     ORG_UNIT_ID_SCHEME_KEY( "orgUnitIdScheme" ),
     PROGRAM_ID_SCHEME_KEY( "programIdScheme" ),
@@ -36,6 +36,7 @@ import static org.hisp.dhis.tracker.bundle.TrackerBundleMode.COMMIT;
 import static org.hisp.dhis.webapi.controller.tracker.imports.TrackerImportParamKey.ATOMIC_MODE_KEY;
 import static org.hisp.dhis.webapi.controller.tracker.imports.TrackerImportParamKey.CATEGORY_OPTION_COMBO_ID_SCHEME_KEY;
 import static org.hisp.dhis.webapi.controller.tracker.imports.TrackerImportParamKey.CATEGORY_OPTION_ID_SCHEME_KEY;
+import static org.hisp.dhis.webapi.controller.tracker.imports.TrackerImportParamKey.CHUNK_SIZE_KEY;
 import static org.hisp.dhis.webapi.controller.tracker.imports.TrackerImportParamKey.DATA_ELEMENT_ID_SCHEME_KEY;
 import static org.hisp.dhis.webapi.controller.tracker.imports.TrackerImportParamKey.FLUSH_MODE_KEY;
 import static org.hisp.dhis.webapi.controller.tracker.imports.TrackerImportParamKey.ID_SCHEME_KEY;
@@ -52,6 +53,7 @@ import java.util.List;
 import java.util.Map;
 
 import org.apache.commons.lang3.BooleanUtils;
+import org.apache.commons.lang3.math.NumberUtils;
 import org.hisp.dhis.common.CodeGenerator;
 import org.hisp.dhis.common.IdScheme;
 import org.hisp.dhis.tracker.AtomicMode;
@@ -93,7 +95,8 @@ public class TrackerImportParamsBuilder
             .atomicMode( getEnumWithDefault( AtomicMode.class, parameters, ATOMIC_MODE_KEY, ALL ) )
             .flushMode( getEnumWithDefault( FlushMode.class, parameters, FLUSH_MODE_KEY, AUTO ) )
             .skipSideEffects( getBooleanValueOrDefault( parameters, SKIP_SIDE_EFFECTS ) )
-            .skipRuleEngine( getBooleanValueOrDefault( parameters, SKIP_RULE_ENGINE_KEY ) );
+            .skipRuleEngine( getBooleanValueOrDefault( parameters, SKIP_RULE_ENGINE_KEY ) )
+            .chunkSize( getIntegerValueOrDefault( parameters, CHUNK_SIZE_KEY ) );
     }
 
     private static <T extends Enum<T>> T getEnumWithDefault( Class<T> enumKlass, Map<String, List<String>> parameters,
@@ -143,6 +146,18 @@ public class TrackerImportParamsBuilder
         return BooleanUtils.toBooleanObject( parameters.get( trackerImportParamKey.getKey() ).get( 0 ) );
     }
 
+    private static int getIntegerValueOrDefault( Map<String, List<String>> parameters,
+        TrackerImportParamKey trackerImportParamKey )
+    {
+        if ( parameters == null || parameters.get( trackerImportParamKey.getKey() ) == null
+            || parameters.get( trackerImportParamKey.getKey() ).isEmpty() )
+        {
+            return 0;
+        }
+
+        return Math.max( 0, NumberUtils.toInt( parameters.get( trackerImportParamKey.getKey() ).get( 0 ) ) );
+    }
+
     private static String getAttributeUidOrNull( Map<String, List<String>> parameters,
         TrackerImportParamKey trackerImportParamKey )
     {
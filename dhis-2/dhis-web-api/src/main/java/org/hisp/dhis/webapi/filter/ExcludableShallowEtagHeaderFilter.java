@@ -72,6 +72,11 @@ import org.springframework.web.filter.ShallowEtagHeaderFilter;
  * The example exactly matches and excludes any request to the '/api/dataValues'
  * and '/api/dataValues/files' from the filter.
  *
+ * <p>
+ * Requests answered with ETags derived from change counters by the
+ * {@link org.hisp.dhis.webapi.service.DeepETagService} disable the buffering
+ * of this filter, so it only applies to the remaining requests.
+ *
  * @author Lars Helge Overland
  * @author Halvdan Hoem Grelland
  */
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.webapi.service;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hisp.dhis.user.UserSettingKey.DB_LOCALE;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import lombok.RequiredArgsConstructor;
+
+import org.hisp.dhis.cache.ETagService;
+import org.hisp.dhis.common.CodeGenerator;
+import org.hisp.dhis.user.CurrentUserUtil;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+/**
+ * Answers conditional requests with weak ETags derived from the counters of
+ * the {@link ETagService} instead of from the response body. This allows to
+ * answer with 304 Not Modified before doing any work, and to stream the
+ * response instead of buffering it in the {@link ShallowEtagHeaderFilter}.
+ * <p>
+ * The ETag covers the counters, the authenticated user, the locale metadata is
+ * translated to, the request URI, the query string and the accepted media
+ * types. It also covers an identifier of
+ * the running instance, so that ETags handed out before a restart never
+ * match. Requests without an authenticated user, or of the anonymous user,
+ * are not answered.
+ */
+@Service
+@RequiredArgsConstructor
+public class DeepETagService
+{
+    private static final String INSTANCE_ID = CodeGenerator.generateUid();
+
+    private static final String ANONYMOUS_USER = "anonymousUser";
+
+    private final ETagService eTagService;
+
+    /**
+     * Checks whether the metadata requested has not changed since the ETag
+     * given in the If-None-Match header of the request was handed out. Sets
+     * the ETag header, and the 304 status if not modified.
+     *
+     * @param request the request.
+     * @param response the response.
+     * @return true if the response is not modified and the request is
+     *         complete.
+     */
+    public boolean isMetadataNotModified( HttpServletRequest request, HttpServletResponse response )
+    {
+        return isNotModified( request, response, String.valueOf( eTagService.getEntityVersion() ) );
+    }
+
+    /**
+     * Checks whether the analytics data requested has not changed since the
+     * ETag given in the If-None-Match header of the request was handed out.
+     * Besides the metadata, this depends on the analytics tables and on the
+     * current date, as relative periods are resolved against it.
+     *
+     * @param request the request.
+     * @param response the response.
+     * @return true if the response is not modified and the request is
+     *         complete.
+     */
+    public boolean isAnalyticsNotModified( HttpServletRequest request, HttpServletResponse response )
+    {
+        return isNotModified( request, response, eTagService.getEntityVersion() + "-"
+            + eTagService.getAnalyticsVersion() + "-" + LocalDate.now() );
+    }
+
+    private boolean isNotModified( HttpServletRequest request, HttpServletResponse response, String version )
+    {
+        String username = CurrentUserUtil.getCurrentUsername();
+
+        if ( !eTagService.isEnabled() || username == null || ANONYMOUS_USER.equals( username ) )
+        {
+            return false;
+        }
+
+        String key = String.join( "|", INSTANCE_ID, version, username,
+            Objects.toString( CurrentUserUtil.getUserSetting( DB_LOCALE ), "" ),
+            request.getRequestURI(),
+            Objects.toString( request.getQueryString(), "" ),
+            Objects.toString( request.getHeader( HttpHeaders.ACCEPT ), "" ) );
+
+        String eTag = "W/\"" + DigestUtils.md5DigestAsHex( key.getBytes( UTF_8 ) ) + "\"";
+
+        ShallowEtagHeaderFilter.disableContentCaching( request );
+
+        return new ServletWebRequest( request, response ).checkNotModified( eTag );
+    }
+}
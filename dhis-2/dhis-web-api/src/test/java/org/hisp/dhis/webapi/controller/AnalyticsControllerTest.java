@@ -57,6 +57,7 @@ import org.hisp.dhis.common.IdentifiableObjectManager;
 import org.hisp.dhis.dataelement.DataElement;
 import org.hisp.dhis.system.grid.ListGrid;
 import org.hisp.dhis.user.UserSettingService;
+import org.hisp.dhis.webapi.service.DeepETagService;
 import org.hisp.dhis.webapi.utils.ContextUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -101,7 +102,7 @@ class AnalyticsControllerTest
 
         // Controller under test
         AnalyticsController controller = new AnalyticsController( dataQueryService, analyticsService,
-            contextUtils );
+            contextUtils, mock( DeepETagService.class ) );
 
         mockMvc = MockMvcBuilders.standaloneSetup( controller ).build();
 
@@ -30,6 +30,7 @@ package org.hisp.dhis.webapi.controller.tracker.imports;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hisp.dhis.webapi.controller.tracker.imports.TrackerImportParamKey.ATOMIC_MODE_KEY;
+import static org.hisp.dhis.webapi.controller.tracker.imports.TrackerImportParamKey.CHUNK_SIZE_KEY;
 import static org.hisp.dhis.webapi.controller.tracker.imports.TrackerImportParamKey.FLUSH_MODE_KEY;
 import static org.hisp.dhis.webapi.controller.tracker.imports.TrackerImportParamKey.IMPORT_MODE_KEY;
 import static org.hisp.dhis.webapi.controller.tracker.imports.TrackerImportParamKey.IMPORT_STRATEGY_KEY;
@@ -108,6 +109,16 @@ class TrackerImportParamsBuilderTest
         } );
     }
 
+    @Test
+    void testChunkSize()
+    {
+        paramMap.put( CHUNK_SIZE_KEY.getKey(), Collections.singletonList( "500" ) );
+        assertThat( TrackerImportParamsBuilder.build( paramMap ).getChunkSize(), is( 500 ) );
+
+        paramMap.put( CHUNK_SIZE_KEY.getKey(), Collections.singletonList( "-1" ) );
+        assertThat( TrackerImportParamsBuilder.build( paramMap ).getChunkSize(), is( 0 ) );
+    }
+
     @Test
     void testImportStrategy()
     {